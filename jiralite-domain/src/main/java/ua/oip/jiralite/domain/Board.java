@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -17,8 +18,11 @@ import jakarta.persistence.Table;
 
 /**
  * Доменный класс для доски задач
+ * <p>
+ * Справочные данные: кешируются в кеше второго уровня (см. persistence.xml)
  */
 @Entity
+@Cacheable
 @Table(name = "boards")
 public class Board {
     
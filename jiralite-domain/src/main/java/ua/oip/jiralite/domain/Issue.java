@@ -15,20 +15,54 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedEntityGraphs;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import ua.oip.jiralite.domain.enums.Priority;
 import ua.oip.jiralite.domain.enums.Status;
 
 /**
  * Доменный класс для задачи в проекте
+ * <p>
+ * Все связи загружаются лениво; какие из них нужны конкретному экрану,
+ * описывают именованные графы {@link #GRAPH_BOARD_CARD} и {@link #GRAPH_DETAIL}.
  */
 @Entity
 @Table(name = "issues")
+@NamedEntityGraphs({
+    @NamedEntityGraph(name = Issue.GRAPH_BOARD_CARD,
+        attributeNodes = @NamedAttributeNode("assignee")),
+    @NamedEntityGraph(name = Issue.GRAPH_DETAIL,
+        attributeNodes = {
+            @NamedAttributeNode("project"),
+            @NamedAttributeNode("board"),
+            @NamedAttributeNode("reporter"),
+            @NamedAttributeNode("assignee"),
+            @NamedAttributeNode(value = "comments", subgraph = "comment.author")
+        },
+        subgraphs = @NamedSubgraph(name = "comment.author", attributeNodes = @NamedAttributeNode("author")))
+})
 public class Issue {
     
+    /**
+     * Граф для карточки на доске: только исполнитель
+     */
+    public static final String GRAPH_BOARD_CARD = "Issue.boardCard";
+    
+    /**
+     * Граф для окна задачи: все связи и комментарии с авторами
+     */
+    public static final String GRAPH_DETAIL = "Issue.detail";
+    
+    // Последовательность с шагом 50 позволяет Hibernate получать ID блоками
+    // и группировать INSERT в JDBC-пакеты (IDENTITY отключает пакетную вставку)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "issue_seq")
+    @SequenceGenerator(name = "issue_seq", sequenceName = "issues_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -48,19 +82,19 @@ public class Issue {
     @Column(nullable = false)
     private Priority priority = Priority.MEDIUM;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id", nullable = false)
     private Project project;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "board_id")
     private Board board;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "reporter_id")
     private User reporter;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assignee_id")
     private User assignee;
     
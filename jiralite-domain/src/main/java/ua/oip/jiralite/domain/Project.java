@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -19,8 +20,11 @@ import jakarta.persistence.Table;
 
 /**
  * Доменный класс для проекта
+ * <p>
+ * Справочные данные: кешируются в кеше второго уровня (см. persistence.xml)
  */
 @Entity
+@Cacheable
 @Table(name = "projects")
 public class Project {
     
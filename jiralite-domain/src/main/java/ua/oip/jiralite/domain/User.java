@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -17,8 +18,11 @@ import ua.oip.jiralite.domain.enums.Role;
 
 /**
  * Доменный класс для пользователя системы
+ * <p>
+ * Справочные данные: кешируются в кеше второго уровня (см. persistence.xml)
  */
 @Entity
+@Cacheable
 @Table(name = "users")
 public class User {
     
@@ -0,0 +1,34 @@
+package ua.oip.jiralite.server;
+
+/**
+ * Помилка обробки запиту, що повертається клієнту з HTTP-статусом
+ */
+class ApiException extends RuntimeException {
+
+    private final int status;
+
+    ApiException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    int getStatus() {
+        return status;
+    }
+
+    static ApiException badRequest(String message) {
+        return new ApiException(400, message);
+    }
+
+    static ApiException unauthorized() {
+        return new ApiException(401, "Потрібна автентифікація");
+    }
+
+    static ApiException forbidden() {
+        return new ApiException(403, "Недостатньо прав");
+    }
+
+    static ApiException notFound(String message) {
+        return new ApiException(404, message);
+    }
+}
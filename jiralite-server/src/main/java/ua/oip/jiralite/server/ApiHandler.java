@@ -0,0 +1,353 @@
+package ua.oip.jiralite.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import ua.oip.jiralite.domain.Board;
+import ua.oip.jiralite.domain.Comment;
+import ua.oip.jiralite.domain.Issue;
+import ua.oip.jiralite.domain.Project;
+import ua.oip.jiralite.domain.User;
+import ua.oip.jiralite.domain.enums.Priority;
+import ua.oip.jiralite.domain.enums.Status;
+import ua.oip.jiralite.service.AuthService;
+import ua.oip.jiralite.service.AuthService.AuthException;
+import ua.oip.jiralite.service.BoardService;
+import ua.oip.jiralite.service.session.SecurityContext;
+import ua.oip.jiralite.service.transfer.FlatJson;
+
+/**
+ * Маршрутизація та обробка запитів {@code /api/...}.
+ * <p>
+ * Усі маршрути, крім входу, вимагають заголовка {@code Authorization: Bearer <токен>};
+ * кожен запит виконується з {@link SecurityContext} своєї сесії. Задачі, які
+ * користувач не бачить через ролі в проекті, відповідають 404 як відсутні.
+ */
+class ApiHandler implements HttpHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(ApiHandler.class);
+
+    // Межа розміру тіла запиту, тіла API - невеликі JSON-об'єкти
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+
+    private static final String BEARER = "Bearer ";
+
+    private final BoardService boardService;
+    private final AuthService authService;
+    // Дошки проектів; сервіс створює дошку та демо-задачі при першому зверненні.
+    // Ключі - лише проекти, видимі хоча б одному користувачу, тож мапа обмежена
+    private final ConcurrentMap<Long, Board> boards = new ConcurrentHashMap<>();
+
+    ApiHandler(BoardService boardService, AuthService authService) {
+        this.boardService = boardService;
+        this.authService = authService;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String[] path = segments(exchange.getRequestURI().getPath());
+            try {
+                route(exchange, exchange.getRequestMethod(), path);
+            } catch (ApiException e) {
+                send(exchange, e.getStatus(), Json.error(e.getMessage()));
+            } catch (IllegalArgumentException e) {
+                send(exchange, 400, Json.error(e.getMessage()));
+            } catch (RuntimeException e) {
+                log.error("Помилка обробки {} {}", exchange.getRequestMethod(), exchange.getRequestURI(), e);
+                send(exchange, 500, Json.error("Внутрішня помилка сервера"));
+            }
+        }
+    }
+
+    private void route(HttpExchange exchange, String method, String[] path) throws IOException {
+        // path[0] завжди "api"
+        if (path.length < 2 || !"api".equals(path[0])) {
+            throw ApiException.notFound("Невідомий маршрут");
+        }
+        String resource = path[1];
+        if ("auth".equals(resource) && path.length == 3 && "POST".equals(method)) {
+            if ("login".equals(path[2])) {
+                login(exchange);
+                return;
+            }
+            if ("logout".equals(path[2])) {
+                authService.closeSession(token(exchange));
+                send(exchange, 204, null);
+                return;
+            }
+        }
+
+        SecurityContext context = authenticate(exchange);
+        if ("projects".equals(resource)) {
+            if (path.length == 2 && "GET".equals(method)) {
+                listProjects(exchange, context);
+                return;
+            }
+            if (path.length == 4 && "issues".equals(path[3])) {
+                Board board = board(context, parseId(path[2]));
+                if ("GET".equals(method)) {
+                    listIssues(exchange, context, board);
+                    return;
+                }
+                if ("POST".equals(method)) {
+                    createIssue(exchange, context, board);
+                    return;
+                }
+            }
+        } else if ("issues".equals(resource) && path.length >= 3) {
+            Long issueId = parseId(path[2]);
+            if (path.length == 3) {
+                if ("GET".equals(method)) {
+                    send(exchange, 200, Json.issue(issue(context, issueId), true));
+                    return;
+                }
+                if ("DELETE".equals(method)) {
+                    deleteIssue(exchange, context, issueId);
+                    return;
+                }
+            } else if (path.length == 4 && "status".equals(path[3]) && "PUT".equals(method)) {
+                updateStatus(exchange, context, issueId);
+                return;
+            } else if (path.length == 4 && "comments".equals(path[3])) {
+                if ("GET".equals(method)) {
+                    send(exchange, 200, Json.comments(issue(context, issueId)));
+                    return;
+                }
+                if ("POST".equals(method)) {
+                    addComment(exchange, context, issueId);
+                    return;
+                }
+            }
+        }
+        throw ApiException.notFound("Невідомий маршрут");
+    }
+
+    private void login(HttpExchange exchange) throws IOException {
+        Map<String, String> body = readBody(exchange);
+        try {
+            SecurityContext context = authService.openSession(body.get("login"), body.get("password"));
+            send(exchange, 200, new Json.ObjectBuilder()
+                .put("token", context.getToken())
+                .put("login", context.getUser().getLogin())
+                .put("role", context.getRole() != null ? context.getRole().name() : null)
+                .build());
+        } catch (AuthException e) {
+            throw new ApiException(401, e.getMessage());
+        }
+    }
+
+    private void listProjects(HttpExchange exchange, SecurityContext context) throws IOException {
+        List<String> items = new ArrayList<>();
+        for (Project project : boardService.getProjectsByUser(context.getUser())) {
+            items.add(Json.project(project));
+        }
+        send(exchange, 200, Json.array(items));
+    }
+
+    private void listIssues(HttpExchange exchange, SecurityContext context, Board board) throws IOException {
+        String query = queryParameter(exchange, "q");
+        List<Issue> issues;
+        if (query == null || query.isBlank()) {
+            issues = boardService.getVisibleIssues(context, board);
+        } else {
+            List<Issue> found = new ArrayList<>();
+            Long projectId = board.getProject().getId();
+            for (Issue issue : boardService.searchIssues(query, true)) {
+                if (issue.getProject() != null && Objects.equals(projectId, issue.getProject().getId())) {
+                    found.add(issue);
+                }
+            }
+            issues = boardService.getProjectAcl().filterVisible(context, found);
+        }
+        List<String> items = new ArrayList<>(issues.size());
+        for (Issue issue : issues) {
+            items.add(Json.issue(issue, false));
+        }
+        send(exchange, 200, Json.array(items));
+    }
+
+    private void createIssue(HttpExchange exchange, SecurityContext context, Board board) throws IOException {
+        if (!boardService.getProjectAcl().canCreate(context, board.getProject())) {
+            throw ApiException.forbidden();
+        }
+        Map<String, String> body = readBody(exchange);
+        String title = body.get("title");
+        if (title == null || title.isBlank()) {
+            throw ApiException.badRequest("Не вказано назву задачі");
+        }
+        Issue issue = new Issue();
+        issue.setTitle(title.strip());
+        issue.setDescription(body.get("description"));
+        issue.setPriority(parseEnum(Priority.class, body.get("priority"), Priority.MEDIUM));
+        issue.setStatus(parseEnum(Status.class, body.get("status"), Status.TO_DO));
+
+        User assignee = null;
+        String assigneeLogin = body.get("assignee");
+        if (assigneeLogin != null) {
+            assignee = authService.getUserRepository().findByLogin(assigneeLogin);
+            if (assignee == null) {
+                throw ApiException.badRequest("Невідомий виконавець: " + assigneeLogin);
+            }
+        }
+        Issue created = boardService.createIssue(board, context.getUser(), assignee, issue);
+        send(exchange, 201, Json.issue(created, false));
+    }
+
+    private void updateStatus(HttpExchange exchange, SecurityContext context, Long issueId) throws IOException {
+        Issue issue = issue(context, issueId);
+        Status status = parseEnum(Status.class, readBody(exchange).get("status"), null);
+        if (status == null) {
+            throw ApiException.badRequest("Не вказано статус");
+        }
+        if (!boardService.updateIssueStatus(context, issueId, status)) {
+            throw ApiException.forbidden();
+        }
+        send(exchange, 200, Json.issue(issue, false));
+    }
+
+    private void deleteIssue(HttpExchange exchange, SecurityContext context, Long issueId) throws IOException {
+        Issue issue = issue(context, issueId);
+        if (!boardService.getProjectAcl().canDelete(context, issue)) {
+            throw ApiException.forbidden();
+        }
+        if (!boardService.deleteIssue(context, issueId)) {
+            throw ApiException.notFound("Задачу не знайдено");
+        }
+        send(exchange, 204, null);
+    }
+
+    private void addComment(HttpExchange exchange, SecurityContext context, Long issueId) throws IOException {
+        Issue issue = issue(context, issueId);
+        String text = readBody(exchange).get("text");
+        if (text == null || text.isBlank()) {
+            throw ApiException.badRequest("Порожній коментар");
+        }
+        Comment comment = boardService.addComment(context, issue, text.strip());
+        send(exchange, 201, Json.comment(comment));
+    }
+
+    private SecurityContext authenticate(HttpExchange exchange) {
+        SecurityContext context = authService.getSession(token(exchange));
+        if (context == null) {
+            throw ApiException.unauthorized();
+        }
+        return context;
+    }
+
+    private static String token(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            return null;
+        }
+        return header.substring(BEARER.length()).strip();
+    }
+
+    /**
+     * Дошка проекту, видимого користувачу контексту; чужі й неіснуючі проекти не
+     * відрізняються, і для них дошка не створюється
+     */
+    private Board board(SecurityContext context, Long projectId) {
+        boolean visible = boardService.getProjectsByUser(context.getUser()).stream()
+            .anyMatch(project -> projectId.equals(project.getId()));
+        if (!visible) {
+            throw ApiException.notFound("Проект не знайдено");
+        }
+        return boards.computeIfAbsent(projectId, boardService::getBoardByProject);
+    }
+
+    /**
+     * Задача, яку бачить користувач контексту; недоступні задачі не відрізняються від відсутніх
+     */
+    private Issue issue(SecurityContext context, Long issueId) {
+        Issue issue = boardService.getIssueById(issueId);
+        if (issue == null || !boardService.getProjectAcl().canView(context, issue)) {
+            throw ApiException.notFound("Задачу не знайдено");
+        }
+        return issue;
+    }
+
+    private static Long parseId(String value) {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw ApiException.notFound("Некоректний ідентифікатор: " + value);
+        }
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, E defaultValue) {
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Enum.valueOf(type, value.strip().toUpperCase(Locale.ROOT).replace(' ', '_'));
+        } catch (IllegalArgumentException e) {
+            throw ApiException.badRequest("Невідоме значення: " + value);
+        }
+    }
+
+    private static Map<String, String> readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] body = in.readNBytes(MAX_BODY_BYTES + 1);
+            if (body.length > MAX_BODY_BYTES) {
+                throw new ApiException(413, "Завеликий запит");
+            }
+            if (body.length == 0) {
+                throw ApiException.badRequest("Порожнє тіло запиту");
+            }
+            return FlatJson.parseObject(new String(body, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String queryParameter(HttpExchange exchange, String name) {
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return null;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq >= 0 ? pair.substring(0, eq) : pair;
+            if (name.equals(key)) {
+                return eq >= 0 ? URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8) : "";
+            }
+        }
+        return null;
+    }
+
+    private static String[] segments(String path) {
+        String trimmed = path.startsWith("/") ? path.substring(1) : path;
+        if (trimmed.endsWith("/")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1);
+        }
+        return trimmed.split("/");
+    }
+
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        if (json == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package ua.oip.jiralite.server;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sun.net.httpserver.HttpServer;
+
+import ua.oip.jiralite.service.AuthService;
+import ua.oip.jiralite.service.BoardService;
+
+/**
+ * HTTP/JSON API поверх сервісів Jira Lite на вбудованому в JDK {@link HttpServer}.
+ * <p>
+ * Кожен запит обробляється в окремому віртуальному потоці, якщо їх підтримує
+ * JVM (Java 21+); на старіших JVM - пулом платформних потоків.
+ * Неактивні сесії прибираються раз на хвилину.
+ */
+public class ApiServer implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ApiServer.class);
+
+    // Скільки секунд чекати завершення запитів, що виконуються, при зупинці
+    private static final int STOP_DELAY_SECONDS = 1;
+
+    private static final long SESSION_SWEEP_MINUTES = 1;
+
+    private final HttpServer server;
+    private final ExecutorService requestExecutor;
+    private final ScheduledExecutorService sessionSweeper;
+
+    private ApiServer(HttpServer server, ExecutorService requestExecutor, ScheduledExecutorService sessionSweeper) {
+        this.server = server;
+        this.requestExecutor = requestExecutor;
+        this.sessionSweeper = sessionSweeper;
+    }
+
+    /**
+     * Запускає сервер
+     *
+     * @param address адреса прослуховування; порт 0 - будь-який вільний
+     */
+    public static ApiServer start(InetSocketAddress address, BoardService boardService,
+                                  AuthService authService) throws IOException {
+        HttpServer server = HttpServer.create(address, 0);
+        ExecutorService requestExecutor = perRequestExecutor();
+        server.setExecutor(requestExecutor);
+        server.createContext("/api/", new ApiHandler(boardService, authService));
+
+        ScheduledExecutorService sessionSweeper = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "jiralite-session-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sessionSweeper.scheduleWithFixedDelay(() -> authService.getSessionRegistry().expireIdle(),
+            SESSION_SWEEP_MINUTES, SESSION_SWEEP_MINUTES, TimeUnit.MINUTES);
+
+        server.start();
+        log.info("API-сервер слухає {}", server.getAddress());
+        return new ApiServer(server, requestExecutor, sessionSweeper);
+    }
+
+    /**
+     * Фактична адреса сервера, зокрема обраний порт
+     */
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    @Override
+    public void close() {
+        server.stop(STOP_DELAY_SECONDS);
+        sessionSweeper.shutdownNow();
+        requestExecutor.shutdown();
+        log.info("API-сервер зупинено");
+    }
+
+    /**
+     * Виконавець «потік на запит»: віртуальні потоки, якщо доступні, інакше пул платформних
+     */
+    static ExecutorService perRequestExecutor() {
+        try {
+            // Викликається через рефлексію, бо модуль компілюється під Java 17
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            ExecutorService executor = (ExecutorService) factory.invoke(null);
+            log.info("Запити обробляються у віртуальних потоках");
+            return executor;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            int threads = Math.max(16, Runtime.getRuntime().availableProcessors() * 4);
+            log.info("Віртуальні потоки недоступні, запити обробляє пул з {} потоків", threads);
+            AtomicInteger counter = new AtomicInteger();
+            return Executors.newFixedThreadPool(threads, task -> {
+                Thread thread = new Thread(task, "jiralite-http-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package ua.oip.jiralite.server;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import ua.oip.jiralite.domain.Comment;
+import ua.oip.jiralite.domain.Issue;
+import ua.oip.jiralite.domain.Project;
+import ua.oip.jiralite.domain.User;
+import ua.oip.jiralite.service.transfer.FlatJson;
+
+/**
+ * JSON-представлення сутностей у відповідях API
+ */
+final class Json {
+
+    private Json() {
+    }
+
+    static String project(Project project) {
+        return new ObjectBuilder()
+            .put("id", project.getId())
+            .put("key", project.getKey())
+            .put("name", project.getName())
+            .build();
+    }
+
+    /**
+     * @param withComments чи включати коментарі задачі
+     */
+    static String issue(Issue issue, boolean withComments) {
+        ObjectBuilder object = new ObjectBuilder()
+            .put("id", issue.getId())
+            .put("key", issue.getKey())
+            .put("title", issue.getTitle())
+            .put("description", issue.getDescription())
+            .put("status", issue.getStatus() != null ? issue.getStatus().name() : null)
+            .put("priority", issue.getPriority() != null ? issue.getPriority().name() : null)
+            .put("reporter", login(issue.getReporter()))
+            .put("assignee", login(issue.getAssignee()))
+            .put("projectId", issue.getProject() != null ? issue.getProject().getId() : null)
+            .put("createdAt", issue.getCreatedAt() != null ? issue.getCreatedAt().toString() : null);
+        if (withComments) {
+            object.putRaw("comments", comments(issue));
+        }
+        return object.build();
+    }
+
+    /**
+     * Коментарі задачі; список копіюється під монітором задачі, як його змінює сервіс
+     */
+    static String comments(Issue issue) {
+        List<Comment> comments;
+        synchronized (issue) {
+            comments = issue.getComments() != null ? new ArrayList<>(issue.getComments()) : List.of();
+        }
+        List<String> items = new ArrayList<>(comments.size());
+        for (Comment comment : comments) {
+            items.add(comment(comment));
+        }
+        return array(items);
+    }
+
+    static String comment(Comment comment) {
+        return new ObjectBuilder()
+            .put("id", comment.getId())
+            .put("author", login(comment.getAuthor()))
+            .put("text", comment.getText())
+            .put("createdAt", comment.getCreatedAt() != null ? comment.getCreatedAt().toString() : null)
+            .build();
+    }
+
+    static String error(String message) {
+        return new ObjectBuilder().put("error", message).build();
+    }
+
+    /**
+     * Масив з уже серіалізованих елементів
+     */
+    static String array(Collection<String> items) {
+        StringBuilder out = new StringBuilder(2 + items.size() * 128).append('[');
+        boolean first = true;
+        for (String item : items) {
+            if (!first) {
+                out.append(',');
+            }
+            out.append(item);
+            first = false;
+        }
+        return out.append(']').toString();
+    }
+
+    private static String login(User user) {
+        return user != null ? user.getLogin() : null;
+    }
+
+    /**
+     * Послідовний запис полів одного об'єкта
+     */
+    static final class ObjectBuilder {
+
+        private final StringBuilder out = new StringBuilder(128).append('{');
+
+        ObjectBuilder put(String name, String value) {
+            FlatJson.appendString(name(name), value);
+            return this;
+        }
+
+        ObjectBuilder put(String name, Long value) {
+            name(name).append(value != null ? value.toString() : "null");
+            return this;
+        }
+
+        ObjectBuilder putRaw(String name, String json) {
+            name(name).append(json);
+            return this;
+        }
+
+        String build() {
+            return out.append('}').toString();
+        }
+
+        private StringBuilder name(String name) {
+            if (out.length() > 1) {
+                out.append(',');
+            }
+            FlatJson.appendString(out, name);
+            return out.append(':');
+        }
+    }
+}
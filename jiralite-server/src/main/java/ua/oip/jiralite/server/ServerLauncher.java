@@ -0,0 +1,37 @@
+package ua.oip.jiralite.server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ua.oip.jiralite.service.AuthService;
+import ua.oip.jiralite.service.BoardService;
+
+/**
+ * Точка входу серверного режиму без графічного інтерфейсу.
+ * Адресу задають властивості {@value #HOST_PROPERTY} і {@value #PORT_PROPERTY}.
+ */
+public class ServerLauncher {
+
+    private static final Logger log = LoggerFactory.getLogger(ServerLauncher.class);
+
+    /** Адреса прослуховування */
+    public static final String HOST_PROPERTY = "jiralite.server.host";
+
+    /** Порт прослуховування */
+    public static final String PORT_PROPERTY = "jiralite.server.port";
+
+    private static final int DEFAULT_PORT = 8080;
+
+    public static void main(String[] args) throws IOException {
+        String host = System.getProperty(HOST_PROPERTY, "0.0.0.0");
+        int port = Integer.getInteger(PORT_PROPERTY, DEFAULT_PORT);
+
+        ApiServer server = ApiServer.start(new InetSocketAddress(host, port),
+            BoardService.getInstance(), AuthService.getInstance());
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close, "jiralite-server-shutdown"));
+        log.info("Сервер Jira Lite запущено на {}", server.getAddress());
+    }
+}
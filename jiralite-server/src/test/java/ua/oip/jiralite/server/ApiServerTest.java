@@ -0,0 +1,195 @@
+package ua.oip.jiralite.server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ua.oip.jiralite.domain.Project;
+import ua.oip.jiralite.repository.impl.IssueMemoryRepository;
+import ua.oip.jiralite.repository.impl.IssueMemoryStore;
+import ua.oip.jiralite.repository.impl.UserMemoryRepository;
+import ua.oip.jiralite.service.AuthService;
+import ua.oip.jiralite.service.BoardService;
+import ua.oip.jiralite.service.acl.ProjectRole;
+import ua.oip.jiralite.service.transfer.FlatJson;
+
+/**
+ * Тесты HTTP API сервера
+ */
+public class ApiServerTest {
+
+    private ApiServer server;
+    private AuthService authService;
+    private BoardService boardService;
+    private HttpClient client;
+    private String baseUri;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        authService = new AuthService(new UserMemoryRepository());
+        boardService = new BoardService(null, new IssueMemoryRepository(new IssueMemoryStore()),
+            authService);
+        server = ApiServer.start(new InetSocketAddress("127.0.0.1", 0), boardService, authService);
+        baseUri = "http://127.0.0.1:" + server.getAddress().getPort();
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.close();
+    }
+
+    private HttpResponse<String> call(String method, String path, String token, String body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUri + path))
+            .method(method, body != null
+                ? HttpRequest.BodyPublishers.ofString(body)
+                : HttpRequest.BodyPublishers.noBody());
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private String login(String login, String password) throws Exception {
+        HttpResponse<String> response = call("POST", "/api/auth/login", null,
+            "{\"login\":\"" + login + "\",\"password\":\"" + password + "\"}");
+        assertEquals(200, response.statusCode(), response.body());
+        return FlatJson.parseObject(response.body()).get("token");
+    }
+
+    @Test
+    @DisplayName("Должен создавать, перемещать и комментировать задачу через API")
+    public void testIssueLifecycle() throws Exception {
+        // Дано
+        String token = login("john", "1234");
+
+        // Когда
+        HttpResponse<String> created = call("POST", "/api/projects/1/issues", token,
+            "{\"title\":\"Задача из API\",\"priority\":\"high\",\"assignee\":\"john\"}");
+        Map<String, String> issue = FlatJson.parseObject(created.body());
+        String id = issue.get("id");
+        HttpResponse<String> moved = call("PUT", "/api/issues/" + id + "/status", token,
+            "{\"status\":\"in progress\"}");
+        HttpResponse<String> commented = call("POST", "/api/issues/" + id + "/comments", token,
+            "{\"text\":\"Взял в работу\"}");
+
+        // Тогда
+        assertEquals(201, created.statusCode(), created.body());
+        assertEquals("HIGH", issue.get("priority"));
+        assertEquals("john", issue.get("reporter"), "Автор - пользователь сессии");
+        assertEquals(200, moved.statusCode(), moved.body());
+        assertEquals("IN_PROGRESS", FlatJson.parseObject(moved.body()).get("status"));
+        assertEquals(201, commented.statusCode(), commented.body());
+        String details = call("GET", "/api/issues/" + id, token, null).body();
+        assertTrue(details.contains("\"text\":\"Взял в работу\""), details);
+        String found = call("GET", "/api/projects/1/issues?q=%D0%B7%D0%B0%D0%B4%D0%B0%D1%87%D0%B0", token, null)
+            .body();
+        assertTrue(found.contains("\"id\":" + id), "Поиск по проекту должен находить задачу: " + found);
+    }
+
+    @Test
+    @DisplayName("Должен отклонять запросы без сессии и действия без прав")
+    public void testAuthorization() throws Exception {
+        // Дано
+        String guest = login("guest", "guest");
+
+        // Когда / Тогда
+        assertEquals(401, call("GET", "/api/projects", null, null).statusCode());
+        assertEquals(401, call("GET", "/api/projects", "unknown-token", null).statusCode());
+        assertEquals(401, call("POST", "/api/auth/login", null, "{\"login\":\"john\",\"password\":\"x\"}")
+            .statusCode());
+        assertEquals(200, call("GET", "/api/projects/1/issues", guest, null).statusCode(),
+            "Гость может читать задачи");
+        assertEquals(403, call("POST", "/api/projects/1/issues", guest, "{\"title\":\"Нельзя\"}").statusCode());
+        assertEquals(403, call("DELETE", "/api/issues/1", guest, null).statusCode());
+        assertEquals(400, call("POST", "/api/auth/login", null, "{не json").statusCode());
+        assertEquals(404, call("GET", "/api/issues/999999", guest, null).statusCode());
+
+        assertEquals(204, call("POST", "/api/auth/logout", guest, null).statusCode());
+        assertEquals(401, call("GET", "/api/projects", guest, null).statusCode(), "После выхода токен недействителен");
+    }
+
+    @Test
+    @DisplayName("Должен отвечать 404 для проектов, которых пользователь не видит")
+    public void testUnknownProject() throws Exception {
+        // Дано
+        String token = login("john", "1234");
+
+        // Когда
+        HttpResponse<String> listed = call("GET", "/api/projects/" + Integer.MAX_VALUE + "/issues", token, null);
+        HttpResponse<String> created = call("POST", "/api/projects/42/issues", token, "{\"title\":\"Чужая\"}");
+
+        // Тогда
+        assertEquals(404, listed.statusCode(), listed.body());
+        assertEquals(404, created.statusCode(), created.body());
+        assertEquals(200, call("GET", "/api/projects/1/issues", token, null).statusCode());
+    }
+
+    @Test
+    @DisplayName("Должен скрывать задачи закрытого проекта от пользователей без роли")
+    public void testProjectAcl() throws Exception {
+        // Дано
+        String john = login("john", "1234");
+        String guest = login("guest", "guest");
+        String demoIssues = call("GET", "/api/projects/1/issues", john, null).body();
+        String demoId = FlatJson.parseObject(demoIssues.substring(1, demoIssues.indexOf('}') + 1)).get("id");
+        Project project = boardService.getBoardByProject(1L).getProject();
+        boardService.getProjectAcl().assign(authService.getUserRepository().findByLogin("john"), project,
+            ProjectRole.VIEWER);
+
+        // Когда / Тогда
+        assertEquals(200, call("GET", "/api/issues/" + demoId, john, null).statusCode(), "Наблюдатель видит задачи");
+        assertEquals(403, call("POST", "/api/projects/1/issues", john, "{\"title\":\"Нельзя\"}").statusCode(),
+            "Наблюдатель не создает задачи");
+        assertEquals("[]", call("GET", "/api/projects/1/issues", guest, null).body(),
+            "Без роли в проекте задачи не попадают в список");
+        assertEquals(404, call("GET", "/api/issues/" + demoId, guest, null).statusCode());
+        assertEquals(404, call("GET", "/api/issues/" + demoId + "/comments", guest, null).statusCode());
+    }
+
+    @Test
+    @DisplayName("Должен обслуживать много пользователей одновременно")
+    public void testConcurrentClients() throws Exception {
+        // Дано
+        int clients = 50;
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            tokens.add(login(i % 2 == 0 ? "john" : "admin", i % 2 == 0 ? "1234" : "qwerty"));
+        }
+
+        // Когда
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUri + "/api/projects/1/issues"))
+                .header("Authorization", "Bearer " + tokens.get(i))
+                .POST(HttpRequest.BodyPublishers.ofString("{\"title\":\"Параллельная " + i + "\"}"))
+                .build();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+        }
+
+        // Тогда
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            assertEquals(201, response.get().statusCode(), response.get().body());
+            assertNotNull(FlatJson.parseObject(response.get().body()).get("key"));
+        }
+        String all = call("GET", "/api/projects/1/issues", tokens.get(0), null).body();
+        for (int i = 0; i < clients; i++) {
+            assertTrue(all.contains("Параллельная " + i + "\""), "Задача " + i + " должна быть на доске");
+        }
+    }
+}
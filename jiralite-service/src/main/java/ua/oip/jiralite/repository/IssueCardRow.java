@@ -0,0 +1,18 @@
+package ua.oip.jiralite.repository;
+
+import ua.oip.jiralite.domain.enums.Priority;
+import ua.oip.jiralite.domain.enums.Status;
+
+/**
+ * Рядок картки задачі на дошці: лише поля, які показує картка.
+ * <p>
+ * Повертається проєкційними запитами репозиторію замість керованих сутностей
+ * {@link ua.oip.jiralite.domain.Issue}, тому не тримає коментарів, зв'язків
+ * і повного опису.
+ *
+ * @param descriptionPreview початок опису, обрізаний запитом, або null
+ * @param assigneeName повне ім'я виконавця або null, якщо задача не призначена
+ */
+public record IssueCardRow(Long id, String key, String title, String descriptionPreview,
+                           Status status, Priority priority, String assigneeName) {
+}
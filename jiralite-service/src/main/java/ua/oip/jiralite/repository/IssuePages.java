@@ -0,0 +1,137 @@
+package ua.oip.jiralite.repository;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import ua.oip.jiralite.domain.Issue;
+
+/**
+ * Потік задач поверх keyset-пагінації.
+ * <p>
+ * Наступна сторінка запитується лише тоді, коли споживач дочитав попередню,
+ * з умовою "ID більший за останній прочитаний". Тому в пам'яті одночасно
+ * перебуває не більше однієї сторінки, а вставки та видалення під час
+ * читання не зсувають сторінки, як це робить OFFSET.
+ */
+public final class IssuePages {
+
+    /**
+     * Розмір сторінки для потокових вибірок за замовчуванням
+     */
+    public static final int DEFAULT_PAGE_SIZE = 500;
+
+    private IssuePages() {
+    }
+
+    /**
+     * Завантажувач сторінки: задачі з ID більшим за afterId у порядку зростання ID
+     */
+    @FunctionalInterface
+    public interface PageLoader {
+
+        /**
+         * @param afterId ID останньої прочитаної задачі або null для першої сторінки
+         * @param limit максимальна кількість задач
+         */
+        List<Issue> load(Long afterId, int limit);
+    }
+
+    /**
+     * Перевіряє розмір сторінки, переданий у finder
+     *
+     * @throws IllegalArgumentException якщо розмір не додатний
+     */
+    public static void checkLimit(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Розмір сторінки повинен бути додатним: " + limit);
+        }
+    }
+
+    public static Stream<Issue> stream(int pageSize, PageLoader loader) {
+        return stream(pageSize, loader, page -> { });
+    }
+
+    /**
+     * @param afterPage викликається для кожної прочитаної сторінки перед завантаженням
+     *                  наступної та при закритті потоку
+     */
+    public static Stream<Issue> stream(int pageSize, PageLoader loader, Consumer<List<Issue>> afterPage) {
+        checkLimit(pageSize);
+        PageIterator iterator = new PageIterator(pageSize, loader, afterPage);
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator,
+                        Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL),
+                false)
+            .onClose(iterator::release);
+    }
+
+    private static final class PageIterator implements Iterator<Issue> {
+
+        private final int pageSize;
+        private final PageLoader loader;
+        private final Consumer<List<Issue>> afterPage;
+
+        private List<Issue> page;
+        private int position;
+        private boolean exhausted;
+
+        PageIterator(int pageSize, PageLoader loader, Consumer<List<Issue>> afterPage) {
+            this.pageSize = pageSize;
+            this.loader = loader;
+            this.afterPage = afterPage;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (page != null && position < page.size()) {
+                return true;
+            }
+            if (exhausted) {
+                return false;
+            }
+
+            Long afterId = null;
+            if (page != null) {
+                // Неповна сторінка означає, що далі задач немає
+                if (page.size() < pageSize) {
+                    release();
+                    exhausted = true;
+                    return false;
+                }
+                afterId = page.get(page.size() - 1).getId();
+                release();
+            }
+
+            page = loader.load(afterId, pageSize);
+            position = 0;
+            if (page.isEmpty()) {
+                page = null;
+                exhausted = true;
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public Issue next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return page.get(position++);
+        }
+
+        void release() {
+            if (page != null) {
+                List<Issue> done = page;
+                page = null;
+                afterPage.accept(done);
+            }
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package ua.oip.jiralite.repository;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import ua.oip.jiralite.domain.Board;
 import ua.oip.jiralite.domain.Issue;
@@ -9,6 +13,12 @@ import ua.oip.jiralite.domain.User;
 
 /**
  * Репозиторий для работы с задачами
+ * <p>
+ * Кроме полных выборок есть постраничные (keyset): задачи возвращаются по
+ * возрастанию ID, начиная после {@code afterId}. Следующую страницу
+ * запрашивают с ID последней задачи предыдущей. Потоки {@code stream*}
+ * читают выборку такими страницами и держат в памяти только текущую;
+ * их нужно закрывать (try-with-resources).
  */
 public interface IssueRepository {
     
@@ -17,11 +27,44 @@ public interface IssueRepository {
      */
     Issue save(Issue issue);
     
+    /**
+     * Сохраняет пакет задач, например при импорте
+     *
+     * @return сохраненные задачи в порядке входной коллекции
+     */
+    default List<Issue> saveAll(Collection<Issue> issues) {
+        List<Issue> saved = new ArrayList<>(issues.size());
+        for (Issue issue : issues) {
+            saved.add(save(issue));
+        }
+        return saved;
+    }
+    
     /**
      * Находит задачу по ID
      */
     Issue findById(Long id);
     
+    /**
+     * Изменяет сохраненную задачу и сохраняет ее.
+     * <p>
+     * Реализация по умолчанию читает задачу, применяет изменения и сохраняет
+     * результат. In-memory хранилище выполняет все это под своей блокировкой
+     * записи, поэтому читатели не видят задачу, расходящуюся с индексами, а
+     * изменение видит состояние после всех предыдущих.
+     *
+     * @param mutator изменения задачи
+     * @return измененная задача или null, если задача не найдена
+     */
+    default Issue update(Long id, Consumer<Issue> mutator) {
+        Issue issue = id != null ? findById(id) : null;
+        if (issue == null) {
+            return null;
+        }
+        mutator.accept(issue);
+        return save(issue);
+    }
+    
     /**
      * Находит все задачи доски
      */
@@ -37,6 +80,63 @@ public interface IssueRepository {
      */
     List<Issue> findByAssignee(User assignee);
     
+    /**
+     * Находит страницу задач доски
+     *
+     * @param afterId ID последней задачи предыдущей страницы или null для первой
+     * @param limit размер страницы
+     */
+    List<Issue> findByBoard(Board board, Long afterId, int limit);
+    
+    /**
+     * Находит страницу задач проекта
+     *
+     * @param afterId ID последней задачи предыдущей страницы или null для первой
+     * @param limit размер страницы
+     */
+    List<Issue> findByProject(Project project, Long afterId, int limit);
+    
+    /**
+     * Находит страницу задач, назначенных пользователю
+     *
+     * @param afterId ID последней задачи предыдущей страницы или null для первой
+     * @param limit размер страницы
+     */
+    List<Issue> findByAssignee(User assignee, Long afterId, int limit);
+    
+    /**
+     * Находит страницу среди всех задач
+     *
+     * @param afterId ID последней задачи предыдущей страницы или null для первой
+     * @param limit размер страницы
+     */
+    List<Issue> findAll(Long afterId, int limit);
+    
+    /**
+     * Количество задач доски по статусу, приоритету и исполнителю
+     */
+    IssueStats statsByBoard(Board board);
+    
+    /**
+     * Количество задач проекта по статусу, приоритету и исполнителю
+     */
+    IssueStats statsByProject(Project project);
+    
+    /**
+     * Потоково читает задачи проекта страницами
+     */
+    default Stream<Issue> streamByProject(Project project) {
+        return IssuePages.stream(IssuePages.DEFAULT_PAGE_SIZE,
+                (afterId, limit) -> findByProject(project, afterId, limit));
+    }
+    
+    /**
+     * Потоково читает все задачи страницами, например для экспорта
+     */
+    default Stream<Issue> streamAll() {
+        return IssuePages.stream(IssuePages.DEFAULT_PAGE_SIZE, this::findAll);
+    }
+    
     /**
      * Удаляет задачу
      */
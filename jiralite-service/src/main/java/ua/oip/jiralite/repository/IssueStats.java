@@ -0,0 +1,136 @@
+package ua.oip.jiralite.repository;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+import ua.oip.jiralite.domain.enums.Priority;
+import ua.oip.jiralite.domain.enums.Status;
+
+/**
+ * Незмінний знімок статистики задач дошки або проєкту: кількість задач
+ * за статусом, пріоритетом та виконавцем.
+ * <p>
+ * Знімки будує {@link Counter}: in-memory сховище оновлює лічильники при
+ * кожній зміні задачі, а JPA-репозиторій заповнює їх одним GROUP BY запитом.
+ */
+public final class IssueStats {
+
+    /**
+     * Статистика без задач
+     */
+    public static final IssueStats EMPTY = new Counter().snapshot();
+
+    private final int total;
+    private final int unassigned;
+    private final Map<Status, Integer> byStatus;
+    private final Map<Priority, Integer> byPriority;
+    private final Map<Long, Integer> byAssignee;
+
+    private IssueStats(Counter counter) {
+        this.total = counter.total;
+        this.unassigned = counter.unassigned;
+        this.byStatus = Collections.unmodifiableMap(new EnumMap<>(counter.byStatus));
+        this.byPriority = Collections.unmodifiableMap(new EnumMap<>(counter.byPriority));
+        this.byAssignee = Collections.unmodifiableMap(new HashMap<>(counter.byAssignee));
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int count(Status status) {
+        return byStatus.getOrDefault(status, 0);
+    }
+
+    public int count(Priority priority) {
+        return byPriority.getOrDefault(priority, 0);
+    }
+
+    /**
+     * @param assigneeId ID виконавця або null для задач без виконавця
+     */
+    public int countByAssignee(Long assigneeId) {
+        return assigneeId == null ? unassigned : byAssignee.getOrDefault(assigneeId, 0);
+    }
+
+    public int getUnassigned() {
+        return unassigned;
+    }
+
+    /**
+     * Ненульові лічильники за статусом
+     */
+    public Map<Status, Integer> getByStatus() {
+        return byStatus;
+    }
+
+    /**
+     * Ненульові лічильники за пріоритетом
+     */
+    public Map<Priority, Integer> getByPriority() {
+        return byPriority;
+    }
+
+    /**
+     * Ненульові лічильники за ID виконавця, без задач без виконавця
+     */
+    public Map<Long, Integer> getByAssignee() {
+        return byAssignee;
+    }
+
+    @Override
+    public String toString() {
+        return "IssueStats{total=" + total + ", byStatus=" + byStatus + ", byPriority=" + byPriority
+            + ", byAssignee=" + byAssignee + ", unassigned=" + unassigned + "}";
+    }
+
+    /**
+     * Змінний лічильник, з якого знімаються {@link IssueStats}. Не потокобезпечний.
+     */
+    public static final class Counter {
+
+        private int total;
+        private int unassigned;
+        private final Map<Status, Integer> byStatus = new EnumMap<>(Status.class);
+        private final Map<Priority, Integer> byPriority = new EnumMap<>(Priority.class);
+        private final Map<Long, Integer> byAssignee = new HashMap<>();
+
+        /**
+         * Додає count задач з однаковими значеннями полів (від'ємне count віднімає)
+         */
+        public void add(Status status, Priority priority, Long assigneeId, int count) {
+            total += count;
+            if (status != null) {
+                byStatus.merge(status, count, Counter::sumOrRemove);
+            }
+            if (priority != null) {
+                byPriority.merge(priority, count, Counter::sumOrRemove);
+            }
+            if (assigneeId != null) {
+                byAssignee.merge(assigneeId, count, Counter::sumOrRemove);
+            } else {
+                unassigned += count;
+            }
+        }
+
+        public void remove(Status status, Priority priority, Long assigneeId) {
+            add(status, priority, assigneeId, -1);
+        }
+
+        public boolean isEmpty() {
+            return total == 0;
+        }
+
+        public IssueStats snapshot() {
+            return new IssueStats(this);
+        }
+
+        // Нульові лічильники видаляються, щоб мапи не накопичували старі значення
+        private static Integer sumOrRemove(Integer current, Integer delta) {
+            int sum = current + delta;
+            return sum == 0 ? null : sum;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package ua.oip.jiralite.repository.impl;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Неблокуючий генератор ID та ключів задач.
+ * <p>
+ * ID монотонно зростають і видаються за O(1) без блокувань, тому паралельні
+ * створення задач ніколи не отримують однаковий ID. Для кожного проекту
+ * ведеться окрема послідовність ключів ({@code DEMO-1}, {@code DEMO-2}...).
+ * Після перезапуску генератор відновлює верхню межу через
+ * {@link #observeId(long)} та {@link #observeKey(String)} для кожної
+ * завантаженої задачі.
+ */
+public class IssueIdAllocator {
+
+    private final AtomicLong lastId;
+    private final ConcurrentMap<String, AtomicLong> keySequences = new ConcurrentHashMap<>();
+
+    public IssueIdAllocator() {
+        this(0);
+    }
+
+    /**
+     * @param reservedUpTo ID до цього значення включно не видаються (наприклад, зарезервовані для демо-даних)
+     */
+    public IssueIdAllocator(long reservedUpTo) {
+        this.lastId = new AtomicLong(reservedUpTo);
+    }
+
+    /**
+     * Повертає наступний вільний ID
+     */
+    public long nextId() {
+        return lastId.incrementAndGet();
+    }
+
+    /**
+     * Резервує послідовний блок ID для пакетного створення задач
+     *
+     * @param size кількість ID у блоці
+     * @return зарезервований блок
+     */
+    public IdBlock reserveBlock(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Розмір блоку повинен бути додатним: " + size);
+        }
+        long first = lastId.getAndAdd(size) + 1;
+        return new IdBlock(first, first + size);
+    }
+
+    /**
+     * Повертає наступний ключ задачі для проекту
+     *
+     * @param projectKey ключ проекту
+     * @return ключ у форматі PROJECT_KEY-N
+     */
+    public String nextKey(String projectKey) {
+        return projectKey + "-" + sequenceOf(projectKey).incrementAndGet();
+    }
+
+    /**
+     * Враховує вже існуючий ID, щоб він не був виданий повторно
+     */
+    public void observeId(long id) {
+        lastId.accumulateAndGet(id, Math::max);
+    }
+
+    /**
+     * Враховує вже існуючий ключ задачі, щоб він не був виданий повторно.
+     * Ключі, що не відповідають формату PROJECT_KEY-N, ігноруються.
+     */
+    public void observeKey(String key) {
+        if (key == null) {
+            return;
+        }
+        int dash = key.lastIndexOf('-');
+        if (dash <= 0 || dash == key.length() - 1) {
+            return;
+        }
+        long number;
+        try {
+            number = Long.parseLong(key.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return;
+        }
+        sequenceOf(key.substring(0, dash)).accumulateAndGet(number, Math::max);
+    }
+
+    /**
+     * Повертає останній виданий або врахований ID
+     */
+    public long getHighWaterMark() {
+        return lastId.get();
+    }
+
+    private AtomicLong sequenceOf(String projectKey) {
+        return keySequences.computeIfAbsent(projectKey, k -> new AtomicLong());
+    }
+
+    /**
+     * Зарезервований діапазон ID [first, end). Не є потокобезпечним:
+     * блок призначений для використання одним потоком (наприклад, імпортом).
+     */
+    public static final class IdBlock {
+        private final long end;
+        private long next;
+
+        private IdBlock(long first, long end) {
+            this.next = first;
+            this.end = end;
+        }
+
+        public boolean hasNext() {
+            return next < end;
+        }
+
+        public long next() {
+            if (next >= end) {
+                throw new IllegalStateException("Блок ID вичерпано");
+            }
+            return next++;
+        }
+
+        public int remaining() {
+            return (int) (end - next);
+        }
+    }
+}
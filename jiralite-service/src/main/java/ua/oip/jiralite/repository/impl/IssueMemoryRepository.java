@@ -0,0 +1,161 @@
+package ua.oip.jiralite.repository.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+import ua.oip.jiralite.domain.Board;
+import ua.oip.jiralite.domain.Issue;
+import ua.oip.jiralite.domain.Project;
+import ua.oip.jiralite.domain.User;
+import ua.oip.jiralite.domain.enums.Status;
+import ua.oip.jiralite.repository.IssueRepository;
+import ua.oip.jiralite.repository.IssueStats;
+
+/**
+ * In-memory реализация репозитория задач.
+ * <p>
+ * Все выборки обслуживаются индексами {@link IssueMemoryStore}, а не полным
+ * перебором задач. Повторное сохранение задачи переносит ее в индексах, если
+ * изменились проект, доска, статус или исполнитель.
+ */
+public class IssueMemoryRepository implements IssueRepository {
+
+    private final IssueMemoryStore store;
+
+    public IssueMemoryRepository() {
+        this(new IssueMemoryStore());
+    }
+
+    public IssueMemoryRepository(IssueMemoryStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Возвращает хранилище, на котором построен репозиторий
+     */
+    public IssueMemoryStore getStore() {
+        return store;
+    }
+
+    @Override
+    public Issue save(Issue issue) {
+        if (issue.getId() == null) {
+            issue.setId(store.getIdAllocator().nextId());
+        }
+        if (issue.getKey() == null && issue.getProject() != null && issue.getProject().getKey() != null) {
+            issue.setKey(store.getIdAllocator().nextKey(issue.getProject().getKey()));
+        }
+        return store.put(issue);
+    }
+
+    /**
+     * Назначает ID и ключи и сохраняет пакет под одной блокировкой хранилища;
+     * при конфликте ключей пакет не сохраняется целиком
+     */
+    @Override
+    public List<Issue> saveAll(Collection<Issue> issues) {
+        for (Issue issue : issues) {
+            if (issue.getId() == null) {
+                issue.setId(store.getIdAllocator().nextId());
+            }
+            if (issue.getKey() == null && issue.getProject() != null && issue.getProject().getKey() != null) {
+                issue.setKey(store.getIdAllocator().nextKey(issue.getProject().getKey()));
+            }
+        }
+        store.putAll(issues);
+        return new ArrayList<>(issues);
+    }
+
+    @Override
+    public Issue findById(Long id) {
+        return store.findById(id);
+    }
+
+    /**
+     * Изменяет задачу и ее индексы под блокировкой записи хранилища
+     */
+    @Override
+    public Issue update(Long id, Consumer<Issue> mutator) {
+        return store.update(id, mutator);
+    }
+
+    /**
+     * Находит задачу по ключу
+     */
+    public Issue findByKey(String key) {
+        return store.findByKey(key);
+    }
+
+    @Override
+    public List<Issue> findByBoard(Board board) {
+        if (board == null) {
+            return new ArrayList<>();
+        }
+        return store.findByBoard(board.getId());
+    }
+
+    @Override
+    public List<Issue> findByProject(Project project) {
+        if (project == null) {
+            return new ArrayList<>();
+        }
+        return store.findByProject(project.getId());
+    }
+
+    @Override
+    public List<Issue> findByAssignee(User assignee) {
+        if (assignee == null) {
+            return new ArrayList<>();
+        }
+        return store.findByAssignee(assignee.getId());
+    }
+
+    @Override
+    public List<Issue> findByBoard(Board board, Long afterId, int limit) {
+        return store.findByBoard(board != null ? board.getId() : null, afterId, limit);
+    }
+
+    @Override
+    public List<Issue> findByProject(Project project, Long afterId, int limit) {
+        return store.findByProject(project != null ? project.getId() : null, afterId, limit);
+    }
+
+    @Override
+    public List<Issue> findByAssignee(User assignee, Long afterId, int limit) {
+        return store.findByAssignee(assignee != null ? assignee.getId() : null, afterId, limit);
+    }
+
+    @Override
+    public List<Issue> findAll(Long afterId, int limit) {
+        return store.findAll(afterId, limit);
+    }
+
+    /**
+     * Читает счетчики, которые хранилище обновляет при каждом сохранении задачи
+     */
+    @Override
+    public IssueStats statsByBoard(Board board) {
+        return store.statsByBoard(board != null ? board.getId() : null);
+    }
+
+    @Override
+    public IssueStats statsByProject(Project project) {
+        return store.statsByProject(project != null ? project.getId() : null);
+    }
+
+    /**
+     * Находит все задачи с указанным статусом
+     */
+    public List<Issue> findByStatus(Status status) {
+        return store.findByStatus(status);
+    }
+
+    @Override
+    public void delete(Issue issue) {
+        if (issue != null && issue.getId() != null) {
+            store.remove(issue.getId());
+        }
+    }
+}
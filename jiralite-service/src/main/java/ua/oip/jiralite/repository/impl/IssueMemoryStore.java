@@ -0,0 +1,582 @@
+package ua.oip.jiralite.repository.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import ua.oip.jiralite.domain.Issue;
+import ua.oip.jiralite.domain.enums.Priority;
+import ua.oip.jiralite.domain.enums.Status;
+import ua.oip.jiralite.repository.IssuePages;
+import ua.oip.jiralite.repository.IssueStats;
+
+/**
+ * Потокобезпечне in-memory сховище задач з індексами.
+ * <p>
+ * Пошук за ID та ключем виконується за O(1), вибірки за проектом, дошкою,
+ * статусом та виконавцем обслуговуються вторинними індексами: кожен бакет
+ * зберігає самі задачі, впорядковані за ID, тому вибірка лише копіює бакет
+ * без додаткових пошуків. Оскільки задачі є змінними
+ * об'єктами, сховище запам'ятовує проіндексовані значення полів кожної задачі
+ * і при повторному збереженні переносить її між бакетами.
+ * <p>
+ * Для кожного проекту та дошки сховище також веде лічильники задач за
+ * статусом, пріоритетом та виконавцем, які оновлюються разом з індексами,
+ * тому статистика читається без перерахунку задач.
+ * <p>
+ * Кожна збережена задача реєструється у {@link IssueIdAllocator} сховища,
+ * тому нові ID та ключі ніколи не перетинаються з уже збереженими.
+ */
+public class IssueMemoryStore {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final IssueIdAllocator idAllocator;
+
+    private final Map<Long, Issue> issuesById = new HashMap<>();
+    private final NavigableMap<Long, Issue> allById = new TreeMap<>();
+    private final Map<Long, IndexEntry> entriesById = new HashMap<>();
+    private final Map<String, Long> idsByKey = new HashMap<>();
+
+    private final Map<Long, NavigableMap<Long, Issue>> byProject = new HashMap<>();
+    private final Map<Long, NavigableMap<Long, Issue>> byBoard = new HashMap<>();
+    private final Map<Status, NavigableMap<Long, Issue>> byStatus = new EnumMap<>(Status.class);
+    private final Map<Long, NavigableMap<Long, Issue>> byAssignee = new HashMap<>();
+    private final NavigableMap<Long, Issue> withoutProject = new TreeMap<>();
+
+    private final Map<Long, IssueStats.Counter> statsByProject = new HashMap<>();
+    private final Map<Long, IssueStats.Counter> statsByBoard = new HashMap<>();
+
+    // Отримує кожну зміну під блокуванням запису, наприклад журнал змін
+    private volatile MemoryStoreListener listener;
+
+    public IssueMemoryStore() {
+        this(new IssueIdAllocator());
+    }
+
+    public IssueMemoryStore(IssueIdAllocator idAllocator) {
+        this.idAllocator = idAllocator;
+    }
+
+    /**
+     * Встановлює слухача змін або знімає його, якщо передано null
+     */
+    public void setListener(MemoryStoreListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Повертає генератор ID та ключів задач цього сховища
+     */
+    public IssueIdAllocator getIdAllocator() {
+        return idAllocator;
+    }
+
+    /**
+     * Зберігає задачу або переіндексує вже збережену з тим самим ID
+     *
+     * @param issue задача з призначеним ID
+     * @return збережена задача
+     * @throws IllegalArgumentException якщо задача не має ID
+     * @throws IllegalStateException якщо ключ задачі вже зайнятий іншою задачею
+     */
+    public Issue put(Issue issue) {
+        if (issue == null || issue.getId() == null) {
+            throw new IllegalArgumentException("Задача повинна мати ID");
+        }
+
+        lock.writeLock().lock();
+        try {
+            checkKeyLocked(issue);
+            checkWritableLocked();
+            Issue previous = issuesById.put(issue.getId(), issue);
+            allById.put(issue.getId(), issue);
+            reindexLocked(issue, previous != null && previous != issue);
+            notifySavedLocked(issue);
+            return issue;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Зберігає кілька задач під одним блокуванням запису, наприклад при завантаженні знімка.
+     * Ключі перевіряються до зміни сховища, тому пакет зберігається повністю або не зберігається зовсім.
+     *
+     * @throws IllegalArgumentException якщо якась задача не має ID
+     * @throws IllegalStateException якщо ключ задачі вже зайнятий іншою задачею
+     */
+    public void putAll(Collection<Issue> issues) {
+        for (Issue issue : issues) {
+            if (issue == null || issue.getId() == null) {
+                throw new IllegalArgumentException("Задача повинна мати ID");
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            Map<String, Long> batchKeys = new HashMap<>();
+            for (Issue issue : issues) {
+                checkKeyLocked(issue);
+                Long owner = issue.getKey() != null ? batchKeys.put(issue.getKey(), issue.getId()) : null;
+                if (owner != null && !owner.equals(issue.getId())) {
+                    throw new IllegalStateException("Ключ " + issue.getKey() + " повторюється у задач " + owner
+                        + " та " + issue.getId());
+                }
+            }
+            checkWritableLocked();
+            for (Issue issue : issues) {
+                Issue previous = issuesById.put(issue.getId(), issue);
+                allById.put(issue.getId(), issue);
+                reindexLocked(issue, previous != null && previous != issue);
+                notifySavedLocked(issue);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Атомарно змінює збережену задачу та оновлює індекси
+     *
+     * @param id ID задачі
+     * @param mutator зміни, які потрібно застосувати до задачі
+     * @return змінена задача або null, якщо задачу не знайдено
+     */
+    public Issue update(Long id, Consumer<Issue> mutator) {
+        if (id == null) {
+            return null;
+        }
+
+        lock.writeLock().lock();
+        try {
+            Issue issue = issuesById.get(id);
+            if (issue == null) {
+                return null;
+            }
+            checkWritableLocked();
+            mutator.accept(issue);
+            reindexLocked(issue, false);
+            notifySavedLocked(issue);
+            return issue;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Оновлює індекси після зміни задачі поза сховищем
+     *
+     * @param id ID задачі
+     * @return true, якщо задачу знайдено
+     */
+    public boolean reindex(Long id) {
+        return update(id, issue -> { }) != null;
+    }
+
+    /**
+     * Видаляє задачу зі сховища
+     *
+     * @param id ID задачі
+     * @return видалена задача або null, якщо її не було
+     */
+    public Issue remove(Long id) {
+        if (id == null) {
+            return null;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (issuesById.containsKey(id)) {
+                checkWritableLocked();
+            }
+            Issue removed = issuesById.remove(id);
+            allById.remove(id);
+            IndexEntry entry = entriesById.remove(id);
+            if (entry != null) {
+                unindex(id, entry);
+            }
+            MemoryStoreListener current = listener;
+            if (removed != null && current != null) {
+                current.issueRemoved(id);
+            }
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Issue findById(Long id) {
+        if (id == null) {
+            return null;
+        }
+
+        lock.readLock().lock();
+        try {
+            return issuesById.get(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Issue findByKey(String key) {
+        if (key == null) {
+            return null;
+        }
+
+        lock.readLock().lock();
+        try {
+            Long id = idsByKey.get(key);
+            return id != null ? issuesById.get(id) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(Long id) {
+        return findById(id) != null;
+    }
+
+    public List<Issue> findByProject(Long projectId) {
+        return findInBucket(byProject, projectId);
+    }
+
+    public List<Issue> findByBoard(Long boardId) {
+        return findInBucket(byBoard, boardId);
+    }
+
+    public List<Issue> findByStatus(Status status) {
+        return findInBucket(byStatus, status);
+    }
+
+    public List<Issue> findByAssignee(Long assigneeId) {
+        return findInBucket(byAssignee, assigneeId);
+    }
+
+    /**
+     * Сторінка задач проекту з ID більшим за afterId (keyset-пагінація)
+     */
+    public List<Issue> findByProject(Long projectId, Long afterId, int limit) {
+        return findPageInBucket(byProject, projectId, afterId, limit);
+    }
+
+    /**
+     * Сторінка задач дошки з ID більшим за afterId
+     */
+    public List<Issue> findByBoard(Long boardId, Long afterId, int limit) {
+        return findPageInBucket(byBoard, boardId, afterId, limit);
+    }
+
+    /**
+     * Сторінка задач виконавця з ID більшим за afterId
+     */
+    public List<Issue> findByAssignee(Long assigneeId, Long afterId, int limit) {
+        return findPageInBucket(byAssignee, assigneeId, afterId, limit);
+    }
+
+    /**
+     * Сторінка всіх задач з ID більшим за afterId
+     */
+    public List<Issue> findAll(Long afterId, int limit) {
+        IssuePages.checkLimit(limit);
+        lock.readLock().lock();
+        try {
+            return page(allById, afterId, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Статистика задач проекту, яку сховище підтримує інкрементально
+     */
+    public IssueStats statsByProject(Long projectId) {
+        return readStats(statsByProject, projectId);
+    }
+
+    /**
+     * Статистика задач дошки, яку сховище підтримує інкрементально
+     */
+    public IssueStats statsByBoard(Long boardId) {
+        return readStats(statsByBoard, boardId);
+    }
+
+    /**
+     * Повертає задачі, які ще не прив'язані до проекту
+     */
+    public List<Issue> findWithoutProject() {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(withoutProject.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Повертає всі задачі у порядку зростання ID
+     */
+    public List<Issue> findAll() {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(allById.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return issuesById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Видаляє всі задачі та індекси
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            issuesById.clear();
+            allById.clear();
+            entriesById.clear();
+            idsByKey.clear();
+            byProject.clear();
+            byBoard.clear();
+            byStatus.clear();
+            byAssignee.clear();
+            withoutProject.clear();
+            statsByProject.clear();
+            statsByBoard.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private <K> List<Issue> findInBucket(Map<K, NavigableMap<Long, Issue>> index, K value) {
+        if (value == null) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            NavigableMap<Long, Issue> bucket = index.get(value);
+            return bucket != null ? new ArrayList<>(bucket.values()) : new ArrayList<>();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private IssueStats readStats(Map<Long, IssueStats.Counter> stats, Long ownerId) {
+        if (ownerId == null) {
+            return IssueStats.EMPTY;
+        }
+
+        lock.readLock().lock();
+        try {
+            IssueStats.Counter counter = stats.get(ownerId);
+            return counter != null ? counter.snapshot() : IssueStats.EMPTY;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private <K> List<Issue> findPageInBucket(Map<K, NavigableMap<Long, Issue>> index, K value,
+                                             Long afterId, int limit) {
+        IssuePages.checkLimit(limit);
+        if (value == null) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            NavigableMap<Long, Issue> bucket = index.get(value);
+            return bucket != null ? page(bucket, afterId, limit) : new ArrayList<>();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static List<Issue> page(NavigableMap<Long, Issue> bucket, Long afterId, int limit) {
+        NavigableMap<Long, Issue> tail = afterId != null ? bucket.tailMap(afterId, false) : bucket;
+        List<Issue> result = new ArrayList<>(Math.min(limit, IssuePages.DEFAULT_PAGE_SIZE));
+        for (Issue issue : tail.values()) {
+            if (result.size() == limit) {
+                break;
+            }
+            result.add(issue);
+        }
+        return result;
+    }
+
+    private void checkWritableLocked() {
+        MemoryStoreListener current = listener;
+        if (current != null) {
+            current.checkWritable();
+        }
+    }
+
+    private void notifySavedLocked(Issue issue) {
+        MemoryStoreListener current = listener;
+        if (current != null) {
+            current.issueSaved(issue);
+        }
+    }
+
+    private void checkKeyLocked(Issue issue) {
+        if (issue.getKey() != null) {
+            Long owner = idsByKey.get(issue.getKey());
+            if (owner != null && !owner.equals(issue.getId())) {
+                throw new IllegalStateException("Ключ " + issue.getKey() + " вже використовується задачею " + owner);
+            }
+        }
+    }
+
+    /**
+     * @param replaced true, якщо під тим самим ID збережено інший екземпляр задачі
+     */
+    private void reindexLocked(Issue issue, boolean replaced) {
+        checkKeyLocked(issue);
+
+        Long id = issue.getId();
+        IndexEntry current = IndexEntry.of(issue);
+        IndexEntry previous = entriesById.put(id, current);
+        if (!replaced && current.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            unindex(id, previous);
+        }
+        index(issue, current);
+    }
+
+    private void index(Issue issue, IndexEntry entry) {
+        Long id = issue.getId();
+        idAllocator.observeId(id);
+        if (entry.key != null) {
+            idsByKey.put(entry.key, id);
+            idAllocator.observeKey(entry.key);
+        }
+        if (entry.projectId != null) {
+            addToBucket(byProject, entry.projectId, issue);
+        } else {
+            withoutProject.put(id, issue);
+        }
+        addToBucket(byBoard, entry.boardId, issue);
+        addToBucket(byStatus, entry.status, issue);
+        addToBucket(byAssignee, entry.assigneeId, issue);
+        countIn(statsByProject, entry.projectId, entry, 1);
+        countIn(statsByBoard, entry.boardId, entry, 1);
+    }
+
+    private void unindex(Long id, IndexEntry entry) {
+        if (entry.key != null) {
+            idsByKey.remove(entry.key, id);
+        }
+        if (entry.projectId != null) {
+            removeFromBucket(byProject, entry.projectId, id);
+        } else {
+            withoutProject.remove(id);
+        }
+        removeFromBucket(byBoard, entry.boardId, id);
+        removeFromBucket(byStatus, entry.status, id);
+        removeFromBucket(byAssignee, entry.assigneeId, id);
+        countIn(statsByProject, entry.projectId, entry, -1);
+        countIn(statsByBoard, entry.boardId, entry, -1);
+    }
+
+    private static void countIn(Map<Long, IssueStats.Counter> stats, Long ownerId, IndexEntry entry, int delta) {
+        if (ownerId == null) {
+            return;
+        }
+        IssueStats.Counter counter = stats.computeIfAbsent(ownerId, id -> new IssueStats.Counter());
+        counter.add(entry.status, entry.priority, entry.assigneeId, delta);
+        if (counter.isEmpty()) {
+            stats.remove(ownerId);
+        }
+    }
+
+    private static <K> void addToBucket(Map<K, NavigableMap<Long, Issue>> index, K value, Issue issue) {
+        if (value != null) {
+            index.computeIfAbsent(value, k -> new TreeMap<>()).put(issue.getId(), issue);
+        }
+    }
+
+    private static <K> void removeFromBucket(Map<K, NavigableMap<Long, Issue>> index, K value, Long id) {
+        if (value == null) {
+            return;
+        }
+        NavigableMap<Long, Issue> bucket = index.get(value);
+        if (bucket != null) {
+            bucket.remove(id);
+            if (bucket.isEmpty()) {
+                index.remove(value);
+            }
+        }
+    }
+
+    /**
+     * Значення полів задачі на момент останньої індексації
+     */
+    private static final class IndexEntry {
+        private final String key;
+        private final Long projectId;
+        private final Long boardId;
+        private final Status status;
+        private final Priority priority;
+        private final Long assigneeId;
+
+        private IndexEntry(String key, Long projectId, Long boardId, Status status, Priority priority,
+                           Long assigneeId) {
+            this.key = key;
+            this.projectId = projectId;
+            this.boardId = boardId;
+            this.status = status;
+            this.priority = priority;
+            this.assigneeId = assigneeId;
+        }
+
+        static IndexEntry of(Issue issue) {
+            return new IndexEntry(
+                issue.getKey(),
+                issue.getProject() != null ? issue.getProject().getId() : null,
+                issue.getBoard() != null ? issue.getBoard().getId() : null,
+                issue.getStatus(),
+                issue.getPriority(),
+                issue.getAssignee() != null ? issue.getAssignee().getId() : null);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof IndexEntry)) {
+                return false;
+            }
+            IndexEntry other = (IndexEntry) o;
+            return Objects.equals(key, other.key)
+                && Objects.equals(projectId, other.projectId)
+                && Objects.equals(boardId, other.boardId)
+                && status == other.status
+                && priority == other.priority
+                && Objects.equals(assigneeId, other.assigneeId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(key, projectId, boardId, status, priority, assigneeId);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package ua.oip.jiralite.repository.impl;
+
+import ua.oip.jiralite.domain.Issue;
+import ua.oip.jiralite.domain.User;
+
+/**
+ * Слухач змін in-memory сховищ задач і користувачів.
+ * <p>
+ * Викликається під блокуванням запису сховища одразу після зміни, тому
+ * порядок викликів збігається з порядком змін. Реалізація має лише швидко
+ * зафіксувати зміну (наприклад, поставити запис у чергу журналу) і не
+ * звертатися до сховища.
+ */
+public interface MemoryStoreListener {
+
+    /**
+     * Викликається під блокуванням запису перед кожною зміною сховища.
+     * Виняток відхиляє зміну: сховище передає його викликачу, нічого не змінивши.
+     *
+     * @throws IllegalStateException якщо слухач більше не може зафіксувати зміну
+     */
+    default void checkWritable() {
+    }
+
+    /**
+     * Задачу збережено або змінено
+     */
+    default void issueSaved(Issue issue) {
+    }
+
+    /**
+     * Задачу видалено
+     */
+    default void issueRemoved(Long issueId) {
+    }
+
+    /**
+     * Користувача збережено або змінено
+     */
+    default void userSaved(User user) {
+    }
+
+    /**
+     * Користувача видалено
+     */
+    default void userRemoved(Long userId) {
+    }
+}
@@ -1,103 +1,294 @@
 package ua.oip.jiralite.repository.impl;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import ua.oip.jiralite.domain.Project;
 import ua.oip.jiralite.domain.User;
 import ua.oip.jiralite.repository.UserRepository;
 
 /**
- * In-memory реализация репозитория пользователей
+ * In-memory реализация репозитория пользователей.
+ * <p>
+ * Логин и email хранятся в уникальных хеш-индексах без учета регистра,
+ * участники проектов - в индексе проект -> пользователи. Чтение идет без
+ * блокировок, а сохранение и удаление сериализуются, чтобы проверка
+ * уникальности и обновление всех индексов выполнялись атомарно.
  */
 public class UserMemoryRepository implements UserRepository {
-    
-    private final Map<Long, User> users = new HashMap<>();
-    private Long nextId = 1L;
-    
+
+    private final Map<Long, User> users = new ConcurrentHashMap<>();
+    private final Map<String, User> usersByLogin = new ConcurrentHashMap<>();
+    private final Map<String, User> usersByEmail = new ConcurrentHashMap<>();
+    private final Map<Long, Set<User>> membersByProject = new ConcurrentHashMap<>();
+    private final Map<Long, IndexEntry> entries = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+    private final AtomicLong nextId = new AtomicLong(1L);
+
+    // Получает каждое изменение под writeLock, например журнал изменений
+    private volatile MemoryStoreListener listener;
+
     public UserMemoryRepository() {
         // Создаем тестовых пользователей
         initDefaultUsers();
     }
-    
+
+    /**
+     * Устанавливает слушателя изменений или снимает его, если передан null
+     */
+    public void setListener(MemoryStoreListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Возвращает всех пользователей в порядке возрастания ID
+     */
+    public List<User> findAll() {
+        List<User> result = new ArrayList<>(users.values());
+        result.sort(Comparator.comparing(User::getId));
+        return result;
+    }
+
     private void initDefaultUsers() {
         // Добавляем администратора
         User admin = new User("admin", "qwerty", "Administrator", "admin@example.com");
         admin.setRole(ua.oip.jiralite.domain.enums.Role.ADMIN);
         save(admin);
-        
+
         // Добавляем обычного пользователя
         User user = new User("john", "1234", "John Developer", "john@example.com");
         user.setRole(ua.oip.jiralite.domain.enums.Role.USER);
         save(user);
-        
+
         // Добавляем гостя
         User guest = new User("guest", "guest", "Guest User", "guest@example.com");
         guest.setRole(ua.oip.jiralite.domain.enums.Role.GUEST);
         save(guest);
     }
-    
+
+    /**
+     * Сохраняет пользователя
+     *
+     * @throws IllegalStateException если логин или email уже заняты другим пользователем
+     */
     @Override
     public User save(User user) {
-        if (user.getId() == null) {
-            user.setId(nextId++);
+        synchronized (writeLock) {
+            IndexEntry current = IndexEntry.of(user);
+            checkUnique(usersByLogin, current.login, user, "Логин");
+            checkUnique(usersByEmail, current.email, user, "Email");
+            checkWritable();
+
+            if (user.getId() == null) {
+                user.setId(nextId.getAndIncrement());
+            } else {
+                nextId.accumulateAndGet(user.getId() + 1, Math::max);
+            }
+
+            User previousUser = users.put(user.getId(), user);
+            IndexEntry previous = entries.put(user.getId(), current);
+            if (previous == null) {
+                index(user, current);
+            } else if (previousUser != user || !previous.equals(current)) {
+                reindex(previousUser, previous, user, current);
+            }
+            MemoryStoreListener currentListener = listener;
+            if (currentListener != null) {
+                currentListener.userSaved(user);
+            }
+            return user;
         }
-        users.put(user.getId(), user);
-        return user;
     }
-    
+
     @Override
     public User findById(Long id) {
-        return users.get(id);
+        return id != null ? users.get(id) : null;
     }
-    
+
     @Override
     public User findByLogin(String login) {
-        for (User user : users.values()) {
-            if (login.equals(user.getLogin())) {
-                return user;
-            }
-        }
-        return null;
+        String key = normalize(login);
+        return key != null ? usersByLogin.get(key) : null;
     }
-    
+
     @Override
     public User findByEmail(String email) {
-        for (User user : users.values()) {
-            if (email.equals(user.getEmail())) {
-                return user;
-            }
-        }
-        return null;
+        String key = normalize(email);
+        return key != null ? usersByEmail.get(key) : null;
     }
-    
+
     @Override
     public List<User> findByProjectsContaining(Project project) {
-        List<User> result = new ArrayList<>();
-        for (User user : users.values()) {
-            if (user.getProjects().contains(project)) {
-                result.add(user);
-            }
+        if (project == null || project.getId() == null) {
+            return new ArrayList<>();
         }
-        return result;
+        Set<User> members = membersByProject.get(project.getId());
+        return members != null ? new ArrayList<>(members) : new ArrayList<>();
     }
-    
+
     @Override
     public boolean existsByLogin(String login) {
         return findByLogin(login) != null;
     }
-    
+
     @Override
     public boolean existsByEmail(String email) {
         return findByEmail(email) != null;
     }
-    
+
     @Override
     public void delete(User user) {
-        if (user != null && user.getId() != null) {
-            users.remove(user.getId());
+        if (user == null || user.getId() == null) {
+            return;
+        }
+        synchronized (writeLock) {
+            if (users.containsKey(user.getId())) {
+                checkWritable();
+            }
+            User removed = users.remove(user.getId());
+            IndexEntry entry = entries.remove(user.getId());
+            if (removed != null && entry != null) {
+                unindex(removed, entry);
+            }
+            MemoryStoreListener currentListener = listener;
+            if (removed != null && currentListener != null) {
+                currentListener.userRemoved(removed.getId());
+            }
+        }
+    }
+
+    /**
+     * Дает слушателю отклонить изменение до того, как оно попадет в хранилище
+     */
+    private void checkWritable() {
+        MemoryStoreListener currentListener = listener;
+        if (currentListener != null) {
+            currentListener.checkWritable();
+        }
+    }
+
+    private static void checkUnique(Map<String, User> index, String key, User user, String field) {
+        if (key == null) {
+            return;
+        }
+        User owner = index.get(key);
+        if (owner != null && owner != user && !Objects.equals(owner.getId(), user.getId())) {
+            throw new IllegalStateException(field + " " + key + " уже используется другим пользователем");
+        }
+    }
+
+    private void index(User user, IndexEntry entry) {
+        if (entry.login != null) {
+            usersByLogin.put(entry.login, user);
+        }
+        if (entry.email != null) {
+            usersByEmail.put(entry.email, user);
+        }
+        for (Long projectId : entry.projectIds) {
+            membersByProject.computeIfAbsent(projectId, k -> ConcurrentHashMap.newKeySet()).add(user);
+        }
+    }
+
+    /**
+     * Переиндексирует сохраненного повторно пользователя. Новые ключи добавляются
+     * раньше, чем удаляются устаревшие, чтобы чтение без блокировок не увидело
+     * пользователя пропавшим из индекса
+     */
+    private void reindex(User previousUser, IndexEntry previous, User user, IndexEntry current) {
+        index(user, current);
+        if (previous.login != null && !previous.login.equals(current.login)) {
+            usersByLogin.remove(previous.login, previousUser);
+        }
+        if (previous.email != null && !previous.email.equals(current.email)) {
+            usersByEmail.remove(previous.email, previousUser);
+        }
+        for (Long projectId : previous.projectIds) {
+            // Другой экземпляр с тем же ID убирается из всех прежних проектов
+            if (previousUser != user || !current.projectIds.contains(projectId)) {
+                removeMember(projectId, previousUser);
+            }
+        }
+    }
+
+    private void removeMember(Long projectId, User user) {
+        Set<User> members = membersByProject.get(projectId);
+        if (members != null) {
+            members.remove(user);
+            if (members.isEmpty()) {
+                membersByProject.remove(projectId);
+            }
+        }
+    }
+
+    private void unindex(User user, IndexEntry entry) {
+        if (entry.login != null) {
+            usersByLogin.remove(entry.login, user);
+        }
+        if (entry.email != null) {
+            usersByEmail.remove(entry.email, user);
+        }
+        for (Long projectId : entry.projectIds) {
+            removeMember(projectId, user);
+        }
+    }
+
+    /**
+     * Приводит логин или email к виду, по которому ведется поиск
+     */
+    private static String normalize(String value) {
+        return value != null ? value.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
+    /**
+     * Значения полей пользователя на момент последней индексации
+     */
+    private static final class IndexEntry {
+        private final String login;
+        private final String email;
+        private final Set<Long> projectIds;
+
+        private IndexEntry(String login, String email, Set<Long> projectIds) {
+            this.login = login;
+            this.email = email;
+            this.projectIds = projectIds;
+        }
+
+        static IndexEntry of(User user) {
+            Set<Long> projectIds = new HashSet<>();
+            if (user.getProjects() != null) {
+                for (Project project : user.getProjects()) {
+                    if (project != null && project.getId() != null) {
+                        projectIds.add(project.getId());
+                    }
+                }
+            }
+            return new IndexEntry(normalize(user.getLogin()), normalize(user.getEmail()), projectIds);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof IndexEntry)) {
+                return false;
+            }
+            IndexEntry other = (IndexEntry) o;
+            return Objects.equals(login, other.login) && Objects.equals(email, other.email)
+                    && projectIds.equals(other.projectIds);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(login, email, projectIds);
         }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,417 @@
+package ua.oip.jiralite.repository.impl.journal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+import ua.oip.jiralite.domain.Board;
+import ua.oip.jiralite.domain.Comment;
+import ua.oip.jiralite.domain.Issue;
+import ua.oip.jiralite.domain.Project;
+import ua.oip.jiralite.domain.User;
+import ua.oip.jiralite.domain.enums.Priority;
+import ua.oip.jiralite.domain.enums.Role;
+import ua.oip.jiralite.domain.enums.Status;
+import ua.oip.jiralite.repository.impl.UserMemoryRepository;
+
+/**
+ * Двійковий формат записів журналу змін і знімка.
+ * <p>
+ * Кожен запис має вигляд {@code [int довжина][int CRC32][тип][дані]}, де
+ * довжина і контрольна сума рахуються по типу та даних. Запис задачі містить
+ * її повний стан разом з коментарями, а пов'язані проект, дошку й
+ * користувачів - як посилання з ID та полями, потрібними для показу. Тому
+ * повторне застосування запису ідемпотентне.
+ */
+final class JournalCodec {
+
+    static final byte ISSUE_PUT = 1;
+    static final byte ISSUE_REMOVE = 2;
+    static final byte USER_PUT = 3;
+    static final byte USER_REMOVE = 4;
+
+    /** Довжина заголовка запису: довжина та CRC32 */
+    static final int HEADER_SIZE = 8;
+
+    /** Захист від зіпсованої довжини запису */
+    static final int MAX_RECORD_SIZE = 16 * 1024 * 1024;
+
+    private JournalCodec() {
+    }
+
+    static byte[] issuePut(Issue issue) {
+        return encode(ISSUE_PUT, out -> writeIssue(out, issue));
+    }
+
+    static byte[] issueRemove(Long issueId) {
+        return encode(ISSUE_REMOVE, out -> out.writeLong(issueId));
+    }
+
+    static byte[] userPut(User user) {
+        return encode(USER_PUT, out -> writeUser(out, user));
+    }
+
+    static byte[] userRemove(Long userId) {
+        return encode(USER_REMOVE, out -> out.writeLong(userId));
+    }
+
+    /**
+     * Читає наступний запис разом з перевіркою контрольної суми
+     *
+     * @return тип і дані запису або null, якщо файл закінчився або його хвіст не дописано
+     */
+    static byte[] readRecord(DataInputStream in) throws IOException {
+        int length;
+        try {
+            length = in.readInt();
+        } catch (EOFException e) {
+            return null;
+        }
+        if (length <= 0 || length > MAX_RECORD_SIZE) {
+            return null;
+        }
+        byte[] body = new byte[length];
+        try {
+            int checksum = in.readInt();
+            in.readFully(body);
+            return crc(body) == checksum ? body : null;
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    private interface Payload {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private static byte[] encode(byte type, Payload payload) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0);
+            out.writeInt(0);
+            out.writeByte(type);
+            payload.write(out);
+            out.flush();
+
+            byte[] record = bytes.toByteArray();
+            int length = record.length - HEADER_SIZE;
+            putInt(record, 0, length);
+            putInt(record, 4, crc(record, HEADER_SIZE, length));
+            return record;
+        } catch (IOException e) {
+            // ByteArrayOutputStream не кидає IOException
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int crc(byte[] data) {
+        return crc(data, 0, data.length);
+    }
+
+    private static int crc(byte[] data, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(data, offset, length);
+        return (int) crc.getValue();
+    }
+
+    private static void putInt(byte[] target, int offset, int value) {
+        target[offset] = (byte) (value >>> 24);
+        target[offset + 1] = (byte) (value >>> 16);
+        target[offset + 2] = (byte) (value >>> 8);
+        target[offset + 3] = (byte) value;
+    }
+
+    // ---- Запис ----
+
+    private static void writeIssue(DataOutputStream out, Issue issue) throws IOException {
+        out.writeLong(issue.getId());
+        writeString(out, issue.getKey());
+        writeString(out, issue.getTitle());
+        writeString(out, issue.getDescription());
+        writeEnum(out, issue.getStatus());
+        writeEnum(out, issue.getPriority());
+        writeProjectRef(out, issue.getProject());
+
+        Board board = issue.getBoard();
+        out.writeBoolean(board != null);
+        if (board != null) {
+            writeNullableLong(out, board.getId());
+            writeString(out, board.getName());
+        }
+
+        writeUserRef(out, issue.getReporter());
+        writeUserRef(out, issue.getAssignee());
+        writeDateTime(out, issue.getCreatedAt());
+        writeDateTime(out, issue.getUpdatedAt());
+
+        // Копія під монітором задачі, під яким сервіс додає коментарі
+        List<Comment> comments;
+        synchronized (issue) {
+            comments = issue.getComments() != null ? new ArrayList<>(issue.getComments()) : List.of();
+        }
+        out.writeInt(comments.size());
+        for (Comment comment : comments) {
+            writeNullableLong(out, comment.getId());
+            writeString(out, comment.getText());
+            writeUserRef(out, comment.getAuthor());
+            writeDateTime(out, comment.getCreatedAt());
+        }
+    }
+
+    private static void writeUser(DataOutputStream out, User user) throws IOException {
+        out.writeLong(user.getId());
+        writeString(out, user.getLogin());
+        writeString(out, user.getPassword());
+        writeString(out, user.getFullName());
+        writeString(out, user.getEmail());
+        writeEnum(out, user.getRole());
+        writeDateTime(out, user.getCreatedAt());
+        writeDateTime(out, user.getLastLogin());
+
+        Set<Project> projects = user.getProjects() != null ? new HashSet<>(user.getProjects()) : Set.of();
+        out.writeInt(projects.size());
+        for (Project project : projects) {
+            writeProjectRef(out, project);
+        }
+    }
+
+    private static void writeProjectRef(DataOutputStream out, Project project) throws IOException {
+        out.writeBoolean(project != null);
+        if (project != null) {
+            writeNullableLong(out, project.getId());
+            writeString(out, project.getKey());
+            writeString(out, project.getName());
+        }
+    }
+
+    private static void writeUserRef(DataOutputStream out, User user) throws IOException {
+        out.writeBoolean(user != null);
+        if (user != null) {
+            writeNullableLong(out, user.getId());
+            writeString(out, user.getLogin());
+            writeString(out, user.getFullName());
+            writeString(out, user.getEmail());
+        }
+    }
+
+    private static void writeNullableLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static void writeEnum(DataOutputStream out, Enum<?> value) throws IOException {
+        writeString(out, value != null ? value.name() : null);
+    }
+
+    private static void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        writeString(out, value != null ? value.toString() : null);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    // ---- Читання ----
+
+    /**
+     * Відновлює посилання на проекти, дошки та користувачів під час читання записів.
+     * Користувачі беруться з репозиторію, якщо вони вже відновлені, інакше
+     * створюються заглушки з полями із запису. Проекти й дошки кешуються за ID,
+     * щоб задачі одного проекту посилалися на той самий об'єкт.
+     */
+    static final class References {
+
+        private final UserMemoryRepository users;
+        private final Map<Long, Project> projects = new HashMap<>();
+        private final Map<Long, Board> boards = new HashMap<>();
+
+        References(UserMemoryRepository users) {
+            this.users = users;
+        }
+
+        /**
+         * Робить проект зі знімка спільним для задач, відновлених з журналу
+         */
+        void register(Project project) {
+            if (project.getId() != null) {
+                projects.putIfAbsent(project.getId(), project);
+            }
+        }
+
+        void register(Board board) {
+            if (board.getId() != null) {
+                boards.putIfAbsent(board.getId(), board);
+            }
+        }
+
+        Project project(Long id, String key, String name) {
+            if (id == null) {
+                Project project = new Project();
+                project.setKey(key);
+                project.setName(name);
+                return project;
+            }
+            return projects.computeIfAbsent(id, projectId -> {
+                Project project = new Project();
+                project.setId(projectId);
+                project.setKey(key);
+                project.setName(name);
+                return project;
+            });
+        }
+
+        Board board(Long id, String name, Project project) {
+            if (id == null) {
+                Board board = new Board();
+                board.setName(name);
+                board.setProject(project);
+                return board;
+            }
+            return boards.computeIfAbsent(id, boardId -> {
+                Board board = new Board();
+                board.setId(boardId);
+                board.setName(name);
+                board.setProject(project);
+                return board;
+            });
+        }
+
+        User user(Long id, String login, String fullName, String email) {
+            User existing = id != null ? users.findById(id) : null;
+            if (existing != null) {
+                return existing;
+            }
+            User user = new User(login, null, fullName, email);
+            user.setId(id);
+            return user;
+        }
+    }
+
+    static Issue readIssue(DataInputStream in, References refs) throws IOException {
+        Issue issue = new Issue();
+        issue.setId(in.readLong());
+        issue.setKey(readString(in));
+        issue.setTitle(readString(in));
+        issue.setDescription(readString(in));
+        issue.setStatus(readEnum(in, Status.class));
+        issue.setPriority(readEnum(in, Priority.class));
+        issue.setProject(readProjectRef(in, refs));
+
+        if (in.readBoolean()) {
+            Long boardId = readNullableLong(in);
+            issue.setBoard(refs.board(boardId, readString(in), issue.getProject()));
+        }
+
+        issue.setReporter(readUserRef(in, refs));
+        issue.setAssignee(readUserRef(in, refs));
+        issue.setCreatedAt(readDateTime(in));
+        issue.setUpdatedAt(readDateTime(in));
+
+        int commentCount = in.readInt();
+        List<Comment> comments = new ArrayList<>(commentCount);
+        for (int i = 0; i < commentCount; i++) {
+            Long commentId = readNullableLong(in);
+            String text = readString(in);
+            Comment comment = new Comment(text, issue, readUserRef(in, refs));
+            comment.setId(commentId);
+            comment.setCreatedAt(readDateTime(in));
+            comments.add(comment);
+        }
+        issue.setComments(comments);
+        return issue;
+    }
+
+    static User readUser(DataInputStream in, References refs) throws IOException {
+        User user = new User();
+        user.setId(in.readLong());
+        user.setLogin(readString(in));
+        user.setPassword(readString(in));
+        user.setFullName(readString(in));
+        user.setEmail(readString(in));
+        user.setRole(readEnum(in, Role.class));
+        user.setCreatedAt(readDateTime(in));
+        user.setLastLogin(readDateTime(in));
+
+        int projectCount = in.readInt();
+        Set<Project> projects = new HashSet<>();
+        for (int i = 0; i < projectCount; i++) {
+            Project project = readProjectRef(in, refs);
+            if (project != null) {
+                projects.add(project);
+            }
+        }
+        user.setProjects(projects);
+        return user;
+    }
+
+    private static Project readProjectRef(DataInputStream in, References refs) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        Long id = readNullableLong(in);
+        String key = readString(in);
+        return refs.project(id, key, readString(in));
+    }
+
+    private static User readUserRef(DataInputStream in, References refs) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        Long id = readNullableLong(in);
+        String login = readString(in);
+        String fullName = readString(in);
+        return refs.user(id, login, fullName, readString(in));
+    }
+
+    private static Long readNullableLong(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+    private static <E extends Enum<E>> E readEnum(DataInputStream in, Class<E> type) throws IOException {
+        String name = readString(in);
+        return name != null ? Enum.valueOf(type, name) : null;
+    }
+
+    private static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        String value = readString(in);
+        return value != null ? LocalDateTime.parse(value) : null;
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Потік для читання даних одного запису після його типу
+     */
+    static DataInputStream payload(byte[] body) {
+        return new DataInputStream(new ByteArrayInputStream(body, 1, body.length - 1));
+    }
+}
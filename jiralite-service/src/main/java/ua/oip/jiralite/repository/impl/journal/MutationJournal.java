@@ -0,0 +1,539 @@
+package ua.oip.jiralite.repository.impl.journal;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ua.oip.jiralite.domain.Issue;
+import ua.oip.jiralite.domain.User;
+import ua.oip.jiralite.repository.impl.IssueMemoryStore;
+import ua.oip.jiralite.repository.impl.MemoryStoreListener;
+import ua.oip.jiralite.repository.impl.UserMemoryRepository;
+
+/**
+ * Журнал змін (write-ahead log) для in-memory сховищ задач і користувачів.
+ * <p>
+ * Кожна зміна сховища кодується у запис ще під його блокуванням запису і
+ * ставиться в чергу, тому запис у журнал не затримує виклики сервісів.
+ * Окремий потік забирає з черги всі накопичені записи, дописує їх у файл
+ * одним викликом і робить один {@code fsync} на всю групу (group commit).
+ * Тому зміна, яку сховище вже прийняло, ще не довговічна: вона гарантовано
+ * на диску лише після завершення future, повернутого {@link #flush()} після неї.
+ * <p>
+ * Черга обмежена {@value #QUEUE_CAPACITY} записами. Якщо диск не встигає,
+ * сховище чекає на місце в черзі під своїм блокуванням запису, тож повільний
+ * диск пригальмовує запис замість того, щоб черга росла в купі.
+ * <p>
+ * Після першої помилки запису журнал зупиняється: записи, що ще були в черзі,
+ * втрачаються, сховища відхиляють усі подальші зміни з {@link IllegalStateException},
+ * а {@link #flush()} і {@link #close()} повідомляють причину.
+ * <p>
+ * Журнал складається з поколінь {@code journal-N.log}. Коли поточне покоління
+ * перевищує поріг, журнал переходить на нове покоління і записує знімок
+ * {@code snapshot-N.dat} ({@link SnapshotFile}) з повним станом сховищ, після чого старі файли
+ * видаляються. Знімок робиться без зупинки запису, тому він може містити
+ * частину змін покоління N - це безпечно, бо записи містять повний стан і
+ * їх повторне застосування ідемпотентне.
+ * <p>
+ * При відкритті стан відновлюється з останнього знімка та журналів після
+ * нього. Як і в будь-якому WAL, відновлення зупиняється на першому недописаному
+ * або зіпсованому записі (перевірка CRC32): пізніші записи й покоління могли
+ * залежати від втрачених і не застосовуються. Зіпсований журнал обрізається до
+ * останнього цілого запису, а відкинуті байти і пізніші журнали зберігаються
+ * поруч із суфіксом {@value #DISCARDED_SUFFIX}, щоб наступне відкриття бачило
+ * той самий стан.
+ */
+public class MutationJournal implements MemoryStoreListener, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(MutationJournal.class);
+
+    /** Розмір покоління журналу, після якого запускається ущільнення */
+    public static final long DEFAULT_COMPACT_THRESHOLD = 64L * 1024 * 1024;
+
+    private static final Pattern JOURNAL_FILE = Pattern.compile("journal-(\\d+)\\.log");
+    private static final Pattern SNAPSHOT_FILE = Pattern.compile("snapshot-(\\d+)\\.dat");
+
+    /** Кількість записів у черзі, після якої сховища чекають на потік запису */
+    public static final int QUEUE_CAPACITY = 16 * 1024;
+
+    /** Суфікс файлів, відкинутих при відновленні після зіпсованого запису */
+    public static final String DISCARDED_SUFFIX = ".discarded";
+
+    // Початковий розмір буфера групи записів
+    private static final int WRITE_BUFFER_SIZE = 256 * 1024;
+
+    private final Path directory;
+    private final IssueMemoryStore issueStore;
+    private final UserMemoryRepository userRepository;
+    private final long compactThreshold;
+
+    private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+    private final Thread writer;
+    private final ExecutorService compactor;
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private volatile boolean closed;
+
+    // Стан файлу журналу, змінюється лише потоком запису
+    private FileChannel channel;
+    private volatile long generation;
+    private long journalSize;
+    private ByteBuffer writeBuffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+    // Перша помилка запису; виставляється потоком запису, читається сховищами
+    private volatile IOException failure;
+
+    private MutationJournal(Path directory, IssueMemoryStore issueStore, UserMemoryRepository userRepository,
+                            long compactThreshold) {
+        this.directory = directory;
+        this.issueStore = issueStore;
+        this.userRepository = userRepository;
+        this.compactThreshold = compactThreshold;
+        this.writer = new Thread(this::writeLoop, "jiralite-journal-writer");
+        this.writer.setDaemon(true);
+        this.compactor = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "jiralite-journal-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Відкриває журнал з порогом ущільнення за замовчуванням
+     *
+     * @see #open(Path, IssueMemoryStore, UserMemoryRepository, long)
+     */
+    public static MutationJournal open(Path directory, IssueMemoryStore issueStore,
+                                       UserMemoryRepository userRepository) throws IOException {
+        return open(directory, issueStore, userRepository, DEFAULT_COMPACT_THRESHOLD);
+    }
+
+    /**
+     * Відновлює стан сховищ з каталогу журналу, починає нове покоління
+     * і підписується на подальші зміни сховищ
+     *
+     * @param directory каталог журналу, створюється за потреби
+     * @param compactThreshold розмір покоління в байтах, після якого журнал ущільнюється
+     */
+    public static MutationJournal open(Path directory, IssueMemoryStore issueStore,
+                                       UserMemoryRepository userRepository, long compactThreshold)
+            throws IOException {
+        Files.createDirectories(directory);
+        MutationJournal journal = new MutationJournal(directory, issueStore, userRepository, compactThreshold);
+        long lastGeneration = journal.recover();
+        journal.openGeneration(lastGeneration + 1);
+        journal.writer.start();
+
+        issueStore.setListener(journal);
+        userRepository.setListener(journal);
+        log.info("Журнал змін відкрито: {}, покоління {}", directory, journal.generation);
+        return journal;
+    }
+
+    // ---- Слухач сховищ ----
+
+    @Override
+    public void issueSaved(Issue issue) {
+        enqueue(JournalCodec.issuePut(issue));
+    }
+
+    @Override
+    public void issueRemoved(Long issueId) {
+        enqueue(JournalCodec.issueRemove(issueId));
+    }
+
+    @Override
+    public void userSaved(User user) {
+        enqueue(JournalCodec.userPut(user));
+    }
+
+    @Override
+    public void userRemoved(Long userId) {
+        enqueue(JournalCodec.userRemove(userId));
+    }
+
+    /**
+     * Відхиляє зміни сховищ, щойно журнал не зміг записати попередні
+     */
+    @Override
+    public void checkWritable() {
+        IOException error = failure;
+        if (error != null) {
+            throw new IllegalStateException("Журнал змін зупинено після помилки запису, зміни не приймаються", error);
+        }
+    }
+
+    private void enqueue(byte[] record) {
+        if (closed) {
+            log.warn("Зміну отримано після закриття журналу, вона не буде збережена");
+            return;
+        }
+        checkWritable();
+        put(record);
+    }
+
+    /**
+     * Ставить елемент у чергу, чекаючи на місце, якщо потік запису відстає
+     */
+    private void put(Object item) {
+        try {
+            queue.put(item);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Очікування місця в черзі журналу змін перервано", e);
+        }
+    }
+
+    // ---- Керування ----
+
+    /**
+     * Повертає future, що завершується, коли всі зміни, поставлені в чергу
+     * до цього виклику, записані на диск
+     */
+    public CompletableFuture<Void> flush() {
+        if (closed) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Журнал змін закрито"));
+        }
+        if (failure != null) {
+            return CompletableFuture.failedFuture(failure);
+        }
+        Marker marker = new Marker(MarkerType.FLUSH);
+        put(marker);
+        return marker.done.thenApply(gen -> null);
+    }
+
+    /**
+     * Записує знімок стану сховищ і видаляє журнали, які він покриває.
+     * Викликається автоматично при перевищенні порогу.
+     *
+     * @return покоління записаного знімка
+     */
+    public long compact() throws IOException {
+        Marker rotate = new Marker(MarkerType.ROTATE);
+        put(rotate);
+        long snapshotGeneration = rotate.done.join();
+
+        Path target = directory.resolve(snapshotName(snapshotGeneration));
+        int issues = SnapshotFile.write(target, userRepository.findAll(), issueStore.findAll());
+
+        deleteOlderThan(snapshotGeneration);
+        log.info("Журнал ущільнено у знімок {} ({} задач)", target.getFileName(), issues);
+        return snapshotGeneration;
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Відписується від сховищ, дописує чергу на диск і закриває файл журналу
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        issueStore.setListener(null);
+        userRepository.setListener(null);
+        closed = true;
+
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(1, TimeUnit.MINUTES);
+            queue.put(new Marker(MarkerType.STOP));
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    // ---- Потік запису ----
+
+    private enum MarkerType { FLUSH, ROTATE, STOP }
+
+    /**
+     * Службовий елемент черги, що обробляється після всіх записів перед ним
+     */
+    private static final class Marker {
+        final MarkerType type;
+        final CompletableFuture<Long> done = new CompletableFuture<>();
+
+        Marker(MarkerType type) {
+            this.type = type;
+        }
+    }
+
+    private void writeLoop() {
+        List<Object> batch = new ArrayList<>();
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                continue;
+            }
+            queue.drainTo(batch);
+
+            boolean stop = false;
+            writeBuffer.clear();
+            for (Object item : batch) {
+                if (item instanceof byte[] record) {
+                    append(record);
+                    continue;
+                }
+                Marker marker = (Marker) item;
+                commit();
+                if (failure != null) {
+                    marker.done.completeExceptionally(failure);
+                } else if (marker.type == MarkerType.ROTATE) {
+                    rotate(marker);
+                } else {
+                    marker.done.complete(generation);
+                }
+                stop |= marker.type == MarkerType.STOP;
+            }
+            commit();
+            batch.clear();
+
+            if (stop) {
+                closeChannel();
+                return;
+            }
+            if (journalSize >= compactThreshold && !closed && compacting.compareAndSet(false, true)) {
+                compactor.execute(this::compactInBackground);
+            }
+        }
+    }
+
+    private void append(byte[] record) {
+        if (writeBuffer.remaining() < record.length) {
+            commit();
+            if (writeBuffer.capacity() < record.length) {
+                writeBuffer = ByteBuffer.allocateDirect(record.length);
+            }
+        }
+        writeBuffer.put(record);
+    }
+
+    /**
+     * Дописує накопичену групу записів і робить один fsync
+     */
+    private void commit() {
+        if (writeBuffer.position() == 0 || failure != null) {
+            writeBuffer.clear();
+            return;
+        }
+        writeBuffer.flip();
+        try {
+            while (writeBuffer.hasRemaining()) {
+                journalSize += channel.write(writeBuffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            failure = e;
+            log.error("Не вдалося записати журнал змін {}", journalName(generation), e);
+        }
+        writeBuffer.clear();
+    }
+
+    private void rotate(Marker marker) {
+        try {
+            closeChannel();
+            openGeneration(generation + 1);
+            marker.done.complete(generation);
+        } catch (IOException e) {
+            failure = e;
+            marker.done.completeExceptionally(e);
+        }
+    }
+
+    private void compactInBackground() {
+        try {
+            compact();
+        } catch (IOException | RuntimeException e) {
+            log.error("Не вдалося ущільнити журнал змін", e);
+        } finally {
+            compacting.set(false);
+        }
+    }
+
+    private void openGeneration(long newGeneration) throws IOException {
+        channel = FileChannel.open(directory.resolve(journalName(newGeneration)),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        generation = newGeneration;
+        journalSize = channel.size();
+    }
+
+    private void closeChannel() {
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            log.warn("Не вдалося закрити {}", journalName(generation), e);
+        }
+    }
+
+    // ---- Відновлення ----
+
+    /**
+     * Застосовує останній знімок і журнали після нього
+     *
+     * @return останнє знайдене покоління або 0, якщо каталог порожній
+     */
+    private long recover() throws IOException {
+        TreeMap<Long, Path> journals = list(JOURNAL_FILE);
+        TreeMap<Long, Path> snapshots = list(SNAPSHOT_FILE);
+
+        long snapshotGeneration = snapshots.isEmpty() ? 0 : snapshots.lastKey();
+        JournalCodec.References refs = new JournalCodec.References(userRepository);
+        int applied = 0;
+        if (snapshotGeneration > 0) {
+            SnapshotFile snapshot = SnapshotFile.open(snapshots.lastEntry().getValue());
+            applied += snapshot.loadInto(issueStore, userRepository);
+            snapshot.getProjects().forEach(refs::register);
+            snapshot.getBoards().forEach(refs::register);
+        }
+        List<Path> tail = new ArrayList<>(journals.tailMap(snapshotGeneration, true).values());
+        for (int i = 0; i < tail.size(); i++) {
+            Path journal = tail.get(i);
+            Replayed replayed = replay(journal, refs);
+            applied += replayed.records();
+            if (replayed.validBytes() < Files.size(journal)) {
+                discardAfter(journal, replayed.validBytes(), tail.subList(i + 1, tail.size()));
+                break;
+            }
+        }
+        if (applied > 0) {
+            log.info("Відновлено {} записів знімка та журналу змін з {}", applied, directory);
+        }
+
+        long last = snapshotGeneration;
+        if (!journals.isEmpty()) {
+            last = Math.max(last, journals.lastKey());
+        }
+        return last;
+    }
+
+    /**
+     * Результат читання журналу: кількість записів і довжина цілої частини файлу
+     */
+    private record Replayed(int records, long validBytes) {
+    }
+
+    /**
+     * Застосовує записи журналу до першого недописаного або зіпсованого
+     */
+    private Replayed replay(Path file, JournalCodec.References refs) throws IOException {
+        int applied = 0;
+        long validBytes = 0;
+        try (InputStream stream = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(stream, WRITE_BUFFER_SIZE))) {
+            byte[] body;
+            while ((body = JournalCodec.readRecord(in)) != null) {
+                apply(body, refs);
+                applied++;
+                validBytes += JournalCodec.HEADER_SIZE + body.length;
+            }
+        }
+        return new Replayed(applied, validBytes);
+    }
+
+    /**
+     * Обрізає зіпсований журнал до цілих записів і прибирає з відновлення пізніші
+     * журнали; відкинуте зберігається з суфіксом {@value #DISCARDED_SUFFIX}
+     */
+    private void discardAfter(Path journal, long validBytes, List<Path> later) throws IOException {
+        log.warn("Журнал {} зіпсовано після {} байт: відновлення зупинено, "
+                + "відкинуто хвіст файлу і {} пізніших журналів", journal.getFileName(), validBytes, later.size());
+        Files.copy(journal, discarded(journal), StandardCopyOption.REPLACE_EXISTING);
+        try (FileChannel file = FileChannel.open(journal, StandardOpenOption.WRITE)) {
+            file.truncate(validBytes);
+            file.force(true);
+        }
+        for (Path path : later) {
+            Files.move(path, discarded(path), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static Path discarded(Path path) {
+        return path.resolveSibling(path.getFileName() + DISCARDED_SUFFIX);
+    }
+
+    private void apply(byte[] body, JournalCodec.References refs) throws IOException {
+        DataInputStream payload = JournalCodec.payload(body);
+        try {
+            switch (body[0]) {
+                case JournalCodec.ISSUE_PUT -> issueStore.put(JournalCodec.readIssue(payload, refs));
+                case JournalCodec.ISSUE_REMOVE -> issueStore.remove(payload.readLong());
+                case JournalCodec.USER_PUT -> userRepository.save(JournalCodec.readUser(payload, refs));
+                case JournalCodec.USER_REMOVE -> {
+                    User user = userRepository.findById(payload.readLong());
+                    if (user != null) {
+                        userRepository.delete(user);
+                    }
+                }
+                default -> log.warn("Невідомий тип запису журналу: {}", body[0]);
+            }
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            log.warn("Запис журналу не застосовано: {}", e.getMessage());
+        }
+    }
+
+    private TreeMap<Long, Path> list(Pattern pattern) throws IOException {
+        TreeMap<Long, Path> files = new TreeMap<>();
+        try (Stream<Path> entries = Files.list(directory)) {
+            entries.forEach(path -> {
+                Matcher matcher = pattern.matcher(path.getFileName().toString());
+                if (matcher.matches()) {
+                    files.put(Long.parseLong(matcher.group(1)), path);
+                }
+            });
+        }
+        return files;
+    }
+
+    private void deleteOlderThan(long snapshotGeneration) throws IOException {
+        List<Path> obsolete = new ArrayList<>();
+        list(JOURNAL_FILE).headMap(snapshotGeneration, false).values().forEach(obsolete::add);
+        list(SNAPSHOT_FILE).headMap(snapshotGeneration, false).values().forEach(obsolete::add);
+        for (Path path : obsolete) {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    static String journalName(long generation) {
+        return "journal-" + generation + ".log";
+    }
+
+    static String snapshotName(long generation) {
+        return "snapshot-" + generation + ".dat";
+    }
+}
@@ -0,0 +1,664 @@
+package ua.oip.jiralite.repository.impl.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+import ua.oip.jiralite.domain.Board;
+import ua.oip.jiralite.domain.Comment;
+import ua.oip.jiralite.domain.Issue;
+import ua.oip.jiralite.domain.Project;
+import ua.oip.jiralite.domain.User;
+import ua.oip.jiralite.domain.enums.Priority;
+import ua.oip.jiralite.domain.enums.Role;
+import ua.oip.jiralite.domain.enums.Status;
+import ua.oip.jiralite.repository.impl.IssueMemoryStore;
+import ua.oip.jiralite.repository.impl.UserMemoryRepository;
+
+/**
+ * Версіонований двійковий знімок задач, проектів, дошок і користувачів,
+ * що читається через відображений у пам'ять файл.
+ * <p>
+ * Файл складається із заголовка фіксованої довжини та секцій задач,
+ * користувачів, проектів, дошок і індексу задач. Задачі посилаються на
+ * проекти, дошки й користувачів за номером у відповідній секції, тому кожен
+ * пов'язаний об'єкт зберігається один раз. Індекс містить пари (ID задачі,
+ * зміщення запису), впорядковані за ID.
+ * <p>
+ * {@link #open(Path)} перевіряє заголовок і контрольну суму та декодує лише
+ * невеликі секції користувачів, проектів і дошок. Задачі декодуються за
+ * запитом: {@link #findIssue(long)} знаходить запис двійковим пошуком в
+ * індексі, тому окремі задачі доступні ще до повного завантаження знімка
+ * у сховище через {@link #loadInto(IssueMemoryStore, UserMemoryRepository)}.
+ * <p>
+ * Статуси, пріоритети й ролі зберігаються порядковими номерами; зміна
+ * цих enum-ів вимагає нової версії формату. Розмір файлу обмежений 2 ГБ,
+ * бо він відображається одним буфером.
+ */
+public final class SnapshotFile {
+
+    static final int MAGIC = 0x4A4C534E; // "JLSN"
+    static final short VERSION = 1;
+
+    // magic, версія, кількості секцій, зміщення секцій, довжина файлу, CRC32
+    static final int HEADER_SIZE = 80;
+
+    private static final int INDEX_ENTRY_SIZE = Long.BYTES + Integer.BYTES;
+    private static final int WRITE_BUFFER_SIZE = 256 * 1024;
+    private static final int LOAD_BATCH_SIZE = 10_000;
+    private static final long NULL_TIME = Long.MIN_VALUE;
+
+    private final ByteBuffer data;
+    private final int issueCount;
+    private final int issuesOffset;
+    private final int indexOffset;
+    private final List<User> users;
+    private final boolean[] registered;
+    private final List<Project> projects;
+    private final List<Board> boards;
+
+    private SnapshotFile(ByteBuffer data, int issueCount, int issuesOffset, int indexOffset,
+                         List<User> users, boolean[] registered, List<Project> projects, List<Board> boards) {
+        this.data = data;
+        this.issueCount = issueCount;
+        this.issuesOffset = issuesOffset;
+        this.indexOffset = indexOffset;
+        this.users = users;
+        this.registered = registered;
+        this.projects = projects;
+        this.boards = boards;
+    }
+
+    public int getIssueCount() {
+        return issueCount;
+    }
+
+    /**
+     * Проекти знімка; задачі, прочитані зі знімка, посилаються саме на ці об'єкти
+     */
+    public List<Project> getProjects() {
+        return Collections.unmodifiableList(projects);
+    }
+
+    /**
+     * Дошки знімка; задачі, прочитані зі знімка, посилаються саме на ці об'єкти
+     */
+    public List<Board> getBoards() {
+        return Collections.unmodifiableList(boards);
+    }
+
+    /**
+     * Зареєстровані користувачі знімка (без користувачів, відомих лише з посилань задач)
+     */
+    public List<User> getUsers() {
+        List<User> result = new ArrayList<>();
+        for (int i = 0; i < users.size(); i++) {
+            if (registered[i]) {
+                result.add(users.get(i));
+            }
+        }
+        return result;
+    }
+
+    // ---- Читання ----
+
+    /**
+     * Відображає знімок у пам'ять, перевіряє його заголовок і контрольну суму
+     *
+     * @throws IOException якщо файл пошкоджений або має непідтримувану версію
+     */
+    public static SnapshotFile open(Path file) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException("Некоректний розмір знімка " + file + ": " + size);
+            }
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+
+        if (mapped.getInt(0) != MAGIC) {
+            throw new IOException("Файл " + file + " не є знімком Jira Lite");
+        }
+        short version = mapped.getShort(4);
+        if (version != VERSION) {
+            throw new IOException("Непідтримувана версія знімка " + file + ": " + version);
+        }
+        int userCount = mapped.getInt(8);
+        int projectCount = mapped.getInt(12);
+        int boardCount = mapped.getInt(16);
+        int issueCount = mapped.getInt(20);
+        int usersOffset = (int) mapped.getLong(24);
+        int projectsOffset = (int) mapped.getLong(32);
+        int boardsOffset = (int) mapped.getLong(40);
+        int issuesOffset = (int) mapped.getLong(48);
+        int indexOffset = (int) mapped.getLong(56);
+        long length = mapped.getLong(64);
+        if (length != mapped.capacity()) {
+            throw new IOException("Знімок " + file + " обрізаний: " + mapped.capacity() + " з " + length + " байт");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(mapped.slice(HEADER_SIZE, (int) length - HEADER_SIZE));
+        if ((int) crc.getValue() != mapped.getInt(72)) {
+            throw new IOException("Контрольна сума знімка " + file + " не збігається");
+        }
+
+        // Секції-довідники невеликі, тому декодуються одразу
+        List<User> users = new ArrayList<>(userCount);
+        boolean[] registered = new boolean[userCount];
+        int[][] userProjects = new int[userCount][];
+        Cursor in = new Cursor(mapped, usersOffset);
+        for (int i = 0; i < userCount; i++) {
+            registered[i] = in.readByte() != 0;
+            User user = new User();
+            user.setId(in.readNullableLong());
+            user.setLogin(in.readString());
+            user.setPassword(in.readString());
+            user.setFullName(in.readString());
+            user.setEmail(in.readString());
+            user.setRole(in.readEnum(Role.values()));
+            user.setCreatedAt(in.readDateTime());
+            user.setLastLogin(in.readDateTime());
+            userProjects[i] = new int[in.readInt()];
+            for (int p = 0; p < userProjects[i].length; p++) {
+                userProjects[i][p] = in.readInt();
+            }
+            users.add(user);
+        }
+
+        List<Project> projects = new ArrayList<>(projectCount);
+        in = new Cursor(mapped, projectsOffset);
+        for (int i = 0; i < projectCount; i++) {
+            Project project = new Project();
+            project.setId(in.readNullableLong());
+            project.setKey(in.readString());
+            project.setName(in.readString());
+            project.setDescription(in.readString());
+            project.setLead(ref(users, in.readInt()));
+            project.setCreatedAt(in.readDateTime());
+            projects.add(project);
+        }
+        for (int i = 0; i < userCount; i++) {
+            Set<Project> memberOf = new HashSet<>();
+            for (int projectIndex : userProjects[i]) {
+                memberOf.add(projects.get(projectIndex));
+            }
+            users.get(i).setProjects(memberOf);
+        }
+
+        List<Board> boards = new ArrayList<>(boardCount);
+        in = new Cursor(mapped, boardsOffset);
+        for (int i = 0; i < boardCount; i++) {
+            Board board = new Board();
+            board.setId(in.readNullableLong());
+            board.setName(in.readString());
+            board.setProject(ref(projects, in.readInt()));
+            board.setCreatedAt(in.readDateTime());
+            boards.add(board);
+        }
+
+        return new SnapshotFile(mapped, issueCount, issuesOffset, indexOffset, users, registered, projects, boards);
+    }
+
+    /**
+     * Знаходить і декодує одну задачу без завантаження решти знімка.
+     * Кожен виклик повертає новий екземпляр задачі.
+     *
+     * @return задача або null, якщо її немає у знімку
+     */
+    public Issue findIssue(long id) {
+        int low = 0;
+        int high = issueCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long middleId = data.getLong(indexOffset + middle * INDEX_ENTRY_SIZE);
+            if (middleId < id) {
+                low = middle + 1;
+            } else if (middleId > id) {
+                high = middle - 1;
+            } else {
+                int offset = data.getInt(indexOffset + middle * INDEX_ENTRY_SIZE + Long.BYTES);
+                return readIssue(new Cursor(data, offset));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Зберігає користувачів і задачі знімка у сховища.
+     * Задачі додаються пакетами, щоб не брати блокування сховища на кожну задачу.
+     *
+     * @return кількість завантажених задач
+     */
+    public int loadInto(IssueMemoryStore issueStore, UserMemoryRepository userRepository) {
+        for (User user : getUsers()) {
+            userRepository.save(user);
+        }
+
+        Cursor in = new Cursor(data, issuesOffset);
+        List<Issue> batch = new ArrayList<>(Math.min(issueCount, LOAD_BATCH_SIZE));
+        for (int i = 0; i < issueCount; i++) {
+            batch.add(readIssue(in));
+            if (batch.size() == LOAD_BATCH_SIZE) {
+                issueStore.putAll(batch);
+                batch.clear();
+            }
+        }
+        issueStore.putAll(batch);
+        return issueCount;
+    }
+
+    private Issue readIssue(Cursor in) {
+        Issue issue = new Issue();
+        issue.setId(in.readLong());
+        issue.setKey(in.readString());
+        issue.setTitle(in.readString());
+        issue.setDescription(in.readString());
+        issue.setStatus(in.readEnum(Status.values()));
+        issue.setPriority(in.readEnum(Priority.values()));
+        issue.setProject(ref(projects, in.readInt()));
+        issue.setBoard(ref(boards, in.readInt()));
+        issue.setReporter(ref(users, in.readInt()));
+        issue.setAssignee(ref(users, in.readInt()));
+        issue.setCreatedAt(in.readDateTime());
+        issue.setUpdatedAt(in.readDateTime());
+
+        int commentCount = in.readInt();
+        List<Comment> comments = new ArrayList<>(commentCount);
+        for (int i = 0; i < commentCount; i++) {
+            Long commentId = in.readNullableLong();
+            String text = in.readString();
+            Comment comment = new Comment(text, issue, ref(users, in.readInt()));
+            comment.setId(commentId);
+            comment.setCreatedAt(in.readDateTime());
+            comments.add(comment);
+        }
+        issue.setComments(comments);
+        return issue;
+    }
+
+    private static <T> T ref(List<T> table, int index) {
+        return index >= 0 ? table.get(index) : null;
+    }
+
+    /**
+     * Послідовне читання з абсолютними зверненнями до спільного буфера,
+     * тому кілька курсорів можуть читати знімок одночасно
+     */
+    private static final class Cursor {
+        private final ByteBuffer data;
+        private int position;
+
+        Cursor(ByteBuffer data, int position) {
+            this.data = data;
+            this.position = position;
+        }
+
+        byte readByte() {
+            return data.get(position++);
+        }
+
+        int readInt() {
+            int value = data.getInt(position);
+            position += Integer.BYTES;
+            return value;
+        }
+
+        long readLong() {
+            long value = data.getLong(position);
+            position += Long.BYTES;
+            return value;
+        }
+
+        Long readNullableLong() {
+            return readByte() != 0 ? readLong() : null;
+        }
+
+        <E extends Enum<E>> E readEnum(E[] values) {
+            byte ordinal = readByte();
+            return ordinal >= 0 ? values[ordinal] : null;
+        }
+
+        LocalDateTime readDateTime() {
+            long seconds = readLong();
+            if (seconds == NULL_TIME) {
+                return null;
+            }
+            return LocalDateTime.ofEpochSecond(seconds, readInt(), ZoneOffset.UTC);
+        }
+
+        String readString() {
+            int length = readInt();
+            if (length < 0) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            data.get(position, bytes);
+            position += length;
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    // ---- Запис ----
+
+    /**
+     * Атомарно записує знімок: дані пишуться у тимчасовий файл поруч,
+     * скидаються на диск і переносяться на місце цільового файлу
+     *
+     * @param users зареєстровані користувачі
+     * @param issues задачі; читаються один раз, бажано у порядку зростання ID
+     * @return кількість записаних задач
+     */
+    public static int write(Path target, Collection<User> users, Iterable<Issue> issues) throws IOException {
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        int count;
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            count = new Writer(channel).write(users, issues);
+            channel.force(true);
+        }
+        Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return count;
+    }
+
+    /**
+     * Таблиця пов'язаних об'єктів: номер у секції за ID або, якщо ID немає, за екземпляром
+     */
+    private static final class Table<T> {
+        final List<T> items = new ArrayList<>();
+        private final Map<Long, Integer> byId = new HashMap<>();
+        private final Map<T, Integer> byInstance = new IdentityHashMap<>();
+
+        int indexOf(T item, Long id) {
+            if (item == null) {
+                return -1;
+            }
+            Map<Object, Integer> lookup = id != null ? cast(byId) : cast(byInstance);
+            Object key = id != null ? id : item;
+            Integer index = lookup.get(key);
+            if (index == null) {
+                index = items.size();
+                items.add(item);
+                lookup.put(key, index);
+            }
+            return index;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Map<Object, Integer> cast(Map<?, Integer> map) {
+            return (Map<Object, Integer>) map;
+        }
+    }
+
+    private static final class Writer {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+        private long position = HEADER_SIZE;
+        private final CRC32 crc = new CRC32();
+
+        private final Table<User> users = new Table<>();
+        private final Table<Project> projects = new Table<>();
+        private final Table<Board> boards = new Table<>();
+        private int registeredCount;
+
+        Writer(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        int write(Collection<User> registered, Iterable<Issue> issues) throws IOException {
+            for (User user : registered) {
+                users.indexOf(user, user.getId());
+            }
+            registeredCount = users.items.size();
+
+            // Задачі пишуться першими, бо під час їх запису заповнюються довідники
+            channel.position(HEADER_SIZE);
+            long issuesOffset = position;
+            long[] ids = new long[1024];
+            int[] offsets = new int[1024];
+            int count = 0;
+            boolean sorted = true;
+            for (Issue issue : issues) {
+                if (count == ids.length) {
+                    ids = Arrays.copyOf(ids, count * 2);
+                    offsets = Arrays.copyOf(offsets, count * 2);
+                }
+                ids[count] = issue.getId();
+                offsets[count] = checkedOffset(position);
+                sorted &= count == 0 || ids[count - 1] < ids[count];
+                count++;
+                writeIssue(issue);
+            }
+
+            // Довідники можуть поповнювати один одного: дошки - проектами, проекти - керівниками
+            for (int i = 0; i < registeredCount; i++) {
+                for (Project project : users.items.get(i).getProjects()) {
+                    projects.indexOf(project, project.getId());
+                }
+            }
+            for (int i = 0; i < boards.items.size(); i++) {
+                Project project = boards.items.get(i).getProject();
+                projects.indexOf(project, project != null ? project.getId() : null);
+            }
+            for (int i = 0; i < projects.items.size(); i++) {
+                User lead = projects.items.get(i).getLead();
+                users.indexOf(lead, lead != null ? lead.getId() : null);
+            }
+
+            long usersOffset = position;
+            for (int i = 0; i < users.items.size(); i++) {
+                writeUser(users.items.get(i), i < registeredCount);
+            }
+            long projectsOffset = position;
+            for (Project project : projects.items) {
+                writeNullableLong(project.getId());
+                writeString(project.getKey());
+                writeString(project.getName());
+                writeString(project.getDescription());
+                writeUserRef(project.getLead());
+                writeDateTime(project.getCreatedAt());
+            }
+            long boardsOffset = position;
+            for (Board board : boards.items) {
+                writeNullableLong(board.getId());
+                writeString(board.getName());
+                writeProjectRef(board.getProject());
+                writeDateTime(board.getCreatedAt());
+            }
+
+            long indexOffset = position;
+            Integer[] order = indexOrder(ids, count, sorted);
+            for (int i = 0; i < count; i++) {
+                int entry = order != null ? order[i] : i;
+                ensure(INDEX_ENTRY_SIZE);
+                buffer.putLong(ids[entry]).putInt(offsets[entry]);
+                position += INDEX_ENTRY_SIZE;
+            }
+            flushBuffer();
+            checkedOffset(position);
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putShort(VERSION).putShort((short) 0)
+                .putInt(users.items.size()).putInt(projects.items.size()).putInt(boards.items.size()).putInt(count)
+                .putLong(usersOffset).putLong(projectsOffset).putLong(boardsOffset)
+                .putLong(issuesOffset).putLong(indexOffset)
+                .putLong(position).putInt((int) crc.getValue()).putInt(0);
+            header.flip();
+            channel.write(header, 0);
+            return count;
+        }
+
+        private static Integer[] indexOrder(long[] ids, int count, boolean sorted) {
+            if (sorted) {
+                return null;
+            }
+            Integer[] order = new Integer[count];
+            for (int i = 0; i < count; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Long.compare(ids[a], ids[b]));
+            for (int i = 1; i < count; i++) {
+                if (ids[order[i - 1]] == ids[order[i]]) {
+                    throw new IllegalArgumentException("Задача " + ids[order[i]] + " повторюється у знімку");
+                }
+            }
+            return order;
+        }
+
+        private static int checkedOffset(long offset) throws IOException {
+            if (offset > Integer.MAX_VALUE) {
+                throw new IOException("Знімок перевищує 2 ГБ");
+            }
+            return (int) offset;
+        }
+
+        private void writeIssue(Issue issue) throws IOException {
+            writeLong(issue.getId());
+            writeString(issue.getKey());
+            writeString(issue.getTitle());
+            writeString(issue.getDescription());
+            writeEnum(issue.getStatus());
+            writeEnum(issue.getPriority());
+            writeProjectRef(issue.getProject());
+            Board board = issue.getBoard();
+            writeInt(boards.indexOf(board, board != null ? board.getId() : null));
+            writeUserRef(issue.getReporter());
+            writeUserRef(issue.getAssignee());
+            writeDateTime(issue.getCreatedAt());
+            writeDateTime(issue.getUpdatedAt());
+
+            // Компактор працює у фоні, тому список копіюється під монітором задачі
+            List<Comment> comments;
+            synchronized (issue) {
+                comments = issue.getComments() != null ? new ArrayList<>(issue.getComments()) : List.of();
+            }
+            writeInt(comments.size());
+            for (Comment comment : comments) {
+                writeNullableLong(comment.getId());
+                writeString(comment.getText());
+                writeUserRef(comment.getAuthor());
+                writeDateTime(comment.getCreatedAt());
+            }
+        }
+
+        private void writeUser(User user, boolean isRegistered) throws IOException {
+            writeByte(isRegistered ? 1 : 0);
+            writeNullableLong(user.getId());
+            writeString(user.getLogin());
+            writeString(isRegistered ? user.getPassword() : null);
+            writeString(user.getFullName());
+            writeString(user.getEmail());
+            writeEnum(user.getRole());
+            writeDateTime(user.getCreatedAt());
+            writeDateTime(user.getLastLogin());
+
+            List<Project> memberOf = isRegistered && user.getProjects() != null
+                ? new ArrayList<>(user.getProjects())
+                : List.of();
+            writeInt(memberOf.size());
+            for (Project project : memberOf) {
+                writeProjectRef(project);
+            }
+        }
+
+        private void writeProjectRef(Project project) throws IOException {
+            writeInt(projects.indexOf(project, project != null ? project.getId() : null));
+        }
+
+        private void writeUserRef(User user) throws IOException {
+            writeInt(users.indexOf(user, user != null ? user.getId() : null));
+        }
+
+        private void writeByte(int value) throws IOException {
+            ensure(1);
+            buffer.put((byte) value);
+            position++;
+        }
+
+        private void writeInt(int value) throws IOException {
+            ensure(Integer.BYTES);
+            buffer.putInt(value);
+            position += Integer.BYTES;
+        }
+
+        private void writeLong(long value) throws IOException {
+            ensure(Long.BYTES);
+            buffer.putLong(value);
+            position += Long.BYTES;
+        }
+
+        private void writeNullableLong(Long value) throws IOException {
+            writeByte(value != null ? 1 : 0);
+            if (value != null) {
+                writeLong(value);
+            }
+        }
+
+        private void writeEnum(Enum<?> value) throws IOException {
+            writeByte(value != null ? value.ordinal() : -1);
+        }
+
+        private void writeDateTime(LocalDateTime value) throws IOException {
+            if (value == null) {
+                writeLong(NULL_TIME);
+                return;
+            }
+            writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            writeInt(value.getNano());
+        }
+
+        private void writeString(String value) throws IOException {
+            if (value == null) {
+                writeInt(-1);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeInt(bytes.length);
+            ensure(bytes.length);
+            if (bytes.length > buffer.capacity()) {
+                ByteBuffer large = ByteBuffer.wrap(bytes);
+                crc.update(large.duplicate());
+                while (large.hasRemaining()) {
+                    channel.write(large);
+                }
+            } else {
+                buffer.put(bytes);
+            }
+            position += bytes.length;
+        }
+
+        private void ensure(int size) throws IOException {
+            if (buffer.remaining() < size) {
+                flushBuffer();
+            }
+        }
+
+        private void flushBuffer() throws IOException {
+            buffer.flip();
+            crc.update(buffer.duplicate());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package ua.oip.jiralite.repository.impl.jpa;
+
+/**
+ * Знімок лічильників кешу другого рівня та кешу запитів Hibernate.
+ * Лічильники накопичуються з моменту створення EntityManagerFactory.
+ *
+ * @param hits влучання в кеш сутностей
+ * @param misses промахи кешу сутностей
+ * @param puts записи в кеш сутностей
+ * @param queryHits влучання в кеш запитів
+ * @param queryMisses промахи кешу запитів
+ * @param queryPuts записи в кеш запитів
+ */
+public record CacheStatistics(long hits, long misses, long puts,
+                              long queryHits, long queryMisses, long queryPuts) {
+
+    /**
+     * Частка влучань у кеш сутностей від 0 до 1
+     */
+    public double hitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+
+    /**
+     * Частка влучань у кеш запитів від 0 до 1
+     */
+    public double queryHitRatio() {
+        long lookups = queryHits + queryMisses;
+        return lookups == 0 ? 0.0 : (double) queryHits / lookups;
+    }
+}
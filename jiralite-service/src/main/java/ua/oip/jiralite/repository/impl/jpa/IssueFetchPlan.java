@@ -0,0 +1,44 @@
+package ua.oip.jiralite.repository.impl.jpa;
+
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.EntityManager;
+import ua.oip.jiralite.domain.Issue;
+
+/**
+ * Плани завантаження задач: які зв'язки {@link Issue} підтягуються тим самим
+ * запитом для конкретного екрана.
+ * <p>
+ * План застосовується як fetch graph, тож зв'язки поза графом залишаються
+ * лінивими і не породжують окремих SELECT на кожну задачу.
+ */
+public enum IssueFetchPlan {
+
+    /**
+     * Картка на дошці: ключ, назва, статус, пріоритет і виконавець
+     */
+    BOARD_CARD(Issue.GRAPH_BOARD_CARD),
+
+    /**
+     * Вікно задачі: проєкт, дошка, автор, виконавець і коментарі з авторами
+     */
+    ISSUE_DETAIL(Issue.GRAPH_DETAIL);
+
+    /**
+     * Ім'я підказки JPA для fetch graph
+     */
+    static final String FETCH_GRAPH_HINT = "jakarta.persistence.fetchgraph";
+
+    private final String graphName;
+
+    IssueFetchPlan(String graphName) {
+        this.graphName = graphName;
+    }
+
+    public String getGraphName() {
+        return graphName;
+    }
+
+    EntityGraph<?> graph(EntityManager entityManager) {
+        return entityManager.getEntityGraph(graphName);
+    }
+}
@@ -0,0 +1,589 @@
+package ua.oip.jiralite.repository.impl.jpa;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.TypedQuery;
+import ua.oip.jiralite.domain.Board;
+import ua.oip.jiralite.domain.Issue;
+import ua.oip.jiralite.domain.Project;
+import ua.oip.jiralite.domain.User;
+import ua.oip.jiralite.domain.enums.Priority;
+import ua.oip.jiralite.domain.enums.Status;
+import ua.oip.jiralite.repository.IssueCardRow;
+import ua.oip.jiralite.repository.IssuePages;
+import ua.oip.jiralite.repository.IssueRepository;
+import ua.oip.jiralite.repository.IssueStats;
+
+/**
+ * JPA-репозиторій задач.
+ * <p>
+ * Окрім поодиноких операцій надає пакетні {@link #saveAll(Collection)} та
+ * {@link #updateStatusBulk(Collection, Status)}. Вони розраховані на
+ * {@code hibernate.jdbc.batch_size} з persistence.xml: контекст збереження
+ * скидається в БД і очищається кожні {@link #BATCH_SIZE} задач, тому INSERT та
+ * UPDATE надсилаються JDBC-пакетами, а пам'ять не зростає з розміром імпорту.
+ * <p>
+ * Зв'язки задачі ліниві, а повернуті задачі від'єднані, тож усе, що читатиме
+ * викликач, завантажується тим самим запитом. Методи інтерфейсу {@link IssueRepository}
+ * підтягують усі зв'язки «до одного» (проєкт, дошку, автора, виконавця), а
+ * {@link #findById(Long)} - ще й коментарі за планом {@link IssueFetchPlan#ISSUE_DETAIL}.
+ * Методи з {@link IssueFetchPlan} завантажують рівно ті зв'язки, що потрібні екрану.
+ * Для дошки є ще легші {@link #findCardsByBoard(Board)} та
+ * {@link #findCardsByProject(Project)}, що повертають {@link IssueCardRow} без сутностей.
+ * <p>
+ * Репозиторій, створений з {@link JpaUnitOfWork} або {@link EntityManagerFactory},
+ * виконує кожну операцію у власній короткій одиниці роботи або приєднується до
+ * одиниці, відкритої викликачем. Репозиторій з переданим {@link EntityManager}
+ * працює з ним напряму, як у контейнері з {@code @PersistenceContext}.
+ * <p>
+ * ID нових задач видає послідовність {@code issues_seq}. Ключ {@code PROJECT_KEY-N}
+ * нової задачі без ключа призначає {@link #save(Issue)} з лічильника проекту в БД
+ * ({@link IssueKeyCounter}), рядок якого заблокований до кінця транзакції збереження, тому
+ * ключі не повторюються між репозиторіями і JVM. Лічильник створюється при першому
+ * зверненні до проекту з найбільшим числовим номером серед наявних ключів. Задачі з
+ * уже призначеним ключем лише підтягують лічильник до свого номера.
+ */
+public class IssueJpaRepository implements IssueRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(IssueJpaRepository.class);
+
+    /**
+     * Розмір пакета, має збігатися з hibernate.jdbc.batch_size
+     */
+    public static final int BATCH_SIZE = 50;
+
+    /**
+     * Довжина початку опису, що потрапляє в картку
+     */
+    public static final int DESCRIPTION_PREVIEW_LENGTH = 120;
+
+    // Проєкція картки: опис обрізається в SQL, виконавець приєднується LEFT JOIN
+    private static final String CARD_SELECT =
+        "SELECT new ua.oip.jiralite.repository.IssueCardRow("
+            + "i.id, i.key, i.title, SUBSTRING(i.description, 1, " + DESCRIPTION_PREVIEW_LENGTH + "), "
+            + "i.status, i.priority, a.fullName) "
+            + "FROM Issue i LEFT JOIN i.assignee a ";
+
+    /**
+     * Розмір сторінки потокових вибірок
+     */
+    public static final int STREAM_PAGE_SIZE = 500;
+
+    // Зв'язки «до одного», які викликачі читають з від'єднаних задач списків
+    private static final String FETCH_TO_ONE =
+        " LEFT JOIN FETCH i.project LEFT JOIN FETCH i.board LEFT JOIN FETCH i.reporter LEFT JOIN FETCH i.assignee";
+
+    // Максимальна кількість ID в одному IN (...) масового оновлення
+    private static final int MAX_IDS_PER_UPDATE = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JpaUnitOfWork unitOfWork;
+
+    public IssueJpaRepository() {
+        this.unitOfWork = null;
+    }
+
+    public IssueJpaRepository(EntityManagerFactory emf) {
+        this(new JpaUnitOfWork(emf));
+    }
+
+    public IssueJpaRepository(JpaUnitOfWork unitOfWork) {
+        this.unitOfWork = unitOfWork;
+    }
+
+    public IssueJpaRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+        this.unitOfWork = null;
+    }
+
+    @Override
+    public Issue save(Issue entity) {
+        return inTransaction(() -> {
+            Map<String, Long> assignedNumbers = new HashMap<>();
+            Issue saved = store(entity, assignedNumbers);
+            raiseCounters(assignedNumbers);
+            return saved;
+        });
+    }
+
+    /**
+     * Зберігає задачу; нова задача без ключа отримує ключ з лічильника проекту
+     *
+     * @param assignedNumbers найбільші номери вже призначених ключів нових задач за проектами
+     */
+    private Issue store(Issue entity, Map<String, Long> assignedNumbers) {
+        if (entity.getId() != null) {
+            return em().merge(entity);
+        }
+        Project project = entity.getProject();
+        if (project != null && project.getKey() != null) {
+            if (entity.getKey() == null) {
+                entity.setKey(project.getKey() + "-" + nextKeyNumber(project.getKey()));
+            } else {
+                long number = keyNumber(project.getKey(), entity.getKey());
+                if (number > 0) {
+                    assignedNumbers.merge(project.getKey(), number, Math::max);
+                }
+            }
+        }
+        em().persist(entity);
+        return entity;
+    }
+
+    /**
+     * Видає наступний номер ключа. UPDATE лічильника блокує його рядок до кінця
+     * поточної транзакції, а номер читається скалярним запитом з БД, а не з
+     * контексту збереження, де сутність лічильника могла застаріти.
+     */
+    private long nextKeyNumber(String projectKey) {
+        if (incrementCounter(projectKey) == 0) {
+            createCounter(projectKey);
+            incrementCounter(projectKey);
+        }
+        return em().createQuery(
+                "SELECT c.lastNumber FROM IssueKeyCounter c WHERE c.projectKey = :projectKey", Long.class)
+            .setParameter("projectKey", projectKey)
+            .getSingleResult();
+    }
+
+    private int incrementCounter(String projectKey) {
+        return em().createQuery(
+                "UPDATE IssueKeyCounter c SET c.lastNumber = c.lastNumber + 1 WHERE c.projectKey = :projectKey")
+            .setParameter("projectKey", projectKey)
+            .executeUpdate();
+    }
+
+    /**
+     * Створює лічильник проекту в окремій транзакції, щоб його бачили й інші.
+     * Якщо інший процес встиг створити лічильник раніше, вставка відкидається.
+     */
+    private void createCounter(String projectKey) {
+        EntityManager separate = em().getEntityManagerFactory().createEntityManager();
+        EntityTransaction transaction = separate.getTransaction();
+        try {
+            transaction.begin();
+            if (separate.find(IssueKeyCounter.class, projectKey) == null) {
+                separate.persist(new IssueKeyCounter(projectKey, maxKeyNumber(separate, projectKey)));
+            }
+            transaction.commit();
+        } catch (PersistenceException e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+            log.debug("Лічильник ключів проекту {} вже створено: {}", projectKey, e.getMessage());
+        } finally {
+            separate.close();
+        }
+    }
+
+    /**
+     * Найбільший числовий номер серед ключів проекту; ключі з нечисловим номером пропускаються
+     */
+    private static long maxKeyNumber(EntityManager entityManager, String projectKey) {
+        List<String> keys = entityManager.createQuery(
+                "SELECT i.key FROM Issue i WHERE i.key LIKE :prefix ESCAPE '\\'", String.class)
+            .setParameter("prefix", escapeLike(projectKey + "-") + "%")
+            .getResultList();
+        long max = 0;
+        for (String key : keys) {
+            max = Math.max(max, keyNumber(projectKey, key));
+        }
+        return max;
+    }
+
+    /**
+     * Підтягує лічильники до номерів ключів, призначених задачам до збереження,
+     * одним UPDATE на проект; відсутній лічильник згодом прочитає їх з БД сам
+     */
+    private void raiseCounters(Map<String, Long> assignedNumbers) {
+        for (Map.Entry<String, Long> entry : assignedNumbers.entrySet()) {
+            em().createQuery("UPDATE IssueKeyCounter c SET c.lastNumber = :number "
+                    + "WHERE c.projectKey = :projectKey AND c.lastNumber < :number")
+                .setParameter("number", entry.getValue())
+                .setParameter("projectKey", entry.getKey())
+                .executeUpdate();
+        }
+    }
+
+    /**
+     * Номер ключа {@code PROJECT_KEY-N} або 0, якщо ключ іншого проекту чи номер не числовий
+     */
+    static long keyNumber(String projectKey, String key) {
+        int start = projectKey.length() + 1;
+        if (!key.startsWith(projectKey + "-") || key.length() == start || key.length() - start > 18) {
+            return 0;
+        }
+        for (int i = start; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c < '0' || c > '9') {
+                return 0;
+            }
+        }
+        return Long.parseLong(key, start, key.length(), 10);
+    }
+
+    /**
+     * Екранує символи шаблону LIKE, щоб {@code _} і {@code %} у ключі проекту не збігалися з іншими
+     */
+    static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Зберігає задачі JDBC-пакетами.
+     * <p>
+     * Виконується у власній транзакції, якщо транзакція ще не розпочата.
+     * Після кожного пакета контекст збереження очищається, тому повернуті
+     * задачі є від'єднаними (detached).
+     *
+     * @param issues нові або змінені задачі
+     * @return збережені задачі в порядку вхідної колекції
+     */
+    @Override
+    public List<Issue> saveAll(Collection<Issue> issues) {
+        return inTransaction(() -> {
+            List<Issue> saved = new ArrayList<>(issues.size());
+            Map<String, Long> assignedNumbers = new HashMap<>();
+            int pending = 0;
+            for (Issue issue : issues) {
+                saved.add(store(issue, assignedNumbers));
+                if (++pending == BATCH_SIZE) {
+                    em().flush();
+                    em().clear();
+                    pending = 0;
+                }
+            }
+            raiseCounters(assignedNumbers);
+            em().flush();
+            em().clear();
+            return saved;
+        });
+    }
+
+    /**
+     * Переносить задачі в інший статус масовими UPDATE без завантаження сутностей.
+     * <p>
+     * Оновлення виконується одним запитом на кожні {@value #MAX_IDS_PER_UPDATE} ID.
+     * Масовий запит оминає контекст збереження, тому перед ним незбережені
+     * зміни скидаються в БД, а після нього контекст очищається.
+     *
+     * @param issueIds ID задач
+     * @param status новий статус
+     * @return кількість оновлених задач
+     */
+    public int updateStatusBulk(Collection<Long> issueIds, Status status) {
+        if (issueIds.isEmpty()) {
+            return 0;
+        }
+
+        return inTransaction(() -> {
+            em().flush();
+
+            List<Long> ids = new ArrayList<>(issueIds);
+            LocalDateTime now = LocalDateTime.now();
+            int updated = 0;
+            for (int from = 0; from < ids.size(); from += MAX_IDS_PER_UPDATE) {
+                updated += em().createQuery(
+                        "UPDATE Issue i SET i.status = :status, i.updatedAt = :now WHERE i.id IN :ids")
+                    .setParameter("status", status)
+                    .setParameter("now", now)
+                    .setParameter("ids", ids.subList(from, Math.min(ids.size(), from + MAX_IDS_PER_UPDATE)))
+                    .executeUpdate();
+            }
+
+            em().clear();
+            return updated;
+        });
+    }
+
+    /**
+     * Знаходить задачу з усіма зв'язками і коментарями, див. {@link IssueFetchPlan#ISSUE_DETAIL}
+     */
+    @Override
+    public Issue findById(Long id) {
+        return findById(id, IssueFetchPlan.ISSUE_DETAIL);
+    }
+
+    /**
+     * Знаходить задачу разом зі зв'язками плану
+     */
+    public Issue findById(Long id, IssueFetchPlan plan) {
+        return inUnit(() -> em().find(Issue.class, id,
+                Map.of(IssueFetchPlan.FETCH_GRAPH_HINT, plan.graph(em()))));
+    }
+
+    @Override
+    public List<Issue> findByBoard(Board board) {
+        return findByBoard(board, null);
+    }
+
+    /**
+     * Знаходить задачі дошки разом зі зв'язками плану
+     *
+     * @param plan план завантаження або null для всіх зв'язків «до одного»
+     */
+    public List<Issue> findByBoard(Board board, IssueFetchPlan plan) {
+        return inUnit(() -> {
+            TypedQuery<Issue> query = em().createQuery(
+                selectIssues(plan) + " WHERE i.board = :board ORDER BY i.id", Issue.class);
+            query.setParameter("board", board);
+            return withPlan(query, plan).getResultList();
+        });
+    }
+
+    @Override
+    public List<Issue> findByProject(Project project) {
+        return findByProject(project, null);
+    }
+
+    /**
+     * Знаходить задачі проєкту разом зі зв'язками плану
+     *
+     * @param plan план завантаження або null для всіх зв'язків «до одного»
+     */
+    public List<Issue> findByProject(Project project, IssueFetchPlan plan) {
+        return inUnit(() -> {
+            TypedQuery<Issue> query = em().createQuery(
+                selectIssues(plan) + " WHERE i.project = :project ORDER BY i.id", Issue.class);
+            query.setParameter("project", project);
+            return withPlan(query, plan).getResultList();
+        });
+    }
+
+    /**
+     * Повертає картки задач дошки одним запитом без завантаження сутностей
+     */
+    public List<IssueCardRow> findCardsByBoard(Board board) {
+        return inUnit(() -> em()
+            .createQuery(CARD_SELECT + "WHERE i.board = :board ORDER BY i.id", IssueCardRow.class)
+            .setParameter("board", board)
+            .getResultList());
+    }
+
+    /**
+     * Повертає картки задач проєкту одним запитом без завантаження сутностей
+     */
+    public List<IssueCardRow> findCardsByProject(Project project) {
+        return inUnit(() -> em()
+            .createQuery(CARD_SELECT + "WHERE i.project = :project ORDER BY i.id", IssueCardRow.class)
+            .setParameter("project", project)
+            .getResultList());
+    }
+
+    @Override
+    public List<Issue> findByAssignee(User assignee) {
+        return inUnit(() -> {
+            TypedQuery<Issue> query = em().createQuery(
+                selectIssues(null) + " WHERE i.assignee = :assignee ORDER BY i.id", Issue.class);
+            query.setParameter("assignee", assignee);
+            return query.getResultList();
+        });
+    }
+
+    @Override
+    public List<Issue> findByBoard(Board board, Long afterId, int limit) {
+        return findPage("i.board = :owner", board, afterId, limit);
+    }
+
+    @Override
+    public List<Issue> findByProject(Project project, Long afterId, int limit) {
+        return findPage("i.project = :owner", project, afterId, limit);
+    }
+
+    @Override
+    public List<Issue> findByAssignee(User assignee, Long afterId, int limit) {
+        return findPage("i.assignee = :owner", assignee, afterId, limit);
+    }
+
+    @Override
+    public List<Issue> findAll(Long afterId, int limit) {
+        return findPage(null, null, afterId, limit);
+    }
+
+    /**
+     * Потоково читає задачі проєкту сторінками по {@value #STREAM_PAGE_SIZE}.
+     * <p>
+     * Прочитана сторінка від'єднується від контексту збереження перед
+     * завантаженням наступної, тож контекст не зростає з розміром вибірки.
+     * Ліниві зв'язки задачі доступні лише доки обробляється її сторінка.
+     */
+    @Override
+    public Stream<Issue> streamByProject(Project project) {
+        return IssuePages.stream(STREAM_PAGE_SIZE,
+                (afterId, limit) -> findByProject(project, afterId, limit), this::detachAll);
+    }
+
+    /**
+     * Потоково читає всі задачі; сторінки від'єднуються так само, як у {@link #streamByProject(Project)}
+     */
+    @Override
+    public Stream<Issue> streamAll() {
+        return IssuePages.stream(STREAM_PAGE_SIZE, this::findAll, this::detachAll);
+    }
+
+    /**
+     * Статистика дошки одним GROUP BY запитом
+     */
+    @Override
+    public IssueStats statsByBoard(Board board) {
+        return aggregate("i.board = :owner", board);
+    }
+
+    /**
+     * Статистика проєкту одним GROUP BY запитом
+     */
+    @Override
+    public IssueStats statsByProject(Project project) {
+        return aggregate("i.project = :owner", project);
+    }
+
+    @Override
+    public void delete(Issue entity) {
+        inTransaction(() -> {
+            em().remove(em().contains(entity) ? entity : em().merge(entity));
+            return null;
+        });
+    }
+
+    public long count() {
+        return inUnit(() -> em().createQuery("SELECT COUNT(i) FROM Issue i", Long.class).getSingleResult());
+    }
+
+    /**
+     * Keyset-сторінка: умова за ID замість OFFSET, тому вартість запиту не
+     * залежить від номера сторінки. Автор і виконавець завантажуються тим самим
+     * запитом: сторінки потоків від'єднуються, а експорт читає їхні логіни.
+     *
+     * @param ownerCondition умова з параметром :owner або null для всіх задач
+     */
+    private List<Issue> findPage(String ownerCondition, Object owner, Long afterId, int limit) {
+        IssuePages.checkLimit(limit);
+
+        StringBuilder jpql = new StringBuilder(
+            "SELECT i FROM Issue i LEFT JOIN FETCH i.reporter LEFT JOIN FETCH i.assignee");
+        String separator = " WHERE ";
+        if (ownerCondition != null) {
+            jpql.append(separator).append(ownerCondition);
+            separator = " AND ";
+        }
+        if (afterId != null) {
+            jpql.append(separator).append("i.id > :afterId");
+        }
+        jpql.append(" ORDER BY i.id");
+
+        return inUnit(() -> {
+            TypedQuery<Issue> query = em().createQuery(jpql.toString(), Issue.class)
+                .setMaxResults(limit);
+            if (ownerCondition != null) {
+                query.setParameter("owner", owner);
+            }
+            if (afterId != null) {
+                query.setParameter("afterId", afterId);
+            }
+            return query.getResultList();
+        });
+    }
+
+    /**
+     * Групує задачі за всіма трьома вимірами одразу; кількість рядків результату
+     * обмежена кількістю комбінацій статус x пріоритет x виконавець, а не задач
+     */
+    private IssueStats aggregate(String ownerCondition, Object owner) {
+        if (owner == null) {
+            return IssueStats.EMPTY;
+        }
+
+        List<Object[]> rows = inUnit(() -> em().createQuery(
+                "SELECT i.status, i.priority, a.id, COUNT(i) FROM Issue i LEFT JOIN i.assignee a "
+                    + "WHERE " + ownerCondition + " GROUP BY i.status, i.priority, a.id", Object[].class)
+            .setParameter("owner", owner)
+            .getResultList());
+
+        IssueStats.Counter counter = new IssueStats.Counter();
+        for (Object[] row : rows) {
+            counter.add((Status) row[0], (Priority) row[1], (Long) row[2], ((Long) row[3]).intValue());
+        }
+        return counter.snapshot();
+    }
+
+    private void detachAll(List<Issue> issues) {
+        // Сторінка, прочитана у власній одиниці роботи, вже від'єднана разом з її контекстом
+        if (unitOfWork != null && !unitOfWork.isActive()) {
+            return;
+        }
+        for (Issue issue : issues) {
+            em().detach(issue);
+        }
+    }
+
+    /**
+     * Початок вибірки задач: без плану зв'язки «до одного» приєднуються FETCH JOIN
+     */
+    private static String selectIssues(IssueFetchPlan plan) {
+        return plan == null ? "SELECT i FROM Issue i" + FETCH_TO_ONE : "SELECT i FROM Issue i";
+    }
+
+    private TypedQuery<Issue> withPlan(TypedQuery<Issue> query, IssueFetchPlan plan) {
+        if (plan != null) {
+            query.setHint(IssueFetchPlan.FETCH_GRAPH_HINT, plan.graph(em()));
+        }
+        return query;
+    }
+
+    /**
+     * EntityManager поточної операції: одиниці роботи або переданий у конструктор
+     */
+    private EntityManager em() {
+        return unitOfWork != null ? unitOfWork.currentEntityManager() : entityManager;
+    }
+
+    /**
+     * Виконує читання в одиниці роботи (власній або відкритій викликачем)
+     */
+    private <T> T inUnit(Supplier<T> action) {
+        return unitOfWork != null ? unitOfWork.execute(em -> action.get()) : action.get();
+    }
+
+    /**
+     * Виконує дію у транзакції: у поточній, якщо вона вже активна, інакше у новій
+     */
+    private <T> T inTransaction(Supplier<T> action) {
+        if (unitOfWork != null) {
+            return unitOfWork.execute(em -> action.get());
+        }
+
+        EntityTransaction transaction = entityManager.getTransaction();
+        if (transaction.isActive()) {
+            return action.get();
+        }
+
+        transaction.begin();
+        try {
+            T result = action.get();
+            transaction.commit();
+            return result;
+        } catch (RuntimeException e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package ua.oip.jiralite.repository.impl.jpa;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Лічильник номерів ключів задач одного проекту, {@code PROJECT_KEY-N}.
+ * <p>
+ * Номер видається UPDATE рядка лічильника, що блокує рядок до кінця транзакції,
+ * яка зберігає задачу, тож номери унікальні для будь-якої кількості репозиторіїв
+ * і JVM, які працюють з однією БД.
+ */
+@Entity
+@Table(name = "issue_key_counters")
+public class IssueKeyCounter {
+
+    @Id
+    @Column(name = "project_key")
+    private String projectKey;
+
+    @Column(name = "last_number", nullable = false)
+    private long lastNumber;
+
+    protected IssueKeyCounter() {
+    }
+
+    public IssueKeyCounter(String projectKey, long lastNumber) {
+        this.projectKey = projectKey;
+        this.lastNumber = lastNumber;
+    }
+
+    public String getProjectKey() {
+        return projectKey;
+    }
+
+    public long getLastNumber() {
+        return lastNumber;
+    }
+}
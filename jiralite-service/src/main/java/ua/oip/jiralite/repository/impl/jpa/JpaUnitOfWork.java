@@ -0,0 +1,113 @@
+package ua.oip.jiralite.repository.impl.jpa;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+
+/**
+ * Одиниця роботи JPA: короткоживучий {@link EntityManager} з транзакцією,
+ * прив'язаний до поточного потоку.
+ * <p>
+ * {@link #execute(Function)} відкриває новий EntityManager і транзакцію,
+ * виконує дію, фіксує транзакцію та закриває EntityManager. Вкладені виклики
+ * в тому самому потоці, зокрема виклики репозиторіїв, приєднуються до вже
+ * відкритої одиниці, тому кілька операцій можна об'єднати в одну транзакцію.
+ * Контекст збереження живе лише до кінця одиниці і не зростає між операціями.
+ * <p>
+ * Кожен потік отримує власний EntityManager, тож одиницю роботи можна
+ * використовувати з кількох фонових потоків одночасно. Сутності, повернуті
+ * з одиниці, є від'єднаними: потрібні зв'язки слід завантажувати планом
+ * {@link IssueFetchPlan} або проєкцією.
+ */
+public class JpaUnitOfWork {
+
+    private static final Logger log = LoggerFactory.getLogger(JpaUnitOfWork.class);
+
+    private final EntityManagerFactory emf;
+    private final ThreadLocal<EntityManager> current = new ThreadLocal<>();
+
+    public JpaUnitOfWork(EntityManagerFactory emf) {
+        this.emf = emf;
+    }
+
+    public EntityManagerFactory getEntityManagerFactory() {
+        return emf;
+    }
+
+    /**
+     * Виконує дію в поточній одиниці роботи або у новій, якщо потік її ще не має
+     *
+     * @return результат дії
+     */
+    public <T> T execute(Function<EntityManager, T> work) {
+        EntityManager active = current.get();
+        if (active != null) {
+            return work.apply(active);
+        }
+
+        EntityManager entityManager = emf.createEntityManager();
+        current.set(entityManager);
+        EntityTransaction transaction = entityManager.getTransaction();
+        try {
+            transaction.begin();
+            T result = work.apply(entityManager);
+            transaction.commit();
+            return result;
+        } catch (RuntimeException e) {
+            if (transaction.isActive()) {
+                log.debug("Відкат одиниці роботи: {}", e.getMessage());
+                transaction.rollback();
+            }
+            throw e;
+        } finally {
+            current.remove();
+            entityManager.close();
+        }
+    }
+
+    /**
+     * Виконує дію без результату, див. {@link #execute(Function)}
+     */
+    public void run(Consumer<EntityManager> work) {
+        execute(entityManager -> {
+            work.accept(entityManager);
+            return null;
+        });
+    }
+
+    /**
+     * Чи відкрита одиниця роботи в поточному потоці
+     */
+    public boolean isActive() {
+        return current.get() != null;
+    }
+
+    /**
+     * EntityManager одиниці роботи поточного потоку
+     *
+     * @throws IllegalStateException якщо одиниця роботи не відкрита
+     */
+    public EntityManager currentEntityManager() {
+        EntityManager entityManager = current.get();
+        if (entityManager == null) {
+            throw new IllegalStateException("Одиниця роботи не відкрита в потоці " + Thread.currentThread().getName());
+        }
+        return entityManager;
+    }
+
+    /**
+     * Скидає зміни поточної одиниці в БД і очищає її контекст збереження,
+     * наприклад між частинами масової обробки
+     */
+    public void flushAndClear() {
+        EntityManager entityManager = currentEntityManager();
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
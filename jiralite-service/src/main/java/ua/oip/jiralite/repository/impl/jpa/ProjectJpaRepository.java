@@ -0,0 +1,75 @@
+package ua.oip.jiralite.repository.impl.jpa;
+
+import java.util.List;
+
+import jakarta.persistence.EntityManagerFactory;
+import ua.oip.jiralite.domain.Project;
+import ua.oip.jiralite.domain.User;
+import ua.oip.jiralite.repository.ProjectRepository;
+
+/**
+ * JPA-репозиторій проєктів.
+ * <p>
+ * Проєкти читаються через кеш другого рівня, вибірки за ключем та учасником -
+ * через кеш запитів {@link ReferenceDataCache}. Кожен запис вилучає змінений
+ * проєкт і кешовані запити довідників.
+ */
+public class ProjectJpaRepository implements ProjectRepository {
+
+    private final JpaUnitOfWork unitOfWork;
+    private final ReferenceDataCache cache;
+
+    public ProjectJpaRepository(EntityManagerFactory emf) {
+        this(new JpaUnitOfWork(emf));
+    }
+
+    public ProjectJpaRepository(JpaUnitOfWork unitOfWork) {
+        this.unitOfWork = unitOfWork;
+        this.cache = new ReferenceDataCache(unitOfWork.getEntityManagerFactory());
+        cache.registerMBean();
+    }
+
+    @Override
+    public Project save(Project project) {
+        Project saved = unitOfWork.execute(em -> {
+            if (project.getId() == null) {
+                em.persist(project);
+                return project;
+            }
+            return em.merge(project);
+        });
+        cache.evict(Project.class, saved.getId());
+        return saved;
+    }
+
+    @Override
+    public Project findById(Long id) {
+        return unitOfWork.execute(em -> em.find(Project.class, id));
+    }
+
+    @Override
+    public Project findByKey(String key) {
+        // Потік результатів (scroll) оминає кеш запитів, тому читаємо список
+        return unitOfWork.execute(em -> cache.cacheable(em.createQuery(
+                "SELECT p FROM Project p WHERE p.key = :key", Project.class))
+            .setParameter("key", key)
+            .getResultList()
+            .stream()
+            .findFirst()
+            .orElse(null));
+    }
+
+    @Override
+    public List<Project> findByMembersContaining(User user) {
+        return unitOfWork.execute(em -> cache.cacheable(em.createQuery(
+                "SELECT p FROM Project p JOIN p.members m WHERE m = :user ORDER BY p.id", Project.class))
+            .setParameter("user", user)
+            .getResultList());
+    }
+
+    @Override
+    public void delete(Project project) {
+        unitOfWork.run(em -> em.remove(em.contains(project) ? project : em.merge(project)));
+        cache.evict(Project.class, project.getId());
+    }
+}
@@ -0,0 +1,205 @@
+package ua.oip.jiralite.repository.impl.jpa;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TypedQuery;
+
+/**
+ * Керування кешем довідкових даних: проєктів, користувачів і дошок.
+ * <p>
+ * Сутності з {@code @Cacheable} зберігаються в кеші другого рівня (вбудований
+ * Ehcache, див. persistence.xml), а запити довідників - в окремому регіоні
+ * кешу запитів {@link #QUERY_REGION}. Репозиторії явно вилучають змінену
+ * сутність і весь регіон запитів після кожного запису, бо кешований запит
+ * (наприклад, проєкти учасника) може залежати від зміненого запису.
+ * <p>
+ * Лічильники влучань і промахів {@link #getStatistics()} беруться зі статистики
+ * Hibernate ({@code hibernate.generate_statistics}, увімкнена в обох одиницях
+ * персистентності) і публікуються в JMX через {@link #registerMBean()}. Якщо
+ * статистику вимкнено, лічильники дорівнюють нулю, а {@link #isStatisticsEnabled()}
+ * повертає false.
+ */
+public class ReferenceDataCache implements ReferenceDataCacheMXBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ReferenceDataCache.class);
+
+    /**
+     * Регіон кешу запитів для вибірок довідкових даних
+     */
+    public static final String QUERY_REGION = "jiralite.reference-queries";
+
+    /**
+     * Шаблон імені MBean лічильників; параметр - ім'я одиниці персистентності
+     */
+    public static final String MBEAN_NAME = "ua.oip.jiralite:type=ReferenceDataCache,unit=%s";
+
+    // Властивість Hibernate з іменем одиниці персистентності фабрики
+    private static final String UNIT_NAME_PROPERTY = "hibernate.persistenceUnitName";
+
+    private static final CacheStatistics NO_STATISTICS = new CacheStatistics(0, 0, 0, 0, 0, 0);
+
+    private final EntityManagerFactory emf;
+
+    public ReferenceDataCache(EntityManagerFactory emf) {
+        this.emf = emf;
+    }
+
+    /**
+     * Вмикає для запиту кеш запитів у регіоні довідкових даних
+     */
+    public <T> TypedQuery<T> cacheable(TypedQuery<T> query) {
+        return query
+            .setHint("org.hibernate.cacheable", true)
+            .setHint("org.hibernate.cacheRegion", QUERY_REGION);
+    }
+
+    /**
+     * Вилучає сутність з кешу другого рівня разом з кешованими запитами довідників
+     *
+     * @param type клас сутності
+     * @param id ID сутності або null, якщо сутність ще не збережена
+     */
+    public void evict(Class<?> type, Object id) {
+        if (id != null) {
+            emf.getCache().evict(type, id);
+        }
+        evictQueries();
+        log.debug("Вилучено з кешу {} з ID {}", type.getSimpleName(), id);
+    }
+
+    /**
+     * Вилучає кешовані результати запитів довідників
+     */
+    public void evictQueries() {
+        sessionFactory().getCache().evictQueryRegion(QUERY_REGION);
+    }
+
+    /**
+     * Повністю очищає кеш другого рівня та кеш запитів
+     */
+    public void evictAll() {
+        emf.getCache().evictAll();
+        sessionFactory().getCache().evictQueryRegions();
+    }
+
+    /**
+     * Реєструє лічильники кешу в платформному MBeanServer під іменем {@link #MBEAN_NAME}.
+     * Статистика спільна для всієї фабрики, тому повторна реєстрація для тієї ж
+     * одиниці персистентності замінює попередній MBean.
+     *
+     * @return ім'я зареєстрованого MBean або null, якщо зареєструвати не вдалося
+     */
+    public ObjectName registerMBean() {
+        Object unit = emf.getProperties().get(UNIT_NAME_PROPERTY);
+        try {
+            ObjectName name = new ObjectName(String.format(MBEAN_NAME, ObjectName.quote(String.valueOf(unit))));
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            synchronized (ReferenceDataCache.class) {
+                if (server.isRegistered(name)) {
+                    server.unregisterMBean(name);
+                }
+                server.registerMBean(this, name);
+            }
+            log.debug("Лічильники кешу довідників опубліковано в JMX як {}", name);
+            return name;
+        } catch (JMException e) {
+            log.warn("Не вдалося зареєструвати лічильники кешу довідників у JMX: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Чи збирає Hibernate статистику ({@code hibernate.generate_statistics})
+     */
+    @Override
+    public boolean isStatisticsEnabled() {
+        return sessionFactory().getStatistics().isStatisticsEnabled();
+    }
+
+    /**
+     * Загальні лічильники кешу сутностей і запитів; нулі, якщо статистику вимкнено
+     */
+    public CacheStatistics getStatistics() {
+        Statistics statistics = sessionFactory().getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            return NO_STATISTICS;
+        }
+        return new CacheStatistics(
+            statistics.getSecondLevelCacheHitCount(),
+            statistics.getSecondLevelCacheMissCount(),
+            statistics.getSecondLevelCachePutCount(),
+            statistics.getQueryCacheHitCount(),
+            statistics.getQueryCacheMissCount(),
+            statistics.getQueryCachePutCount());
+    }
+
+    /**
+     * Лічильники кешу однієї сутності; регіон сутності названо її повним іменем класу.
+     * Нулі, якщо статистику вимкнено або сутність не кешується.
+     */
+    public CacheStatistics getStatistics(Class<?> type) {
+        Statistics statistics = sessionFactory().getStatistics();
+        CacheRegionStatistics region = statistics.isStatisticsEnabled()
+            ? statistics.getDomainDataRegionStatistics(type.getName())
+            : null;
+        if (region == null) {
+            return NO_STATISTICS;
+        }
+        return new CacheStatistics(region.getHitCount(), region.getMissCount(), region.getPutCount(), 0, 0, 0);
+    }
+
+    @Override
+    public long getHits() {
+        return getStatistics().hits();
+    }
+
+    @Override
+    public long getMisses() {
+        return getStatistics().misses();
+    }
+
+    @Override
+    public long getPuts() {
+        return getStatistics().puts();
+    }
+
+    @Override
+    public long getQueryHits() {
+        return getStatistics().queryHits();
+    }
+
+    @Override
+    public long getQueryMisses() {
+        return getStatistics().queryMisses();
+    }
+
+    @Override
+    public long getQueryPuts() {
+        return getStatistics().queryPuts();
+    }
+
+    @Override
+    public double getHitRatio() {
+        return getStatistics().hitRatio();
+    }
+
+    @Override
+    public double getQueryHitRatio() {
+        return getStatistics().queryHitRatio();
+    }
+
+    private SessionFactory sessionFactory() {
+        return emf.unwrap(SessionFactory.class);
+    }
+}
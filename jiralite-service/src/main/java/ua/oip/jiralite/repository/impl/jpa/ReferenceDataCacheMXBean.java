@@ -0,0 +1,35 @@
+package ua.oip.jiralite.repository.impl.jpa;
+
+/**
+ * Лічильники кешу довідкових даних у JMX, див. {@link ReferenceDataCache#registerMBean()}.
+ * Значення накопичуються з моменту створення EntityManagerFactory.
+ */
+public interface ReferenceDataCacheMXBean {
+
+    /** Чи збирає Hibernate статистику; якщо ні, лічильники дорівнюють нулю */
+    boolean isStatisticsEnabled();
+
+    /** Влучання в кеш сутностей */
+    long getHits();
+
+    /** Промахи кешу сутностей */
+    long getMisses();
+
+    /** Записи в кеш сутностей */
+    long getPuts();
+
+    /** Влучання в кеш запитів */
+    long getQueryHits();
+
+    /** Промахи кешу запитів */
+    long getQueryMisses();
+
+    /** Записи в кеш запитів */
+    long getQueryPuts();
+
+    /** Частка влучань у кеш сутностей від 0 до 1 */
+    double getHitRatio();
+
+    /** Частка влучань у кеш запитів від 0 до 1 */
+    double getQueryHitRatio();
+}
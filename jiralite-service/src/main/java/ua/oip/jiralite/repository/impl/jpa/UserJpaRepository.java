@@ -0,0 +1,96 @@
+package ua.oip.jiralite.repository.impl.jpa;
+
+import java.util.List;
+
+import jakarta.persistence.EntityManagerFactory;
+import ua.oip.jiralite.domain.Project;
+import ua.oip.jiralite.domain.User;
+import ua.oip.jiralite.repository.UserRepository;
+
+/**
+ * JPA-репозиторій користувачів.
+ * <p>
+ * Користувачі читаються через кеш другого рівня, вибірки за логіном, email та
+ * проєктом - через кеш запитів {@link ReferenceDataCache}. Кожен запис
+ * вилучає зміненого користувача і кешовані запити довідників.
+ */
+public class UserJpaRepository implements UserRepository {
+
+    private final JpaUnitOfWork unitOfWork;
+    private final ReferenceDataCache cache;
+
+    public UserJpaRepository(EntityManagerFactory emf) {
+        this(new JpaUnitOfWork(emf));
+    }
+
+    public UserJpaRepository(JpaUnitOfWork unitOfWork) {
+        this.unitOfWork = unitOfWork;
+        this.cache = new ReferenceDataCache(unitOfWork.getEntityManagerFactory());
+        cache.registerMBean();
+    }
+
+    @Override
+    public User save(User user) {
+        User saved = unitOfWork.execute(em -> {
+            if (user.getId() == null) {
+                em.persist(user);
+                return user;
+            }
+            return em.merge(user);
+        });
+        cache.evict(User.class, saved.getId());
+        return saved;
+    }
+
+    @Override
+    public User findById(Long id) {
+        return unitOfWork.execute(em -> em.find(User.class, id));
+    }
+
+    @Override
+    public User findByLogin(String login) {
+        return findOneBy("login", login);
+    }
+
+    @Override
+    public User findByEmail(String email) {
+        return findOneBy("email", email);
+    }
+
+    @Override
+    public List<User> findByProjectsContaining(Project project) {
+        return unitOfWork.execute(em -> cache.cacheable(em.createQuery(
+                "SELECT u FROM Project p JOIN p.members u WHERE p = :project ORDER BY u.id", User.class))
+            .setParameter("project", project)
+            .getResultList());
+    }
+
+    @Override
+    public boolean existsByLogin(String login) {
+        return findByLogin(login) != null;
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return findByEmail(email) != null;
+    }
+
+    @Override
+    public void delete(User user) {
+        unitOfWork.run(em -> em.remove(em.contains(user) ? user : em.merge(user)));
+        cache.evict(User.class, user.getId());
+    }
+
+    /**
+     * @param field унікальне поле сутності, ім'я підставляється лише з констант класу
+     */
+    private User findOneBy(String field, String value) {
+        return unitOfWork.execute(em -> cache.cacheable(em.createQuery(
+                "SELECT u FROM User u WHERE u." + field + " = :value", User.class))
+            .setParameter("value", value)
+            .getResultList()
+            .stream()
+            .findFirst()
+            .orElse(null));
+    }
+}
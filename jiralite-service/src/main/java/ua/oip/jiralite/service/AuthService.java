@@ -5,15 +5,24 @@ import java.time.LocalDateTime;
 import ua.oip.jiralite.domain.User;
 import ua.oip.jiralite.domain.enums.Role;
 import ua.oip.jiralite.repository.UserRepository;
+import ua.oip.jiralite.repository.impl.UserMemoryRepository;
+import ua.oip.jiralite.service.session.SecurityContext;
+import ua.oip.jiralite.service.session.Session;
+import ua.oip.jiralite.service.session.SessionRegistry;
 
 /**
- * Сервіс автентифікації користувачів
+ * Сервіс автентифікації користувачів.
+ * <p>
+ * Настільний застосунок працює з одним поточним користувачем ({@link #signIn}).
+ * Для кількох одночасних користувачів {@link #openSession} видає токен сесії,
+ * а методи сервісів отримують {@link SecurityContext} сесії як параметр.
  */
 public class AuthService {
     
     private static AuthService instance;
     private final UserRepository userRepository;
-    private User currentUser;
+    private final SessionRegistry sessions = new SessionRegistry();
+    private volatile User currentUser;
     
     /**
      * Повертає Singleton екземпляр сервісу
@@ -36,7 +45,14 @@ public class AuthService {
      * Конструктор для Singleton
      */
     private AuthService() {
-        this.userRepository = null; // У реальному застосунку тут була б ініціалізація репозиторію
+        this.userRepository = new UserMemoryRepository();
+    }
+    
+    /**
+     * Повертає репозиторій користувачів сервісу
+     */
+    public UserRepository getUserRepository() {
+        return userRepository;
     }
     
     /**
@@ -48,6 +64,57 @@ public class AuthService {
      * @throws AuthException якщо автентифікація не вдалася
      */
     public User signIn(String login, String password) throws AuthException {
+        User user = checkCredentials(login, password);
+        currentUser = user;
+        return user;
+    }
+    
+    /**
+     * Автентифікує користувача і відкриває для нього окрему сесію,
+     * не змінюючи поточного користувача застосунку
+     * 
+     * @return контекст сесії з її токеном
+     * @throws AuthException якщо автентифікація не вдалася
+     */
+    public SecurityContext openSession(String login, String password) throws AuthException {
+        Session session = sessions.open(checkCredentials(login, password));
+        return session.getContext();
+    }
+    
+    /**
+     * Повертає контекст активної сесії за токеном
+     * 
+     * @return контекст або null, якщо сесія невідома чи завершилася
+     */
+    public SecurityContext getSession(String token) {
+        return sessions.resolve(token);
+    }
+    
+    /**
+     * Завершує сесію
+     */
+    public void closeSession(String token) {
+        sessions.invalidate(token);
+    }
+    
+    /**
+     * Реєстр сесій сервісу
+     */
+    public SessionRegistry getSessionRegistry() {
+        return sessions;
+    }
+    
+    /**
+     * Контекст безпеки поточного користувача застосунку
+     */
+    public SecurityContext currentContext() {
+        return SecurityContext.of(currentUser);
+    }
+    
+    /**
+     * Перевіряє логін і пароль
+     */
+    private User checkCredentials(String login, String password) throws AuthException {
         if (login == null || login.trim().isEmpty()) {
             throw new AuthException("Логін не може бути порожнім");
         }
@@ -63,7 +130,6 @@ public class AuthService {
                 User admin = new User(login, password, "Administrator", "admin@example.com");
                 admin.setId(1L);
                 admin.setRole(Role.ADMIN);
-                currentUser = admin;
                 return admin;
             }
             
@@ -72,7 +138,6 @@ public class AuthService {
                 User user = new User(login, password, "John Developer", "john@example.com");
                 user.setId(2L);
                 user.setRole(Role.USER);
-                currentUser = user;
                 return user;
             }
             
@@ -81,7 +146,6 @@ public class AuthService {
                 User guest = new User(login, password, "Guest User", "guest@example.com");
                 guest.setId(3L);
                 guest.setRole(Role.GUEST);
-                currentUser = guest;
                 return guest;
             }
             
@@ -97,9 +161,6 @@ public class AuthService {
                 // Оновлюємо час останнього входу
                 user.setLastLogin(LocalDateTime.now());
                 userRepository.save(user);
-                
-                // Встановлюємо поточного користувача
-                currentUser = user;
                 return user;
             }
         }
@@ -133,11 +194,7 @@ public class AuthService {
      * Визначає роль поточного користувача
      */
     public Role getUserRole() {
-        if (currentUser == null) {
-            return null;
-        }
-        
-        return currentUser.getRole();
+        return currentContext().getRole();
     }
     
     /**
@@ -151,33 +208,21 @@ public class AuthService {
      * Перевіряє, чи має поточний користувач права на зміну задачі
      */
     public boolean canEditIssue() {
-        if (currentUser == null) {
-            return false;
-        }
-        Role role = currentUser.getRole();
-        return role == Role.ADMIN || role == Role.USER;
+        return currentContext().canEditIssue();
     }
     
     /**
      * Перевіряє, чи має поточний користувач права на додавання нових задач
      */
     public boolean canCreateIssue() {
-        if (currentUser == null) {
-            return false;
-        }
-        Role role = currentUser.getRole();
-        return role == Role.ADMIN || role == Role.USER;
+        return currentContext().canCreateIssue();
     }
     
     /**
      * Перевіряє, чи має поточний користувач права на видалення задач
      */
     public boolean canDeleteIssue() {
-        if (currentUser == null) {
-            return false;
-        }
-        Role role = currentUser.getRole();
-        return role == Role.ADMIN || role == Role.USER;
+        return currentContext().canDeleteIssue();
     }
     
     /**
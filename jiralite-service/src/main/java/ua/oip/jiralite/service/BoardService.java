@@ -1,7 +1,16 @@
 package ua.oip.jiralite.service;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,7 +23,20 @@ import ua.oip.jiralite.domain.User;
 import ua.oip.jiralite.domain.enums.Priority;
 import ua.oip.jiralite.domain.enums.Status;
 import ua.oip.jiralite.repository.IssueRepository;
+import ua.oip.jiralite.repository.IssueStats;
 import ua.oip.jiralite.repository.ProjectRepository;
+import ua.oip.jiralite.repository.impl.IssueIdAllocator;
+import ua.oip.jiralite.repository.impl.IssueMemoryRepository;
+import ua.oip.jiralite.repository.impl.IssueMemoryStore;
+import ua.oip.jiralite.service.acl.ProjectAcl;
+import ua.oip.jiralite.service.event.DomainEvent;
+import ua.oip.jiralite.service.event.DomainEventBus;
+import ua.oip.jiralite.service.session.SecurityContext;
+import ua.oip.jiralite.service.transfer.ImportResult;
+import ua.oip.jiralite.service.transfer.IssueExporter;
+import ua.oip.jiralite.service.transfer.IssueFormat;
+import ua.oip.jiralite.service.transfer.IssueImporter;
+import ua.oip.jiralite.service.transfer.TransferProgressListener;
 
 /**
  * Сервіс для роботи з дошками та задачами
@@ -28,8 +50,24 @@ public class BoardService {
     private final IssueRepository issueRepository;
     private final AuthService authService;
     
-    // Список для зберігання глобально створених задач (імітація БД)
-    private static final List<Issue> globalIssues = new ArrayList<>();
+    // ID до цього значення зарезервовані для демо-задач
+    private static final long DEMO_ID_RESERVE = 100;
+    
+    // Індексоване сховище глобально створених задач (імітація БД),
+    // використовується репозиторієм за замовчуванням
+    private static final IssueMemoryStore issueStore = new IssueMemoryStore(new IssueIdAllocator(DEMO_ID_RESERVE));
+    
+    // Слухачі змін задач (наприклад, дошка в UI)
+    private final List<IssueChangeListener> issueChangeListeners = new CopyOnWriteArrayList<>();
+    
+    // Повнотекстовий індекс задач, оновлюється подіями змін
+    private final IssueSearchIndex searchIndex = new IssueSearchIndex();
+    
+    // Асинхронна доставка тих самих змін підписникам, яким не потрібна синхронна обробка
+    private final DomainEventBus eventBus = new DomainEventBus();
+    
+    // Ролі користувачів у проектах і скомпільовані з них права доступу
+    private final ProjectAcl projectAcl = new ProjectAcl();
     
     /**
      * Повертає Singleton екземпляр сервісу
@@ -46,8 +84,40 @@ public class BoardService {
      */
     public BoardService(ProjectRepository projectRepository, IssueRepository issueRepository, AuthService authService) {
         this.projectRepository = projectRepository;
-        this.issueRepository = issueRepository;
+        this.issueRepository = issueRepository != null ? issueRepository : new IssueMemoryRepository(issueStore);
         this.authService = authService;
+        addIssueChangeListener(searchIndex);
+    }
+    
+    /**
+     * Реєструє слухача змін задач
+     */
+    public void addIssueChangeListener(IssueChangeListener listener) {
+        if (listener != null) {
+            issueChangeListeners.add(listener);
+        }
+    }
+    
+    /**
+     * Видаляє слухача змін задач
+     */
+    public void removeIssueChangeListener(IssueChangeListener listener) {
+        issueChangeListeners.remove(listener);
+    }
+    
+    /**
+     * Шина доменних подій сервісу. На відміну від {@link IssueChangeListener},
+     * підписники отримують події пакетами у власних потоках і не затримують зміну.
+     */
+    public DomainEventBus getEventBus() {
+        return eventBus;
+    }
+    
+    /**
+     * Повертає права доступу до задач на рівні проектів
+     */
+    public ProjectAcl getProjectAcl() {
+        return projectAcl;
     }
     
     /**
@@ -143,41 +213,20 @@ public class BoardService {
      */
     public List<Issue> getBoardIssues(Board board) {
         // У реальному додатку тут був би запит до БД
-        // Для прототипу повертаємо задачі з глобального списку
+        // Для прототипу повертаємо задачі з індексованого сховища
         logger.debug("Отримуємо задачі для дошки {}", board.getName());
         
         if (board != null && board.getProject() != null) {
-            // Спочатку створюємо базові демо-задачі, якщо їх немає
+            // Спочатку створюємо базові демо-задачі, якщо їх немає,
+            // та відносимо задачі без проекту до проекту поточної дошки
             createDemoIssues(board.getProject());
             
-            // Створюємо список задач, відносячихся до поточного проекту
-            List<Issue> result = new ArrayList<>();
+            // Отримуємо задачі для поточного проекту з індексу репозиторію
+            logger.debug("Вибираємо задачі для проекту {}", board.getProject().getName());
+            List<Issue> result = issueRepository.findByProject(board.getProject());
             
-            // Отримуємо задачі для поточного проекту з глобального списку
-            logger.debug("Фільтруємо задачі для проекту {}", board.getProject().getName());
-            for (Issue issue : globalIssues) {
-                boolean includeIssue = false;
-                
-                // Перевіряємо, відноситься чи задача до поточного проекту
-                if (issue.getProject() == null) {
-                    logger.debug("Задача з ID {} не має проекту, встановлюю поточний проект", issue.getId());
-                    issue.setProject(board.getProject());
-                    includeIssue = true;
-                } 
-                else if (issue.getProject() != null && 
-                         issue.getProject().getId() != null && 
-                         board.getProject() != null &&
-                         board.getProject().getId() != null &&
-                         issue.getProject().getId().equals(board.getProject().getId())) {
-                    includeIssue = true;
-                }
-                
-                if (includeIssue) {
-                    result.add(issue);
-                    logger.debug("Додано задачу до результату: ID={}, назва='{}', статус={}", 
-                        issue.getId(), issue.getTitle(), issue.getStatus());
-                }
-            }
+            // Задачі, створені в обхід сервісу, ще не потрапили до індексу пошуку
+            searchIndex.indexMissing(result);
             
             // Виводимо інформацію про фінальний список задач
             logger.debug("Фінальний список задач для відображення (розмір: {}):", result.size());
@@ -196,17 +245,64 @@ public class BoardService {
     }
     
     /**
-     * Створює демо-задачі для прототипу
+     * Задачі дошки, які може переглядати користувач контексту
      */
-    private void createDemoIssues(Project project) {
-        // Перевіряємо, чи є вже базові демо-задачі в глобальному списку
-        boolean hasBasicIssues = false;
-        for (Issue issue : globalIssues) {
-            if (issue.getId() != null && issue.getId() <= 3) {
-                hasBasicIssues = true;
-                break;
-            }
-        }
+    public List<Issue> getVisibleIssues(SecurityContext context, Board board) {
+        return projectAcl.filterVisible(context, getBoardIssues(board));
+    }
+    
+    /**
+     * Кількість задач проекту за статусом, пріоритетом і виконавцем.
+     * In-memory репозиторій віддає готові лічильники, тому виклик не перераховує задачі.
+     */
+    public IssueStats getProjectStats(Project project) {
+        return issueRepository.statsByProject(project);
+    }
+    
+    /**
+     * Кількість задач дошки за статусом, пріоритетом і виконавцем
+     */
+    public IssueStats getBoardStats(Board board) {
+        return issueRepository.statsByBoard(board);
+    }
+    
+    /**
+     * Повнотекстовий пошук задач за ключем, назвою, описом та коментарями
+     * 
+     * @param query слова запиту, кожне шукається як префікс
+     * @param includeDescription чи шукати також в описі та коментарях
+     * @return задачі, впорядковані за релевантністю
+     */
+    public List<Issue> searchIssues(String query, boolean includeDescription) {
+        Set<IssueSearchIndex.Field> fields = includeDescription
+                ? EnumSet.allOf(IssueSearchIndex.Field.class)
+                : EnumSet.of(IssueSearchIndex.Field.KEY, IssueSearchIndex.Field.TITLE);
+        return searchIndex.search(query, fields, 0);
+    }
+    
+    /**
+     * Повертає спільне in-memory сховище задач, яке використовує репозиторій за замовчуванням
+     */
+    public static IssueMemoryStore getIssueStore() {
+        return issueStore;
+    }
+    
+    /**
+     * Повертає повнотекстовий індекс задач сервісу
+     */
+    public IssueSearchIndex getSearchIndex() {
+        return searchIndex;
+    }
+    
+    /**
+     * Створює демо-задачі для прототипу.
+     * Синхронізовано, бо дошки можуть завантажуватися одночасно з кількох фонових потоків.
+     */
+    private synchronized void createDemoIssues(Project project) {
+        // Перевіряємо, чи є вже базові демо-задачі у сховищі
+        boolean hasBasicIssues = issueRepository.findById(1L) != null
+            || issueRepository.findById(2L) != null
+            || issueRepository.findById(3L) != null;
         
         // Створюємо базові демо-задачі тільки якщо їх ще немає
         if (!hasBasicIssues) {
@@ -232,7 +328,6 @@ public class BoardService {
             issue1.setProject(project);
             issue1.setAssignee(john);
             issue1.setReporter(admin);
-            issue1.setKey(project.getKey() + "-1");
             
             Issue issue2 = new Issue();
             issue2.setId(2L);
@@ -243,7 +338,6 @@ public class BoardService {
             issue2.setProject(project);
             issue2.setAssignee(admin);
             issue2.setReporter(admin);
-            issue2.setKey(project.getKey() + "-2");
             
             Issue issue3 = new Issue();
             issue3.setId(3L);
@@ -254,7 +348,6 @@ public class BoardService {
             issue3.setProject(project);
             issue3.setAssignee(guest);
             issue3.setReporter(john);
-            issue3.setKey(project.getKey() + "-3");
             
             // Додаємо задачу, створену админом, але призначену на john для демонстрації обмежень
             Issue issue4 = new Issue();
@@ -266,60 +359,84 @@ public class BoardService {
             issue4.setProject(project);
             issue4.setAssignee(admin);  // Виконавець - адмін
             issue4.setReporter(admin);  // Створювач - адмін
-            issue4.setKey(project.getKey() + "-4");
             
-            // Додаємо задачі напряму в globalIssues
-            addToGlobalIssuesList(issue1);
-            addToGlobalIssuesList(issue2);
-            addToGlobalIssuesList(issue3);
-            addToGlobalIssuesList(issue4);
+            // Додаємо задачі напряму у сховище, ключі призначає репозиторій
+            storeIssue(issue1);
+            storeIssue(issue2);
+            storeIssue(issue3);
+            storeIssue(issue4);
             
             logger.debug("Створено 4 базових демо-задач");
         } else {
             logger.debug("Базові демо-задачі вже існують");
         }
         
-        // Проходимось по всіх задачах у глобальному списку та оновлюємо їх проекти, якщо потрібно
-        for (Issue issue : globalIssues) {
-            if (issue.getProject() == null || !issue.getProject().getId().equals(project.getId())) {
-                logger.debug("Оновлюємо проект для задачі {}", issue.getTitle());
-                issue.setProject(project);
-                
-                // Оновлюємо ключ задачі, якщо змінився проект
-                if (issue.getKey() == null || !issue.getKey().startsWith(project.getKey())) {
-                    issue.setKey(project.getKey() + "-" + issue.getId());
-                    logger.debug("Згенеровано новий ключ {} для задачі {}", issue.getKey(), issue.getTitle());
-                }
+        // Прив'язуємо до проекту задачі без проекту; такі задачі з'являються лише
+        // у спільному сховищі, куди їх можуть додати в обхід сервісу
+        if (!usesDefaultStore()) {
+            return;
+        }
+        for (Issue orphan : issueStore.findWithoutProject()) {
+            logger.debug("Оновлюємо проект для задачі {}", orphan.getTitle());
+            orphan.setProject(project);
+            
+            // Оновлюємо ключ задачі, якщо змінився проект
+            if (orphan.getKey() == null || !orphan.getKey().startsWith(project.getKey())) {
+                orphan.setKey(issueStore.getIdAllocator().nextKey(project.getKey()));
+                logger.debug("Згенеровано новий ключ {} для задачі {}", orphan.getKey(), orphan.getTitle());
             }
+            issueRepository.save(orphan);
+            fireIssueChanged(orphan);
         }
         
-        // Виводимо список задач
-        logger.debug("Список задач у глобальному списку (розмір: {}):", globalIssues.size());
-        for (Issue i : globalIssues) {
-            logger.trace("Задача: ID={}, назва='{}', статус={}, ключ={}", i.getId(), i.getTitle(), i.getStatus(), i.getKey());
-        }
+        logger.debug("Кількість задач у сховищі: {}", issueStore.size());
+    }
+    
+    /**
+     * Чи працює сервіс зі спільним сховищем за замовчуванням
+     */
+    private boolean usesDefaultStore() {
+        return issueRepository instanceof IssueMemoryRepository
+            && ((IssueMemoryRepository) issueRepository).getStore() == issueStore;
     }
     
     /**
      * Додає комментарий до задачі
      */
     public Comment addComment(Issue issue, String content) {
-        User currentUser = authService.getCurrentUser();
-        Comment comment = new Comment();
-        comment.setIssue(issue);
-        comment.setAuthor(currentUser);
-        
-        return comment;
+        return addComment(issue, authService.getCurrentUser(), content);
+    }
+    
+    /**
+     * Додає коментар до задачі від імені користувача контексту.
+     * Список коментарів змінюється під монітором задачі, тому читачі
+     * з інших потоків мають копіювати його під тим самим монітором.
+     * 
+     * @return коментар або null, якщо користувач контексту не бачить задачу
+     */
+    public Comment addComment(SecurityContext context, Issue issue, String content) {
+        if (!projectAcl.canView(context, issue)) {
+            return null;
+        }
+        return addComment(issue, context.getUser(), content);
     }
     
     /**
-     * Перегруженная версія методу для підтримки UI
+     * Перегруженная версія методу для підтримки UI.
+     * Коментар додається до задачі, зберігається та публікується так само,
+     * як і з контекстом безпеки, але без перевірки прав.
+     * 
+     * @return доданий до задачі коментар
      */
     public Comment addComment(Issue issue, User author, String content) {
-        Comment comment = new Comment();
-        comment.setIssue(issue);
-        comment.setAuthor(author);
-        
+        Comment comment = new Comment(content, issue, author);
+        comment.setCreatedAt(LocalDateTime.now());
+        synchronized (issue) {
+            issue.addComment(comment);
+        }
+        issueRepository.save(issue);
+        fireIssueChanged(issue);
+        eventBus.publish(new DomainEvent.CommentAdded(issue, comment));
         return comment;
     }
     
@@ -334,34 +451,29 @@ public class BoardService {
         
         logger.debug("Оновлюємо задачу з ID {}, назвою '{}', статусом {}", issue.getId(), issue.getTitle(), issue.getStatus());
         
-        // Оновлюємо задачу в глобальному списку
-        boolean found = false;
-        for (int i = 0; i < globalIssues.size(); i++) {
-            Issue existingIssue = globalIssues.get(i);
-            if (existingIssue.getId() != null && existingIssue.getId().equals(issue.getId())) {
-                // Оновлюємо всі поля існуючої задачі
-                existingIssue.setTitle(issue.getTitle());
-                existingIssue.setDescription(issue.getDescription());
-                existingIssue.setStatus(issue.getStatus());
-                existingIssue.setPriority(issue.getPriority());
-                existingIssue.setAssignee(issue.getAssignee());
-                existingIssue.setReporter(issue.getReporter());
-                existingIssue.setKey(issue.getKey());
-                
-                logger.debug("Оновлено задачу в глобальному списку ID={}, назва='{}', статус={}, опис={}", 
-                    issue.getId(), issue.getTitle(), issue.getStatus(),
-                    issue.getDescription() != null ? 
-                       issue.getDescription().substring(0, Math.min(30, issue.getDescription().length())) + "..." : "null");
-                
-                found = true;
-                break;
-            }
-        }
-        
-        // Якщо задачі немає в глобальному списку, додаємо її
-        if (!found) {
-            logger.debug("Задача з ID {} не знайдена в глобальному списку, додаємо її", issue.getId());
-            addToGlobalIssuesList(issue);
+        // Усі поля існуючої задачі оновлюються разом з індексами під блокуванням сховища
+        AtomicReference<Status> oldStatus = new AtomicReference<>();
+        Issue existingIssue = issueRepository.update(issue.getId(), existing -> {
+            oldStatus.set(existing.getStatus());
+            existing.setTitle(issue.getTitle());
+            existing.setDescription(issue.getDescription());
+            existing.setStatus(issue.getStatus());
+            existing.setPriority(issue.getPriority());
+            existing.setAssignee(issue.getAssignee());
+            existing.setReporter(issue.getReporter());
+            existing.setKey(issue.getKey());
+        });
+        if (existingIssue != null) {
+            fireIssueUpdated(existingIssue, oldStatus.get(), issue.getStatus());
+            
+            logger.debug("Оновлено задачу у сховищі ID={}, назва='{}', статус={}, опис={}", 
+                issue.getId(), issue.getTitle(), issue.getStatus(),
+                issue.getDescription() != null ? 
+                   issue.getDescription().substring(0, Math.min(30, issue.getDescription().length())) + "..." : "null");
+        } else {
+            // Якщо задачі немає у сховищі, додаємо її
+            logger.debug("Задача з ID {} не знайдена у сховищі, додаємо її", issue.getId());
+            storeIssue(issue);
         }
     }
     
@@ -383,19 +495,13 @@ public class BoardService {
      * @return створена задача
      */
     public Issue createIssue(Board board, User reporter, User assignee, Object issueModel) {
-        // Генеруємо унікальний ID для нової задачі
-        long id = generateUniqueId();
+        // ID та ключ нової задачі призначає репозиторій при збереженні
         
         // Перевіряємо, чи нам приходить об'єкт Issue напряму
         if (issueModel instanceof Issue) {
             Issue issue = (Issue) issueModel;
             logger.debug("Тип моделі задачі: {}", issueModel.getClass().getName());
             
-            // Устанавливаем ID, якщо його немає
-            if (issue.getId() == null) {
-                issue.setId(id);
-            }
-            
             // Устанавливаем зв'язки
             issue.setBoard(board);
             issue.setProject(board.getProject());
@@ -415,17 +521,11 @@ public class BoardService {
                 issue.setStatus(Status.TO_DO);
             }
             
-            // Генеруємо ключ задачі в форматі PROJECT_KEY-ISSUE_ID
-            if (issue.getKey() == null) {
-                String projectKey = board.getProject().getKey();
-                issue.setKey(projectKey + "-" + id);
-            }
-            
-            logger.debug("Додаю задачу до глобального списку з ID {}, назвою '{}' та статусом {}", 
+            logger.debug("Додаю задачу у сховище з ID {}, назвою '{}' та статусом {}", 
                 issue.getId(), issue.getTitle(), issue.getStatus());
             
-            // Додаємо задачу в глобальний список
-            addToGlobalIssuesList(issue);
+            // Додаємо задачу у сховище
+            storeIssue(issue);
             
             return issue;
         }
@@ -433,7 +533,6 @@ public class BoardService {
         else if (issueModel != null) {
             // Створюємо нову задачу
             Issue issue = new Issue();
-            issue.setId(id);
             
             try {
                 // Отримуємо клас моделі
@@ -445,8 +544,7 @@ public class BoardService {
                     String title = (String) getTitleMethod.invoke(issueModel);
                     issue.setTitle(title);
                 } catch (Exception e) {
-                    // Якщо не вдалося отримати заголовок, устанавливаємо за замовчуванням
-                    issue.setTitle("Нова задача " + id);
+                    // Якщо не вдалося отримати заголовок, назву за замовчуванням встановить storeIssue
                 }
                 
                 // Спробуємо отримати опис
@@ -486,7 +584,6 @@ public class BoardService {
             } catch (Exception e) {
                 logger.error("Помилка при роботі з рефлексией: {}", e.getMessage());
                 // Устанавливаем значення за замовчуванням
-                issue.setTitle("Нова задача " + id);
                 issue.setStatus(Status.TO_DO);
                 issue.setPriority(Priority.MEDIUM);
             }
@@ -500,12 +597,8 @@ public class BoardService {
                 issue.setAssignee(assignee);
             }
             
-            // Генеруємо ключ задачі
-            String projectKey = board.getProject().getKey();
-            issue.setKey(projectKey + "-" + id);
-            
-            // Додаємо задачу в глобальний список
-            addToGlobalIssuesList(issue);
+            // Додаємо задачу у сховище
+            storeIssue(issue);
             
             return issue;
         }
@@ -514,8 +607,6 @@ public class BoardService {
         logger.debug("Модель не визначена, створюю задачу за замовчуванням");
         
         Issue issue = new Issue();
-        issue.setId(id);
-        issue.setTitle("Нова задача " + id);
         issue.setDescription("Опис нової задачі");
         issue.setStatus(Status.TO_DO);
         issue.setPriority(Priority.MEDIUM);
@@ -529,47 +620,49 @@ public class BoardService {
             issue.setAssignee(assignee);
         }
         
-        // Генеруємо ключ задачі
-        String projectKey = board.getProject().getKey();
-        issue.setKey(projectKey + "-" + id);
-        
-        // Додаємо задачу в глобальний список
-        addToGlobalIssuesList(issue);
+        // Додаємо задачу у сховище
+        storeIssue(issue);
         
         return issue;
     }
     
     /**
-     * Генерує унікальний ID для нової задачі
+     * Оновлює статус задачі
      */
-    private long generateUniqueId() {
-        // Находим максимальний ID серед існуючих задач
-        long maxId = 100;
-        for (Issue issue : globalIssues) {
-            if (issue.getId() != null && issue.getId() > maxId) {
-                maxId = issue.getId();
-            }
+    public void updateIssueStatus(Long issueId, Status status) {
+        // Попередній статус читається під тим самим блокуванням, що переносить задачу в індексі статусів
+        AtomicReference<Status> oldStatus = new AtomicReference<>();
+        Issue issue = issueRepository.update(issueId, stored -> {
+            oldStatus.set(stored.getStatus());
+            stored.setStatus(status);
+        });
+        
+        // Якщо задачу не знайшли
+        if (issue == null) {
+            logger.debug("Задачу з ID {} не знайдено", issueId);
+            return;
+        }
+        
+        if (oldStatus.get() == status) {
+            logger.debug("Задача {} вже має статус {}", issue.getTitle(), status);
+            return;
         }
-        // Повертаємо ID на 1 більше максимального
-        return maxId + 1;
+        
+        logger.debug("Оновлено статус задачі {} з {} на {}", issue.getTitle(), oldStatus.get(), status);
+        fireIssueUpdated(issue, oldStatus.get(), status);
     }
     
     /**
-     * Оновлює статус задачі
+     * Оновлює статус задачі від імені користувача контексту
+     * 
+     * @return false, якщо користувач не має права редагувати задачу
      */
-    public void updateIssueStatus(Long issueId, Status status) {
-        // Перевіряємо глобальний список задач
-        for (Issue issue : globalIssues) {
-            if (issue.getId().equals(issueId)) {
-                logger.debug("Оновлюємо статус задачі {} з {} на {}", 
-                    issue.getTitle(), issue.getStatus(), status);
-                issue.setStatus(status);
-                return;
-            }
+    public boolean updateIssueStatus(SecurityContext context, Long issueId, Status status) {
+        if (!canUserEditIssue(context, issueId)) {
+            return false;
         }
-        
-        // Якщо задачу не знайшли
-        logger.debug("Задачу з ID {} не знайдено", issueId);
+        updateIssueStatus(issueId, status);
+        return true;
     }
     
     /**
@@ -590,11 +683,11 @@ public class BoardService {
         logger.debug("Оновлюємо статус задачі {} (ID={}) з {} на {}", 
             issue.getTitle(), issue.getId(), issue.getStatus(), status);
         
+        // Спочатку оновлюємо статус у сховищі, поки відомий попередній статус
+        updateIssueStatus(issue.getId(), status);
+        
         // Встановлюємо статус для поточного об'єкту
         issue.setStatus(status);
-        
-        // Також оновлюємо статус в глобальному списку
-        updateIssueStatus(issue.getId(), status);
     }
     
     /**
@@ -604,10 +697,18 @@ public class BoardService {
      * @return true, якщо користувач має право редагувати задачу, false в противному випадку
      */
     public boolean canUserEditIssue(Long issueId) {
-        // Отримуємо екземпляр сервісу аутентифікації
-        AuthService authServiceInstance = AuthService.getInstance();
-        
-        User currentUser = authServiceInstance.getCurrentUser();
+        return canUserEditIssue(AuthService.getInstance().currentContext(), issueId);
+    }
+    
+    /**
+     * Перевіряє, чи має користувач контексту право редагувати конкретну задачу
+     * 
+     * @param context контекст безпеки виклику
+     * @param issueId ID задачі
+     * @return true, якщо користувач має право редагувати задачу
+     */
+    public boolean canUserEditIssue(SecurityContext context, Long issueId) {
+        User currentUser = context.getUser();
         if (currentUser == null) {
             return false;
         }
@@ -617,35 +718,14 @@ public class BoardService {
             return true;
         }
         
-        // Гість не може редагувати будь-які задачі
-        if (currentUser.getRole() == ua.oip.jiralite.domain.enums.Role.GUEST) {
+        Issue issue = issueRepository.findById(issueId);
+        if (issue == null) {
+            // За замовчуванням забороняємо редагування
             return false;
         }
         
-        // Користувач може редагувати тільки свої задачі
-        // Для цього шукаємо задачу в глобальному списку
-        for (Issue issue : globalIssues) {
-            if (issue.getId() != null && issue.getId().equals(issueId)) {
-                // Перевіряємо, призначена чи задача текучому користувачу
-                if (issue.getAssignee() != null && 
-                    issue.getAssignee().getId() != null && 
-                    currentUser.getId() != null &&
-                    issue.getAssignee().getId().equals(currentUser.getId())) {
-                    return true;
-                }
-                // Або користувач є автором задачі
-                if (issue.getReporter() != null && 
-                    issue.getReporter().getId() != null && 
-                    currentUser.getId() != null &&
-                    issue.getReporter().getId().equals(currentUser.getId())) {
-                    return true;
-                }
-                return false;
-            }
-        }
-        
-        // За замовчуванням забороняємо редагування
-        return false;
+        // Свої задачі або будь-які як керівник проекту, з урахуванням ролей у проекті
+        return projectAcl.canEdit(context, issue);
     }
     
     /**
@@ -662,28 +742,86 @@ public class BoardService {
     }
     
     /**
-     * Додає задачу в глобальний список, запобігаючи дублікатам
+     * Повертає задачу за ID
+     * 
+     * @param issueId ID задачі
+     * @return задача або null, якщо її не знайдено
      */
-    private static void addToGlobalIssuesList(Issue issue) {
+    public Issue getIssueById(Long issueId) {
+        return issueRepository.findById(issueId);
+    }
+    
+    /**
+     * Видаляє задачу
+     * 
+     * @param issueId ID задачі
+     * @return true, якщо задачу було видалено
+     */
+    public boolean deleteIssue(Long issueId) {
+        Issue issue = issueRepository.findById(issueId);
         if (issue == null) {
-            logger.debug("Задача null, не додаємо");
-            return;
+            logger.debug("Задачу з ID {} для видалення не знайдено", issueId);
+            return false;
         }
-        
-        logger.debug("Перед додаванням globalIssues.size = {}", globalIssues.size());
-        
-        // Переконуємося, що задача дійсно має ID
-        if (issue.getId() == null) {
-            logger.debug("Задача не має ID, генеруємо новий");
-            // Генеруємо унікальний ID, не перекриваючись з базовими демо-задачами (ID 1-3)
-            long maxId = 3;
-            for (Issue existing : globalIssues) {
-                if (existing.getId() != null && existing.getId() > maxId) {
-                    maxId = existing.getId();
-                }
+        issueRepository.delete(issue);
+        logger.debug("Видалено задачу з ID {}", issueId);
+        fireIssueRemoved(issue);
+        return true;
+    }
+    
+    /**
+     * Видаляє задачу від імені користувача контексту
+     * 
+     * @return true, якщо користувач має право видаляти задачу і її було видалено
+     */
+    public boolean deleteIssue(SecurityContext context, Long issueId) {
+        Issue issue = issueRepository.findById(issueId);
+        return issue != null && projectAcl.canDelete(context, issue) && deleteIssue(issueId);
+    }
+    
+    /**
+     * Потоково імпортує задачі з CSV або JSON Lines на дошку.
+     * Слухачі змін отримують {@code issueAdded} для кожної імпортованої задачі.
+     * 
+     * @param source джерело; не закривається
+     * @param reporter автор для рядків без автора
+     * @param progress слухач прогресу або null
+     * @return кількість імпортованих задач і помилки рядків
+     */
+    public ImportResult importIssues(Board board, User reporter, Reader source, IssueFormat format,
+                                     TransferProgressListener progress) throws IOException {
+        AuthService users = authService != null ? authService : AuthService.getInstance();
+        IssueChangeListener notifier = new IssueChangeListener() {
+            @Override
+            public void issueAdded(Issue issue) {
+                fireIssueAdded(issue);
             }
-            issue.setId(maxId + 1);
-            logger.debug("Згенеровано ID {}", issue.getId());
+        };
+        IssueImporter importer = new IssueImporter(issueRepository, users.getUserRepository(), notifier);
+        return importer.importIssues(source, format, board, reporter, progress);
+    }
+    
+    /**
+     * Потоково експортує задачі проекту у CSV або JSON Lines
+     * 
+     * @param target приймач; не закривається
+     * @param progress слухач прогресу або null
+     * @return кількість експортованих задач
+     */
+    public long exportIssues(Project project, Writer target, IssueFormat format,
+                             TransferProgressListener progress) throws IOException {
+        try (Stream<Issue> issues = issueRepository.streamByProject(project)) {
+            return new IssueExporter().export(issues, target, format, progress);
+        }
+    }
+    
+    /**
+     * Додає задачу у сховище, запобігаючи дублікатам
+     */
+    private void storeIssue(Issue issue) {
+        if (issue == null) {
+            logger.debug("Задача null, не додаємо");
+            return;
         }
         
         // Переконуємося, що задача має статус перед додаванням
@@ -692,11 +830,20 @@ public class BoardService {
             issue.setStatus(Status.TO_DO);
         }
         
-        // Переконуємося, що задача має ключ та назву
-        if (issue.getKey() == null && issue.getProject() != null) {
-            String projectKey = issue.getProject().getKey();
-            issue.setKey(projectKey + "-" + issue.getId());
-            logger.debug("Згенеровано ключ {} для задачі з ID {}", issue.getKey(), issue.getId());
+        // Нова задача: ID і ключ призначає репозиторій, назва за замовчуванням містить цей ID
+        if (issue.getId() == null) {
+            boolean untitled = issue.getTitle() == null || issue.getTitle().isEmpty();
+            if (untitled) {
+                issue.setTitle("Нова задача");
+            }
+            issueRepository.save(issue);
+            if (untitled) {
+                issue.setTitle("Нова задача " + issue.getId());
+                issueRepository.save(issue);
+            }
+            logger.debug("Додано нову задачу з ID {} та ключем {}", issue.getId(), issue.getKey());
+            fireIssueAdded(issue);
+            return;
         }
         
         if (issue.getTitle() == null || issue.getTitle().isEmpty()) {
@@ -704,41 +851,89 @@ public class BoardService {
             logger.debug("Встановлено назву за замовчуванням: {}", issue.getTitle());
         }
         
-        // Перевіряємо, чи не існує вже задача з таким ID
-        boolean updated = false;
-        for (int i = 0; i < globalIssues.size(); i++) {
-            if (globalIssues.get(i).getId().equals(issue.getId())) {
-                // Задача з таким ID вже існує
-                Issue existingIssue = globalIssues.get(i);
-                logger.debug("Знайдено існуючу задачу з ID {}, статус = {}", issue.getId(), existingIssue.getStatus());
-                
-                // Копируем все поля из новой задачи в существующую
-                if (issue.getTitle() != null) existingIssue.setTitle(issue.getTitle());
-                if (issue.getDescription() != null) existingIssue.setDescription(issue.getDescription());
-                if (issue.getStatus() != null) {
-                    logger.debug("Оновлюємо статус з {} на {}", 
-                        existingIssue.getStatus(), issue.getStatus());
-                    existingIssue.setStatus(issue.getStatus());
-                }
-                if (issue.getPriority() != null) existingIssue.setPriority(issue.getPriority());
-                if (issue.getAssignee() != null) existingIssue.setAssignee(issue.getAssignee());
-                if (issue.getProject() != null) existingIssue.setProject(issue.getProject());
-                if (issue.getKey() != null) existingIssue.setKey(issue.getKey());
-                
-                logger.debug("Оновлено задачу з ID {}, новий статус = {}", issue.getId(), existingIssue.getStatus());
-                
-                updated = true;
-                break;
+        // Якщо задача з таким ID вже існує, копіюємо в неї заповнені поля
+        Issue existing = issueRepository.findById(issue.getId());
+        if (existing != null && existing != issue) {
+            logger.debug("Знайдено існуючу задачу з ID {}, статус = {}", issue.getId(), existing.getStatus());
+            AtomicReference<Status> oldStatus = new AtomicReference<>();
+            AtomicReference<Status> newStatus = new AtomicReference<>();
+            Issue updated = issueRepository.update(issue.getId(), stored -> {
+                oldStatus.set(stored.getStatus());
+                if (issue.getTitle() != null) stored.setTitle(issue.getTitle());
+                if (issue.getDescription() != null) stored.setDescription(issue.getDescription());
+                if (issue.getStatus() != null) stored.setStatus(issue.getStatus());
+                if (issue.getPriority() != null) stored.setPriority(issue.getPriority());
+                if (issue.getAssignee() != null) stored.setAssignee(issue.getAssignee());
+                if (issue.getProject() != null) stored.setProject(issue.getProject());
+                if (issue.getKey() != null) stored.setKey(issue.getKey());
+                newStatus.set(stored.getStatus());
+            });
+            if (updated != null) {
+                fireIssueUpdated(updated, oldStatus.get(), newStatus.get());
             }
-        }
-        
-        // Якщо задачі з таким ID немає, додаємо нову
-        if (!updated) {
+        } else if (existing == issue) {
+            // Повторне збереження того ж екземпляра
+            issueRepository.save(issue);
+            fireIssueChanged(issue);
+        } else {
+            // Якщо задачі з таким ID немає, додаємо нову
             logger.debug("Додаю нову задачу з ID {}, статусом {} та назвою '{}'", 
                 issue.getId(), issue.getStatus(), issue.getTitle());
-            globalIssues.add(issue);
+            issueRepository.save(issue);
+            fireIssueAdded(issue);
+        }
+    }
+    
+    private void fireIssueAdded(Issue issue) {
+        eventBus.publish(new DomainEvent.IssueCreated(issue));
+        for (IssueChangeListener listener : issueChangeListeners) {
+            try {
+                listener.issueAdded(issue);
+            } catch (RuntimeException e) {
+                logger.error("Помилка у слухачі змін задач: {}", e.getMessage(), e);
+            }
+        }
+    }
+    
+    private void fireIssueRemoved(Issue issue) {
+        eventBus.publish(new DomainEvent.IssueRemoved(issue));
+        for (IssueChangeListener listener : issueChangeListeners) {
+            try {
+                listener.issueRemoved(issue);
+            } catch (RuntimeException e) {
+                logger.error("Помилка у слухачі змін задач: {}", e.getMessage(), e);
+            }
+        }
+    }
+    
+    private void fireIssueChanged(Issue issue) {
+        eventBus.publish(new DomainEvent.IssueUpdated(issue));
+        for (IssueChangeListener listener : issueChangeListeners) {
+            try {
+                listener.issueChanged(issue);
+            } catch (RuntimeException e) {
+                logger.error("Помилка у слухачі змін задач: {}", e.getMessage(), e);
+            }
+        }
+    }
+    
+    /**
+     * Повідомляє про переміщення задачі, якщо змінився статус, інакше - про зміну полів.
+     * Обидва статуси прочитані під блокуванням зміни, а не з задачі, яку вже може
+     * змінювати наступне оновлення.
+     */
+    private void fireIssueUpdated(Issue issue, Status oldStatus, Status newStatus) {
+        if (oldStatus == newStatus) {
+            fireIssueChanged(issue);
+            return;
+        }
+        eventBus.publish(new DomainEvent.IssueMoved(issue, oldStatus, newStatus));
+        for (IssueChangeListener listener : issueChangeListeners) {
+            try {
+                listener.issueMoved(issue, oldStatus, newStatus);
+            } catch (RuntimeException e) {
+                logger.error("Помилка у слухачі змін задач: {}", e.getMessage(), e);
+            }
         }
-        
-        logger.debug("Після додавання globalIssues.size = {}", globalIssues.size());
     }
-} 
\ No newline at end of file
+}
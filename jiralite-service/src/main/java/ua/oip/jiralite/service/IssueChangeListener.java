@@ -0,0 +1,42 @@
+package ua.oip.jiralite.service;
+
+import ua.oip.jiralite.domain.Issue;
+import ua.oip.jiralite.domain.enums.Status;
+
+/**
+ * Слухач змін задач, що відбуваються через {@link BoardService}.
+ * <p>
+ * Події надходять у потоці, який виконав зміну, після того як задачу
+ * збережено у сховищі. Отримувач сам відповідає за перенесення обробки
+ * у потрібний потік (наприклад, EDT у Swing).
+ */
+public interface IssueChangeListener {
+
+    /**
+     * Задачу створено
+     */
+    default void issueAdded(Issue issue) {
+    }
+
+    /**
+     * Задачу видалено
+     */
+    default void issueRemoved(Issue issue) {
+    }
+
+    /**
+     * Змінився статус задачі (можливо, разом з іншими полями)
+     *
+     * @param issue задача після зміни
+     * @param from попередній статус
+     * @param to новий статус
+     */
+    default void issueMoved(Issue issue, Status from, Status to) {
+    }
+
+    /**
+     * Змінилися поля задачі без зміни статусу
+     */
+    default void issueChanged(Issue issue) {
+    }
+}
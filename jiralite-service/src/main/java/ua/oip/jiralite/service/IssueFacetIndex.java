@@ -0,0 +1,387 @@
+package ua.oip.jiralite.service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import ua.oip.jiralite.domain.Issue;
+import ua.oip.jiralite.domain.enums.Priority;
+import ua.oip.jiralite.domain.enums.Status;
+
+/**
+ * Бітмап-індекс фасетів задач: статусу, пріоритету та виконавця.
+ * <p>
+ * Кожна задача отримує порядковий номер (ординал), а для кожного значення
+ * фасета зберігається {@link BitSet} ординалів задач з цим значенням. Фільтр
+ * за кількома фасетами обчислюється перетином бітсетів, а кількість задач
+ * для варіанта фільтра - потужністю перетину, без перегляду самих задач.
+ * <p>
+ * Виконавець ідентифікується повним ім'ям, як і у фільтрі панелі пошуку;
+ * задачі без виконавця мають окремий бітсет. Ординали видалених задач
+ * не перевикористовуються: індекс розрахований на вибірку однієї дошки
+ * і перебудовується при зміні дошки.
+ */
+public class IssueFacetIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Integer> ordinalsById = new HashMap<>();
+    private final List<Issue> issuesByOrdinal = new ArrayList<>();
+    private final List<FacetValues> valuesByOrdinal = new ArrayList<>();
+    private final BitSet live = new BitSet();
+
+    private final Map<Status, BitSet> byStatus = new EnumMap<>(Status.class);
+    private final Map<Priority, BitSet> byPriority = new EnumMap<>(Priority.class);
+    private final Map<String, BitSet> byAssignee = new TreeMap<>();
+    private final BitSet unassigned = new BitSet();
+
+    public IssueFacetIndex() {
+    }
+
+    public IssueFacetIndex(Collection<Issue> issues) {
+        for (Issue issue : issues) {
+            update(issue);
+        }
+    }
+
+    /**
+     * Умова фільтрації за фасетами. Значення null означає "будь-яке".
+     */
+    public static final class Filter {
+
+        private final Status status;
+        private final Priority priority;
+        private final String assignee;
+        private final boolean unassignedOnly;
+
+        private Filter(Status status, Priority priority, String assignee, boolean unassignedOnly) {
+            this.status = status;
+            this.priority = priority;
+            this.assignee = assignee;
+            this.unassignedOnly = unassignedOnly;
+        }
+
+        /**
+         * @param status статус або null
+         * @param priority пріоритет або null
+         * @param assignee повне ім'я виконавця або null
+         */
+        public static Filter of(Status status, Priority priority, String assignee) {
+            return new Filter(status, priority, assignee, false);
+        }
+
+        /**
+         * Фільтр задач без виконавця
+         */
+        public static Filter unassigned(Status status, Priority priority) {
+            return new Filter(status, priority, null, true);
+        }
+
+        public Filter withStatus(Status status) {
+            return new Filter(status, priority, assignee, unassignedOnly);
+        }
+
+        public Filter withPriority(Priority priority) {
+            return new Filter(status, priority, assignee, unassignedOnly);
+        }
+
+        public Filter withAssignee(String assignee) {
+            return new Filter(status, priority, assignee, false);
+        }
+
+        public Filter withUnassigned() {
+            return new Filter(status, priority, null, true);
+        }
+    }
+
+    /**
+     * Додає задачу або переносить вже проіндексовану задачу між бітсетами фасетів
+     */
+    public void update(Issue issue) {
+        if (issue == null || issue.getId() == null) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalsById.get(issue.getId());
+            if (ordinal == null) {
+                ordinal = issuesByOrdinal.size();
+                ordinalsById.put(issue.getId(), ordinal);
+                issuesByOrdinal.add(issue);
+                valuesByOrdinal.add(null);
+            } else {
+                issuesByOrdinal.set(ordinal, issue);
+                clearFacetsLocked(ordinal);
+            }
+
+            FacetValues values = new FacetValues(issue);
+            valuesByOrdinal.set(ordinal, values);
+            live.set(ordinal);
+            if (values.status != null) {
+                byStatus.computeIfAbsent(values.status, s -> new BitSet()).set(ordinal);
+            }
+            if (values.priority != null) {
+                byPriority.computeIfAbsent(values.priority, p -> new BitSet()).set(ordinal);
+            }
+            if (values.assignee != null) {
+                byAssignee.computeIfAbsent(values.assignee, a -> new BitSet()).set(ordinal);
+            } else {
+                unassigned.set(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Видаляє задачу з індексу
+     */
+    public void remove(Long issueId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalsById.remove(issueId);
+            if (ordinal != null) {
+                clearFacetsLocked(ordinal);
+                live.clear(ordinal);
+                issuesByOrdinal.set(ordinal, null);
+                valuesByOrdinal.set(ordinal, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinalsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Повертає бітсет задач, що відповідають фільтру
+     *
+     * @param candidates обмеження вибірки (наприклад, результат текстового пошуку) або null
+     */
+    public BitSet match(BitSet candidates, Filter filter) {
+        lock.readLock().lock();
+        try {
+            return matchLocked(candidates, filter);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Повертає задачі, що відповідають фільтру, у порядку ординалів
+     */
+    public List<Issue> filter(Filter filter) {
+        lock.readLock().lock();
+        try {
+            return toIssuesLocked(matchLocked(null, filter));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Залишає у списку лише задачі, що відповідають фільтру, зберігаючи їхній порядок
+     */
+    public List<Issue> filter(List<Issue> issues, Filter filter) {
+        lock.readLock().lock();
+        try {
+            BitSet matched = matchLocked(null, filter);
+            List<Issue> result = new ArrayList<>();
+            for (Issue issue : issues) {
+                Integer ordinal = issue != null ? ordinalsById.get(issue.getId()) : null;
+                if (ordinal != null && matched.get(ordinal)) {
+                    result.add(issuesByOrdinal.get(ordinal));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Перетворює задачі на бітсет їхніх ординалів; задачі поза індексом ігноруються
+     */
+    public BitSet toBits(Collection<Issue> issues) {
+        lock.readLock().lock();
+        try {
+            BitSet bits = new BitSet();
+            for (Issue issue : issues) {
+                Integer ordinal = issue != null ? ordinalsById.get(issue.getId()) : null;
+                if (ordinal != null) {
+                    bits.set(ordinal);
+                }
+            }
+            return bits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Кількість задач для кожного статусу з урахуванням решти умов фільтра
+     */
+    public Map<Status, Integer> countByStatus(BitSet candidates, Filter filter) {
+        lock.readLock().lock();
+        try {
+            BitSet base = matchLocked(candidates, filter.withStatus(null));
+            Map<Status, Integer> counts = new EnumMap<>(Status.class);
+            for (Status status : Status.values()) {
+                counts.put(status, intersectionSize(base, byStatus.get(status)));
+            }
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Кількість задач для кожного пріоритету з урахуванням решти умов фільтра
+     */
+    public Map<Priority, Integer> countByPriority(BitSet candidates, Filter filter) {
+        lock.readLock().lock();
+        try {
+            BitSet base = matchLocked(candidates, filter.withPriority(null));
+            Map<Priority, Integer> counts = new EnumMap<>(Priority.class);
+            for (Priority priority : Priority.values()) {
+                counts.put(priority, intersectionSize(base, byPriority.get(priority)));
+            }
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Кількість задач для кожного виконавця (впорядковано за ім'ям) з урахуванням решти умов фільтра.
+     * Задачі без виконавця враховуються під ключем null.
+     */
+    public Map<String, Integer> countByAssignee(BitSet candidates, Filter filter) {
+        lock.readLock().lock();
+        try {
+            BitSet base = matchLocked(candidates, filter.withAssignee(null));
+            Map<String, Integer> counts = new TreeMap<>(Comparator.nullsFirst(Comparator.naturalOrder()));
+            counts.put(null, intersectionSize(base, unassigned));
+            for (Map.Entry<String, BitSet> entry : byAssignee.entrySet()) {
+                counts.put(entry.getKey(), intersectionSize(base, entry.getValue()));
+            }
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Повна кількість задач, що відповідають фільтру
+     */
+    public int count(BitSet candidates, Filter filter) {
+        return match(candidates, filter).cardinality();
+    }
+
+    private BitSet matchLocked(BitSet candidates, Filter filter) {
+        BitSet result = (BitSet) live.clone();
+        if (candidates != null) {
+            result.and(candidates);
+        }
+        if (filter == null) {
+            return result;
+        }
+        if (filter.status != null) {
+            andWith(result, byStatus.get(filter.status));
+        }
+        if (filter.priority != null) {
+            andWith(result, byPriority.get(filter.priority));
+        }
+        if (filter.unassignedOnly) {
+            result.and(unassigned);
+        } else if (filter.assignee != null) {
+            andWith(result, byAssignee.get(filter.assignee));
+        }
+        return result;
+    }
+
+    private List<Issue> toIssuesLocked(BitSet bits) {
+        List<Issue> result = new ArrayList<>(bits.cardinality());
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            result.add(issuesByOrdinal.get(i));
+        }
+        return result;
+    }
+
+    private void clearFacetsLocked(int ordinal) {
+        FacetValues values = valuesByOrdinal.get(ordinal);
+        if (values == null) {
+            return;
+        }
+        if (values.status != null) {
+            clearBit(byStatus, values.status, ordinal);
+        }
+        if (values.priority != null) {
+            clearBit(byPriority, values.priority, ordinal);
+        }
+        if (values.assignee != null) {
+            clearBit(byAssignee, values.assignee, ordinal);
+        } else {
+            unassigned.clear(ordinal);
+        }
+    }
+
+    private static <K> void clearBit(Map<K, BitSet> facet, K value, int ordinal) {
+        BitSet bits = facet.get(value);
+        if (bits != null) {
+            bits.clear(ordinal);
+            if (bits.isEmpty()) {
+                facet.remove(value);
+            }
+        }
+    }
+
+    private static void andWith(BitSet target, BitSet bits) {
+        if (bits == null) {
+            target.clear();
+        } else {
+            target.and(bits);
+        }
+    }
+
+    private static int intersectionSize(BitSet base, BitSet bits) {
+        if (bits == null) {
+            return 0;
+        }
+        BitSet copy = (BitSet) base.clone();
+        copy.and(bits);
+        return copy.cardinality();
+    }
+
+    /**
+     * Проіндексовані значення фасетів задачі, щоб при зміні задачі
+     * зняти її саме з тих бітсетів, у яких вона була
+     */
+    private static final class FacetValues {
+        final Status status;
+        final Priority priority;
+        final String assignee;
+
+        FacetValues(Issue issue) {
+            this.status = issue.getStatus();
+            this.priority = issue.getPriority();
+            this.assignee = issue.getAssignee() != null ? issue.getAssignee().getFullName() : null;
+        }
+    }
+}
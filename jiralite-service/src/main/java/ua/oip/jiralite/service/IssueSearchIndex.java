@@ -0,0 +1,303 @@
+package ua.oip.jiralite.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import ua.oip.jiralite.domain.Comment;
+import ua.oip.jiralite.domain.Issue;
+import ua.oip.jiralite.domain.enums.Status;
+
+/**
+ * Повнотекстовий інвертований індекс задач.
+ * <p>
+ * Текст ключа, назви, опису та коментарів розбивається на токени (послідовності
+ * літер і цифр у нижньому регістрі). Для кожного токена індекс зберігає задачі,
+ * у яких він зустрічається, та кількість входжень у кожному полі. Токени
+ * впорядковані, тому префіксний запит обходить лише піддіапазон словника,
+ * а не весь текст задач.
+ * <p>
+ * Кожне слово запиту трактується як префікс, задача має містити всі слова.
+ * Результати ранжуються за сумою вагових коефіцієнтів полів; точний збіг
+ * токена важить удвічі більше за префіксний. Індекс оновлюється інкрементно
+ * через {@link IssueChangeListener}: змінена задача переіндексується окремо.
+ */
+public class IssueSearchIndex implements IssueChangeListener {
+
+    /**
+     * Поля задачі, що потрапляють до індексу, з їхньою вагою у ранжуванні
+     */
+    public enum Field {
+        KEY(8),
+        TITLE(4),
+        DESCRIPTION(1),
+        COMMENT(1);
+
+        private final int weight;
+
+        Field(int weight) {
+            this.weight = weight;
+        }
+
+        public int getWeight() {
+            return weight;
+        }
+    }
+
+    private static final Field[] FIELDS = Field.values();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Токен -> (ID задачі -> кількість входжень у кожному полі за Field.ordinal())
+    private final NavigableMap<String, Map<Long, int[]>> postings = new TreeMap<>();
+    private final Map<Long, Issue> issuesById = new HashMap<>();
+    private final Map<Long, Set<String>> tokensById = new HashMap<>();
+
+    /**
+     * Індексує задачу або переіндексує вже проіндексовану з тим самим ID
+     */
+    public void index(Issue issue) {
+        if (issue == null || issue.getId() == null) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            indexLocked(issue);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Індексує лише ті задачі, яких ще немає в індексі.
+     * Зміни вже проіндексованих задач надходять подіями, тому повторно їх не обробляємо.
+     */
+    public void indexMissing(Collection<Issue> issues) {
+        lock.writeLock().lock();
+        try {
+            for (Issue issue : issues) {
+                if (issue != null && issue.getId() != null && !issuesById.containsKey(issue.getId())) {
+                    indexLocked(issue);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Видаляє задачу з індексу
+     */
+    public void remove(Long issueId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(issueId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(Long issueId) {
+        lock.readLock().lock();
+        try {
+            return issuesById.containsKey(issueId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return issuesById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Шукає задачі за всіма полями
+     */
+    public List<Issue> search(String query) {
+        return search(query, EnumSet.allOf(Field.class), 0);
+    }
+
+    /**
+     * Шукає задачі, що містять усі слова запиту як префікси токенів у вказаних полях
+     *
+     * @param query текст запиту
+     * @param fields поля, у яких виконується пошук
+     * @param limit максимальна кількість результатів, 0 - без обмеження
+     * @return задачі, впорядковані від найрелевантнішої; порожній список для порожнього запиту
+     */
+    public List<Issue> search(String query, Set<Field> fields, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (terms.isEmpty() || fields == null || fields.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> scores = null;
+            for (String term : terms) {
+                Map<Long, Integer> termScores = scoreTerm(term, fields);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    for (Map.Entry<Long, Integer> entry : scores.entrySet()) {
+                        entry.setValue(entry.getValue() + termScores.get(entry.getKey()));
+                    }
+                }
+                if (scores.isEmpty()) {
+                    return new ArrayList<>();
+                }
+            }
+
+            List<Map.Entry<Long, Integer>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort((a, b) -> {
+                int byScore = Integer.compare(b.getValue(), a.getValue());
+                return byScore != 0 ? byScore : Long.compare(a.getKey(), b.getKey());
+            });
+
+            int count = limit > 0 ? Math.min(limit, ranked.size()) : ranked.size();
+            List<Issue> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                result.add(issuesById.get(ranked.get(i).getKey()));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Обчислює бал кожної задачі для одного слова запиту: найкращий серед токенів,
+     * які починаються з цього слова
+     */
+    private Map<Long, Integer> scoreTerm(String term, Set<Field> fields) {
+        Map<Long, Integer> scores = new HashMap<>();
+        NavigableMap<String, Map<Long, int[]>> range =
+                postings.subMap(term, true, term + Character.MAX_VALUE, false);
+
+        for (Map.Entry<String, Map<Long, int[]>> tokenEntry : range.entrySet()) {
+            int multiplier = tokenEntry.getKey().equals(term) ? 2 : 1;
+            for (Map.Entry<Long, int[]> posting : tokenEntry.getValue().entrySet()) {
+                int score = 0;
+                int[] counts = posting.getValue();
+                for (Field field : fields) {
+                    score += counts[field.ordinal()] * field.getWeight();
+                }
+                if (score > 0) {
+                    scores.merge(posting.getKey(), score * multiplier, Math::max);
+                }
+            }
+        }
+        return scores;
+    }
+
+    private void indexLocked(Issue issue) {
+        removeLocked(issue.getId());
+
+        Map<String, int[]> counts = new HashMap<>();
+        addTokens(counts, Field.KEY, issue.getKey());
+        addTokens(counts, Field.TITLE, issue.getTitle());
+        addTokens(counts, Field.DESCRIPTION, issue.getDescription());
+        // Коментарі додаються під монітором задачі, тому список копіюється під ним же
+        List<Comment> comments;
+        synchronized (issue) {
+            comments = issue.getComments() != null ? new ArrayList<>(issue.getComments()) : List.of();
+        }
+        for (Comment comment : comments) {
+            if (comment != null) {
+                addTokens(counts, Field.COMMENT, comment.getText());
+            }
+        }
+
+        for (Map.Entry<String, int[]> entry : counts.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), k -> new HashMap<>()).put(issue.getId(), entry.getValue());
+        }
+        issuesById.put(issue.getId(), issue);
+        tokensById.put(issue.getId(), new HashSet<>(counts.keySet()));
+    }
+
+    private void removeLocked(Long issueId) {
+        Set<String> tokens = tokensById.remove(issueId);
+        issuesById.remove(issueId);
+        if (tokens == null) {
+            return;
+        }
+        for (String token : tokens) {
+            Map<Long, int[]> issues = postings.get(token);
+            if (issues != null) {
+                issues.remove(issueId);
+                if (issues.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+    }
+
+    private static void addTokens(Map<String, int[]> counts, Field field, String text) {
+        for (String token : tokenize(text)) {
+            counts.computeIfAbsent(token, k -> new int[FIELDS.length])[field.ordinal()]++;
+        }
+    }
+
+    /**
+     * Розбиває текст на токени: послідовності літер і цифр у нижньому регістрі
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean tokenChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (tokenChar && start < 0) {
+                start = i;
+            } else if (!tokenChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    @Override
+    public void issueAdded(Issue issue) {
+        index(issue);
+    }
+
+    @Override
+    public void issueRemoved(Issue issue) {
+        if (issue != null) {
+            remove(issue.getId());
+        }
+    }
+
+    @Override
+    public void issueMoved(Issue issue, Status from, Status to) {
+        index(issue);
+    }
+
+    @Override
+    public void issueChanged(Issue issue) {
+        index(issue);
+    }
+}
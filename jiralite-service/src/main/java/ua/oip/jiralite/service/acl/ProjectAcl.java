@@ -0,0 +1,378 @@
+package ua.oip.jiralite.service.acl;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ua.oip.jiralite.domain.Issue;
+import ua.oip.jiralite.domain.Project;
+import ua.oip.jiralite.domain.User;
+import ua.oip.jiralite.domain.enums.Role;
+import ua.oip.jiralite.service.session.SecurityContext;
+
+/**
+ * Права доступу до задач на рівні проектів.
+ * <p>
+ * Проект без жодного призначення відкритий: діють глобальні ролі
+ * (адміністратор може все, користувач редагує свої задачі і видаляє,
+ * гість лише переглядає). Щойно в проекті з'являється перше призначення,
+ * доступ до нього мають лише призначені користувачі згідно з {@link ProjectRole};
+ * гість не отримує більше ніж перегляд, адміністратор - без обмежень.
+ * <p>
+ * Членство індексоване за ідентифікаторами, а не за сутностями {@link User},
+ * які не мають стабільних {@code equals}/{@code hashCode}. Проект з першим
+ * призначенням отримує щільний порядковий номер, і для кожного користувача
+ * призначення компілюються в бітові маски цих номерів. Маски кешуються до
+ * наступної зміни призначень користувача, тож пакетна фільтрація задач коштує
+ * одне читання кешу і перевірку бітів на кожну задачу. Глобальна роль у кеш не
+ * потрапляє: обмеження гостя застосовується під час перевірки, тому зміна ролі
+ * діє одразу.
+ */
+public class ProjectAcl {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectAcl.class);
+
+    private static final ProjectRole[] ROLES = ProjectRole.values();
+
+    /** Скомпільовані права користувача: біт - порядковий номер проекту */
+    private static final class Grants {
+        static final Grants NONE = new Grants(new BitSet(), new BitSet(), new BitSet());
+
+        final BitSet view;
+        final BitSet contribute;
+        final BitSet manage;
+
+        Grants(BitSet view, BitSet contribute, BitSet manage) {
+            this.view = view;
+            this.contribute = contribute;
+            this.manage = manage;
+        }
+
+        /** Ті самі права перегляду без редагування й керування */
+        Grants viewOnly() {
+            return new Grants(view, NONE.contribute, NONE.manage);
+        }
+    }
+
+    // Призначення: ID користувача -> ID проекту -> роль; змінюються під lock
+    private final Map<Long, Map<Long, ProjectRole>> assignments = new HashMap<>();
+
+    // Кількість призначень у проекті; проект з ненульовою кількістю обмежений
+    private final Map<Long, Integer> assignmentCounts = new HashMap<>();
+
+    // Порядкові номери проектів для бітових масок; додаються під lock і не змінюються
+    private final ConcurrentMap<Long, Integer> ordinals = new ConcurrentHashMap<>();
+
+    private final Object lock = new Object();
+
+    // Обмежені проекти за порядковими номерами; маска лише замінюється цілком, тому читається без блокувань
+    private volatile BitSet restricted = new BitSet();
+
+    private final ConcurrentMap<Long, Grants> grantsCache = new ConcurrentHashMap<>();
+
+    /**
+     * Призначає користувачу роль у проекті, замінюючи попередню
+     */
+    public void assign(User user, Project project, ProjectRole role) {
+        if (role == null) {
+            throw new IllegalArgumentException("Не вказано роль у проекті");
+        }
+        Long userId = userId(user);
+        Long projectId = projectId(project);
+        synchronized (lock) {
+            ProjectRole previous = assignments.computeIfAbsent(userId, id -> new HashMap<>()).put(projectId, role);
+            if (previous == null) {
+                changeCount(projectId, 1);
+            }
+            grantsCache.remove(userId);
+        }
+        log.debug("Користувачу {} призначено роль {} у проекті {}", userId, role, projectId);
+    }
+
+    /**
+     * Знімає роль користувача в проекті
+     *
+     * @return true, якщо призначення існувало
+     */
+    public boolean revoke(User user, Project project) {
+        Long userId = userId(user);
+        Long projectId = projectId(project);
+        synchronized (lock) {
+            Map<Long, ProjectRole> roles = assignments.get(userId);
+            if (roles == null || roles.remove(projectId) == null) {
+                return false;
+            }
+            if (roles.isEmpty()) {
+                assignments.remove(userId);
+            }
+            changeCount(projectId, -1);
+            grantsCache.remove(userId);
+        }
+        log.debug("Користувача {} вилучено з проекту {}", userId, projectId);
+        return true;
+    }
+
+    /**
+     * Переносить учасників проекту в призначення: керівник отримує {@link ProjectRole#LEAD},
+     * решта учасників - {@link ProjectRole#MEMBER}. Користувачі без ID пропускаються.
+     *
+     * @return кількість призначених користувачів
+     */
+    public int importMembers(Project project) {
+        int imported = 0;
+        for (User member : project.getMembers()) {
+            if (member != null && member.getId() != null && !isSameUser(member, project.getLead())) {
+                assign(member, project, ProjectRole.MEMBER);
+                imported++;
+            }
+        }
+        if (project.getLead() != null && project.getLead().getId() != null) {
+            assign(project.getLead(), project, ProjectRole.LEAD);
+            imported++;
+        }
+        return imported;
+    }
+
+    /**
+     * Роль користувача в проекті або null, якщо її не призначено
+     */
+    public ProjectRole getRole(User user, Project project) {
+        if (user == null || user.getId() == null || project == null || project.getId() == null) {
+            return null;
+        }
+        synchronized (lock) {
+            Map<Long, ProjectRole> roles = assignments.get(user.getId());
+            return roles != null ? roles.get(project.getId()) : null;
+        }
+    }
+
+    /**
+     * Чи обмежено доступ до проекту призначеннями
+     */
+    public boolean isRestricted(Project project) {
+        return project != null && ordinal(restricted, project.getId()) >= 0;
+    }
+
+    /**
+     * Відбирає задачі, які користувач контексту може переглядати, зберігаючи порядок
+     */
+    public List<Issue> filterVisible(SecurityContext context, Collection<Issue> issues) {
+        return filter(context, issues, false);
+    }
+
+    /**
+     * Відбирає задачі, які користувач контексту може редагувати, зберігаючи порядок
+     */
+    public List<Issue> filterEditable(SecurityContext context, Collection<Issue> issues) {
+        return filter(context, issues, true);
+    }
+
+    private List<Issue> filter(SecurityContext context, Collection<Issue> issues, boolean edit) {
+        User user = context.getUser();
+        if (user == null) {
+            return new ArrayList<>();
+        }
+        if (user.getRole() == Role.ADMIN) {
+            return new ArrayList<>(issues);
+        }
+        // Права та маска обмежених проектів читаються один раз на весь пакет
+        Grants grants = grants(user);
+        BitSet restrictedNow = restricted;
+        List<Issue> result = new ArrayList<>();
+        for (Issue issue : issues) {
+            boolean allowed = edit
+                    ? canEdit(user, grants, restrictedNow, issue)
+                    : canView(grants, restrictedNow, issue);
+            if (allowed) {
+                result.add(issue);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Чи може користувач контексту переглядати задачу
+     */
+    public boolean canView(SecurityContext context, Issue issue) {
+        User user = context.getUser();
+        if (user == null || issue == null) {
+            return false;
+        }
+        return user.getRole() == Role.ADMIN || canView(grants(user), restricted, issue);
+    }
+
+    /**
+     * Чи може користувач контексту редагувати задачу
+     */
+    public boolean canEdit(SecurityContext context, Issue issue) {
+        User user = context.getUser();
+        if (user == null || issue == null) {
+            return false;
+        }
+        return user.getRole() == Role.ADMIN || canEdit(user, grants(user), restricted, issue);
+    }
+
+    /**
+     * Чи може користувач контексту видалити задачу
+     */
+    public boolean canDelete(SecurityContext context, Issue issue) {
+        User user = context.getUser();
+        if (user == null || issue == null) {
+            return false;
+        }
+        if (user.getRole() == Role.ADMIN) {
+            return true;
+        }
+        int ordinal = ordinal(restricted, projectIdOf(issue));
+        if (ordinal < 0) {
+            return context.canDeleteIssue();
+        }
+        return grants(user).manage.get(ordinal);
+    }
+
+    /**
+     * Чи може користувач контексту створювати задачі в проекті
+     */
+    public boolean canCreate(SecurityContext context, Project project) {
+        User user = context.getUser();
+        if (user == null) {
+            return false;
+        }
+        if (user.getRole() == Role.ADMIN) {
+            return true;
+        }
+        int ordinal = ordinal(restricted, project != null ? project.getId() : null);
+        if (ordinal < 0) {
+            return context.canCreateIssue();
+        }
+        return grants(user).contribute.get(ordinal);
+    }
+
+    private boolean canView(Grants grants, BitSet restrictedNow, Issue issue) {
+        int ordinal = ordinal(restrictedNow, projectIdOf(issue));
+        return ordinal < 0 || grants.view.get(ordinal);
+    }
+
+    private boolean canEdit(User user, Grants grants, BitSet restrictedNow, Issue issue) {
+        int ordinal = ordinal(restrictedNow, projectIdOf(issue));
+        if (ordinal < 0) {
+            return user.getRole() == Role.USER && isOwn(user, issue);
+        }
+        return grants.manage.get(ordinal) || (grants.contribute.get(ordinal) && isOwn(user, issue));
+    }
+
+    /**
+     * Користувач - автор або виконавець задачі
+     */
+    private static boolean isOwn(User user, Issue issue) {
+        return isSameUser(user, issue.getAssignee()) || isSameUser(user, issue.getReporter());
+    }
+
+    private static boolean isSameUser(User user, User other) {
+        return user != null && other != null && user.getId() != null && user.getId().equals(other.getId());
+    }
+
+    private static Long projectIdOf(Issue issue) {
+        return issue.getProject() != null ? issue.getProject().getId() : null;
+    }
+
+    /**
+     * Порядковий номер обмеженого проекту або -1, якщо проект відкритий.
+     * Номер призначається до публікації маски, у якій його біт встановлено,
+     * тож для прочитаної маски він уже видимий.
+     */
+    private int ordinal(BitSet restrictedNow, Long projectId) {
+        Integer ordinal = projectId != null ? ordinals.get(projectId) : null;
+        return ordinal != null && restrictedNow.get(ordinal) ? ordinal : -1;
+    }
+
+    /**
+     * Скомпільовані права з кешу; при промаху компілюються під блокуванням,
+     * щоб не розминутися з паралельною зміною призначень. Гість лише переглядає
+     * незалежно від ролі в проекті.
+     */
+    private Grants grants(User user) {
+        Grants grants = cachedGrants(user.getId());
+        return user.getRole() == Role.GUEST ? grants.viewOnly() : grants;
+    }
+
+    private Grants cachedGrants(Long userId) {
+        if (userId == null) {
+            return Grants.NONE;
+        }
+        Grants grants = grantsCache.get(userId);
+        if (grants != null) {
+            return grants;
+        }
+        synchronized (lock) {
+            grants = grantsCache.get(userId);
+            if (grants == null) {
+                grants = compile(assignments.get(userId));
+                grantsCache.put(userId, grants);
+            }
+            return grants;
+        }
+    }
+
+    private Grants compile(Map<Long, ProjectRole> roles) {
+        if (roles == null || roles.isEmpty()) {
+            return Grants.NONE;
+        }
+        BitSet[] masks = new BitSet[ROLES.length];
+        for (int i = 0; i < masks.length; i++) {
+            masks[i] = new BitSet();
+        }
+        for (Map.Entry<Long, ProjectRole> entry : roles.entrySet()) {
+            ProjectRole role = entry.getValue();
+            int bit = ordinals.get(entry.getKey());
+            for (int i = 0; i <= role.ordinal(); i++) {
+                masks[i].set(bit);
+            }
+        }
+        return new Grants(masks[ProjectRole.VIEWER.ordinal()], masks[ProjectRole.MEMBER.ordinal()],
+                masks[ProjectRole.LEAD.ordinal()]);
+    }
+
+    private void changeCount(Long projectId, int delta) {
+        int count = assignmentCounts.getOrDefault(projectId, 0) + delta;
+        if (count > 0) {
+            assignmentCounts.put(projectId, count);
+        } else {
+            assignmentCounts.remove(projectId);
+        }
+        boolean nowRestricted = count > 0;
+        // Номер залишається за проектом і після зняття всіх призначень
+        Integer ordinal = ordinals.get(projectId);
+        if (ordinal == null) {
+            ordinal = ordinals.size();
+            ordinals.put(projectId, ordinal);
+        }
+        if (restricted.get(ordinal) != nowRestricted) {
+            BitSet updated = (BitSet) restricted.clone();
+            updated.set(ordinal, nowRestricted);
+            restricted = updated;
+        }
+    }
+
+    private static Long userId(User user) {
+        if (user == null || user.getId() == null) {
+            throw new IllegalArgumentException("Користувач без ID не може мати ролі в проекті");
+        }
+        return user.getId();
+    }
+
+    private static Long projectId(Project project) {
+        if (project == null || project.getId() == null) {
+            throw new IllegalArgumentException("Проект без ID не може мати призначень");
+        }
+        return project.getId();
+    }
+}
@@ -0,0 +1,14 @@
+package ua.oip.jiralite.service.acl;
+
+/**
+ * Роль користувача в межах одного проекту. Кожна наступна роль
+ * включає права попередніх.
+ */
+public enum ProjectRole {
+    /** Перегляд задач проекту */
+    VIEWER,
+    /** Створення задач і редагування своїх (автор або виконавець) */
+    MEMBER,
+    /** Редагування та видалення будь-яких задач проекту */
+    LEAD
+}
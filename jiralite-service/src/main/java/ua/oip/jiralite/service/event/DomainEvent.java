@@ -0,0 +1,51 @@
+package ua.oip.jiralite.service.event;
+
+import ua.oip.jiralite.domain.Comment;
+import ua.oip.jiralite.domain.Issue;
+import ua.oip.jiralite.domain.enums.Status;
+
+/**
+ * Доменна подія про зміну задачі, що публікується через {@link DomainEventBus}.
+ * <p>
+ * Подія посилається на той самий екземпляр задачі, що зберігається у сховищі,
+ * тому отримувач бачить її поточний стан на момент обробки, а не на момент
+ * публікації. Значення, які могли змінитися пізніше (наприклад, статуси
+ * переміщення), передаються у самій події.
+ */
+public sealed interface DomainEvent {
+
+    /**
+     * Задача, якої стосується подія
+     */
+    Issue issue();
+
+    /**
+     * Задачу створено
+     */
+    record IssueCreated(Issue issue) implements DomainEvent {
+    }
+
+    /**
+     * Змінилися поля задачі без зміни статусу
+     */
+    record IssueUpdated(Issue issue) implements DomainEvent {
+    }
+
+    /**
+     * Змінився статус задачі
+     */
+    record IssueMoved(Issue issue, Status from, Status to) implements DomainEvent {
+    }
+
+    /**
+     * Задачу видалено
+     */
+    record IssueRemoved(Issue issue) implements DomainEvent {
+    }
+
+    /**
+     * До задачі додано коментар
+     */
+    record CommentAdded(Issue issue, Comment comment) implements DomainEvent {
+    }
+}
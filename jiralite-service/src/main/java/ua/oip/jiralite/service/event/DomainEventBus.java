@@ -0,0 +1,279 @@
+package ua.oip.jiralite.service.event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Асинхронна шина доменних подій.
+ * <p>
+ * Кожна підписка має власну обмежену чергу і власний виконавець, тому
+ * повільний отримувач не затримує інших. Події доставляються пакетами:
+ * поки отримувач обробляє попередній пакет, нові події накопичуються
+ * у черзі і передаються наступним викликом разом.
+ * <p>
+ * Коли черга підписки заповнена, поведінку визначає {@link OverflowPolicy}:
+ * {@link OverflowPolicy#BLOCK} пригальмовує того, хто публікує, доки отримувач
+ * не звільнить місце, а {@link OverflowPolicy#DROP} відкидає події і повідомляє
+ * отримувача через {@link DomainEventSubscriber#onOverflow(int)}. Підписки,
+ * які обробляються у потоці, що сам публікує події (наприклад, EDT), мають
+ * використовувати {@link OverflowPolicy#DROP}, інакше можливе взаємне блокування.
+ */
+public class DomainEventBus implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(DomainEventBus.class);
+
+    /** Місткість черги підписки за замовчуванням */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    /** Максимальний розмір пакета за замовчуванням */
+    public static final int DEFAULT_MAX_BATCH = 256;
+
+    // Як часто заблокований видавець перевіряє, чи не закрито підписку
+    private static final long BLOCK_POLL_MS = 100;
+
+    /**
+     * Поведінка при заповненій черзі підписки
+     */
+    public enum OverflowPolicy {
+        /** Видавець чекає, доки в черзі з'явиться місце */
+        BLOCK,
+        /** Подія відкидається, отримувач дізнається про пропуск через onOverflow */
+        DROP
+    }
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private volatile boolean closed;
+
+    /**
+     * Підписує отримувача з власним потоком доставки і параметрами за замовчуванням
+     *
+     * @param name назва підписки для потоку та журналу
+     */
+    public Subscription subscribe(String name, DomainEventSubscriber subscriber) {
+        return subscribe(name, subscriber, null, DEFAULT_CAPACITY, DEFAULT_MAX_BATCH, OverflowPolicy.BLOCK);
+    }
+
+    /**
+     * Підписує отримувача
+     *
+     * @param name назва підписки для потоку та журналу
+     * @param executor виконавець доставки або null, щоб створити окремий потік
+     * @param capacity місткість черги підписки
+     * @param maxBatch максимальна кількість подій в одному виклику onEvents
+     * @param policy поведінка при заповненій черзі
+     */
+    public Subscription subscribe(String name, DomainEventSubscriber subscriber, Executor executor,
+                                  int capacity, int maxBatch, OverflowPolicy policy) {
+        if (subscriber == null || policy == null) {
+            throw new IllegalArgumentException("Не вказано отримувача або політику переповнення");
+        }
+        if (capacity <= 0 || maxBatch <= 0) {
+            throw new IllegalArgumentException("Місткість черги і розмір пакета мають бути додатними");
+        }
+        if (closed) {
+            throw new IllegalStateException("Шину подій закрито");
+        }
+        ExecutorService owned = null;
+        if (executor == null) {
+            owned = Executors.newSingleThreadExecutor(task -> {
+                Thread thread = new Thread(task, "jiralite-events-" + name);
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor = owned;
+        }
+        Subscription subscription = new Subscription(name, subscriber, executor, owned, capacity, maxBatch, policy);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    /**
+     * Публікує подію всім підпискам. Повертає керування, щойно подію поставлено
+     * в черги; з {@link OverflowPolicy#BLOCK} може чекати на місце у черзі.
+     */
+    public void publish(DomainEvent event) {
+        if (event == null || closed) {
+            return;
+        }
+        for (Subscription subscription : subscriptions) {
+            subscription.enqueue(event);
+        }
+    }
+
+    /**
+     * Чекає, доки всі опубліковані події буде доставлено
+     *
+     * @return true, якщо черги спорожніли до завершення часу очікування
+     */
+    public boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (Subscription subscription : subscriptions) {
+            if (!subscription.awaitIdle(deadline)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Закриває всі підписки. Події, що ще не доставлено, відкидаються.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Subscription subscription : subscriptions) {
+            subscription.close();
+        }
+    }
+
+    /**
+     * Підписка на шину: черга подій отримувача і стан його доставки
+     */
+    public final class Subscription implements AutoCloseable {
+
+        private final String name;
+        private final DomainEventSubscriber subscriber;
+        private final Executor executor;
+        private final ExecutorService ownedExecutor;
+        private final BlockingQueue<DomainEvent> queue;
+        private final int maxBatch;
+        private final OverflowPolicy policy;
+        // Завдання доставки вже передано виконавцю; одночасно існує не більше одного
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicInteger dropped = new AtomicInteger();
+        private volatile boolean closed;
+
+        private Subscription(String name, DomainEventSubscriber subscriber, Executor executor,
+                             ExecutorService ownedExecutor, int capacity, int maxBatch, OverflowPolicy policy) {
+            this.name = name;
+            this.subscriber = subscriber;
+            this.executor = executor;
+            this.ownedExecutor = ownedExecutor;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.maxBatch = maxBatch;
+            this.policy = policy;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Кількість подій, що очікують доставки
+         */
+        public int getPendingCount() {
+            return queue.size();
+        }
+
+        private void enqueue(DomainEvent event) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                if (policy == OverflowPolicy.DROP || !awaitSpace(event)) {
+                    dropped.incrementAndGet();
+                }
+            }
+            schedule();
+        }
+
+        private boolean awaitSpace(DomainEvent event) {
+            // Без цього видавець чекав би на завдання, яке ще не передано виконавцю
+            schedule();
+            try {
+                while (!closed) {
+                    if (queue.offer(event, BLOCK_POLL_MS, TimeUnit.MILLISECONDS)) {
+                        return true;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Подію для підписки {} відкинуто через переривання потоку", name);
+            }
+            return false;
+        }
+
+        private void schedule() {
+            if (closed || !scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                executor.execute(this::deliver);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                log.error("Виконавець підписки {} відхилив доставку подій", name, e);
+            }
+        }
+
+        private void deliver() {
+            try {
+                if (closed) {
+                    return;
+                }
+                int lost = dropped.getAndSet(0);
+                if (lost > 0) {
+                    // Отримувач перечитає стан повністю, тож події з черги вже нічого не додадуть
+                    queue.clear();
+                    subscriber.onOverflow(lost);
+                }
+                List<DomainEvent> batch = new ArrayList<>(Math.min(queue.size(), maxBatch));
+                queue.drainTo(batch, maxBatch);
+                if (!batch.isEmpty()) {
+                    subscriber.onEvents(Collections.unmodifiableList(batch));
+                }
+            } catch (RuntimeException e) {
+                log.error("Помилка у підписці {} на доменні події: {}", name, e.getMessage(), e);
+            } finally {
+                scheduled.set(false);
+                if (!closed && (!queue.isEmpty() || dropped.get() > 0)) {
+                    schedule();
+                } else {
+                    synchronized (this) {
+                        notifyAll();
+                    }
+                }
+            }
+        }
+
+        private synchronized boolean awaitIdle(long deadline) throws InterruptedException {
+            while (!closed && (scheduled.get() || !queue.isEmpty())) {
+                long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMs <= 0) {
+                    return false;
+                }
+                wait(remainingMs);
+            }
+            return true;
+        }
+
+        /**
+         * Скасовує підписку. Події, що ще не доставлено, відкидаються.
+         */
+        @Override
+        public void close() {
+            closed = true;
+            subscriptions.remove(this);
+            queue.clear();
+            if (ownedExecutor != null) {
+                ownedExecutor.shutdown();
+            }
+            synchronized (this) {
+                notifyAll();
+            }
+        }
+    }
+}
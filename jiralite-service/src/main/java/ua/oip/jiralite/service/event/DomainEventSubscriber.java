@@ -0,0 +1,30 @@
+package ua.oip.jiralite.service.event;
+
+import java.util.List;
+
+/**
+ * Отримувач доменних подій.
+ * <p>
+ * Методи викликаються у виконавці підписки, завжди послідовно і в порядку
+ * публікації подій, тому отримувачу не потрібна власна синхронізація.
+ */
+@FunctionalInterface
+public interface DomainEventSubscriber {
+
+    /**
+     * Обробляє пакет подій, накопичених з попередньої доставки
+     *
+     * @param events непорожній незмінний список подій
+     */
+    void onEvents(List<DomainEvent> events);
+
+    /**
+     * Черга підписки переповнилася і частину подій відкинуто.
+     * Викликається перед доставкою подальших подій; отримувач має
+     * перечитати стан зі сховища, а не покладатися на пропущені події.
+     *
+     * @param dropped кількість відкинутих подій
+     */
+    default void onOverflow(int dropped) {
+    }
+}
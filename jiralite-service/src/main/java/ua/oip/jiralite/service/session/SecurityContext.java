@@ -0,0 +1,91 @@
+package ua.oip.jiralite.service.session;
+
+import ua.oip.jiralite.domain.User;
+import ua.oip.jiralite.domain.enums.Role;
+
+/**
+ * Контекст безпеки одного виклику: від імені кого виконується операція.
+ * <p>
+ * Незмінний, тому передається у методи сервісів з будь-якого потоку
+ * замість звернення до глобального поточного користувача.
+ */
+public final class SecurityContext {
+
+    /** Контекст без автентифікованого користувача */
+    public static final SecurityContext ANONYMOUS = new SecurityContext(null, null);
+
+    private final String token;
+    private final User user;
+
+    private SecurityContext(String token, User user) {
+        this.token = token;
+        this.user = user;
+    }
+
+    /**
+     * Контекст користувача без сесії (наприклад, настільного застосунку)
+     */
+    public static SecurityContext of(User user) {
+        return user != null ? new SecurityContext(null, user) : ANONYMOUS;
+    }
+
+    /**
+     * Контекст сесії
+     */
+    static SecurityContext forSession(String token, User user) {
+        return new SecurityContext(token, user);
+    }
+
+    /**
+     * Токен сесії або null, якщо контекст не пов'язаний із сесією
+     */
+    public String getToken() {
+        return token;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public boolean isAuthenticated() {
+        return user != null;
+    }
+
+    /**
+     * Роль користувача або null для анонімного контексту
+     */
+    public Role getRole() {
+        return user != null ? user.getRole() : null;
+    }
+
+    /**
+     * Чи може користувач змінювати задачі
+     */
+    public boolean canEditIssue() {
+        return isMember();
+    }
+
+    /**
+     * Чи може користувач створювати задачі
+     */
+    public boolean canCreateIssue() {
+        return isMember();
+    }
+
+    /**
+     * Чи може користувач видаляти задачі
+     */
+    public boolean canDeleteIssue() {
+        return isMember();
+    }
+
+    private boolean isMember() {
+        Role role = getRole();
+        return role == Role.ADMIN || role == Role.USER;
+    }
+
+    @Override
+    public String toString() {
+        return user != null ? "SecurityContext[" + user.getLogin() + "]" : "SecurityContext[anonymous]";
+    }
+}
@@ -0,0 +1,46 @@
+package ua.oip.jiralite.service.session;
+
+import java.time.Instant;
+
+import ua.oip.jiralite.domain.User;
+
+/**
+ * Сесія користувача в {@link SessionRegistry}
+ */
+public final class Session {
+
+    private final SecurityContext context;
+    private final Instant createdAt;
+    // Час останнього звернення за годинником реєстру, нс
+    private volatile long lastAccessNanos;
+
+    Session(String token, User user, long nowNanos) {
+        this.context = SecurityContext.forSession(token, user);
+        this.createdAt = Instant.now();
+        this.lastAccessNanos = nowNanos;
+    }
+
+    public String getToken() {
+        return context.getToken();
+    }
+
+    public User getUser() {
+        return context.getUser();
+    }
+
+    public SecurityContext getContext() {
+        return context;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    long getLastAccessNanos() {
+        return lastAccessNanos;
+    }
+
+    void touch(long nowNanos) {
+        lastAccessNanos = nowNanos;
+    }
+}
@@ -0,0 +1,163 @@
+package ua.oip.jiralite.service.session;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ua.oip.jiralite.domain.User;
+
+/**
+ * Реєстр сесій з непрозорими токенами та завершенням за неактивністю.
+ * <p>
+ * Сесії зберігаються у {@link ConcurrentHashMap}, тому перевірка токена
+ * не бере глобальних блокувань. Час останнього звернення оновлюється не
+ * частіше ніж раз на {@link #TOUCH_GRANULARITY}, щоб часті запити однієї
+ * сесії з різних потоків не змагалися за один рядок кешу.
+ * <p>
+ * Сесія, що простояла довше за тайм-аут, не повертається з {@link #resolve(String)}
+ * і видаляється при звертанні; решту прострочених сесій прибирає
+ * {@link #expireIdle()}, який власник реєстру викликає періодично.
+ */
+public class SessionRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionRegistry.class);
+
+    /** Тайм-аут неактивності за замовчуванням */
+    public static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(30);
+
+    /** Точність обліку часу останнього звернення */
+    public static final Duration TOUCH_GRANULARITY = Duration.ofSeconds(1);
+
+    // 256 біт випадковості в токені
+    private static final int TOKEN_BYTES = 32;
+
+    private final ConcurrentMap<String, Session> sessions = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+    private final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+    private final long idleTimeoutNanos;
+    private final long touchGranularityNanos = TOUCH_GRANULARITY.toNanos();
+    private final LongSupplier clock;
+
+    public SessionRegistry() {
+        this(DEFAULT_IDLE_TIMEOUT);
+    }
+
+    public SessionRegistry(Duration idleTimeout) {
+        this(idleTimeout, System::nanoTime);
+    }
+
+    /**
+     * @param clock монотонний годинник у наносекундах
+     */
+    public SessionRegistry(Duration idleTimeout, LongSupplier clock) {
+        if (idleTimeout == null || idleTimeout.isNegative() || idleTimeout.isZero()) {
+            throw new IllegalArgumentException("Тайм-аут сесії має бути додатним");
+        }
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.clock = clock;
+    }
+
+    /**
+     * Відкриває нову сесію користувача
+     */
+    public Session open(User user) {
+        if (user == null) {
+            throw new IllegalArgumentException("Сесію можна відкрити лише для користувача");
+        }
+        while (true) {
+            Session session = new Session(newToken(), user, clock.getAsLong());
+            if (sessions.putIfAbsent(session.getToken(), session) == null) {
+                log.debug("Відкрито сесію користувача {}", user.getLogin());
+                return session;
+            }
+        }
+    }
+
+    /**
+     * Повертає контекст активної сесії та продовжує її
+     *
+     * @return контекст або null, якщо токен невідомий чи сесія завершилася
+     */
+    public SecurityContext resolve(String token) {
+        if (token == null) {
+            return null;
+        }
+        Session session = sessions.get(token);
+        if (session == null) {
+            return null;
+        }
+        long now = clock.getAsLong();
+        long idle = now - session.getLastAccessNanos();
+        if (idle > idleTimeoutNanos) {
+            sessions.remove(token, session);
+            return null;
+        }
+        if (idle >= touchGranularityNanos) {
+            session.touch(now);
+        }
+        return session.getContext();
+    }
+
+    /**
+     * Завершує сесію
+     *
+     * @return true, якщо сесія існувала
+     */
+    public boolean invalidate(String token) {
+        return token != null && sessions.remove(token) != null;
+    }
+
+    /**
+     * Завершує всі сесії користувача (наприклад, після зміни пароля)
+     *
+     * @return кількість завершених сесій
+     */
+    public int invalidateAll(User user) {
+        int removed = 0;
+        for (Session session : sessions.values()) {
+            if (session.getUser() == user && sessions.remove(session.getToken(), session)) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Видаляє сесії, неактивні довше за тайм-аут
+     *
+     * @return кількість видалених сесій
+     */
+    public int expireIdle() {
+        long now = clock.getAsLong();
+        int expired = 0;
+        for (Session session : sessions.values()) {
+            if (now - session.getLastAccessNanos() > idleTimeoutNanos
+                    && sessions.remove(session.getToken(), session)) {
+                expired++;
+            }
+        }
+        if (expired > 0) {
+            log.debug("Завершено {} неактивних сесій", expired);
+        }
+        return expired;
+    }
+
+    /**
+     * Кількість відкритих сесій, включно з ще не прибраними простроченими
+     */
+    public int size() {
+        return sessions.size();
+    }
+
+    private String newToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        return encoder.encodeToString(bytes);
+    }
+}
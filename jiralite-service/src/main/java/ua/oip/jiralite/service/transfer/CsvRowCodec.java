@@ -0,0 +1,163 @@
+package ua.oip.jiralite.service.transfer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * CSV за RFC 4180: перший рядок - заголовок з назвами колонок {@link IssueRow#COLUMNS}
+ * у довільному порядку, значення з комами, лапками чи переносами рядків беруться в лапки.
+ */
+final class CsvRowCodec implements RowCodec {
+
+    @Override
+    public RowReader reader(BufferedReader in) throws IOException {
+        return new CsvReader(in);
+    }
+
+    @Override
+    public RowWriter writer(Writer out) throws IOException {
+        out.write(String.join(",", IssueRow.COLUMNS));
+        out.write('\n');
+        return row -> {
+            String[] values = row.values();
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                writeValue(out, values[i]);
+            }
+            out.write('\n');
+        };
+    }
+
+    private static void writeValue(Writer out, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+
+    private static final class CsvReader implements RowReader {
+
+        private final BufferedReader in;
+        // Позиція кожної колонки IssueRow.COLUMNS у файлі або -1
+        private final int[] columnIndex;
+        private long lineNumber;
+
+        CsvReader(BufferedReader in) throws IOException {
+            this.in = in;
+            RawRecord header = next();
+            if (header == null) {
+                throw new IOException("CSV не містить заголовка");
+            }
+            List<String> names = new ArrayList<>();
+            for (String name : split(header.text())) {
+                names.add(name.strip().toLowerCase(Locale.ROOT));
+            }
+            columnIndex = new int[IssueRow.COLUMNS.size()];
+            for (int i = 0; i < columnIndex.length; i++) {
+                columnIndex[i] = names.indexOf(IssueRow.COLUMNS.get(i));
+            }
+            if (columnIndex[IssueRow.COLUMNS.indexOf("title")] < 0) {
+                throw new IOException("CSV не містить колонки title");
+            }
+        }
+
+        @Override
+        public RawRecord next() throws IOException {
+            String line;
+            do {
+                line = in.readLine();
+                lineNumber++;
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+
+            long start = lineNumber;
+            // Непарна кількість лапок означає, що значення в лапках продовжується на наступному рядку
+            if (countQuotes(line) % 2 == 0) {
+                return new RawRecord(start, line);
+            }
+            StringBuilder record = new StringBuilder(line);
+            int quotes = countQuotes(line);
+            while (quotes % 2 != 0) {
+                String next = in.readLine();
+                if (next == null) {
+                    break;
+                }
+                lineNumber++;
+                record.append('\n').append(next);
+                quotes += countQuotes(next);
+            }
+            return new RawRecord(start, record.toString());
+        }
+
+        @Override
+        public String[] parse(String record) {
+            List<String> fields = split(record);
+            String[] values = new String[columnIndex.length];
+            for (int i = 0; i < columnIndex.length; i++) {
+                int index = columnIndex[i];
+                values[i] = index >= 0 && index < fields.size() ? fields.get(index) : null;
+            }
+            return values;
+        }
+
+        private static int countQuotes(String line) {
+            int count = 0;
+            for (int i = 0; i < line.length(); i++) {
+                if (line.charAt(i) == '"') {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        private static List<String> split(String record) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < record.length(); i++) {
+                char c = record.charAt(i);
+                if (quoted) {
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            if (quoted) {
+                throw new IllegalArgumentException("Не закрито лапки у значенні CSV");
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package ua.oip.jiralite.service.transfer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Розбір і запис плоских JSON-об'єктів: значення полів - рядки, числа,
+ * логічні або null, вкладені об'єкти й масиви не підтримуються.
+ * Числа та логічні значення повертаються як текст літерала.
+ */
+public final class FlatJson {
+
+    private FlatJson() {
+    }
+
+    /**
+     * Розбирає об'єкт у поля в порядку їх появи
+     *
+     * @throws IllegalArgumentException якщо текст не є плоским JSON-об'єктом
+     */
+    public static Map<String, String> parseObject(String text) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        parseObject(text, fields::put);
+        return fields;
+    }
+
+    /**
+     * Розбирає об'єкт, передаючи кожне поле отримувачу без проміжної мапи
+     *
+     * @throws IllegalArgumentException якщо текст не є плоским JSON-об'єктом
+     */
+    public static void parseObject(String text, BiConsumer<String, String> field) {
+        new Parser(text).parse(field);
+    }
+
+    /**
+     * Дописує рядок як JSON-рядок у лапках або {@code null}
+     */
+    public static void appendString(StringBuilder out, String value) {
+        if (value == null) {
+            out.append("null");
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+
+    private static final class Parser {
+
+        private final String text;
+        private int position;
+
+        Parser(String text) {
+            this.text = text;
+        }
+
+        void parse(BiConsumer<String, String> field) {
+            skipWhitespace();
+            expect('{');
+            skipWhitespace();
+            if (peek() == '}') {
+                position++;
+                checkEnd();
+                return;
+            }
+            while (true) {
+                skipWhitespace();
+                String name = readString();
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+                field.accept(name, readValue());
+                skipWhitespace();
+                char next = next();
+                if (next == '}') {
+                    break;
+                }
+                if (next != ',') {
+                    throw error("очікувалась кома або '}'");
+                }
+            }
+            checkEnd();
+        }
+
+        private void checkEnd() {
+            skipWhitespace();
+            if (position < text.length()) {
+                throw error("зайві символи після об'єкта");
+            }
+        }
+
+        private String readValue() {
+            char c = peek();
+            if (c == '"') {
+                return readString();
+            }
+            if (c == '{' || c == '[') {
+                throw error("вкладені значення не підтримуються");
+            }
+            int start = position;
+            while (position < text.length() && ",} \t\r\n".indexOf(text.charAt(position)) < 0) {
+                position++;
+            }
+            String literal = text.substring(start, position);
+            if (literal.isEmpty()) {
+                throw error("очікувалось значення");
+            }
+            return literal.equals("null") ? null : literal;
+        }
+
+        private String readString() {
+            expect('"');
+            StringBuilder value = new StringBuilder();
+            while (true) {
+                char c = next();
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c != '\\') {
+                    value.append(c);
+                    continue;
+                }
+                char escaped = next();
+                switch (escaped) {
+                    case '"', '\\', '/' -> value.append(escaped);
+                    case 'n' -> value.append('\n');
+                    case 'r' -> value.append('\r');
+                    case 't' -> value.append('\t');
+                    case 'b' -> value.append('\b');
+                    case 'f' -> value.append('\f');
+                    case 'u' -> {
+                        if (position + 4 > text.length()) {
+                            throw error("неповна escape-послідовність");
+                        }
+                        try {
+                            value.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw error("некоректна escape-послідовність");
+                        }
+                        position += 4;
+                    }
+                    default -> throw error("некоректна escape-послідовність");
+                }
+            }
+        }
+
+        private void skipWhitespace() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+        }
+
+        private void expect(char expected) {
+            if (next() != expected) {
+                throw error("очікувалось '" + expected + "'");
+            }
+        }
+
+        private char peek() {
+            if (position >= text.length()) {
+                throw error("неочікуваний кінець рядка");
+            }
+            return text.charAt(position);
+        }
+
+        private char next() {
+            char c = peek();
+            position++;
+            return c;
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("Некоректний JSON у позиції " + position + ": " + message);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package ua.oip.jiralite.service.transfer;
+
+import java.util.List;
+
+/**
+ * Підсумок імпорту задач
+ *
+ * @param imported кількість збережених задач
+ * @param failed кількість відхилених рядків
+ * @param errors перші {@value IssueImporter#MAX_REPORTED_ERRORS} помилок з номерами рядків
+ */
+public record ImportResult(long imported, long failed, List<RowError> errors) {
+
+    /**
+     * Помилка одного рядка файлу
+     *
+     * @param line номер рядка, з якого починається запис
+     */
+    public record RowError(long line, String message) {
+    }
+}
@@ -0,0 +1,47 @@
+package ua.oip.jiralite.service.transfer;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import ua.oip.jiralite.domain.Issue;
+
+/**
+ * Потоковий експорт задач у CSV або JSON Lines.
+ * <p>
+ * Задачі беруться з потоку репозиторію ({@code streamByProject}, {@code streamAll}),
+ * який читає їх keyset-сторінками, і одразу записуються, тому пам'ять не
+ * залежить від кількості задач.
+ */
+public class IssueExporter {
+
+    /** Як часто повідомляти про прогрес */
+    public static final int PROGRESS_INTERVAL = 1000;
+
+    /**
+     * Записує задачі у вказаному форматі
+     *
+     * @param issues потік задач; закриває викликач
+     * @param target приймач; не закривається, але скидається наприкінці
+     * @param progress слухач прогресу або null
+     * @return кількість записаних задач
+     */
+    public long export(Stream<Issue> issues, Writer target, IssueFormat format,
+                       TransferProgressListener progress) throws IOException {
+        TransferProgressListener progressListener = progress != null ? progress : TransferProgressListener.NONE;
+        RowCodec.RowWriter writer = format.codec().writer(target);
+
+        long written = 0;
+        Iterator<Issue> iterator = issues.iterator();
+        while (iterator.hasNext()) {
+            writer.write(IssueRow.of(iterator.next()));
+            if (++written % PROGRESS_INTERVAL == 0) {
+                progressListener.progress(written, 0);
+            }
+        }
+        target.flush();
+        progressListener.progress(written, 0);
+        return written;
+    }
+}
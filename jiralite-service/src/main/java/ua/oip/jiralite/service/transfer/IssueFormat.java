@@ -0,0 +1,39 @@
+package ua.oip.jiralite.service.transfer;
+
+import java.util.Locale;
+
+/**
+ * Формати файлів імпорту та експорту задач
+ */
+public enum IssueFormat {
+
+    CSV(new CsvRowCodec()),
+
+    JSON_LINES(new JsonLinesRowCodec());
+
+    private final RowCodec codec;
+
+    IssueFormat(RowCodec codec) {
+        this.codec = codec;
+    }
+
+    RowCodec codec() {
+        return codec;
+    }
+
+    /**
+     * Визначає формат за розширенням файлу (.csv, .jsonl або .ndjson)
+     *
+     * @throws IllegalArgumentException якщо розширення не підтримується
+     */
+    public static IssueFormat forFileName(String fileName) {
+        String name = fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".jsonl") || name.endsWith(".ndjson")) {
+            return JSON_LINES;
+        }
+        throw new IllegalArgumentException("Непідтримуваний формат файлу: " + fileName);
+    }
+}
@@ -0,0 +1,236 @@
+package ua.oip.jiralite.service.transfer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ua.oip.jiralite.domain.Board;
+import ua.oip.jiralite.domain.Issue;
+import ua.oip.jiralite.domain.User;
+import ua.oip.jiralite.repository.IssueRepository;
+import ua.oip.jiralite.repository.UserRepository;
+import ua.oip.jiralite.service.IssueChangeListener;
+
+/**
+ * Потоковий імпорт задач з CSV або JSON Lines на дошку.
+ * <p>
+ * Файл читається пакетами по {@code batchSize} записів, тому пам'ять не
+ * залежить від розміру файлу. Для кожного пакета розбір і перевірка
+ * рядків виконуються паралельно, логіни користувачів розв'язуються
+ * послідовно через репозиторій (з кешем на весь імпорт), після чого
+ * задачі паралельно будуються і зберігаються одним
+ * {@link IssueRepository#saveAll(java.util.Collection)}.
+ * <p>
+ * Некоректні рядки не зупиняють імпорт, а потрапляють у
+ * {@link ImportResult}. Якщо пакет не вдалося зберегти цілком (наприклад,
+ * через зайнятий ключ), його задачі зберігаються поодинці, щоб відхилити
+ * лише конфліктні рядки.
+ */
+public class IssueImporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(IssueImporter.class);
+
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    /** Скільки помилок рядків зберігається у результаті */
+    public static final int MAX_REPORTED_ERRORS = 100;
+
+    private final IssueRepository issueRepository;
+    private final UserRepository userRepository;
+    private final IssueChangeListener listener;
+    private final int batchSize;
+
+    /**
+     * @param userRepository репозиторій для пошуку авторів і виконавців за логіном або null
+     * @param listener отримує {@code issueAdded} для кожної збереженої задачі або null
+     */
+    public IssueImporter(IssueRepository issueRepository, UserRepository userRepository,
+                         IssueChangeListener listener) {
+        this(issueRepository, userRepository, listener, DEFAULT_BATCH_SIZE);
+    }
+
+    public IssueImporter(IssueRepository issueRepository, UserRepository userRepository,
+                         IssueChangeListener listener, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Розмір пакета повинен бути додатним: " + batchSize);
+        }
+        this.issueRepository = issueRepository;
+        this.userRepository = userRepository;
+        this.listener = listener;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Імпортує задачі на дошку
+     *
+     * @param source джерело; не закривається
+     * @param board дошка, проект якої отримують задачі
+     * @param reporter автор для рядків без автора або null
+     * @param progress слухач прогресу або null
+     * @throws IOException якщо джерело не читається або не має заголовка CSV
+     */
+    public ImportResult importIssues(Reader source, IssueFormat format, Board board, User reporter,
+                                     TransferProgressListener progress) throws IOException {
+        TransferProgressListener progressListener = progress != null ? progress : TransferProgressListener.NONE;
+        BufferedReader in = source instanceof BufferedReader buffered ? buffered : new BufferedReader(source);
+        RowCodec.RowReader reader = format.codec().reader(in);
+
+        ImportRun run = new ImportRun(board, reporter);
+        List<RowCodec.RawRecord> records = new ArrayList<>(batchSize);
+        RowCodec.RawRecord record;
+        while ((record = reader.next()) != null) {
+            records.add(record);
+            if (records.size() == batchSize) {
+                run.process(reader, records);
+                records.clear();
+                progressListener.progress(run.imported, run.failed);
+            }
+        }
+        if (!records.isEmpty()) {
+            run.process(reader, records);
+            progressListener.progress(run.imported, run.failed);
+        }
+
+        logger.info("Імпортовано {} задач на дошку {}, відхилено {} рядків",
+            run.imported, board.getName(), run.failed);
+        return new ImportResult(run.imported, run.failed, List.copyOf(run.errors));
+    }
+
+    /**
+     * Розібраний рядок або помилка розбору
+     */
+    private record Parsed(long line, IssueRow row, String error) {
+    }
+
+    /**
+     * Стан одного імпорту: лічильники, помилки та кеш користувачів
+     */
+    private final class ImportRun {
+
+        private final Board board;
+        private final User defaultReporter;
+        private final Map<String, User> usersByLogin = new HashMap<>();
+        private final List<ImportResult.RowError> errors = new ArrayList<>();
+        private long imported;
+        private long failed;
+
+        ImportRun(Board board, User defaultReporter) {
+            this.board = board;
+            this.defaultReporter = defaultReporter;
+        }
+
+        void process(RowCodec.RowReader reader, List<RowCodec.RawRecord> records) {
+            List<Parsed> parsed = records.parallelStream()
+                .map(record -> parse(reader, record))
+                .toList();
+
+            List<Parsed> valid = new ArrayList<>(parsed.size());
+            for (Parsed row : parsed) {
+                if (row.error() != null) {
+                    reject(row.line(), row.error());
+                } else if (resolveUsers(row)) {
+                    valid.add(row);
+                }
+            }
+
+            List<Issue> issues = valid.parallelStream().map(this::toIssue).toList();
+            save(valid, issues);
+        }
+
+        private Parsed parse(RowCodec.RowReader reader, RowCodec.RawRecord record) {
+            try {
+                return new Parsed(record.line(), IssueRow.parse(reader.parse(record.text())), null);
+            } catch (IllegalArgumentException e) {
+                return new Parsed(record.line(), null, e.getMessage());
+            }
+        }
+
+        /**
+         * Перевіряє, що користувачі рядка існують; пошук у репозиторії
+         * виконується один раз на логін
+         */
+        private boolean resolveUsers(Parsed parsed) {
+            for (String login : new String[] {parsed.row().reporter(), parsed.row().assignee()}) {
+                if (login != null && findUser(login) == null) {
+                    reject(parsed.line(), "Невідомий користувач: " + login);
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private User findUser(String login) {
+            if (userRepository == null) {
+                return null;
+            }
+            return usersByLogin.computeIfAbsent(login, userRepository::findByLogin);
+        }
+
+        // Виконується паралельно: кеш користувачів тут лише читається
+        private Issue toIssue(Parsed parsed) {
+            IssueRow row = parsed.row();
+            Issue issue = new Issue();
+            issue.setKey(row.key());
+            issue.setTitle(row.title());
+            issue.setDescription(row.description());
+            issue.setStatus(row.status());
+            issue.setPriority(row.priority());
+            issue.setProject(board.getProject());
+            issue.setBoard(board);
+            issue.setReporter(row.reporter() != null ? usersByLogin.get(row.reporter()) : defaultReporter);
+            issue.setAssignee(row.assignee() != null ? usersByLogin.get(row.assignee()) : null);
+            if (row.createdAt() != null) {
+                issue.setCreatedAt(row.createdAt());
+            }
+            return issue;
+        }
+
+        private void save(List<Parsed> rows, List<Issue> issues) {
+            if (issues.isEmpty()) {
+                return;
+            }
+            try {
+                saved(issueRepository.saveAll(issues));
+                return;
+            } catch (RuntimeException e) {
+                logger.debug("Пакет не збережено цілком, зберігаємо задачі поодинці: {}", e.getMessage());
+            }
+            for (int i = 0; i < issues.size(); i++) {
+                Issue issue = issues.get(i);
+                try {
+                    saved(List.of(issueRepository.save(issue)));
+                } catch (RuntimeException e) {
+                    reject(rows.get(i).line(), e.getMessage());
+                }
+            }
+        }
+
+        private void saved(List<Issue> issues) {
+            imported += issues.size();
+            if (listener == null) {
+                return;
+            }
+            for (Issue issue : issues) {
+                try {
+                    listener.issueAdded(issue);
+                } catch (RuntimeException e) {
+                    logger.error("Помилка у слухачі змін задач: {}", e.getMessage(), e);
+                }
+            }
+        }
+
+        private void reject(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportResult.RowError(line, message));
+            }
+        }
+    }
+}
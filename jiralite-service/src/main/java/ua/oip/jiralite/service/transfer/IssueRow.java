@@ -0,0 +1,105 @@
+package ua.oip.jiralite.service.transfer;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+
+import ua.oip.jiralite.domain.Issue;
+import ua.oip.jiralite.domain.enums.Priority;
+import ua.oip.jiralite.domain.enums.Status;
+
+/**
+ * Рядок обміну задачами: плоске представлення задачі для імпорту та експорту.
+ * Користувачі передаються логінами, а проект і дошку визначає місце імпорту.
+ *
+ * @param key ключ задачі або null, щоб згенерувати новий
+ * @param reporter логін автора або null
+ * @param assignee логін виконавця або null
+ * @param createdAt час створення або null для поточного часу
+ */
+public record IssueRow(String key, String title, String description, Status status, Priority priority,
+                       String reporter, String assignee, LocalDateTime createdAt) {
+
+    /** Колонки CSV і поля JSON Lines у порядку значень {@link #values()} */
+    public static final List<String> COLUMNS =
+        List.of("key", "title", "description", "status", "priority", "reporter", "assignee", "created");
+
+    /** Максимальна довжина опису, як у колонці БД */
+    public static final int MAX_DESCRIPTION_LENGTH = 1000;
+
+    /**
+     * Перевіряє та перетворює сирі значення колонок у рядок обміну
+     *
+     * @param values значення у порядку {@link #COLUMNS}; порожні значення вважаються відсутніми
+     * @throws IllegalArgumentException якщо значення некоректні
+     */
+    public static IssueRow parse(String[] values) {
+        String title = value(values, 1);
+        if (title == null) {
+            throw new IllegalArgumentException("Не вказано назву задачі");
+        }
+        String description = value(values, 2);
+        if (description != null && description.length() > MAX_DESCRIPTION_LENGTH) {
+            throw new IllegalArgumentException("Опис довший за " + MAX_DESCRIPTION_LENGTH + " символів");
+        }
+
+        Status status = parseEnum(Status.class, value(values, 3), Status.TO_DO, "статус");
+        Priority priority = parseEnum(Priority.class, value(values, 4), Priority.MEDIUM, "пріоритет");
+
+        LocalDateTime createdAt = null;
+        String created = value(values, 7);
+        if (created != null) {
+            try {
+                createdAt = LocalDateTime.parse(created);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Некоректна дата створення: " + created);
+            }
+        }
+        return new IssueRow(value(values, 0), title, description, status, priority,
+            value(values, 5), value(values, 6), createdAt);
+    }
+
+    /**
+     * Рядок обміну для збереженої задачі
+     */
+    public static IssueRow of(Issue issue) {
+        return new IssueRow(issue.getKey(), issue.getTitle(), issue.getDescription(),
+            issue.getStatus(), issue.getPriority(),
+            issue.getReporter() != null ? issue.getReporter().getLogin() : null,
+            issue.getAssignee() != null ? issue.getAssignee().getLogin() : null,
+            issue.getCreatedAt());
+    }
+
+    /**
+     * Значення у порядку {@link #COLUMNS}, відсутні значення - null
+     */
+    public String[] values() {
+        return new String[] {
+            key, title, description,
+            status != null ? status.name() : null,
+            priority != null ? priority.name() : null,
+            reporter, assignee,
+            createdAt != null ? createdAt.toString() : null
+        };
+    }
+
+    private static String value(String[] values, int index) {
+        if (index >= values.length || values[index] == null) {
+            return null;
+        }
+        String value = values[index].strip();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, E defaultValue, String name) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT).replace(' ', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Невідомий " + name + ": " + value);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package ua.oip.jiralite.service.transfer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * JSON Lines: кожен рядок - плоский JSON-об'єкт з полями {@link IssueRow#COLUMNS}.
+ * Невідомі поля ігноруються, синтаксис рядка - див. {@link FlatJson}.
+ */
+final class JsonLinesRowCodec implements RowCodec {
+
+    @Override
+    public RowReader reader(BufferedReader in) {
+        return new RowReader() {
+            private long lineNumber;
+
+            @Override
+            public RawRecord next() throws IOException {
+                String line;
+                do {
+                    line = in.readLine();
+                    lineNumber++;
+                    if (line == null) {
+                        return null;
+                    }
+                } while (line.isBlank());
+                return new RawRecord(lineNumber, line);
+            }
+
+            @Override
+            public String[] parse(String record) {
+                String[] values = new String[IssueRow.COLUMNS.size()];
+                FlatJson.parseObject(record, (name, value) -> {
+                    int column = IssueRow.COLUMNS.indexOf(name);
+                    if (column >= 0) {
+                        values[column] = value;
+                    }
+                });
+                return values;
+            }
+        };
+    }
+
+    @Override
+    public RowWriter writer(Writer out) {
+        return row -> {
+            String[] values = row.values();
+            StringBuilder line = new StringBuilder(128).append('{');
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    line.append(',');
+                }
+                line.append('"').append(IssueRow.COLUMNS.get(i)).append("\":");
+                FlatJson.appendString(line, values[i]);
+            }
+            line.append("}\n");
+            out.write(line.toString());
+        };
+    }
+}
@@ -0,0 +1,45 @@
+package ua.oip.jiralite.service.transfer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Формат рядків обміну.
+ * <p>
+ * Читання розділене на дві стадії: {@link RowReader#next()} лише виділяє
+ * сирий запис з потоку і викликається послідовно, а {@link RowReader#parse(String)}
+ * розбирає запис на значення і може виконуватися паралельно для різних записів.
+ */
+interface RowCodec {
+
+    RowReader reader(BufferedReader in) throws IOException;
+
+    RowWriter writer(Writer out) throws IOException;
+
+    /**
+     * Сирий запис і номер рядка, з якого він починається
+     */
+    record RawRecord(long line, String text) {
+    }
+
+    interface RowReader {
+
+        /**
+         * @return наступний сирий запис або null наприкінці потоку
+         */
+        RawRecord next() throws IOException;
+
+        /**
+         * Розбирає запис на значення у порядку {@link IssueRow#COLUMNS}. Потокобезпечний.
+         *
+         * @throws IllegalArgumentException якщо запис має некоректний синтаксис
+         */
+        String[] parse(String record);
+    }
+
+    interface RowWriter {
+
+        void write(IssueRow row) throws IOException;
+    }
+}
@@ -0,0 +1,20 @@
+package ua.oip.jiralite.service.transfer;
+
+/**
+ * Слухач прогресу імпорту або експорту задач.
+ * <p>
+ * Викликається у потоці, що виконує перенесення, після кожного пакета.
+ * Отримувач сам відповідає за перенесення оновлення у потрібний потік
+ * (наприклад, EDT у Swing).
+ */
+@FunctionalInterface
+public interface TransferProgressListener {
+
+    TransferProgressListener NONE = (processed, failed) -> { };
+
+    /**
+     * @param processed кількість оброблених задач
+     * @param failed кількість відхилених рядків (для експорту завжди 0)
+     */
+    void progress(long processed, long failed);
+}
@@ -0,0 +1,101 @@
+package ua.oip.jiralite.repository.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ua.oip.jiralite.domain.Issue;
+import ua.oip.jiralite.repository.impl.IssueIdAllocator.IdBlock;
+
+/**
+ * Модульные тесты для IssueIdAllocator
+ */
+public class IssueIdAllocatorTest {
+
+    @Test
+    @DisplayName("Должен выдавать уникальные ID при параллельном создании задач")
+    public void testConcurrentNextIdIsUnique() throws Exception {
+        // Дано
+        IssueIdAllocator allocator = new IssueIdAllocator();
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Когда
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    ids.add(allocator.nextId());
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Тогда
+        assertEquals(80_000, ids.size(), "Все выданные ID должны быть уникальными");
+        assertEquals(80_000L, allocator.getHighWaterMark(), "Верхняя граница должна совпадать с числом выданных ID");
+    }
+
+    @Test
+    @DisplayName("Должен резервировать непересекающиеся блоки ID")
+    public void testReserveBlock() {
+        // Дано
+        IssueIdAllocator allocator = new IssueIdAllocator(100);
+
+        // Когда
+        IdBlock block = allocator.reserveBlock(3);
+        long afterBlock = allocator.nextId();
+
+        // Тогда
+        assertEquals(101L, block.next(), "Блок должен начинаться после зарезервированных ID");
+        assertEquals(102L, block.next());
+        assertEquals(103L, block.next());
+        assertFalse(block.hasNext(), "Блок должен быть исчерпан");
+        assertThrows(IllegalStateException.class, block::next, "Исчерпанный блок не должен выдавать ID");
+        assertEquals(104L, afterBlock, "Следующий ID не должен попадать в зарезервированный блок");
+    }
+
+    @Test
+    @DisplayName("Должен выдавать последовательные ключи для каждого проекта")
+    public void testNextKeyPerProject() {
+        // Дано
+        IssueIdAllocator allocator = new IssueIdAllocator();
+
+        // Тогда
+        assertEquals("DEMO-1", allocator.nextKey("DEMO"));
+        assertEquals("DEMO-2", allocator.nextKey("DEMO"));
+        assertEquals("TEST-1", allocator.nextKey("TEST"), "Каждый проект должен иметь свою последовательность");
+    }
+
+    @Test
+    @DisplayName("Должен восстанавливать верхнюю границу по сохраненным задачам")
+    public void testRecoverHighWaterMark() {
+        // Дано
+        IssueMemoryStore store = new IssueMemoryStore();
+        Issue issue = new Issue();
+        issue.setId(42L);
+        issue.setKey("DEMO-7");
+
+        // Когда
+        store.put(issue);
+
+        // Тогда
+        assertEquals(43L, store.getIdAllocator().nextId(), "Новый ID должен быть больше сохраненного");
+        assertEquals("DEMO-8", store.getIdAllocator().nextKey("DEMO"), "Новый ключ должен продолжать последовательность");
+        store.getIdAllocator().observeKey("broken-key");
+        assertEquals("DEMO-9", store.getIdAllocator().nextKey("DEMO"), "Некорректные ключи должны игнорироваться");
+    }
+}
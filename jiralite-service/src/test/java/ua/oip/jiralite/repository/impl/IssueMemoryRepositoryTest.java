@@ -0,0 +1,172 @@
+package ua.oip.jiralite.repository.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ua.oip.jiralite.domain.Board;
+import ua.oip.jiralite.domain.Issue;
+import ua.oip.jiralite.domain.Project;
+import ua.oip.jiralite.domain.User;
+import ua.oip.jiralite.domain.enums.Status;
+
+/**
+ * Модульные тесты для IssueMemoryRepository
+ */
+public class IssueMemoryRepositoryTest {
+
+    private IssueMemoryRepository repository;
+    private Project demo;
+    private Project other;
+    private Board demoBoard;
+    private Board otherBoard;
+    private User john;
+
+    @BeforeEach
+    public void setUp() {
+        repository = new IssueMemoryRepository();
+
+        demo = project(1L, "DEMO");
+        other = project(2L, "OTHER");
+        demoBoard = board(10L, demo);
+        otherBoard = board(20L, other);
+
+        john = new User("john", "1234", "John Developer", "john@example.com");
+        john.setId(2L);
+    }
+
+    private static Project project(Long id, String key) {
+        Project project = new Project();
+        project.setId(id);
+        project.setKey(key);
+        return project;
+    }
+
+    private static Board board(Long id, Project project) {
+        Board board = new Board();
+        board.setId(id);
+        board.setProject(project);
+        return board;
+    }
+
+    private static Issue issue(Board board) {
+        Issue issue = new Issue();
+        issue.setTitle("Задача");
+        issue.setProject(board.getProject());
+        issue.setBoard(board);
+        return issue;
+    }
+
+    @Test
+    @DisplayName("Должен назначать ID и ключ при сохранении новой задачи")
+    public void testSaveAssignsIdAndKey() {
+        // Когда
+        Issue first = repository.save(issue(demoBoard));
+        Issue second = repository.save(issue(demoBoard));
+
+        // Тогда
+        assertNotNull(first.getId(), "ID задачи должен быть назначен");
+        assertEquals("DEMO-1", first.getKey(), "Ключ должен строиться по ключу проекта");
+        assertEquals("DEMO-2", second.getKey(), "Ключи проекта должны идти последовательно");
+        assertEquals(first, repository.findByKey("DEMO-1"), "Задача должна находиться по ключу");
+    }
+
+    @Test
+    @DisplayName("Должен поддерживать индексы при смене проекта, доски и исполнителя")
+    public void testIndexesFollowChanges() {
+        // Дано
+        Issue issue = repository.save(issue(demoBoard));
+
+        // Когда
+        issue.setProject(other);
+        issue.setBoard(otherBoard);
+        issue.setAssignee(john);
+        repository.save(issue);
+
+        // Тогда
+        assertTrue(repository.findByBoard(demoBoard).isEmpty(), "Старая доска не должна содержать задачу");
+        assertTrue(repository.findByProject(demo).isEmpty(), "Старый проект не должен содержать задачу");
+        assertEquals(List.of(issue), repository.findByBoard(otherBoard), "Задача должна быть на новой доске");
+        assertEquals(List.of(issue), repository.findByProject(other), "Задача должна быть в новом проекте");
+        assertEquals(List.of(issue), repository.findByAssignee(john), "Задача должна быть у нового исполнителя");
+    }
+
+    @Test
+    @DisplayName("Должен удалять задачу из выборок")
+    public void testDelete() {
+        // Дано
+        Issue issue = issue(demoBoard);
+        issue.setAssignee(john);
+        repository.save(issue);
+
+        // Когда
+        repository.delete(issue);
+
+        // Тогда
+        assertNull(repository.findById(issue.getId()), "Задача должна быть удалена");
+        assertTrue(repository.findByBoard(demoBoard).isEmpty(), "Доска не должна содержать задачу");
+        assertTrue(repository.findByAssignee(john).isEmpty(), "Исполнитель не должен иметь задач");
+        assertTrue(repository.findByStatus(Status.TO_DO).isEmpty(), "Индекс статуса должен быть пуст");
+    }
+
+    @Test
+    @DisplayName("Должен выбирать из индекса ровно задачи доски при 100 000 задачах")
+    public void testFindByBoardOnLargeRepository() {
+        // Дано
+        Board[] boards = new Board[100];
+        for (int i = 0; i < boards.length; i++) {
+            boards[i] = board(100L + i, demo);
+        }
+        for (int i = 0; i < 100_000; i++) {
+            repository.save(issue(boards[i % boards.length]));
+        }
+
+        // Когда / Тогда
+        for (Board board : boards) {
+            List<Issue> issues = repository.findByBoard(board);
+            assertEquals(1000, issues.size(), "Каждая доска должна содержать 1000 задач");
+            assertTrue(issues.stream().allMatch(issue -> issue.getBoard() == board),
+                    "Выборка не должна содержать задачи других досок");
+        }
+        assertEquals(100_000, repository.findByProject(demo).size(), "Все задачи должны относиться к проекту");
+    }
+
+    @Test
+    @DisplayName("Должен отдавать задачи страницами по ID и потоком без пропусков")
+    public void testKeysetPagesAndStream() {
+        // Дано
+        for (int i = 0; i < 1200; i++) {
+            repository.save(issue(i % 2 == 0 ? demoBoard : otherBoard));
+        }
+        List<Issue> expected = repository.findByProject(demo);
+
+        // Когда
+        List<Issue> paged = new ArrayList<>();
+        List<Issue> page = repository.findByProject(demo, null, 100);
+        while (!page.isEmpty()) {
+            paged.addAll(page);
+            page = repository.findByProject(demo, page.get(page.size() - 1).getId(), 100);
+        }
+        long streamed;
+        try (Stream<Issue> stream = repository.streamAll()) {
+            streamed = stream.count();
+        }
+
+        // Тогда
+        assertEquals(expected, paged, "Страницы должны покрывать выборку в порядке ID");
+        assertEquals(1200, streamed, "Поток должен вернуть все задачи");
+        assertTrue(repository.findByBoard(demoBoard, expected.get(expected.size() - 1).getId(), 10).isEmpty(),
+                "После последней задачи страница должна быть пустой");
+        assertThrows(IllegalArgumentException.class, () -> repository.findAll(null, 0),
+                "Размер страницы должен быть положительным");
+    }
+}
@@ -0,0 +1,210 @@
+package ua.oip.jiralite.repository.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ua.oip.jiralite.domain.Board;
+import ua.oip.jiralite.domain.Issue;
+import ua.oip.jiralite.domain.Project;
+import ua.oip.jiralite.domain.User;
+import ua.oip.jiralite.domain.enums.Priority;
+import ua.oip.jiralite.domain.enums.Status;
+import ua.oip.jiralite.repository.IssueStats;
+
+/**
+ * Модульные тесты для IssueMemoryStore
+ */
+public class IssueMemoryStoreTest {
+
+    private IssueMemoryStore store;
+    private Project project;
+    private Board board;
+    private User john;
+
+    @BeforeEach
+    public void setUp() {
+        store = new IssueMemoryStore();
+
+        project = new Project();
+        project.setId(1L);
+        project.setKey("DEMO");
+
+        board = new Board();
+        board.setId(10L);
+        board.setProject(project);
+
+        john = new User("john", "1234", "John Developer", "john@example.com");
+        john.setId(2L);
+    }
+
+    private Issue issue(long id, Status status) {
+        Issue issue = new Issue();
+        issue.setId(id);
+        issue.setKey("DEMO-" + id);
+        issue.setTitle("Задача " + id);
+        issue.setStatus(status);
+        issue.setProject(project);
+        issue.setBoard(board);
+        return issue;
+    }
+
+    @Test
+    @DisplayName("Должен находить задачу по ID и ключу")
+    public void testFindByIdAndKey() {
+        // Дано
+        Issue issue = store.put(issue(1, Status.TO_DO));
+
+        // Тогда
+        assertSame(issue, store.findById(1L), "Задача должна находиться по ID");
+        assertSame(issue, store.findByKey("DEMO-1"), "Задача должна находиться по ключу");
+        assertEquals(1, store.findByProject(1L).size(), "Задача должна быть в индексе проекта");
+        assertEquals(1, store.findByBoard(10L).size(), "Задача должна быть в индексе доски");
+    }
+
+    @Test
+    @DisplayName("Должен переносить задачу между бакетами при изменении полей")
+    public void testUpdateMovesIssueBetweenBuckets() {
+        // Дано
+        store.put(issue(1, Status.TO_DO));
+
+        // Когда
+        store.update(1L, issue -> {
+            issue.setStatus(Status.DONE);
+            issue.setAssignee(john);
+            issue.setKey("DEMO-100");
+        });
+
+        // Тогда
+        assertTrue(store.findByStatus(Status.TO_DO).isEmpty(), "Задача не должна оставаться в старом статусе");
+        assertEquals(1, store.findByStatus(Status.DONE).size(), "Задача должна быть в новом статусе");
+        assertEquals(1, store.findByAssignee(2L).size(), "Задача должна быть в индексе исполнителя");
+        assertNull(store.findByKey("DEMO-1"), "Старый ключ должен быть освобожден");
+        assertEquals(1L, store.findByKey("DEMO-100").getId(), "Задача должна находиться по новому ключу");
+    }
+
+    @Test
+    @DisplayName("Должен переиндексировать задачу, измененную вне хранилища")
+    public void testReindexAfterExternalChange() {
+        // Дано
+        Issue issue = store.put(issue(1, Status.TO_DO));
+        issue.setStatus(Status.IN_PROGRESS);
+
+        // Когда
+        assertTrue(store.reindex(1L), "Задача должна быть найдена");
+
+        // Тогда
+        assertEquals(1, store.findByStatus(Status.IN_PROGRESS).size(), "Индекс статуса должен быть обновлен");
+        assertTrue(store.findByStatus(Status.TO_DO).isEmpty(), "Старый статус должен быть очищен");
+    }
+
+    @Test
+    @DisplayName("Должен удалять задачу из всех индексов")
+    public void testRemove() {
+        // Дано
+        Issue issue = issue(1, Status.TO_DO);
+        issue.setAssignee(john);
+        store.put(issue);
+
+        // Когда
+        store.remove(1L);
+
+        // Тогда
+        assertNull(store.findById(1L), "Задача должна быть удалена");
+        assertNull(store.findByKey("DEMO-1"), "Ключ должен быть освобожден");
+        assertTrue(store.findByProject(1L).isEmpty(), "Индекс проекта должен быть пуст");
+        assertTrue(store.findByAssignee(2L).isEmpty(), "Индекс исполнителя должен быть пуст");
+        assertTrue(store.findByStatus(Status.TO_DO).isEmpty(), "Индекс статуса должен быть пуст");
+    }
+
+    @Test
+    @DisplayName("Должен запрещать повторное использование ключа")
+    public void testDuplicateKeyRejected() {
+        // Дано
+        store.put(issue(1, Status.TO_DO));
+        Issue duplicate = issue(2, Status.TO_DO);
+        duplicate.setKey("DEMO-1");
+
+        // Когда/Тогда
+        assertThrows(IllegalStateException.class, () -> store.put(duplicate),
+                "Ключ, занятый другой задачей, не должен приниматься");
+        assertNull(store.findById(2L), "Отклоненная задача не должна сохраняться");
+    }
+
+    @Test
+    @DisplayName("Должен сохранять согласованность индексов при параллельной записи")
+    public void testConcurrentWrites() throws Exception {
+        // Дано
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Когда
+        for (int t = 0; t < 4; t++) {
+            final int offset = t * 1000;
+            futures.add(executor.submit(() -> {
+                for (int i = 1; i <= 1000; i++) {
+                    long id = offset + i;
+                    store.put(issue(id, Status.TO_DO));
+                    store.update(id, issue -> issue.setStatus(Status.DONE));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Тогда
+        assertEquals(4000, store.size(), "Все задачи должны быть сохранены");
+        assertEquals(4000, store.findByStatus(Status.DONE).size(), "Все задачи должны быть в статусе DONE");
+        assertTrue(store.findByStatus(Status.TO_DO).isEmpty(), "В статусе TO_DO не должно остаться задач");
+        assertEquals(4000, store.findByBoard(10L).size(), "Все задачи должны быть в индексе доски");
+    }
+
+    @Test
+    @DisplayName("Должен поддерживать статистику проекта и доски при изменениях задач")
+    public void testStatsFollowChanges() {
+        // Дано
+        store.put(issue(1, Status.TO_DO));
+        store.put(issue(2, Status.TO_DO));
+        Issue issue = store.put(issue(3, Status.IN_PROGRESS));
+
+        // Когда
+        store.update(3L, changed -> {
+            changed.setStatus(Status.DONE);
+            changed.setPriority(Priority.HIGH);
+            changed.setAssignee(john);
+        });
+        store.remove(1L);
+
+        // Тогда
+        IssueStats stats = store.statsByProject(1L);
+        assertEquals(2, stats.getTotal(), "Удаленная задача не должна учитываться");
+        assertEquals(1, stats.count(Status.TO_DO));
+        assertEquals(0, stats.count(Status.IN_PROGRESS), "Задача должна уйти из старого статуса");
+        assertEquals(1, stats.count(Status.DONE));
+        assertEquals(1, stats.count(Priority.HIGH), "Должна учитываться смена приоритета");
+        assertEquals(1, stats.countByAssignee(john.getId()));
+        assertEquals(1, stats.getUnassigned());
+        assertEquals(stats.getByStatus(), store.statsByBoard(10L).getByStatus(),
+                "Статистика доски должна совпадать со статистикой проекта");
+        assertSame(issue, store.findById(3L));
+
+        // Когда
+        store.clear();
+
+        // Тогда
+        assertEquals(0, store.statsByProject(1L).getTotal(), "Очистка должна сбросить статистику");
+    }
+}
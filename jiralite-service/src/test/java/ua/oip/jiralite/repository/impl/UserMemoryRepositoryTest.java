@@ -0,0 +1,164 @@
+package ua.oip.jiralite.repository.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ua.oip.jiralite.domain.Project;
+import ua.oip.jiralite.domain.User;
+
+/**
+ * Модульные тесты для UserMemoryRepository
+ */
+public class UserMemoryRepositoryTest {
+
+    private UserMemoryRepository repository;
+
+    @BeforeEach
+    public void setUp() {
+        repository = new UserMemoryRepository();
+    }
+
+    @Test
+    @DisplayName("Должен находить пользователя по логину и email без учета регистра")
+    public void testCaseInsensitiveLookup() {
+        // Когда
+        User admin = repository.findByLogin("admin");
+
+        // Тогда
+        assertSame(admin, repository.findByLogin(" ADMIN "), "Логин должен нормализоваться");
+        assertSame(admin, repository.findByEmail("Admin@Example.com"), "Email должен нормализоваться");
+        assertTrue(repository.existsByLogin("John"), "Пользователь john должен существовать");
+        assertFalse(repository.existsByEmail("nobody@example.com"), "Неизвестный email не должен находиться");
+    }
+
+    @Test
+    @DisplayName("Должен запрещать повторное использование логина и email")
+    public void testUniqueness() {
+        // Дано
+        User duplicateLogin = new User("JOHN", "pass", "Other John", "other@example.com");
+        User duplicateEmail = new User("johnny", "pass", "Johnny", "JOHN@example.com");
+
+        // Когда/Тогда
+        assertThrows(IllegalStateException.class, () -> repository.save(duplicateLogin),
+                "Логин другого пользователя не должен приниматься");
+        assertThrows(IllegalStateException.class, () -> repository.save(duplicateEmail),
+                "Email другого пользователя не должен приниматься");
+        assertNull(repository.findByLogin("johnny"), "Отклоненный пользователь не должен сохраняться");
+    }
+
+    @Test
+    @DisplayName("Должен обновлять индексы при смене логина и проектов")
+    public void testReindexOnChange() {
+        // Дано
+        Project project = new Project();
+        project.setId(1L);
+        User john = repository.findByLogin("john");
+
+        // Когда
+        john.setLogin("john.dev");
+        john.getProjects().add(project);
+        repository.save(john);
+
+        // Тогда
+        assertNull(repository.findByLogin("john"), "Старый логин должен быть освобожден");
+        assertSame(john, repository.findByLogin("john.dev"), "Пользователь должен находиться по новому логину");
+        assertEquals(List.of(john), repository.findByProjectsContaining(project), "Пользователь должен быть участником проекта");
+
+        // Когда
+        repository.delete(john);
+
+        // Тогда
+        assertTrue(repository.findByProjectsContaining(project).isEmpty(), "Удаленный пользователь не должен быть участником");
+        assertNull(repository.findByEmail("john@example.com"), "Email удаленного пользователя должен быть освобожден");
+    }
+
+    @Test
+    @DisplayName("Должен сохранять только одного пользователя при параллельной регистрации с одним логином")
+    public void testConcurrentRegistration() throws Exception {
+        // Дано
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            final int n = i;
+            tasks.add(() -> {
+                try {
+                    repository.save(new User("newcomer", "pass", "Newcomer " + n, "newcomer" + n + "@example.com"));
+                    return true;
+                } catch (IllegalStateException e) {
+                    return false;
+                }
+            });
+        }
+
+        // Когда
+        int saved = 0;
+        for (Future<Boolean> result : executor.invokeAll(tasks)) {
+            if (result.get()) {
+                saved++;
+            }
+        }
+        executor.shutdown();
+
+        // Тогда
+        assertEquals(1, saved, "Только одна регистрация должна быть успешной");
+        assertTrue(repository.existsByLogin("newcomer"), "Пользователь должен быть сохранен");
+    }
+
+    @Test
+    @DisplayName("Не должен терять пользователя в индексе логина при повторном сохранении")
+    public void testConcurrentResaveAndLookup() throws Exception {
+        // Дано
+        User john = repository.findByLogin("john");
+        User johnCopy = new User("john", "1234", "John Developer", "john@example.com");
+        johnCopy.setId(john.getId());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        AtomicBoolean saving = new AtomicBoolean(true);
+        AtomicInteger misses = new AtomicInteger();
+        List<Callable<Void>> readers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            readers.add(() -> {
+                while (saving.get()) {
+                    if (repository.findByLogin("john") == null || repository.findByEmail("john@example.com") == null) {
+                        misses.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+
+        // Когда
+        List<Future<Void>> results = new ArrayList<>();
+        for (Callable<Void> reader : readers) {
+            results.add(executor.submit(reader));
+        }
+        for (int i = 0; i < 20_000; i++) {
+            // Как при входе: тот же пользователь и другой экземпляр с тем же ID
+            repository.save(i % 2 == 0 ? john : johnCopy);
+        }
+        saving.set(false);
+        for (Future<Void> result : results) {
+            result.get();
+        }
+        executor.shutdown();
+
+        // Тогда
+        assertEquals(0, misses.get(), "Читатели не должны видеть пользователя пропавшим");
+        assertSame(johnCopy, repository.findByLogin("john"), "Индекс должен указывать на последний сохраненный экземпляр");
+    }
+}
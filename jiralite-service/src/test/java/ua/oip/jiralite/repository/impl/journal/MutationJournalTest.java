@@ -0,0 +1,255 @@
+package ua.oip.jiralite.repository.impl.journal;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ua.oip.jiralite.domain.Board;
+import ua.oip.jiralite.domain.Comment;
+import ua.oip.jiralite.domain.Issue;
+import ua.oip.jiralite.domain.Project;
+import ua.oip.jiralite.domain.User;
+import ua.oip.jiralite.domain.enums.Priority;
+import ua.oip.jiralite.domain.enums.Status;
+import ua.oip.jiralite.repository.impl.IssueMemoryStore;
+import ua.oip.jiralite.repository.impl.UserMemoryRepository;
+
+/**
+ * Тесты восстановления in-memory хранилищ из журнала изменений
+ */
+public class MutationJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private IssueMemoryStore store;
+    private UserMemoryRepository users;
+    private Project project;
+    private Board board;
+
+    @BeforeEach
+    public void setUp() {
+        store = new IssueMemoryStore();
+        users = new UserMemoryRepository();
+
+        project = new Project();
+        project.setId(1L);
+        project.setKey("DEMO");
+        project.setName("Demo Project");
+
+        board = new Board();
+        board.setId(10L);
+        board.setName("Основная доска");
+        board.setProject(project);
+    }
+
+    private Issue issue(long id, User assignee) {
+        Issue issue = new Issue();
+        issue.setId(id);
+        issue.setKey("DEMO-" + id);
+        issue.setTitle("Задача " + id);
+        issue.setStatus(Status.TO_DO);
+        issue.setPriority(Priority.MEDIUM);
+        issue.setProject(project);
+        issue.setBoard(board);
+        issue.setAssignee(assignee);
+        return issue;
+    }
+
+    /**
+     * Новые хранилища, как после перезапуска приложения
+     */
+    private MutationJournal reopen() throws IOException {
+        store = new IssueMemoryStore();
+        users = new UserMemoryRepository();
+        return MutationJournal.open(directory, store, users);
+    }
+
+    @Test
+    @DisplayName("Должен восстанавливать задачи, пользователей и комментарии после перезапуска")
+    public void testRecoverAfterRestart() throws Exception {
+        // Дано
+        try (MutationJournal journal = MutationJournal.open(directory, store, users)) {
+            User tester = users.save(new User("tester", "secret", "Test Engineer", "tester@example.com"));
+            store.put(issue(1L, tester));
+            store.put(issue(2L, null));
+            store.put(issue(3L, tester));
+            store.update(1L, issue -> {
+                issue.setStatus(Status.IN_PROGRESS);
+                issue.addComment(new Comment("Взял в работу", issue, tester));
+            });
+            store.remove(3L);
+            journal.flush().get(5, TimeUnit.SECONDS);
+        }
+
+        // Когда
+        try (MutationJournal journal = reopen()) {
+            // Тогда
+            User tester = users.findByLogin("tester");
+            assertNotNull(tester, "Пользователь должен восстановиться");
+            assertEquals(2, store.size(), "Удаленная задача не должна восстановиться");
+            assertNull(store.findById(3L));
+
+            Issue first = store.findById(1L);
+            assertEquals(Status.IN_PROGRESS, first.getStatus(), "Должно восстановиться последнее состояние");
+            assertSame(tester, first.getAssignee(), "Исполнитель должен ссылаться на восстановленного пользователя");
+            assertEquals(1, first.getComments().size());
+            assertEquals("Взял в работу", first.getComments().get(0).getText());
+            assertEquals("Основная доска", first.getBoard().getName());
+            assertSame(first.getProject(), store.findById(2L).getProject(),
+                    "Задачи одного проекта должны ссылаться на один объект проекта");
+            assertEquals(2, store.findByBoard(10L).size(), "Индексы хранилища должны перестроиться");
+        }
+    }
+
+    @Test
+    @DisplayName("Должен уплотнять журнал в снимок и удалять покрытые им файлы")
+    public void testCompaction() throws Exception {
+        // Дано
+        long snapshotGeneration;
+        try (MutationJournal journal = MutationJournal.open(directory, store, users)) {
+            for (long id = 1; id <= 100; id++) {
+                store.put(issue(id, null));
+            }
+            snapshotGeneration = journal.compact();
+            store.update(1L, issue -> issue.setTitle("После снимка"));
+            store.remove(2L);
+            journal.flush().get(5, TimeUnit.SECONDS);
+        }
+
+        // Когда
+        List<String> files = fileNames();
+        try (MutationJournal journal = reopen()) {
+            // Тогда
+            assertTrue(files.contains(MutationJournal.snapshotName(snapshotGeneration)), "Снимок должен быть записан");
+            assertFalse(files.contains(MutationJournal.journalName(snapshotGeneration - 1)),
+                    "Журнал, покрытый снимком, должен быть удален");
+            assertEquals(99, store.size(), "Изменения после снимка должны примениться к нему");
+            assertEquals("После снимка", store.findById(1L).getTitle());
+            assertTrue(journal.getGeneration() > snapshotGeneration, "Должно начаться новое поколение");
+        }
+    }
+
+    @Test
+    @DisplayName("Должен отбрасывать недописанный хвост журнала")
+    public void testTornTail() throws Exception {
+        // Дано
+        try (MutationJournal journal = MutationJournal.open(directory, store, users)) {
+            store.put(issue(1L, null));
+            store.put(issue(2L, null));
+        }
+        Path lastJournal = directory.resolve(MutationJournal.journalName(1));
+        // Заголовок записи без данных, как после сбоя посреди записи
+        Files.write(lastJournal, new byte[] {0, 0, 0, 100, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        // Когда
+        try (MutationJournal journal = reopen()) {
+            store.put(issue(3L, null));
+        }
+        try (MutationJournal journal = reopen()) {
+            // Тогда
+            assertEquals(3, store.size(), "Записи до поврежденного хвоста и после перезапуска должны сохраниться");
+        }
+    }
+
+    @Test
+    @DisplayName("Должен останавливать восстановление на испорченной записи и не применять поздние поколения")
+    public void testStopAtCorruptRecord() throws Exception {
+        // Дано: первое поколение с задачами 1 и 2, второе с задачей 3
+        try (MutationJournal journal = MutationJournal.open(directory, store, users)) {
+            store.put(issue(1L, null));
+            store.put(issue(2L, null));
+        }
+        try (MutationJournal journal = reopen()) {
+            store.put(issue(3L, null));
+        }
+        Path first = directory.resolve(MutationJournal.journalName(1));
+        long intact = Files.size(first);
+        Files.write(first, new byte[] {0, 0, 0, 8, 9, 9, 9, 9, 1, 2, 3, 4, 5, 6, 7, 8}, StandardOpenOption.APPEND);
+
+        // Когда
+        try (MutationJournal journal = reopen()) {
+            // Тогда
+            assertEquals(2, store.size(), "Изменения после испорченной записи не должны применяться");
+            assertNull(store.findById(3L));
+            store.put(issue(4L, null));
+        }
+        assertEquals(intact, Files.size(first), "Журнал должен обрезаться до целых записей");
+        assertTrue(fileNames().contains(MutationJournal.journalName(1) + MutationJournal.DISCARDED_SUFFIX));
+        assertTrue(fileNames().contains(MutationJournal.journalName(2) + MutationJournal.DISCARDED_SUFFIX),
+                "Позднее поколение должно быть отложено, а не удалено");
+        try (MutationJournal journal = reopen()) {
+            assertEquals(3, store.size(), "Следующее открытие должно видеть то же состояние и новые изменения");
+            assertNotNull(store.findById(4L));
+        }
+    }
+
+    @Test
+    @DisplayName("После ошибки записи журнал должен отклонять изменения хранилищ")
+    public void testFailLoudlyAfterWriteError() throws Exception {
+        // Дано
+        MutationJournal journal = MutationJournal.open(directory, store, users);
+        store.put(issue(1L, null));
+        journal.flush().get(30, TimeUnit.SECONDS);
+        Field channel = MutationJournal.class.getDeclaredField("channel");
+        channel.setAccessible(true);
+        ((FileChannel) channel.get(journal)).close();
+
+        // Когда: запись следующего изменения падает на закрытом файле
+        store.put(issue(2L, null));
+        assertThrows(ExecutionException.class, () -> journal.flush().get(30, TimeUnit.SECONDS));
+
+        // Тогда
+        assertThrows(IllegalStateException.class, () -> store.put(issue(3L, null)));
+        assertNull(store.findById(3L), "Отклоненное изменение не должно попадать в хранилище");
+        assertThrows(IllegalStateException.class,
+                () -> users.save(new User("late", "secret", "Late User", "late@example.com")));
+        assertNull(users.findByLogin("late"));
+        assertThrows(IOException.class, journal::close);
+    }
+
+    @Test
+    @DisplayName("Должен записывать и восстанавливать десятки тысяч изменений")
+    public void testThroughput() throws Exception {
+        // Дано
+        int mutations = 50_000;
+        try (MutationJournal journal = MutationJournal.open(directory, store, users)) {
+            // Когда
+            for (long id = 1; id <= mutations; id++) {
+                store.put(issue(id, null));
+            }
+            journal.flush().get(30, TimeUnit.SECONDS);
+        }
+
+        // Тогда
+        try (MutationJournal journal = reopen()) {
+            assertEquals(mutations, store.size(), "Все изменения должны восстановиться");
+            assertEquals("DEMO-" + mutations, store.findById((long) mutations).getKey());
+        }
+    }
+
+    private List<String> fileNames() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString()).toList();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package ua.oip.jiralite.repository.impl.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ua.oip.jiralite.domain.Board;
+import ua.oip.jiralite.domain.Comment;
+import ua.oip.jiralite.domain.Issue;
+import ua.oip.jiralite.domain.Project;
+import ua.oip.jiralite.domain.User;
+import ua.oip.jiralite.domain.enums.Priority;
+import ua.oip.jiralite.domain.enums.Status;
+import ua.oip.jiralite.repository.impl.IssueMemoryStore;
+import ua.oip.jiralite.repository.impl.UserMemoryRepository;
+
+/**
+ * Тесты бинарного снимка SnapshotFile
+ */
+public class SnapshotFileTest {
+
+    @TempDir
+    Path directory;
+
+    private Project project;
+    private Board board;
+    private User john;
+
+    @BeforeEach
+    public void setUp() {
+        john = new User("john", "1234", "John Developer", "john@example.com");
+        john.setId(2L);
+
+        project = new Project();
+        project.setId(1L);
+        project.setKey("DEMO");
+        project.setName("Demo Project");
+        project.setLead(john);
+        john.getProjects().add(project);
+
+        board = new Board();
+        board.setId(10L);
+        board.setName("Основная доска");
+        board.setProject(project);
+    }
+
+    private Issue issue(long id, User assignee) {
+        Issue issue = new Issue();
+        issue.setId(id);
+        issue.setKey("DEMO-" + id);
+        issue.setTitle("Задача " + id);
+        issue.setStatus(Status.values()[(int) (id % Status.values().length)]);
+        issue.setPriority(Priority.MEDIUM);
+        issue.setProject(project);
+        issue.setBoard(board);
+        issue.setAssignee(assignee);
+        return issue;
+    }
+
+    @Test
+    @DisplayName("Должен сохранять задачи со связями и загружать их в хранилища")
+    public void testRoundTrip() throws IOException {
+        // Дано
+        User outsider = new User("outsider", "secret", "Outside Reviewer", "outsider@example.com");
+        outsider.setId(50L);
+        Issue first = issue(1L, john);
+        first.setDescription("Описание задачи");
+        first.addComment(new Comment("Комментарий", first, outsider));
+        Issue second = issue(2L, null);
+        Path file = directory.resolve("snapshot-1.dat");
+
+        // Когда
+        SnapshotFile.write(file, List.of(john), List.of(second, first));
+        IssueMemoryStore store = new IssueMemoryStore();
+        UserMemoryRepository users = new UserMemoryRepository();
+        int loaded = SnapshotFile.open(file).loadInto(store, users);
+
+        // Тогда
+        assertEquals(2, loaded);
+        User restoredJohn = users.findByLogin("john");
+        assertEquals("1234", restoredJohn.getPassword(), "Зарегистрированный пользователь сохраняется полностью");
+        assertNull(users.findByLogin("outsider"), "Автор комментария не становится зарегистрированным пользователем");
+
+        Issue restored = store.findById(1L);
+        assertEquals("Описание задачи", restored.getDescription());
+        assertEquals(first.getCreatedAt(), restored.getCreatedAt());
+        assertSame(restoredJohn, restored.getAssignee(), "Исполнитель должен ссылаться на пользователя из хранилища");
+        assertSame(restored.getProject(), store.findById(2L).getProject(), "Проект должен храниться один раз");
+        assertSame(restoredJohn, restored.getProject().getLead());
+        assertTrue(restoredJohn.getProjects().contains(restored.getProject()));
+        assertEquals("Outside Reviewer", restored.getComments().get(0).getAuthor().getFullName());
+        assertEquals("Основная доска", store.findByBoard(10L).get(0).getBoard().getName());
+    }
+
+    @Test
+    @DisplayName("Должен открывать снимок на 1M задач и искать в нем до полной загрузки")
+    public void testLazyLookupInLargeSnapshot() throws IOException {
+        // Дано: задачи создаются по одной при записи, чтобы не держать 1M объектов в памяти
+        int count = 1_000_000;
+        Path file = directory.resolve("snapshot-1.dat");
+        SnapshotFile.write(file, List.of(john), () -> new Iterator<Issue>() {
+            private long next = 1;
+
+            @Override
+            public boolean hasNext() {
+                return next <= count;
+            }
+
+            @Override
+            public Issue next() {
+                return issue(next++, john);
+            }
+        });
+
+        // Когда
+        SnapshotFile snapshot = SnapshotFile.open(file);
+        Random random = new Random(42);
+        for (int i = 0; i < 1000; i++) {
+            long id = 1 + random.nextInt(count);
+            assertEquals("DEMO-" + id, snapshot.findIssue(id).getKey());
+        }
+
+        // Тогда
+        assertEquals(count, snapshot.getIssueCount());
+        assertNotNull(snapshot.findIssue(count));
+        assertNull(snapshot.findIssue(count + 1L), "Отсутствующая задача не должна находиться");
+    }
+
+    @Test
+    @DisplayName("Должен отклонять поврежденный снимок")
+    public void testRejectsCorruptedSnapshot() throws IOException {
+        // Дано
+        Path file = directory.resolve("snapshot-1.dat");
+        SnapshotFile.write(file, List.of(john), List.of(issue(1L, john)));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {42}), channel.size() - 1);
+        }
+
+        // Когда / Тогда
+        assertThrows(IOException.class, () -> SnapshotFile.open(file), "Контрольная сумма должна не совпасть");
+    }
+}
@@ -0,0 +1,432 @@
+package ua.oip.jiralite.repository.impl.jpa;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import ua.oip.jiralite.domain.Board;
+import ua.oip.jiralite.domain.Comment;
+import ua.oip.jiralite.domain.Issue;
+import ua.oip.jiralite.domain.Project;
+import ua.oip.jiralite.domain.User;
+import ua.oip.jiralite.domain.enums.Priority;
+import ua.oip.jiralite.domain.enums.Status;
+import ua.oip.jiralite.repository.IssueCardRow;
+import ua.oip.jiralite.repository.IssueStats;
+
+/**
+ * Тесты пакетной записи и планов загрузки IssueJpaRepository на H2 (jiraliteTestPU)
+ */
+public class IssueJpaRepositoryTest {
+
+    private static final int ISSUE_COUNT = 2000;
+
+    private EntityManagerFactory emf;
+    private EntityManager entityManager;
+    private IssueJpaRepository repository;
+    private Statistics statistics;
+    private Project project;
+    private User lead;
+
+    @BeforeEach
+    public void setUp() {
+        emf = Persistence.createEntityManagerFactory("jiraliteTestPU",
+                Map.of("hibernate.generate_statistics", "true"));
+        entityManager = emf.createEntityManager();
+        repository = new IssueJpaRepository(entityManager);
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+
+        lead = new User("admin", "qwerty", "Administrator", "admin@example.com");
+        project = new Project();
+        project.setName("Demo Project");
+        project.setKey("DEMO");
+        project.setLead(lead);
+
+        entityManager.getTransaction().begin();
+        entityManager.persist(lead);
+        entityManager.persist(project);
+        entityManager.getTransaction().commit();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        entityManager.close();
+        emf.close();
+    }
+
+    private List<Issue> newIssues(int count) {
+        List<Issue> issues = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Issue issue = new Issue("DEMO-" + i, "Задача " + i, null, project, Status.TO_DO, Priority.MEDIUM);
+            issues.add(issue);
+        }
+        return issues;
+    }
+
+    @Test
+    @DisplayName("Должен сохранять задачи JDBC-пакетами")
+    public void testSaveAllUsesBatches() {
+        // Дано
+        List<Issue> issues = newIssues(ISSUE_COUNT);
+        statistics.clear();
+
+        // Когда
+        long started = System.nanoTime();
+        List<Issue> saved = repository.saveAll(issues);
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+        // Тогда
+        assertEquals(ISSUE_COUNT, saved.size(), "Должны вернуться все задачи");
+        assertNotNull(saved.get(ISSUE_COUNT - 1).getId(), "Задачи должны получить ID");
+        assertEquals(ISSUE_COUNT, repository.count(), "Все задачи должны быть в БД");
+
+        // Один пакет INSERT и один вызов последовательности на каждые 50 задач
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= 2L * ISSUE_COUNT / IssueJpaRepository.BATCH_SIZE + 5,
+                "Сохранение " + ISSUE_COUNT + " задач заняло " + statements + " запросов (" + elapsedMs + " мс)");
+    }
+
+    @Test
+    @DisplayName("Должен назначать ключ новой задаче, продолжая номера из БД")
+    public void testSaveAssignsKey() {
+        // Дано
+        repository.saveAll(newIssues(3));
+        IssueJpaRepository restarted = new IssueJpaRepository(entityManager);
+        Issue issue = new Issue(null, "Без ключа", lead, project, Status.TO_DO, Priority.MEDIUM);
+
+        // Когда
+        Issue saved = restarted.save(issue);
+
+        // Тогда
+        assertNotNull(saved.getId(), "ID должна выдать последовательность");
+        assertEquals("DEMO-4", saved.getKey(), "Номер ключа должен продолжать существующие");
+        assertEquals("DEMO-5", restarted.save(new Issue(null, "Еще одна", lead, project, Status.TO_DO,
+                Priority.LOW)).getKey());
+    }
+
+    @Test
+    @DisplayName("Разные экземпляры репозитория должны выдавать неповторяющиеся ключи")
+    public void testKeysUniqueAcrossRepositories() throws Exception {
+        // Дано: у каждого потока свой репозиторий, как у разных JVM с одной БД
+        repository.saveAll(newIssues(3));
+        int threads = 4;
+        int perThread = 25;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<List<String>>> results = new ArrayList<>();
+
+        // Когда
+        for (int t = 0; t < threads; t++) {
+            IssueJpaRepository own = new IssueJpaRepository(new JpaUnitOfWork(emf));
+            results.add(executor.submit(() -> {
+                List<String> keys = new ArrayList<>();
+                for (int i = 0; i < perThread; i++) {
+                    keys.add(own.save(new Issue(null, "Параллельная", null, project, Status.TO_DO,
+                            Priority.LOW)).getKey());
+                }
+                return keys;
+            }));
+        }
+        Set<String> keys = new HashSet<>();
+        for (Future<List<String>> result : results) {
+            keys.addAll(result.get());
+        }
+        executor.shutdown();
+
+        // Тогда
+        assertEquals(threads * perThread, keys.size(), "Ключи не должны повторяться");
+        for (int n = 4; n <= 3 + threads * perThread; n++) {
+            assertTrue(keys.contains("DEMO-" + n), "Номера должны идти без пропусков: DEMO-" + n);
+        }
+    }
+
+    @Test
+    @DisplayName("Номер ключа должен продолжать только ключи своего проекта с числовым номером")
+    public void testKeySequenceIgnoresForeignKeys() {
+        // Дано: символы LIKE в ключе проекта и ключи, похожие на его собственные
+        Project underscored = new Project();
+        underscored.setName("Underscored");
+        underscored.setKey("A_B");
+        underscored.setLead(lead);
+        entityManager.getTransaction().begin();
+        entityManager.persist(underscored);
+        entityManager.getTransaction().commit();
+        repository.saveAll(List.of(
+                new Issue("AXB-50", "Чужой проект", null, underscored, Status.TO_DO, Priority.LOW),
+                new Issue("A_B-X", "Нечисловой номер", null, underscored, Status.TO_DO, Priority.LOW),
+                new Issue("A_B-7", "Свой номер", null, underscored, Status.TO_DO, Priority.LOW)));
+
+        // Когда
+        Issue saved = repository.save(new Issue(null, "Новая", null, underscored, Status.TO_DO, Priority.LOW));
+
+        // Тогда
+        assertEquals("A_B-8", saved.getKey());
+        assertEquals("A\\_B-", IssueJpaRepository.escapeLike("A_B-"));
+    }
+
+    @Test
+    @DisplayName("Ключ, назначенный до сохранения, должен подтягивать счетчик проекта")
+    public void testAssignedKeyRaisesCounter() {
+        // Дано
+        repository.save(new Issue(null, "Первая", null, project, Status.TO_DO, Priority.LOW));
+
+        // Когда
+        repository.save(new Issue("DEMO-40", "Импортированная", null, project, Status.TO_DO, Priority.LOW));
+        Issue next = repository.save(new Issue(null, "Следующая", null, project, Status.TO_DO, Priority.LOW));
+
+        // Тогда
+        assertEquals("DEMO-41", next.getKey(), "Счетчик не должен выдать номер, уже занятый импортом");
+    }
+
+    @Test
+    @DisplayName("Должен менять статус задач массовым запросом")
+    public void testUpdateStatusBulk() {
+        // Дано
+        List<Long> ids = new ArrayList<>();
+        for (Issue issue : repository.saveAll(newIssues(ISSUE_COUNT))) {
+            ids.add(issue.getId());
+        }
+        statistics.clear();
+
+        // Когда
+        int updated = repository.updateStatusBulk(ids, Status.DONE);
+
+        // Тогда
+        assertEquals(ISSUE_COUNT, updated, "Должны обновиться все задачи");
+        assertTrue(statistics.getPrepareStatementCount() <= 2,
+                "Массовое обновление должно выполняться одним запросом на 1000 ID");
+        assertEquals(Status.DONE, repository.findById(ids.get(0)).getStatus(), "Статус должен измениться в БД");
+    }
+
+    /**
+     * Доска с задачами, назначенными разным исполнителям, и комментариями к первой задаче
+     */
+    private Board persistBoard(int issueCount, int assigneeCount) {
+        entityManager.getTransaction().begin();
+        Board board = new Board();
+        board.setName("Основная доска");
+        board.setProject(project);
+        entityManager.persist(board);
+
+        List<User> assignees = new ArrayList<>();
+        for (int i = 1; i <= assigneeCount; i++) {
+            User user = new User("dev" + i, "secret", "Developer " + i, "dev" + i + "@example.com");
+            entityManager.persist(user);
+            assignees.add(user);
+        }
+
+        for (int i = 1; i <= issueCount; i++) {
+            Issue issue = new Issue("DEMO-" + i, "Задача " + i, lead, project, Status.TO_DO, Priority.MEDIUM);
+            issue.setBoard(board);
+            issue.setAssignee(assignees.get(i % assigneeCount));
+            entityManager.persist(issue);
+            if (i == 1) {
+                for (User author : assignees) {
+                    issue.addComment(new Comment("Комментарий " + author.getUsername(), issue, author));
+                }
+            }
+        }
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+        return board;
+    }
+
+    @Test
+    @DisplayName("Должен загружать карточки доски с исполнителями одним запросом")
+    public void testBoardCardPlan() {
+        // Дано
+        Board board = persistBoard(40, 10);
+
+        // Когда: без плана связи приходят тем же запросом, а не отдельным SELECT на задачу
+        statistics.clear();
+        for (Issue issue : repository.findByBoard(board)) {
+            issue.getAssignee().getFullName();
+        }
+        long defaultStatements = statistics.getPrepareStatementCount();
+        entityManager.clear();
+
+        statistics.clear();
+        List<Issue> cards = repository.findByBoard(board, IssueFetchPlan.BOARD_CARD);
+        for (Issue issue : cards) {
+            issue.getAssignee().getFullName();
+        }
+
+        // Тогда
+        assertEquals(40, cards.size(), "Должны загрузиться все задачи доски");
+        assertEquals(1, statistics.getPrepareStatementCount(), "Карточки должны загружаться одним запросом");
+        assertEquals(1, defaultStatements, "Без плана исполнители не должны догружаться по одному");
+        assertFalse(Hibernate.isInitialized(cards.get(0).getComments()),
+                "Комментарии не нужны карточке и не должны загружаться");
+    }
+
+    @Test
+    @DisplayName("Задачи из методов интерфейса должны читаться после закрытия единицы работы")
+    public void testFindersReturnReadableAssociations() {
+        // Дано: каждый вызов репозитория в единице работы закрывает свой EntityManager
+        Board board = persistBoard(5, 2);
+        IssueJpaRepository detached = new IssueJpaRepository(new JpaUnitOfWork(emf));
+
+        // Когда
+        List<Issue> byBoard = detached.findByBoard(board);
+        List<Issue> byProject = detached.findByProject(project);
+        List<Issue> byAssignee = detached.findByAssignee(byBoard.get(0).getAssignee());
+        Issue byId = detached.findById(byBoard.get(0).getId());
+
+        // Тогда: обращение к связям не бросает LazyInitializationException
+        assertEquals(5, byBoard.size());
+        for (Issue issue : byBoard) {
+            assertTrue(issue.getAssignee().getFullName().startsWith("Developer"));
+            assertEquals("Administrator", issue.getReporter().getFullName());
+            assertEquals("Demo Project", issue.getProject().getName());
+            assertEquals("Основная доска", issue.getBoard().getName());
+        }
+        assertEquals(5, byProject.size());
+        assertEquals("Основная доска", byProject.get(4).getBoard().getName());
+        assertFalse(byAssignee.isEmpty());
+        assertEquals(byBoard.get(0).getAssignee().getFullName(), byAssignee.get(0).getAssignee().getFullName());
+        assertEquals(2, byId.getComments().size(), "Окно задачи должно получить комментарии");
+        assertEquals("Administrator", byId.getReporter().getFullName());
+    }
+
+    @Test
+    @DisplayName("Должен загружать задачу для окна деталей со всеми связями")
+    public void testIssueDetailPlan() {
+        // Дано
+        persistBoard(5, 3);
+        Issue first = repository.findByProject(project).get(0);
+        Long issueId = first.getId();
+        entityManager.clear();
+        statistics.clear();
+
+        // Когда
+        Issue issue = repository.findById(issueId, IssueFetchPlan.ISSUE_DETAIL);
+        StringBuilder rendered = new StringBuilder()
+            .append(issue.getProject().getName())
+            .append(issue.getBoard().getName())
+            .append(issue.getReporter().getFullName())
+            .append(issue.getAssignee().getFullName());
+        for (Comment comment : issue.getComments()) {
+            rendered.append(comment.getAuthor().getFullName());
+        }
+
+        // Тогда
+        assertEquals(3, issue.getComments().size(), "Должны загрузиться все комментарии");
+        assertFalse(rendered.isEmpty(), "Данные связей должны быть доступны");
+        assertTrue(statistics.getPrepareStatementCount() <= 2,
+                "Окно задачи должно загружаться не более чем двумя запросами: "
+                    + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Должен возвращать карточки доски проекцией без загрузки сущностей")
+    public void testCardProjection() {
+        // Дано
+        Board board = persistBoard(20, 4);
+        entityManager.getTransaction().begin();
+        Issue unassigned = new Issue("DEMO-21", "Без исполнителя", lead, project, Status.DONE, Priority.HIGH);
+        unassigned.setBoard(board);
+        unassigned.setDescription("x".repeat(1000));
+        entityManager.persist(unassigned);
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+        statistics.clear();
+
+        // Когда
+        List<IssueCardRow> cards = repository.findCardsByBoard(board);
+
+        // Тогда
+        assertEquals(21, cards.size(), "Должны вернуться все задачи доски");
+        assertEquals(1, statistics.getPrepareStatementCount(), "Карточки должны читаться одним запросом");
+        assertEquals(0, statistics.getEntityLoadCount(), "Сущности не должны попадать в контекст");
+
+        IssueCardRow first = cards.get(0);
+        assertEquals("DEMO-1", first.key());
+        assertEquals("Developer 2", first.assigneeName(), "Имя исполнителя должно приходить в строке");
+
+        IssueCardRow last = cards.get(20);
+        assertNull(last.assigneeName(), "Задача без исполнителя не должна теряться");
+        assertEquals(Status.DONE, last.status());
+        assertEquals(IssueJpaRepository.DESCRIPTION_PREVIEW_LENGTH, last.descriptionPreview().length(),
+                "Описание должно обрезаться запросом");
+    }
+
+    @Test
+    @DisplayName("Должен читать задачи keyset-страницами и потоком с отсоединением страниц")
+    public void testKeysetPagesAndStream() {
+        // Дано
+        repository.saveAll(newIssues(ISSUE_COUNT));
+
+        // Когда
+        List<Issue> firstPage = repository.findByProject(project, null, 100);
+        List<Issue> secondPage = repository.findByProject(project, firstPage.get(99).getId(), 100);
+        entityManager.clear();
+
+        long streamed = 0;
+        Issue previous = null;
+        try (Stream<Issue> stream = repository.streamAll()) {
+            for (Issue issue : (Iterable<Issue>) stream::iterator) {
+                if (previous != null) {
+                    assertTrue(previous.getId() < issue.getId(), "Поток должен идти по возрастанию ID");
+                }
+                previous = issue;
+                streamed++;
+            }
+        }
+
+        // Тогда
+        assertEquals(100, firstPage.size());
+        assertTrue(firstPage.get(99).getId() < secondPage.get(0).getId(), "Страницы не должны пересекаться");
+        assertEquals(ISSUE_COUNT, streamed, "Поток должен вернуть все задачи");
+        assertFalse(entityManager.contains(previous), "Прочитанные страницы должны отсоединяться");
+    }
+
+    @Test
+    @DisplayName("Должен считать статистику доски одним запросом")
+    public void testStatsInSingleQuery() {
+        // Дано
+        Board board = persistBoard(40, 4);
+        entityManager.getTransaction().begin();
+        Issue done = new Issue("DEMO-41", "Готово", lead, project, Status.DONE, Priority.HIGH);
+        done.setBoard(board);
+        entityManager.persist(done);
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+        statistics.clear();
+
+        // Когда
+        IssueStats stats = repository.statsByBoard(board);
+
+        // Тогда
+        assertEquals(1, statistics.getPrepareStatementCount(), "Статистика должна считаться одним запросом");
+        assertEquals(41, stats.getTotal());
+        assertEquals(40, stats.count(Status.TO_DO));
+        assertEquals(1, stats.count(Status.DONE));
+        assertEquals(1, stats.count(Priority.HIGH));
+        assertEquals(1, stats.getUnassigned(), "Задача без исполнителя должна учитываться отдельно");
+        assertEquals(4, stats.getByAssignee().size(), "Должны учитываться все исполнители");
+        assertEquals(stats.getByStatus(), repository.statsByProject(project).getByStatus(),
+                "У проекта одна доска, статистика должна совпадать");
+    }
+}
@@ -0,0 +1,134 @@
+package ua.oip.jiralite.repository.impl.jpa;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import ua.oip.jiralite.domain.Issue;
+import ua.oip.jiralite.domain.Project;
+import ua.oip.jiralite.domain.User;
+import ua.oip.jiralite.domain.enums.Priority;
+import ua.oip.jiralite.domain.enums.Status;
+
+/**
+ * Тесты единиц работы JPA и репозитория задач поверх них
+ */
+public class JpaUnitOfWorkTest {
+
+    private EntityManagerFactory emf;
+    private JpaUnitOfWork unitOfWork;
+    private IssueJpaRepository repository;
+    private Project project;
+
+    @BeforeEach
+    public void setUp() {
+        emf = Persistence.createEntityManagerFactory("jiraliteTestPU");
+        unitOfWork = new JpaUnitOfWork(emf);
+        repository = new IssueJpaRepository(unitOfWork);
+
+        User lead = new User("admin", "qwerty", "Administrator", "admin@example.com");
+        project = new Project();
+        project.setName("Demo Project");
+        project.setKey("DEMO");
+        project.setLead(lead);
+        unitOfWork.run(em -> {
+            em.persist(lead);
+            em.persist(project);
+        });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        emf.close();
+    }
+
+    private Issue newIssue(String key) {
+        return new Issue(key, "Задача " + key, null, project, Status.TO_DO, Priority.MEDIUM);
+    }
+
+    @Test
+    @DisplayName("Должен выполнять каждую операцию в короткой единице работы")
+    public void testShortLivedUnits() {
+        // Дано
+        Long id = repository.save(newIssue("DEMO-1")).getId();
+
+        // Когда
+        Issue first = repository.findById(id);
+        Issue second = repository.findById(id);
+
+        // Тогда
+        assertFalse(unitOfWork.isActive(), "После операции единица работы должна быть закрыта");
+        assertNotSame(first, second, "Каждая операция должна иметь собственный контекст");
+        assertThrows(IllegalStateException.class, unitOfWork::currentEntityManager,
+                "Вне единицы работы EntityManager недоступен");
+    }
+
+    @Test
+    @DisplayName("Должен объединять вызовы репозитория в одну транзакцию и откатывать их вместе")
+    public void testNestedCallsShareTransaction() {
+        // Когда
+        assertThrows(IllegalStateException.class, () -> unitOfWork.run(em -> {
+            repository.save(newIssue("DEMO-1"));
+            repository.saveAll(List.of(newIssue("DEMO-2"), newIssue("DEMO-3")));
+            throw new IllegalStateException("Ошибка посреди единицы работы");
+        }));
+
+        // Тогда
+        assertEquals(0, repository.count(), "Все изменения единицы работы должны откатиться");
+
+        // Когда
+        unitOfWork.run(em -> {
+            repository.save(newIssue("DEMO-4"));
+            repository.save(newIssue("DEMO-5"));
+        });
+
+        // Тогда
+        assertEquals(2, repository.count(), "Изменения должны зафиксироваться одной транзакцией");
+    }
+
+    @Test
+    @DisplayName("Должен безопасно работать из нескольких потоков")
+    public void testConcurrentWorkers() throws Exception {
+        // Дано
+        int threads = 4;
+        int perThread = 250;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // Когда
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int worker = t;
+                results.add(executor.submit(() -> {
+                    List<Issue> issues = new ArrayList<>();
+                    for (int i = 0; i < perThread; i++) {
+                        issues.add(newIssue("W" + worker + "-" + i));
+                    }
+                    repository.saveAll(issues);
+                    return repository.findByProject(project, null, 10_000).size();
+                }));
+            }
+            for (Future<Integer> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Тогда
+        assertEquals(threads * perThread, repository.count(), "Должны сохраниться задачи всех потоков");
+    }
+}
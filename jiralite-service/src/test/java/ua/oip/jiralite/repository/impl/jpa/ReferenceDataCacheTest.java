@@ -0,0 +1,146 @@
+package ua.oip.jiralite.repository.impl.jpa;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import ua.oip.jiralite.domain.Project;
+import ua.oip.jiralite.domain.User;
+
+/**
+ * Тесты кеша второго уровня и кеша запросов для справочных данных
+ */
+public class ReferenceDataCacheTest {
+
+    private EntityManagerFactory emf;
+    private ProjectJpaRepository projects;
+    private UserJpaRepository users;
+    private ReferenceDataCache cache;
+    private Statistics statistics;
+    private Project project;
+
+    @BeforeEach
+    public void setUp() {
+        emf = Persistence.createEntityManagerFactory("jiraliteTestPU");
+        JpaUnitOfWork unitOfWork = new JpaUnitOfWork(emf);
+        projects = new ProjectJpaRepository(unitOfWork);
+        users = new UserJpaRepository(unitOfWork);
+        cache = new ReferenceDataCache(emf);
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+
+        User lead = users.save(new User("admin", "qwerty", "Administrator", "admin@example.com"));
+        project = new Project();
+        project.setName("Demo Project");
+        project.setKey("DEMO");
+        project.setLead(lead);
+        project = projects.save(project);
+
+        cache.evictAll();
+        statistics.clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        emf.close();
+    }
+
+    @Test
+    @DisplayName("Должен читать проект из кеша второго уровня без запроса к БД")
+    public void testEntityCacheHit() {
+        // Когда
+        projects.findById(project.getId());
+        long afterFirstRead = statistics.getPrepareStatementCount();
+        Project cached = projects.findById(project.getId());
+
+        // Тогда
+        assertEquals("DEMO", cached.getKey());
+        assertEquals(afterFirstRead, statistics.getPrepareStatementCount(),
+                "Повторное чтение не должно обращаться к БД");
+        assertTrue(cache.getStatistics(Project.class).hits() >= 1, "Должно быть попадание в кеш проектов");
+        assertTrue(cache.getStatistics().hitRatio() > 0, "Доля попаданий должна быть положительной");
+    }
+
+    @Test
+    @DisplayName("Должен кешировать запросы справочников и вытеснять их при записи")
+    public void testQueryCacheEvictedOnWrite() {
+        // Дано
+        assertEquals(project.getId(), projects.findByKey("DEMO").getId());
+        projects.findByKey("DEMO");
+        users.findByLogin("admin");
+        users.findByLogin("admin");
+        CacheStatistics beforeWrite = cache.getStatistics();
+
+        // Когда
+        project.setKey("MAIN");
+        projects.save(project);
+
+        // Тогда
+        assertEquals(2, beforeWrite.queryHits(), "Повторные запросы должны браться из кеша");
+        assertNull(projects.findByKey("DEMO"), "После записи запрос не должен вернуть устаревший результат");
+        assertEquals(project.getId(), projects.findByKey("MAIN").getId());
+        assertTrue(cache.getStatistics().queryMisses() > beforeWrite.queryMisses(),
+                "После вытеснения запрос должен выполниться заново");
+    }
+
+    @Test
+    @DisplayName("Должен публиковать счетчики кеша в JMX")
+    public void testStatisticsPublishedOverJmx() throws Exception {
+        // Дано
+        projects.findById(project.getId());
+        projects.findById(project.getId());
+        projects.findByKey("DEMO");
+
+        // Когда
+        ObjectName name = cache.registerMBean();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        CacheStatistics current = cache.getStatistics();
+
+        // Тогда
+        assertNotNull(name, "MBean должен быть зарегистрирован");
+        assertEquals(true, server.getAttribute(name, "StatisticsEnabled"));
+        assertEquals(current.hits(), server.getAttribute(name, "Hits"));
+        assertEquals(current.queryMisses(), server.getAttribute(name, "QueryMisses"));
+        assertTrue((Long) server.getAttribute(name, "Hits") >= 1, "Повторное чтение должно попасть в кеш");
+    }
+
+    @Test
+    @DisplayName("Должен возвращать нули без исключений, если статистика выключена")
+    public void testStatisticsDisabled() {
+        // Дано
+        EntityManagerFactory withoutStatistics = Persistence.createEntityManagerFactory("jiraliteTestPU",
+                Map.of("hibernate.generate_statistics", "false"));
+        try {
+            ReferenceDataCache disabled = new ReferenceDataCache(withoutStatistics);
+
+            // Когда
+            CacheStatistics total = disabled.getStatistics();
+            CacheStatistics projectRegion = disabled.getStatistics(Project.class);
+
+            // Тогда
+            assertTrue(cache.isStatisticsEnabled(), "Тестовая единица собирает статистику");
+            assertFalse(disabled.isStatisticsEnabled());
+            assertEquals(0, total.hits() + total.misses() + total.queryHits() + total.queryMisses());
+            assertEquals(0, projectRegion.hits() + projectRegion.misses());
+            assertEquals(0, disabled.getHitRatio());
+        } finally {
+            withoutStatistics.close();
+        }
+    }
+}
@@ -1,6 +1,13 @@
 package ua.oip.jiralite.service;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -11,11 +18,14 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import ua.oip.jiralite.domain.Board;
+import ua.oip.jiralite.domain.Comment;
 import ua.oip.jiralite.domain.Issue;
 import ua.oip.jiralite.domain.Project;
 import ua.oip.jiralite.domain.User;
 import ua.oip.jiralite.domain.enums.Priority;
 import ua.oip.jiralite.domain.enums.Status;
+import ua.oip.jiralite.repository.impl.IssueMemoryRepository;
+import ua.oip.jiralite.repository.impl.IssueMemoryStore;
 import ua.oip.jiralite.service.AuthService.AuthException;
 
 /**
@@ -150,6 +160,80 @@ public class BoardServiceTest {
                 "Администратор должен иметь право редактировать задачу пользователя");
     }
     
+    @Test
+    @DisplayName("Должен брать ID и ключ новой задачи из внедренного репозитория")
+    public void testCreateIssueUsesInjectedRepository() {
+        // Дано
+        IssueMemoryStore store = new IssueMemoryStore();
+        Issue existing = new Issue("TEST-7", "Существующая задача", null, testProject, Status.TO_DO, Priority.LOW);
+        existing.setId(500L);
+        store.put(existing);
+        BoardService service = new BoardService(null, new IssueMemoryRepository(store), authService);
+        for (int i = 0; i < 500; i++) {
+            // Общий генератор по умолчанию не должен влиять на внедренное хранилище
+            BoardService.getIssueStore().getIdAllocator().nextId();
+        }
+
+        // Когда
+        Issue created = service.createIssue(testBoard, null, null, new Issue());
+
+        // Тогда
+        assertEquals(501L, created.getId(), "ID должен выдавать генератор внедренного хранилища");
+        assertEquals("TEST-8", created.getKey(), "Ключ должен продолжать ключи внедренного хранилища");
+        assertEquals("Нова задача 501", created.getTitle());
+        assertEquals("Существующая задача", store.findById(500L).getTitle(), "Существующая задача не должна меняться");
+    }
+    
+    @Test
+    @DisplayName("Параллельные смены статуса должны давать непрерывную цепочку перемещений")
+    public void testConcurrentStatusUpdates() throws Exception {
+        // Дано
+        IssueMemoryStore store = new IssueMemoryStore();
+        Issue issue = new Issue("TEST-1", "Гоночная задача", null, testProject, Status.TO_DO, Priority.LOW);
+        issue.setId(1L);
+        issue.setBoard(testBoard);
+        store.put(issue);
+        BoardService service = new BoardService(null, new IssueMemoryRepository(store), authService);
+        Map<Status, Integer> balance = new EnumMap<>(Status.class);
+        balance.put(Status.TO_DO, 1);
+        service.addIssueChangeListener(new IssueChangeListener() {
+            @Override
+            public synchronized void issueMoved(Issue moved, Status from, Status to) {
+                balance.merge(from, -1, Integer::sum);
+                balance.merge(to, 1, Integer::sum);
+            }
+        });
+        Status[] statuses = Status.values();
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // Когда
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < 2000; i++) {
+                        service.updateIssueStatus(1L, statuses[(i + offset) % statuses.length]);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        // Тогда: каждое перемещение начинается там, где закончилось предыдущее
+        for (Status status : statuses) {
+            int expected = status == issue.getStatus() ? 1 : 0;
+            assertEquals(expected, balance.getOrDefault(status, 0).intValue(), "Баланс перемещений для " + status);
+            assertEquals(expected, store.findByStatus(status).size(), "Индекс статусов для " + status);
+        }
+    }
+    
     @Test
     @DisplayName("Пользователь должен иметь право редактировать только свои задачи")
     public void testUserCanEditOnlyOwnIssues() throws AuthException {
@@ -198,4 +282,93 @@ public class BoardServiceTest {
         assertFalse(boardService.canUserEditIssue(createdAdminIssue), 
                 "Гость не должен иметь право редактировать задачу администратора");
     }
-} 
\ No newline at end of file
+    
+    @Test
+    @DisplayName("Должен уведомлять слушателей о добавлении, перемещении, изменении и удалении задачи")
+    public void testIssueChangeEvents() throws AuthException {
+        // Дано
+        User admin = authService.signIn("admin", "qwerty");
+        List<String> events = new ArrayList<>();
+        IssueChangeListener listener = new IssueChangeListener() {
+            @Override
+            public void issueAdded(Issue issue) {
+                events.add("added " + issue.getStatus());
+            }
+            
+            @Override
+            public void issueRemoved(Issue issue) {
+                events.add("removed");
+            }
+            
+            @Override
+            public void issueMoved(Issue issue, Status from, Status to) {
+                events.add("moved " + from + "->" + to);
+            }
+            
+            @Override
+            public void issueChanged(Issue issue) {
+                events.add("changed " + issue.getTitle());
+            }
+        };
+        boardService.addIssueChangeListener(listener);
+        
+        try {
+            Issue newIssue = new Issue();
+            newIssue.setTitle("Задача для событий");
+            newIssue.setStatus(Status.TO_DO);
+            
+            // Когда
+            Issue created = boardService.createIssue(testBoard, admin, admin, newIssue);
+            boardService.updateIssueStatus(created, Status.IN_PROGRESS);
+            boardService.updateIssueStatus(created.getId(), Status.IN_PROGRESS);
+            
+            Issue edited = new Issue();
+            edited.setId(created.getId());
+            edited.setTitle("Новое название");
+            edited.setStatus(Status.IN_PROGRESS);
+            edited.setKey(created.getKey());
+            boardService.updateIssue(edited);
+            
+            boardService.deleteIssue(created.getId());
+        } finally {
+            boardService.removeIssueChangeListener(listener);
+        }
+        
+        // Тогда
+        assertEquals(List.of("added TO_DO", "moved TO_DO->IN_PROGRESS", "changed Новое название", "removed"), events,
+                "Слушатель должен получить по одному событию на каждое изменение");
+    }
+    
+    @Test
+    @DisplayName("Комментарий из интерфейса должен добавляться к задаче, сохраняться и индексироваться")
+    public void testAddCommentFromUi() throws AuthException {
+        // Дано
+        User admin = authService.signIn("admin", "qwerty");
+        Issue newIssue = new Issue();
+        newIssue.setTitle("Задача с комментарием");
+        Issue created = boardService.createIssue(testBoard, admin, admin, newIssue);
+        List<Long> changed = new ArrayList<>();
+        IssueChangeListener listener = new IssueChangeListener() {
+            @Override
+            public void issueChanged(Issue issue) {
+                changed.add(issue.getId());
+            }
+        };
+        boardService.addIssueChangeListener(listener);
+        
+        // Когда
+        Comment comment;
+        try {
+            comment = boardService.addComment(created, admin, "ксилофонный отзыв");
+        } finally {
+            boardService.removeIssueChangeListener(listener);
+        }
+        
+        // Тогда
+        assertTrue(created.getComments().contains(comment), "Комментарий должен быть прикреплен к задаче");
+        assertNotNull(comment.getCreatedAt(), "Должно быть заполнено время создания");
+        assertEquals(List.of(created.getId()), changed, "Слушатели должны узнать об изменении задачи");
+        assertTrue(boardService.searchIssues("ксилофонный", true).contains(created),
+                "Текст комментария должен находиться поиском");
+    }
+}
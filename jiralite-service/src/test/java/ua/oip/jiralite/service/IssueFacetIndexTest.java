@@ -0,0 +1,156 @@
+package ua.oip.jiralite.service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ua.oip.jiralite.domain.Issue;
+import ua.oip.jiralite.domain.User;
+import ua.oip.jiralite.domain.enums.Priority;
+import ua.oip.jiralite.domain.enums.Status;
+
+/**
+ * Модульные тесты для IssueFacetIndex
+ */
+public class IssueFacetIndexTest {
+
+    private IssueFacetIndex index;
+    private User john;
+    private User admin;
+
+    @BeforeEach
+    public void setUp() {
+        index = new IssueFacetIndex();
+        john = new User("john", "1234", "John Developer", "john@example.com");
+        john.setId(2L);
+        admin = new User("admin", "qwerty", "Administrator", "admin@example.com");
+        admin.setId(1L);
+    }
+
+    private Issue issue(long id, Status status, Priority priority, User assignee) {
+        Issue issue = new Issue();
+        issue.setId(id);
+        issue.setTitle("Задача " + id);
+        issue.setStatus(status);
+        issue.setPriority(priority);
+        issue.setAssignee(assignee);
+        return issue;
+    }
+
+    @Test
+    @DisplayName("Должен фильтровать задачи пересечением фасетов")
+    public void testFilter() {
+        // Дано
+        index.update(issue(1L, Status.TO_DO, Priority.HIGH, john));
+        index.update(issue(2L, Status.TO_DO, Priority.LOW, admin));
+        index.update(issue(3L, Status.DONE, Priority.HIGH, john));
+        index.update(issue(4L, Status.TO_DO, Priority.HIGH, null));
+
+        // Когда / Тогда
+        assertEquals(List.of(1L, 4L), ids(index.filter(IssueFacetIndex.Filter.of(Status.TO_DO, Priority.HIGH, null))),
+                "Должны остаться задачи с обоими значениями фасетов");
+        assertEquals(List.of(1L, 3L), ids(index.filter(IssueFacetIndex.Filter.of(null, null, "John Developer"))),
+                "Фильтр по исполнителю должен использовать его полное имя");
+        assertEquals(List.of(4L), ids(index.filter(IssueFacetIndex.Filter.unassigned(null, null))),
+                "Должны находиться задачи без исполнителя");
+        assertTrue(index.filter(IssueFacetIndex.Filter.of(Status.IN_PROGRESS, null, null)).isEmpty(),
+                "Пустой фасет не должен давать результатов");
+    }
+
+    @Test
+    @DisplayName("Должен считать задачи для каждого варианта с учетом остальных фильтров")
+    public void testFacetCounts() {
+        // Дано
+        index.update(issue(1L, Status.TO_DO, Priority.HIGH, john));
+        index.update(issue(2L, Status.IN_PROGRESS, Priority.HIGH, admin));
+        index.update(issue(3L, Status.DONE, Priority.LOW, john));
+        IssueFacetIndex.Filter filter = IssueFacetIndex.Filter.of(Status.TO_DO, Priority.HIGH, null);
+
+        // Когда
+        Map<Status, Integer> byStatus = index.countByStatus(null, filter);
+        Map<Priority, Integer> byPriority = index.countByPriority(null, filter);
+        Map<String, Integer> byAssignee = index.countByAssignee(null, IssueFacetIndex.Filter.of(null, null, null));
+
+        // Тогда
+        assertEquals(1, byStatus.get(Status.TO_DO), "Счетчик статуса должен учитывать фильтр приоритета");
+        assertEquals(1, byStatus.get(Status.IN_PROGRESS), "Счетчик статуса должен учитывать фильтр приоритета");
+        assertEquals(0, byStatus.get(Status.DONE), "Задача с другим приоритетом не должна считаться");
+        assertEquals(1, byPriority.get(Priority.HIGH), "Счетчик приоритета должен учитывать фильтр статуса");
+        assertEquals(0, byPriority.get(Priority.LOW), "Счетчик приоритета должен учитывать фильтр статуса");
+        assertEquals(2, byAssignee.get("John Developer"), "Должны учитываться все задачи исполнителя");
+        assertEquals(0, byAssignee.get(null), "Задач без исполнителя нет");
+    }
+
+    @Test
+    @DisplayName("Должен переносить задачу между фасетами при изменении и удалять ее")
+    public void testUpdateAndRemove() {
+        // Дано
+        Issue issue = issue(1L, Status.TO_DO, Priority.MEDIUM, john);
+        index.update(issue);
+
+        // Когда
+        issue.setStatus(Status.DONE);
+        issue.setAssignee(null);
+        index.update(issue);
+
+        // Тогда
+        assertTrue(index.filter(IssueFacetIndex.Filter.of(Status.TO_DO, null, null)).isEmpty(),
+                "Задача не должна оставаться в старом статусе");
+        assertEquals(List.of(1L), ids(index.filter(IssueFacetIndex.Filter.unassigned(Status.DONE, null))),
+                "Задача должна попасть в новые значения фасетов");
+
+        // Когда
+        index.remove(1L);
+
+        // Тогда
+        assertEquals(0, index.size(), "Индекс должен быть пустым");
+        assertTrue(index.filter(IssueFacetIndex.Filter.of(null, null, null)).isEmpty(),
+                "Удаленная задача не должна находиться");
+    }
+
+    @Test
+    @DisplayName("Должен ограничивать фильтр результатами текстового поиска на 100k задач")
+    public void testLargeIndexWithCandidates() {
+        // Дано
+        List<Issue> issues = new ArrayList<>();
+        Status[] statuses = Status.values();
+        Priority[] priorities = Priority.values();
+        for (long id = 1; id <= 100_000; id++) {
+            issues.add(issue(id, statuses[(int) (id % statuses.length)],
+                    priorities[(int) (id % priorities.length)], id % 2 == 0 ? john : admin));
+        }
+        index = new IssueFacetIndex(issues);
+        BitSet candidates = index.toBits(issues.subList(0, 1000));
+
+        // Когда
+        int total = index.count(null, IssueFacetIndex.Filter.of(Status.TO_DO, null, "John Developer"));
+        int withinCandidates = index.count(candidates, IssueFacetIndex.Filter.of(Status.TO_DO, null, "John Developer"));
+
+        // Тогда
+        assertEquals(expectedCount(issues, Status.TO_DO, john, 100_000), total,
+                "Количество должно совпадать с прямым перебором");
+        assertEquals(expectedCount(issues, Status.TO_DO, john, 1000), withinCandidates,
+                "Результат должен ограничиваться кандидатами");
+    }
+
+    private static int expectedCount(List<Issue> issues, Status status, User assignee, int limit) {
+        int count = 0;
+        for (Issue issue : issues.subList(0, limit)) {
+            if (issue.getStatus() == status && issue.getAssignee() == assignee) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static List<Long> ids(List<Issue> issues) {
+        return issues.stream().map(Issue::getId).toList();
+    }
+}
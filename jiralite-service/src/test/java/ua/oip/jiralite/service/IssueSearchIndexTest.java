@@ -0,0 +1,110 @@
+package ua.oip.jiralite.service;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ua.oip.jiralite.domain.Comment;
+import ua.oip.jiralite.domain.Issue;
+import ua.oip.jiralite.domain.enums.Status;
+
+/**
+ * Модульные тесты для IssueSearchIndex
+ */
+public class IssueSearchIndexTest {
+
+    private IssueSearchIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new IssueSearchIndex();
+    }
+
+    private Issue issue(long id, String title, String description) {
+        Issue issue = new Issue();
+        issue.setId(id);
+        issue.setKey("DEMO-" + id);
+        issue.setTitle(title);
+        issue.setDescription(description);
+        issue.setStatus(Status.TO_DO);
+        return issue;
+    }
+
+    @Test
+    @DisplayName("Должен находить задачи по префиксам всех слов запроса")
+    public void testPrefixSearch() {
+        // Дано
+        index.index(issue(1L, "Налаштувати аутентифікацію", "Інтеграція з OAuth 2.0"));
+        index.index(issue(2L, "Розробити UI для дошки", "Створити інтерфейс канбан-дошки"));
+        index.index(issue(3L, "Написати документацію", "Документація для API"));
+
+        // Когда / Тогда
+        assertEquals(List.of(1L), ids(index.search("аутент")), "Префикс должен находить полное слово");
+        assertEquals(List.of(1L), ids(index.search("oauth інтегр")), "Все слова запроса должны совпасть");
+        assertTrue(index.search("oauth документ").isEmpty(), "Слова из разных задач не должны давать совпадения");
+        assertEquals(List.of(3L), ids(index.search("demo-3")), "Задача должна находиться по ключу");
+    }
+
+    @Test
+    @DisplayName("Должен ранжировать совпадения в названии выше совпадений в описании")
+    public void testRanking() {
+        // Дано
+        index.index(issue(1L, "Оновити залежності", "Перевірити звіт про безпеку"));
+        index.index(issue(2L, "Аудит безпеки", "Перевірити доступи"));
+        index.index(issue(3L, "Безпекові заголовки", null));
+
+        // Когда
+        List<Issue> result = index.search("безпек");
+
+        // Тогда
+        assertEquals(List.of(2L, 3L, 1L), ids(result),
+                "Совпадения в названии должны быть выше, точное слово - выше префикса");
+    }
+
+    @Test
+    @DisplayName("Должен искать только в выбранных полях")
+    public void testFieldFilter() {
+        // Дано
+        Issue withComment = issue(1L, "Задача", "Опис");
+        withComment.addComment(new Comment("Потрібен рефакторинг", withComment, null));
+        index.index(withComment);
+
+        // Когда / Тогда
+        assertEquals(1, index.search("рефакторинг").size(), "Комментарии должны индексироваться");
+        assertTrue(index.search("рефакторинг", EnumSet.of(IssueSearchIndex.Field.TITLE), 0).isEmpty(),
+                "Поиск только по названию не должен учитывать комментарии");
+    }
+
+    @Test
+    @DisplayName("Должен обновлять индекс по событиям изменения задач")
+    public void testIncrementalUpdate() {
+        // Дано
+        Issue issue = issue(1L, "Стара назва", null);
+        index.issueAdded(issue);
+
+        // Когда
+        issue.setTitle("Нова назва");
+        index.issueChanged(issue);
+
+        // Тогда
+        assertTrue(index.search("стара").isEmpty(), "Старые токены должны удаляться из индекса");
+        assertEquals(1, index.search("нова").size(), "Новые токены должны индексироваться");
+
+        // Когда
+        index.issueRemoved(issue);
+
+        // Тогда
+        assertTrue(index.search("назва").isEmpty(), "Удаленная задача не должна находиться");
+        assertFalse(index.contains(1L), "Удаленная задача не должна оставаться в индексе");
+    }
+
+    private static List<Long> ids(List<Issue> issues) {
+        return issues.stream().map(Issue::getId).toList();
+    }
+}
@@ -0,0 +1,225 @@
+package ua.oip.jiralite.service.acl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ua.oip.jiralite.domain.Issue;
+import ua.oip.jiralite.domain.Project;
+import ua.oip.jiralite.domain.User;
+import ua.oip.jiralite.domain.enums.Role;
+import ua.oip.jiralite.service.session.SecurityContext;
+
+/**
+ * Модульные тесты для ProjectAcl
+ */
+public class ProjectAclTest {
+
+    private ProjectAcl acl;
+    private Project open;
+    private Project secret;
+    private User admin;
+    private User john;
+    private User kate;
+    private User guest;
+
+    @BeforeEach
+    public void setUp() {
+        acl = new ProjectAcl();
+        open = project(1L, "OPEN");
+        secret = project(2L, "SECRET");
+        admin = user(1L, "admin", Role.ADMIN);
+        john = user(2L, "john", Role.USER);
+        kate = user(3L, "kate", Role.USER);
+        guest = user(4L, "guest", Role.GUEST);
+    }
+
+    private static Project project(long id, String key) {
+        Project project = new Project();
+        project.setId(id);
+        project.setKey(key);
+        return project;
+    }
+
+    private static User user(long id, String login, Role role) {
+        User user = new User(login, "password", role);
+        user.setId(id);
+        return user;
+    }
+
+    private static Issue issue(long id, Project project, User reporter) {
+        Issue issue = new Issue();
+        issue.setId(id);
+        issue.setTitle("Задача " + id);
+        issue.setProject(project);
+        issue.setReporter(reporter);
+        return issue;
+    }
+
+    @Test
+    @DisplayName("Проект без назначений должен подчиняться глобальным ролям")
+    public void testOpenProject() {
+        // Дано
+        Issue johnIssue = issue(1L, open, john);
+
+        // Когда / Тогда
+        assertFalse(acl.isRestricted(open));
+        assertTrue(acl.canView(SecurityContext.of(kate), johnIssue));
+        assertTrue(acl.canView(SecurityContext.of(guest), johnIssue));
+        assertTrue(acl.canEdit(SecurityContext.of(john), johnIssue), "Пользователь редактирует свою задачу");
+        assertFalse(acl.canEdit(SecurityContext.of(kate), johnIssue), "Чужую задачу редактировать нельзя");
+        assertFalse(acl.canEdit(SecurityContext.of(guest), johnIssue));
+        assertFalse(acl.canCreate(SecurityContext.of(guest), open));
+        assertFalse(acl.canView(SecurityContext.ANONYMOUS, johnIssue));
+    }
+
+    @Test
+    @DisplayName("Закрытый проект должен быть доступен только назначенным пользователям по их ролям")
+    public void testRestrictedProject() {
+        // Дано
+        acl.assign(john, secret, ProjectRole.MEMBER);
+        acl.assign(kate, secret, ProjectRole.LEAD);
+        acl.assign(guest, secret, ProjectRole.LEAD);
+        User outsider = user(5L, "outsider", Role.USER);
+        Issue kateIssue = issue(1L, secret, kate);
+        Issue johnIssue = issue(2L, secret, john);
+
+        // Когда / Тогда
+        assertTrue(acl.isRestricted(secret));
+        assertFalse(acl.canView(SecurityContext.of(outsider), kateIssue), "Без роли проект не виден");
+        assertFalse(acl.canCreate(SecurityContext.of(outsider), secret));
+
+        assertTrue(acl.canView(SecurityContext.of(john), kateIssue));
+        assertFalse(acl.canEdit(SecurityContext.of(john), kateIssue), "Участник редактирует только свои задачи");
+        assertTrue(acl.canEdit(SecurityContext.of(john), johnIssue));
+        assertFalse(acl.canDelete(SecurityContext.of(john), johnIssue), "Удаляет только руководитель");
+        assertTrue(acl.canCreate(SecurityContext.of(john), secret));
+
+        assertTrue(acl.canEdit(SecurityContext.of(kate), johnIssue));
+        assertTrue(acl.canDelete(SecurityContext.of(kate), johnIssue));
+
+        assertTrue(acl.canView(SecurityContext.of(guest), kateIssue));
+        assertFalse(acl.canEdit(SecurityContext.of(guest), kateIssue), "Гость только просматривает");
+        assertFalse(acl.canCreate(SecurityContext.of(guest), secret));
+
+        assertTrue(acl.canDelete(SecurityContext.of(admin), kateIssue), "Администратору доступно все");
+    }
+
+    @Test
+    @DisplayName("Изменение назначений должно сбрасывать закэшированные права")
+    public void testCacheInvalidation() {
+        // Дано
+        acl.assign(kate, secret, ProjectRole.VIEWER);
+        acl.assign(john, secret, ProjectRole.VIEWER);
+        Issue johnIssue = issue(1L, secret, john);
+        List<Issue> issues = List.of(johnIssue);
+        assertEquals(List.of(), acl.filterEditable(SecurityContext.of(john), issues));
+
+        // Когда
+        acl.assign(john, secret, ProjectRole.MEMBER);
+
+        // Тогда
+        assertEquals(ProjectRole.MEMBER, acl.getRole(john, secret));
+        assertEquals(issues, acl.filterEditable(SecurityContext.of(john), issues), "Повышение роли видно сразу");
+
+        // Когда
+        assertTrue(acl.revoke(john, secret));
+
+        // Тогда
+        assertFalse(acl.canView(SecurityContext.of(john), johnIssue), "Отзыв роли закрывает проект");
+        assertTrue(acl.isRestricted(secret), "У проекта остались назначения");
+        assertTrue(acl.revoke(kate, secret));
+        assertFalse(acl.isRestricted(secret), "Без назначений проект снова открыт");
+        assertTrue(acl.canView(SecurityContext.of(john), johnIssue));
+    }
+
+    @Test
+    @DisplayName("Смена глобальной роли должна действовать без сброса кэша")
+    public void testRoleChange() {
+        // Дано
+        acl.assign(john, secret, ProjectRole.LEAD);
+        Issue kateIssue = issue(1L, secret, kate);
+        assertTrue(acl.canEdit(SecurityContext.of(john), kateIssue));
+
+        // Когда
+        john.setRole(Role.GUEST);
+
+        // Тогда
+        assertTrue(acl.canView(SecurityContext.of(john), kateIssue), "Гость продолжает видеть проект");
+        assertFalse(acl.canEdit(SecurityContext.of(john), kateIssue), "Гость не редактирует даже как руководитель");
+        assertFalse(acl.canDelete(SecurityContext.of(john), kateIssue));
+
+        // Когда
+        john.setRole(Role.USER);
+
+        // Тогда
+        assertTrue(acl.canDelete(SecurityContext.of(john), kateIssue), "Права руководителя возвращаются");
+    }
+
+    @Test
+    @DisplayName("Должен работать с большими ID проектов")
+    public void testLargeProjectIds() {
+        // Дано
+        Project far = project(Integer.MAX_VALUE, "FAR");
+        Project beyond = project(Long.MAX_VALUE, "BEYOND");
+        acl.assign(john, far, ProjectRole.MEMBER);
+        acl.assign(kate, beyond, ProjectRole.VIEWER);
+
+        // Когда / Тогда
+        assertTrue(acl.isRestricted(far));
+        assertTrue(acl.isRestricted(beyond));
+        assertTrue(acl.canCreate(SecurityContext.of(john), far));
+        assertFalse(acl.canView(SecurityContext.of(john), issue(1L, beyond, kate)));
+        assertTrue(acl.canView(SecurityContext.of(kate), issue(1L, beyond, kate)));
+        assertFalse(acl.isRestricted(secret));
+    }
+
+    @Test
+    @DisplayName("Должен отфильтровывать тысячи задач пакетно с сохранением порядка")
+    public void testBatchFilter() {
+        // Дано
+        int projects = 100;
+        List<Project> all = new ArrayList<>();
+        for (int i = 1; i <= projects; i++) {
+            Project project = project(i, "P" + i);
+            all.add(project);
+            // Каждый третий проект закрыт, Джон участник каждого шестого
+            if (i % 3 == 0) {
+                acl.assign(kate, project, ProjectRole.LEAD);
+            }
+            if (i % 6 == 0) {
+                acl.assign(john, project, ProjectRole.MEMBER);
+            }
+        }
+        List<Issue> issues = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            issues.add(issue(i, all.get(i % projects), i % 2 == 0 ? john : kate));
+        }
+        SecurityContext context = SecurityContext.of(john);
+        int expected = 0;
+        for (Issue issue : issues) {
+            long projectId = issue.getProject().getId();
+            if (projectId % 3 != 0 || projectId % 6 == 0) {
+                expected++;
+            }
+        }
+
+        // Когда
+        List<Issue> visible = acl.filterVisible(context, issues);
+        List<Issue> editable = acl.filterEditable(context, issues);
+
+        // Тогда
+        assertEquals(expected, visible.size());
+        assertTrue(visible.stream().allMatch(issue -> acl.canView(context, issue)));
+        assertTrue(editable.stream().allMatch(issue -> issue.getReporter() == john),
+                "Джон редактирует только свои задачи");
+        assertEquals(visible.stream().filter(issue -> issue.getReporter() == john).toList(), editable,
+                "Редактировать можно все свои видимые задачи в исходном порядке");
+    }
+}
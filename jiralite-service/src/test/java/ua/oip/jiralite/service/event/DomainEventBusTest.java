@@ -0,0 +1,208 @@
+package ua.oip.jiralite.service.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ua.oip.jiralite.domain.Issue;
+import ua.oip.jiralite.domain.enums.Status;
+import ua.oip.jiralite.repository.impl.IssueMemoryRepository;
+import ua.oip.jiralite.repository.impl.IssueMemoryStore;
+import ua.oip.jiralite.service.BoardService;
+import ua.oip.jiralite.service.event.DomainEventBus.OverflowPolicy;
+
+/**
+ * Тесты асинхронной шины доменных событий
+ */
+public class DomainEventBusTest {
+
+    private DomainEventBus bus;
+
+    @BeforeEach
+    public void setUp() {
+        bus = new DomainEventBus();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        bus.close();
+    }
+
+    private static Issue issue(long id) {
+        Issue issue = new Issue();
+        issue.setId(id);
+        issue.setKey("DEMO-" + id);
+        issue.setStatus(Status.TO_DO);
+        return issue;
+    }
+
+    private static List<Long> ids(List<DomainEvent> events) {
+        return events.stream().map(event -> event.issue().getId()).toList();
+    }
+
+    @Test
+    @DisplayName("Должен доставлять накопившиеся события одним пакетом в порядке публикации")
+    public void testBatchedDelivery() throws InterruptedException {
+        // Дано
+        CountDownLatch firstBatchStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<List<DomainEvent>> batches = new CopyOnWriteArrayList<>();
+        bus.subscribe("batches", events -> {
+            batches.add(events);
+            firstBatchStarted.countDown();
+            await(release);
+        });
+
+        // Когда
+        bus.publish(new DomainEvent.IssueCreated(issue(1)));
+        assertTrue(firstBatchStarted.await(5, TimeUnit.SECONDS));
+        for (long id = 2; id <= 11; id++) {
+            bus.publish(new DomainEvent.IssueUpdated(issue(id)));
+        }
+        release.countDown();
+
+        // Тогда
+        assertTrue(bus.awaitIdle(5, TimeUnit.SECONDS));
+        assertEquals(2, batches.size(), "События, пришедшие во время обработки, должны объединиться");
+        assertEquals(List.of(1L), ids(batches.get(0)));
+        assertEquals(List.of(2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L, 11L), ids(batches.get(1)));
+    }
+
+    @Test
+    @DisplayName("Медленный подписчик не должен задерживать остальных")
+    public void testSubscribersAreIsolated() throws InterruptedException {
+        // Дано
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch fastReceived = new CountDownLatch(3);
+        bus.subscribe("slow", events -> await(release));
+        bus.subscribe("fast", events -> events.forEach(event -> fastReceived.countDown()));
+
+        // Когда
+        for (long id = 1; id <= 3; id++) {
+            bus.publish(new DomainEvent.IssueCreated(issue(id)));
+        }
+
+        // Тогда
+        assertTrue(fastReceived.await(5, TimeUnit.SECONDS), "Быстрый подписчик должен получить все события");
+        release.countDown();
+        assertTrue(bus.awaitIdle(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Должен притормаживать издателя при заполненной очереди, не теряя событий")
+    public void testBlockingBackPressure() throws InterruptedException {
+        // Дано
+        CountDownLatch release = new CountDownLatch(1);
+        List<Long> received = new CopyOnWriteArrayList<>();
+        bus.subscribe("bounded", events -> {
+            await(release);
+            received.addAll(ids(events));
+        }, null, 2, 1, OverflowPolicy.BLOCK);
+        AtomicInteger published = new AtomicInteger();
+        Thread publisher = new Thread(() -> {
+            for (long id = 1; id <= 10; id++) {
+                bus.publish(new DomainEvent.IssueCreated(issue(id)));
+                published.incrementAndGet();
+            }
+        });
+
+        // Когда
+        publisher.start();
+        publisher.join(300);
+
+        // Тогда
+        assertTrue(publisher.isAlive(), "Издатель должен ждать места в очереди");
+        assertTrue(published.get() < 10, "Опубликовано " + published.get() + " событий");
+        release.countDown();
+        publisher.join(5000);
+        assertTrue(bus.awaitIdle(5, TimeUnit.SECONDS));
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L), received);
+    }
+
+    @Test
+    @DisplayName("Должен отбрасывать события при переполнении и сообщать подписчику о пропуске")
+    public void testDropOverflow() throws InterruptedException {
+        // Дано
+        CountDownLatch firstBatchStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Long> received = new CopyOnWriteArrayList<>();
+        AtomicInteger dropped = new AtomicInteger();
+        bus.subscribe("lossy", new DomainEventSubscriber() {
+            @Override
+            public void onEvents(List<DomainEvent> events) {
+                received.addAll(ids(events));
+                firstBatchStarted.countDown();
+                await(release);
+            }
+
+            @Override
+            public void onOverflow(int count) {
+                dropped.addAndGet(count);
+            }
+        }, null, 2, 10, OverflowPolicy.DROP);
+
+        // Когда
+        bus.publish(new DomainEvent.IssueCreated(issue(1)));
+        assertTrue(firstBatchStarted.await(5, TimeUnit.SECONDS));
+        for (long id = 2; id <= 6; id++) {
+            bus.publish(new DomainEvent.IssueCreated(issue(id)));
+        }
+        release.countDown();
+        assertTrue(bus.awaitIdle(5, TimeUnit.SECONDS));
+        bus.publish(new DomainEvent.IssueCreated(issue(7)));
+
+        // Тогда
+        assertTrue(bus.awaitIdle(5, TimeUnit.SECONDS));
+        assertEquals(3, dropped.get(), "В очередь на два события не поместились три");
+        assertEquals(List.of(1L, 7L), received, "После пропуска подписчик перечитывает состояние сам");
+    }
+
+    @Test
+    @DisplayName("BoardService должен публиковать типизированные события изменений задач")
+    public void testBoardServicePublishesEvents() throws InterruptedException {
+        // Дано
+        IssueMemoryRepository repository = new IssueMemoryRepository(new IssueMemoryStore());
+        BoardService service = new BoardService(null, repository, null);
+        Issue issue = issue(1);
+        repository.save(issue);
+        List<DomainEvent> events = new ArrayList<>();
+        service.getEventBus().subscribe("test", events::addAll);
+
+        // Когда
+        service.updateIssueStatus(issue.getId(), Status.DONE);
+        service.addComment(issue, null, "Готово");
+        service.deleteIssue(issue.getId());
+
+        // Тогда
+        assertTrue(service.getEventBus().awaitIdle(5, TimeUnit.SECONDS));
+        service.getEventBus().close();
+        assertEquals(4, events.size());
+        DomainEvent.IssueMoved moved = assertInstanceOf(DomainEvent.IssueMoved.class, events.get(0));
+        assertEquals(Status.TO_DO, moved.from());
+        assertEquals(Status.DONE, moved.to());
+        assertInstanceOf(DomainEvent.IssueUpdated.class, events.get(1));
+        DomainEvent.CommentAdded commented = assertInstanceOf(DomainEvent.CommentAdded.class, events.get(2));
+        assertEquals("Готово", commented.comment().getText());
+        assertTrue(issue.getComments().contains(commented.comment()), "Событие несет прикрепленный к задаче комментарий");
+        assertInstanceOf(DomainEvent.IssueRemoved.class, events.get(3));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
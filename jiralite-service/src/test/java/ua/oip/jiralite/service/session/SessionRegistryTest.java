@@ -0,0 +1,133 @@
+package ua.oip.jiralite.service.session;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ua.oip.jiralite.domain.User;
+import ua.oip.jiralite.domain.enums.Role;
+import ua.oip.jiralite.service.AuthService;
+import ua.oip.jiralite.service.AuthService.AuthException;
+
+/**
+ * Тесты реестра сессий и контекста безопасности
+ */
+public class SessionRegistryTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private SessionRegistry registry;
+
+    @BeforeEach
+    public void setUp() {
+        registry = new SessionRegistry(Duration.ofMinutes(10), clock::get);
+    }
+
+    private static User user(String login, Role role) {
+        User user = new User(login, "secret", login, login + "@example.com");
+        user.setRole(role);
+        return user;
+    }
+
+    @Test
+    @DisplayName("Должен находить сессию по токену до выхода")
+    public void testOpenResolveInvalidate() {
+        // Дано
+        User john = user("john", Role.USER);
+
+        // Когда
+        Session session = registry.open(john);
+
+        // Тогда
+        SecurityContext context = registry.resolve(session.getToken());
+        assertSame(john, context.getUser());
+        assertEquals(session.getToken(), context.getToken());
+        assertTrue(context.canEditIssue());
+        assertNull(registry.resolve("неизвестный"), "Неизвестный токен не должен давать контекст");
+        assertTrue(registry.invalidate(session.getToken()));
+        assertNull(registry.resolve(session.getToken()), "После выхода сессия недоступна");
+    }
+
+    @Test
+    @DisplayName("Должен завершать сессии, неактивные дольше тайм-аута")
+    public void testIdleExpiry() {
+        // Дано
+        Session active = registry.open(user("john", Role.USER));
+        Session idle = registry.open(user("guest", Role.GUEST));
+
+        // Когда
+        clock.addAndGet(Duration.ofMinutes(8).toNanos());
+        registry.resolve(active.getToken());
+        clock.addAndGet(Duration.ofMinutes(8).toNanos());
+
+        // Тогда
+        assertEquals(1, registry.expireIdle(), "Обращение должно продлевать сессию");
+        assertNull(registry.resolve(idle.getToken()));
+        assertTrue(registry.resolve(active.getToken()).canDeleteIssue());
+        clock.addAndGet(Duration.ofMinutes(11).toNanos());
+        assertNull(registry.resolve(active.getToken()), "Просроченная сессия не должна возвращаться");
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    @DisplayName("Должен выдавать уникальные токены при параллельном входе")
+    public void testConcurrentOpen() throws InterruptedException {
+        // Дано
+        int threads = 8;
+        int perThread = 2_000;
+        Set<String> tokens = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // Когда
+        for (int t = 0; t < threads; t++) {
+            User owner = user("user" + t, Role.USER);
+            executor.execute(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    Session session = registry.open(owner);
+                    assertSame(owner, registry.resolve(session.getToken()).getUser());
+                    tokens.add(session.getToken());
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        // Тогда
+        assertEquals(threads * perThread, tokens.size());
+        assertEquals(threads * perThread, registry.size());
+    }
+
+    @Test
+    @DisplayName("Сессии AuthService не должны менять текущего пользователя приложения")
+    public void testAuthServiceSessionsAreIndependent() throws AuthException {
+        // Дано
+        AuthService authService = AuthService.getInstance();
+        authService.logout();
+
+        // Когда
+        SecurityContext admin = authService.openSession("admin", "qwerty");
+        SecurityContext guest = authService.openSession("guest", "guest");
+
+        // Тогда
+        assertNull(authService.getCurrentUser(), "Текущий пользователь не должен меняться");
+        assertNotEquals(admin.getToken(), guest.getToken());
+        assertEquals(Role.ADMIN, authService.getSession(admin.getToken()).getRole());
+        assertFalse(authService.getSession(guest.getToken()).canEditIssue());
+        authService.closeSession(guest.getToken());
+        assertNull(authService.getSession(guest.getToken()));
+        authService.closeSession(admin.getToken());
+    }
+}
@@ -0,0 +1,192 @@
+package ua.oip.jiralite.service.transfer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ua.oip.jiralite.domain.Board;
+import ua.oip.jiralite.domain.Issue;
+import ua.oip.jiralite.domain.Project;
+import ua.oip.jiralite.domain.User;
+import ua.oip.jiralite.domain.enums.Priority;
+import ua.oip.jiralite.domain.enums.Status;
+import ua.oip.jiralite.repository.impl.IssueMemoryRepository;
+import ua.oip.jiralite.repository.impl.IssueMemoryStore;
+import ua.oip.jiralite.repository.impl.UserMemoryRepository;
+
+/**
+ * Тесты потокового импорта и экспорта задач
+ */
+public class IssueTransferTest {
+
+    private IssueMemoryRepository repository;
+    private UserMemoryRepository users;
+    private IssueImporter importer;
+    private Project project;
+    private Board board;
+    private User admin;
+
+    @BeforeEach
+    public void setUp() {
+        repository = new IssueMemoryRepository(new IssueMemoryStore());
+        users = new UserMemoryRepository();
+        importer = new IssueImporter(repository, users, null);
+        admin = users.findByLogin("admin");
+
+        project = new Project();
+        project.setId(1L);
+        project.setKey("DEMO");
+
+        board = new Board();
+        board.setId(10L);
+        board.setName("Основная доска");
+        board.setProject(project);
+    }
+
+    @Test
+    @DisplayName("Должен экспортировать и импортировать задачи через CSV без потерь")
+    public void testCsvRoundTrip() throws IOException {
+        // Дано
+        Issue issue = new Issue("DEMO-1", "Поле с запятой, и \"кавычками\"", admin, project, Status.IN_PROGRESS,
+            Priority.HIGH);
+        issue.setDescription("Первая строка\nвторая строка");
+        issue.setAssignee(users.findByLogin("john"));
+        issue.setBoard(board);
+        repository.save(issue);
+        repository.save(new Issue("DEMO-2", "Простая задача", admin, project, Status.DONE, Priority.LOW));
+
+        StringWriter csv = new StringWriter();
+        try (Stream<Issue> issues = repository.streamByProject(project)) {
+            new IssueExporter().export(issues, csv, IssueFormat.CSV, null);
+        }
+
+        // Когда
+        IssueMemoryRepository target = new IssueMemoryRepository(new IssueMemoryStore());
+        ImportResult result = new IssueImporter(target, users, null)
+            .importIssues(new StringReader(csv.toString()), IssueFormat.CSV, board, null, null);
+
+        // Тогда
+        assertEquals(2, result.imported(), "Ошибки: " + result.errors());
+        Issue restored = target.findByKey("DEMO-1");
+        assertEquals(issue.getTitle(), restored.getTitle());
+        assertEquals(issue.getDescription(), restored.getDescription(), "Перенос строки должен сохраниться");
+        assertEquals(Status.IN_PROGRESS, restored.getStatus());
+        assertEquals(Priority.HIGH, restored.getPriority());
+        assertSame(users.findByLogin("john"), restored.getAssignee(), "Исполнитель находится по логину");
+        assertEquals(issue.getCreatedAt(), restored.getCreatedAt());
+        assertSame(board, restored.getBoard());
+    }
+
+    @Test
+    @DisplayName("Должен импортировать корректные строки JSON Lines и сообщать об ошибках остальных")
+    public void testJsonLinesWithInvalidRows() throws IOException {
+        // Дано
+        String jsonl = String.join("\n",
+            "{\"title\":\"Задача 1\",\"status\":\"to do\",\"assignee\":\"john\"}",
+            "{\"title\":\"\",\"status\":\"DONE\"}",
+            "{\"title\":\"Задача 3\",\"status\":\"ARCHIVED\"}",
+            "",
+            "{\"title\":\"Задача 5\",\"assignee\":\"nobody\"}",
+            "{\"title\": \"Задача 6\\u0021\", \"priority\": \"LOWEST\", \"extra\": 42}",
+            "{\"title\":\"Задача 7\"");
+        List<long[]> progress = new ArrayList<>();
+
+        // Когда
+        ImportResult result = new IssueImporter(repository, users, null, 2).importIssues(
+            new StringReader(jsonl), IssueFormat.JSON_LINES, board, admin,
+            (processed, failed) -> progress.add(new long[] {processed, failed}));
+
+        // Тогда
+        assertEquals(2, result.imported());
+        assertEquals(4, result.failed());
+        assertEquals(List.of(2L, 3L, 5L, 7L), result.errors().stream().map(ImportResult.RowError::line).toList(),
+            "Ошибки должны указывать номера строк файла");
+        Issue sixth = repository.findByProject(project).get(1);
+        assertEquals("Задача 6!", sixth.getTitle(), "Escape-последовательности должны раскрываться");
+        assertSame(admin, sixth.getReporter(), "Без автора в строке используется автор импорта");
+        assertEquals("DEMO-1", repository.findByProject(project).get(0).getKey(), "Ключи должны генерироваться");
+        assertEquals(3, progress.size(), "Прогресс сообщается после каждого пакета");
+        assertEquals(2, progress.get(progress.size() - 1)[0]);
+    }
+
+    @Test
+    @DisplayName("Должен отклонять только строки с занятым ключом")
+    public void testDuplicateKeyRejectsOnlyConflictingRow() throws IOException {
+        // Дано
+        repository.save(new Issue("DEMO-7", "Существующая", admin, project, Status.TO_DO, Priority.MEDIUM));
+        String csv = "key,title\nDEMO-5,Первая\nDEMO-7,Конфликт\nDEMO-8,Третья\n";
+
+        // Когда
+        ImportResult result = importer.importIssues(new StringReader(csv), IssueFormat.CSV, board, admin, null);
+
+        // Тогда
+        assertEquals(2, result.imported());
+        assertEquals(1, result.failed());
+        assertEquals(3L, result.errors().get(0).line());
+        assertEquals("Существующая", repository.findByKey("DEMO-7").getTitle());
+        assertNull(repository.findByKey("DEMO-6"));
+    }
+
+    @Test
+    @DisplayName("Должен импортировать сотни тысяч строк CSV в постоянной памяти")
+    public void testLargeImport() throws IOException {
+        // Дано
+        int rows = 200_000;
+
+        // Когда
+        ImportResult result = importer.importIssues(new GeneratedCsv(rows), IssueFormat.CSV, board, admin, null);
+
+        // Тогда
+        assertEquals(rows, result.imported(), "Ошибки: " + result.errors());
+        assertEquals(rows, repository.getStore().size());
+    }
+
+    /**
+     * CSV, строки которого генерируются по мере чтения
+     */
+    private static final class GeneratedCsv extends Reader {
+
+        private final int rows;
+        private final StringBuilder chunk = new StringBuilder("key,title,description,status,priority,assignee\n");
+        private int position;
+        private int nextRow = 1;
+
+        GeneratedCsv(int rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (position == chunk.length()) {
+                if (nextRow > rows) {
+                    return -1;
+                }
+                chunk.setLength(0);
+                position = 0;
+                for (int i = 0; i < 1000 && nextRow <= rows; i++, nextRow++) {
+                    chunk.append("IMP-").append(nextRow).append(",Задача ").append(nextRow)
+                        .append(",\"Описание, строка ").append(nextRow).append("\",IN_PROGRESS,HIGH,john\n");
+                }
+            }
+            int count = Math.min(length, chunk.length() - position);
+            chunk.getChars(position, position + count, buffer, offset);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
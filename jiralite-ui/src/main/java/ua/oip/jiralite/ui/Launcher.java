@@ -1,12 +1,18 @@
 package ua.oip.jiralite.ui;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
 import javax.swing.SwingUtilities;
 import javax.swing.UIManager;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import ua.oip.jiralite.repository.impl.UserMemoryRepository;
+import ua.oip.jiralite.repository.impl.journal.MutationJournal;
 import ua.oip.jiralite.service.AuthService;
+import ua.oip.jiralite.service.BoardService;
 import ua.oip.jiralite.ui.frame.LoginFrame;
 
 /**
@@ -17,7 +23,12 @@ public class Launcher {
     
     private static final Logger log = LoggerFactory.getLogger(Launcher.class);
     
+    /** Каталог журнала изменений; без него данные хранятся только в памяти */
+    public static final String JOURNAL_DIR_PROPERTY = "jiralite.journal.dir";
+    
     public static void main(String[] args) {
+        openJournal();
+        
         // Применяем системный Look and Feel
         try {
             UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
@@ -38,4 +49,32 @@ public class Launcher {
             log.error("Error setting look and feel", e);
         }
     }
+    
+    /**
+     * Восстанавливает in-memory хранилища из журнала изменений, если задан его каталог,
+     * и закрывает журнал при завершении программы
+     */
+    private static void openJournal() {
+        String directory = System.getProperty(JOURNAL_DIR_PROPERTY);
+        if (directory == null || directory.isBlank()) {
+            return;
+        }
+        if (!(AuthService.getInstance().getUserRepository() instanceof UserMemoryRepository users)) {
+            log.warn("Journal is supported only for in-memory repositories");
+            return;
+        }
+        
+        try {
+            MutationJournal journal = MutationJournal.open(Path.of(directory), BoardService.getIssueStore(), users);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    journal.close();
+                } catch (IOException e) {
+                    log.error("Error closing journal", e);
+                }
+            }, "jiralite-journal-shutdown"));
+        } catch (IOException e) {
+            log.error("Error opening journal {}", directory, e);
+        }
+    }
 } 
\ No newline at end of file
@@ -261,9 +261,13 @@ public class IssueDialog extends JDialog {
         DefaultListModel<Comment> commentsModel = new DefaultListModel<>();
         
         // Додаємо існуючі коментарі, якщо задача не нова
-        if (!isNewIssue && issue.getComments() != null) {
-            for (Comment comment : issue.getComments()) {
-                commentsModel.addElement(comment);
+        if (!isNewIssue) {
+            synchronized (issue) {
+                if (issue.getComments() != null) {
+                    for (Comment comment : issue.getComments()) {
+                        commentsModel.addElement(comment);
+                    }
+                }
             }
         }
         
@@ -353,31 +357,27 @@ public class IssueDialog extends JDialog {
             return;
         }
         
-        // Створюємо новий коментар
-        Comment comment = new Comment(commentText, isNewIssue ? null : issue, currentUser);
-        comment.setCreatedAt(LocalDateTime.now());
+        DefaultListModel<Comment> model = (DefaultListModel<Comment>) commentsList.getModel();
         
         if (isNewIssue) {
             // Для нових задач просто показуємо коментар у списку, він буде збережений при збереженні задачі
-            DefaultListModel<Comment> model = (DefaultListModel<Comment>) commentsList.getModel();
+            Comment comment = new Comment(commentText, null, currentUser);
+            comment.setCreatedAt(LocalDateTime.now());
             model.addElement(comment);
-        } else {
-            // Для існуючої задачі додаємо коментар до моделі задачі
-            if (issue.getComments() == null) {
-                issue.setComments(new java.util.ArrayList<>());
+        } else if (boardService == null) {
+            // Без сервісу додаємо коментар лише до моделі задачі
+            Comment comment = new Comment(commentText, issue, currentUser);
+            comment.setCreatedAt(LocalDateTime.now());
+            synchronized (issue) {
+                issue.addComment(comment);
             }
-            issue.getComments().add(comment);
-            
-            // Додаємо коментар до списку UI
-            DefaultListModel<Comment> model = (DefaultListModel<Comment>) commentsList.getModel();
             model.addElement(comment);
-            
-            // Зберігаємо коментар через сервіс
-            if (boardService != null) {
-                boardService.addComment(issue, currentUser, commentText);
-                System.out.println("IssueDialog.addComment: додано коментар: " + 
-                    commentText.substring(0, Math.min(30, commentText.length())) + "...");
-            }
+        } else {
+            // Для існуючої задачі сервіс додає коментар до задачі, зберігає її та повідомляє слухачів
+            Comment comment = boardService.addComment(issue, currentUser, commentText);
+            model.addElement(comment);
+            System.out.println("IssueDialog.addComment: додано коментар: " + 
+                commentText.substring(0, Math.min(30, commentText.length())) + "...");
         }
         
         // Очищаємо поле вводу
@@ -502,16 +502,8 @@ public class IssueDialog extends JDialog {
                     // Додаємо початковий коментар, якщо є
                     String commentText = commentArea.getText().trim();
                     if (!commentText.isEmpty()) {
-                        Comment comment = new Comment(commentText, createdIssue, currentUser);
-                        comment.setCreatedAt(LocalDateTime.now());
-                        
-                        // Ініціалізуємо список коментарів, якщо він порожній
-                        if (createdIssue.getComments() == null) {
-                            createdIssue.setComments(new java.util.ArrayList<>());
-                        }
-                        
-                        // Додаємо коментар до списку
-                        createdIssue.getComments().add(comment);
+                        // Сервіс додає коментар під монітором задачі та зберігає її
+                        boardService.addComment(createdIssue, currentUser, commentText);
                         
                         System.out.println("IssueDialog.saveIssue: додано коментар до задачі: " + 
                             commentText.substring(0, Math.min(30, commentText.length())) + "...");
@@ -534,16 +526,8 @@ public class IssueDialog extends JDialog {
                 // Додаємо новий коментар, якщо потрібно
                 String commentText = commentArea.getText().trim();
                 if (!commentText.isEmpty()) {
-                    Comment comment = new Comment(commentText, issue, currentUser);
-                    comment.setCreatedAt(LocalDateTime.now());
-                    
-                    // Ініціалізуємо список коментарів, якщо він порожній
-                    if (issue.getComments() == null) {
-                        issue.setComments(new java.util.ArrayList<>());
-                    }
-                    
-                    // Додаємо коментар до списку та оновлюємо модель
-                    issue.getComments().add(comment);
+                    // Сервіс додає коментар під монітором задачі та зберігає її
+                    Comment comment = boardService.addComment(issue, currentUser, commentText);
                     
                     // Додаємо коментар до UI моделі
                     DefaultListModel<Comment> commentsModel = (DefaultListModel<Comment>) commentsList.getModel();
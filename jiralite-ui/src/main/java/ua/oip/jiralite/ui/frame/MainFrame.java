@@ -8,10 +8,18 @@ import java.awt.event.ComponentAdapter;
 import java.awt.event.ComponentEvent;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
 
 import javax.swing.BorderFactory;
 import javax.swing.Box;
@@ -23,6 +31,7 @@ import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JSplitPane;
 import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,8 +41,12 @@ import ua.oip.jiralite.domain.Issue;
 import ua.oip.jiralite.domain.Project;
 import ua.oip.jiralite.domain.User;
 import ua.oip.jiralite.domain.enums.Status;
+import ua.oip.jiralite.repository.IssueStats;
 import ua.oip.jiralite.service.AuthService;
 import ua.oip.jiralite.service.BoardService;
+import ua.oip.jiralite.service.event.DomainEvent;
+import ua.oip.jiralite.service.event.DomainEventBus;
+import ua.oip.jiralite.service.event.DomainEventSubscriber;
 import ua.oip.jiralite.ui.listener.IssueCardMouseAdapter;
 import ua.oip.jiralite.ui.panel.BoardColumnPanel;
 import ua.oip.jiralite.ui.panel.NotificationPanel;
@@ -77,6 +90,46 @@ public class MainFrame extends JFrame implements ProjectSelectionListener {
     // Колонки дошки (статус -> панель)
     private final Map<Status, BoardColumnPanel> columns = new HashMap<>();
     
+    // Задачі поточної дошки (ID -> задача) для панелі пошуку
+    private final Map<Long, Issue> boardIssues = new LinkedHashMap<>();
+    
+    // Фонове завантаження задач поточної дошки (null, якщо завантаження не триває)
+    private IssueLoader issueLoader;
+    
+    // Задачі, видалені під час фонового завантаження, щоб пізні пакети не повернули їх на дошку
+    private final Set<Long> removedWhileLoading = new HashSet<>();
+    
+    // Оновлює картки дошки за доменними подіями від BoardService; виконується в EDT
+    private final DomainEventSubscriber boardUpdater = new DomainEventSubscriber() {
+        @Override
+        public void onEvents(List<DomainEvent> events) {
+            // Кілька подій однієї задачі в пакеті оновлюють її картку один раз
+            Map<Long, DomainEvent> latest = new LinkedHashMap<>();
+            for (DomainEvent event : events) {
+                if (event.issue() != null && event.issue().getId() != null) {
+                    latest.put(event.issue().getId(), event);
+                }
+            }
+            for (DomainEvent event : latest.values()) {
+                if (event instanceof DomainEvent.IssueRemoved) {
+                    removeIssueCard(event.issue());
+                } else {
+                    patchIssueCard(event.issue());
+                }
+            }
+        }
+        
+        @Override
+        public void onOverflow(int dropped) {
+            log.warn("Board missed {} issue events, reloading", dropped);
+            if (currentBoard != null) {
+                loadIssues(currentBoard);
+            }
+        }
+    };
+    
+    private DomainEventBus.Subscription boardSubscription;
+    
     // Нові компоненти
     private SearchPanel searchPanel;
     private SearchResultPanel searchResultPanel;
@@ -102,6 +155,11 @@ public class MainFrame extends JFrame implements ProjectSelectionListener {
         
         initializeMainWindow();
         configureListeners();
+        
+        // Доставка в EDT, тому при переповненні події відкидаються замість блокування видавця
+        boardSubscription = boardService.getEventBus().subscribe("board", boardUpdater,
+                SwingUtilities::invokeLater, DomainEventBus.DEFAULT_CAPACITY, DomainEventBus.DEFAULT_MAX_BATCH,
+                DomainEventBus.OverflowPolicy.DROP);
     }
     
     /**
@@ -191,9 +249,7 @@ public class MainFrame extends JFrame implements ProjectSelectionListener {
                 searchResultPanel.setAlignmentX(Component.LEFT_ALIGNMENT);
                 
                 // Зв'язуємо пошук і результати
-                searchPanel.setSearchResultHandler(issues -> {
-                    searchResultPanel.displayResults(issues);
-                });
+                searchPanel.setSearchResultListener(searchResultPanel);
                 
                 // Обробник вибору задачі в результатах
                 searchResultPanel.setOnIssueSelectedHandler(issue -> {
@@ -452,7 +508,6 @@ public class MainFrame extends JFrame implements ProjectSelectionListener {
         // Якщо задачу було оновлено, оновлюємо дошку
         if (dialog.isIssueUpdated()) {
             log.info("Issue updated successfully");
-            loadIssues(currentBoard);
             
             // Додаємо сповіщення про оновлення задачі
             String notificationMessage = "Задачу " + issue.getKey() + " '" + issue.getTitle() + 
@@ -561,105 +616,258 @@ public class MainFrame extends JFrame implements ProjectSelectionListener {
     }
     
     /**
-     * Завантаження задач на дошку
+     * Завантаження задач на дошку. Викликається лише при виборі дошки,
+     * подальші зміни задач дошка отримує подіями від {@link BoardService}.
+     * <p>
+     * Задачі отримуються у фоновому потоці та додаються на дошку пакетами,
+     * тому EDT не блокується на час запиту до сховища. Вибір іншої дошки
+     * скасовує попереднє завантаження.
      */
     private void loadIssues(Board board) {
-        try {
-            System.out.println("MainFrame.loadIssues: завантажуємо задачі для дошки " + board.getName());
-            System.out.println("MainFrame.loadIssues: розмір колекції колонок: " + columns.size());
-            
-            // Очищаємо всі колонки перед завантаженням
-            for (BoardColumnPanel column : columns.values()) {
-                column.clear();
+        cancelIssueLoading();
+        log.debug("Loading issues for board {}", board.getName());
+        
+        boardIssues.clear();
+        removedWhileLoading.clear();
+        for (BoardColumnPanel column : columns.values()) {
+            column.clear();
+            column.setLoading(true);
+        }
+        
+        if (searchPanel != null) {
+            searchPanel.setIssues(new ArrayList<>());
+        }
+        
+        issueLoader = new IssueLoader(board);
+        issueLoader.execute();
+    }
+    
+    /**
+     * Скасовує фонове завантаження задач, якщо воно ще триває
+     */
+    private void cancelIssueLoading() {
+        if (issueLoader != null) {
+            issueLoader.cancel(true);
+            issueLoader = null;
+        }
+        for (BoardColumnPanel column : columns.values()) {
+            column.setLoading(false);
+        }
+    }
+    
+    /**
+     * Додає на дошку пакет завантажених задач. Задачі, які вже надійшли
+     * подіями від сервісу або були видалені під час завантаження, пропускаються:
+     * подія містить новіший стан, ніж знімок фонового запиту.
+     */
+    private void renderIssueBatch(List<Issue> batch) {
+        for (Issue issue : batch) {
+            if (issue.getId() == null || boardIssues.containsKey(issue.getId())
+                    || removedWhileLoading.contains(issue.getId())) {
+                continue;
             }
             
-            // Отримуємо задачі з сервісу замість створення демо-задач
-            List<ua.oip.jiralite.domain.Issue> issues = boardService.getBoardIssues(board);
-            System.out.println("MainFrame.loadIssues: отримано " + issues.size() + " задач");
-            
-            // Оновлюємо панель пошуку з новим списком задач
-            if (searchPanel != null) {
-                System.out.println("MainFrame.loadIssues: оновлюємо панель пошуку");
-                searchPanel.setIssues(issues);
-                
-                // Перевіряємо, чи налаштований обробник результатів
-                if (searchResultPanel != null) {
-                    System.out.println("MainFrame.loadIssues: налаштовуємо обробник результатів пошуку");
-                    searchPanel.setSearchResultHandler(foundIssues -> {
-                        searchResultPanel.displayResults(foundIssues);
-                    });
-                }
+            // Якщо статус не задано, використовуємо TO_DO
+            if (issue.getStatus() == null) {
+                issue.setStatus(Status.TO_DO);
             }
             
-            // Виводимо весь список задач для відлагодження
-            System.out.println("MainFrame.loadIssues: список всіх задач:");
-            for (ua.oip.jiralite.domain.Issue issue : issues) {
-                System.out.println("  - Задача: ID=" + issue.getId() + 
-                    ", назва='" + issue.getTitle() + 
-                    "', статус=" + issue.getStatus() + 
-                    ", ключ=" + issue.getKey());
+            BoardColumnPanel column = columns.get(issue.getStatus());
+            if (column != null) {
+                column.addIssue(issue, cardDragHandler);
+                boardIssues.put(issue.getId(), issue);
+            } else {
+                log.warn("No column for status {}", issue.getStatus());
             }
-            
-            // Розподіляємо задачі по колонках залежно від статусу
-            for (ua.oip.jiralite.domain.Issue issue : issues) {
-                try {
-                    // Отримуємо статус задачі та відповідну колонку
-                    Status status = issue.getStatus();
-                    
-                    // Якщо статус не задано, використовуємо TO_DO
-                    if (status == null) {
-                        System.out.println("MainFrame.loadIssues: задача " + issue.getTitle() + 
-                            " не має статусу, встановлюю TO_DO");
-                        status = Status.TO_DO;
-                        issue.setStatus(status);
-                    }
-                    
-                    // Отримуємо колонку для даного статусу
-                    BoardColumnPanel column = columns.get(status);
-                    
-                    if (column != null) {
-                        System.out.println("MainFrame.loadIssues: додаємо задачу " + issue.getTitle() + " до колонки " + status);
-                        // Додаємо задачу в колонку
-                        column.addIssue(issue, cardDragHandler);
-                    } else {
-                        System.out.println("MainFrame.loadIssues: колонка для статусу " + status + " не знайдена");
-                    }
-                } catch (Exception e) {
-                    System.err.println("MainFrame.loadIssues: помилка при додаванні задачі: " + e.getMessage());
-                    e.printStackTrace();
-                }
+        }
+        
+        columnsPanel.revalidate();
+        columnsPanel.repaint();
+    }
+    
+    /**
+     * Фонове завантаження задач дошки.
+     * <p>
+     * Задачі передаються в EDT пакетами по {@link UiConstants#ISSUE_LOAD_BATCH_SIZE}.
+     * Пакети, які надійшли разом, рендеряться по одному за виклик EDT,
+     * щоб між ними встигали оброблятися перемальовування та дії користувача.
+     */
+    private final class IssueLoader extends SwingWorker<Integer, List<Issue>> {
+        
+        private final Board board;
+        private final Deque<List<Issue>> pendingBatches = new ArrayDeque<>();
+        private boolean renderScheduled;
+        private boolean fetchFinished;
+        
+        IssueLoader(Board board) {
+            this.board = board;
+        }
+        
+        @Override
+        protected Integer doInBackground() {
+            List<Issue> issues = boardService.getBoardIssues(board);
+            for (int from = 0; from < issues.size() && !isCancelled(); from += UiConstants.ISSUE_LOAD_BATCH_SIZE) {
+                int to = Math.min(issues.size(), from + UiConstants.ISSUE_LOAD_BATCH_SIZE);
+                publish(new ArrayList<>(issues.subList(from, to)));
+            }
+            return issues.size();
+        }
+        
+        @Override
+        protected void process(List<List<Issue>> batches) {
+            if (!isCurrent()) {
+                return;
+            }
+            pendingBatches.addAll(batches);
+            scheduleRender();
+        }
+        
+        @Override
+        protected void done() {
+            if (!isCurrent()) {
+                return;
             }
+            fetchFinished = true;
             
-            // Виводимо кількість компонентів у кожній колонці для відлагодження
-            for (Map.Entry<Status, BoardColumnPanel> entry : columns.entrySet()) {
-                JPanel cards = null;
-                for (Component comp : entry.getValue().getComponents()) {
-                    if (comp instanceof JScrollPane) {
-                        JScrollPane scrollPane = (JScrollPane) comp;
-                        Component view = scrollPane.getViewport().getView();
-                        if (view instanceof JPanel) {
-                            cards = (JPanel) view;
-                            break;
-                        }
-                    }
-                }
-                if (cards != null) {
-                    System.out.println("MainFrame.loadIssues: колонка " + entry.getKey() + 
-                        " містить " + cards.getComponentCount() + " компонентів");
-                }
+            try {
+                log.debug("Fetched {} issues for board {}", get(), board.getName());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                log.error("Failed to load issues", e.getCause());
+                pendingBatches.clear();
+                finishLoading();
+                SwingHelper.showErrorDialog(MainFrame.this, 
+                        messages.getString("app.error"), 
+                        messages.getString("board.load_error") + ": " + e.getCause().getMessage());
+                return;
+            }
+            scheduleRender();
+        }
+        
+        private boolean isCurrent() {
+            return !isCancelled() && issueLoader == this;
+        }
+        
+        private void scheduleRender() {
+            if (!renderScheduled) {
+                renderScheduled = true;
+                SwingUtilities.invokeLater(this::renderNextBatch);
+            }
+        }
+        
+        private void renderNextBatch() {
+            renderScheduled = false;
+            if (!isCurrent()) {
+                return;
             }
             
-            // Оновлюємо інтерфейс
-            columnsPanel.revalidate();
-            columnsPanel.repaint();
+            List<Issue> batch = pendingBatches.poll();
+            if (batch != null) {
+                renderIssueBatch(batch);
+            }
             
-        } catch (Exception e) {
-            System.err.println("MainFrame.loadIssues: помилка при завантаженні задач: " + e.getMessage());
-            e.printStackTrace();
-            SwingHelper.showErrorDialog(this, 
-                    messages.getString("app.error"), 
-                    messages.getString("board.load_error") + ": " + e.getMessage());
+            if (!pendingBatches.isEmpty()) {
+                scheduleRender();
+            } else if (fetchFinished) {
+                finishLoading();
+            }
         }
+        
+        private void finishLoading() {
+            issueLoader = null;
+            removedWhileLoading.clear();
+            for (BoardColumnPanel column : columns.values()) {
+                column.setLoading(false);
+            }
+            if (searchPanel != null) {
+                searchPanel.setIssues(new ArrayList<>(boardIssues.values()));
+            }
+            refreshColumnCounts();
+            log.debug("Loaded {} issues", boardIssues.size());
+        }
+    }
+    
+    /**
+     * Перевіряє, чи належить задача проекту поточної дошки
+     */
+    private boolean isOnCurrentBoard(Issue issue) {
+        return currentBoard != null && currentBoard.getProject() != null && issue.getProject() != null
+                && Objects.equals(currentBoard.getProject().getId(), issue.getProject().getId());
+    }
+    
+    /**
+     * Приводить картку задачі у відповідність до її поточного стану:
+     * переносить між колонками лише змінену картку, решта дошки не перебудовується
+     */
+    private void patchIssueCard(Issue issue) {
+        if (columns.isEmpty() || issue.getId() == null) {
+            return;
+        }
+        if (!isOnCurrentBoard(issue)) {
+            removeIssueCard(issue);
+            return;
+        }
+        
+        Status status = issue.getStatus() != null ? issue.getStatus() : Status.TO_DO;
+        for (Map.Entry<Status, BoardColumnPanel> entry : columns.entrySet()) {
+            if (entry.getKey() != status && entry.getValue().containsIssue(issue.getId())) {
+                entry.getValue().removeIssue(issue.getId());
+            }
+        }
+        
+        BoardColumnPanel target = columns.get(status);
+        if (target != null) {
+            // Картка вже може бути у колонці, якщо її перенесли перетягуванням
+            if (target.containsIssue(issue.getId())) {
+                target.refreshCard(issue);
+            } else {
+                target.addIssue(issue, cardDragHandler);
+            }
+        }
+        
+        boardIssues.put(issue.getId(), issue);
+        if (searchPanel != null) {
+            searchPanel.updateIssue(issue);
+        }
+        refreshColumnCounts();
+    }
+    
+    /**
+     * Прибирає картку задачі з дошки
+     */
+    private void removeIssueCard(Issue issue) {
+        if (issueLoader != null) {
+            removedWhileLoading.add(issue.getId());
+        }
+        for (BoardColumnPanel column : columns.values()) {
+            column.removeIssue(issue.getId());
+        }
+        if (boardIssues.remove(issue.getId()) != null && searchPanel != null) {
+            searchPanel.removeIssue(issue.getId());
+        }
+        refreshColumnCounts();
+    }
+    
+    /**
+     * Оновлює лічильники в заголовках колонок. Статистику сервіс бере з
+     * лічильників сховища, тому задачі при цьому не перераховуються.
+     */
+    private void refreshColumnCounts() {
+        if (columns.isEmpty() || currentBoard == null || issueLoader != null) {
+            return;
+        }
+        IssueStats stats = boardService.getProjectStats(currentBoard.getProject());
+        for (Map.Entry<Status, BoardColumnPanel> entry : columns.entrySet()) {
+            entry.getValue().setHeaderCount(stats.count(entry.getKey()));
+        }
+    }
+    
+    @Override
+    public void dispose() {
+        cancelIssueLoading();
+        boardSubscription.close();
+        super.dispose();
     }
     
     /**
@@ -692,7 +900,6 @@ public class MainFrame extends JFrame implements ProjectSelectionListener {
         // Якщо користувач зберіг задачу, оновлюємо дошку
         if (dialog.isIssueCreated()) {
             log.info("Issue created successfully");
-            loadIssues(currentBoard);
             
             // Додаємо сповіщення про створення задачі
             Issue createdIssue = dialog.getIssue();
@@ -714,6 +921,7 @@ public class MainFrame extends JFrame implements ProjectSelectionListener {
         log.debug("Project selected: {}", project.getName());
         
         // Очищаємо дошку при зміні проекту
+        cancelIssueLoading();
         currentBoard = null;
         boardTitleLabel.setText("");
         columnsPanel.removeAll();
@@ -769,12 +977,8 @@ public class MainFrame extends JFrame implements ProjectSelectionListener {
         try {
             System.out.println("Явна ініціалізація дерева проектів...");
             
-            // Отримуємо проекти користувача
-            List<Project> projects = boardService.getProjectsByUser(currentUser);
-            if (projects.isEmpty()) {
-                System.out.println("УВАГА: Список проектів порожній!");
-            }
-            
+            // Проекти завантажуються у фоні самою панеллю дерева,
+            // тут лише оновлюємо її відображення
             // Перевіряємо, чи правильно працює дерево проектів
             if (projectTreePanel != null) {
                 // Перевіряємо видимість панелі
@@ -107,50 +107,25 @@ public class ColumnDropTarget extends DropTargetAdapter {
             // Для користувача з роллю USER перевіряємо, чи є він виконавцем задачі
             if (currentUser.getRole() == ua.oip.jiralite.domain.enums.Role.USER) {
                 // Перевіряємо, чи є поточний користувач виконавцем цієї задачі
-                // Шукаємо задачу в глобальному списку задач
                 boolean isAssignedToCurrentUser = false;
                 
-                try {
-                    // Отримуємо глобальний список задач через рефлексію
-                    java.lang.reflect.Field globalIssuesField = boardService.getClass().getDeclaredField("globalIssues");
-                    globalIssuesField.setAccessible(true);
-                    @SuppressWarnings("unchecked")
-                    java.util.List<Issue> globalIssues = (java.util.List<Issue>) globalIssuesField.get(null);
-                    
-                    // Виведення відлагоджувальної інформації
-                    System.out.println("ColumnDropTarget.drop: Перевірка прав USER на редагування задачі " + issueModel.getId());
-                    System.out.println("ColumnDropTarget.drop: Поточний користувач: " + currentUser.getUsername() + " (ID: " + currentUser.getId() + ")");
-                    
-                    // Шукаємо задачу в списку та перевіряємо виконавця
-                    for (Issue issue : globalIssues) {
-                        if (issue.getId().equals(issueModel.getId())) {
-                            System.out.println("ColumnDropTarget.drop: Знайдено задачу з ID " + issue.getId());
-                            
-                            if (issue.getAssignee() != null) {
-                                System.out.println("ColumnDropTarget.drop: Виконавець задачі: " + 
-                                    issue.getAssignee().getUsername() + " (ID: " + issue.getAssignee().getId() + ")");
-                            } else {
-                                System.out.println("ColumnDropTarget.drop: У задачі не призначено виконавця");
-                                // Якщо задача без виконавця, дозволяємо користувачу USER редагувати її
-                                isAssignedToCurrentUser = true;
-                                break;
-                            }
-                            
-                            if (issue.getAssignee() != null && 
-                                issue.getAssignee().getId() != null && 
-                                currentUser.getId() != null &&
-                                issue.getAssignee().getId().equals(currentUser.getId())) {
-                                System.out.println("ColumnDropTarget.drop: Виконавець співпадає з поточним користувачем");
-                                isAssignedToCurrentUser = true;
-                            } else {
-                                System.out.println("ColumnDropTarget.drop: Виконавець не співпадає з поточним користувачем");
-                            }
-                            break;
-                        }
+                System.out.println("ColumnDropTarget.drop: Перевірка прав USER на редагування задачі " + issueModel.getId());
+                System.out.println("ColumnDropTarget.drop: Поточний користувач: " + currentUser.getUsername() + " (ID: " + currentUser.getId() + ")");
+                
+                Issue issue = boardService.getIssueById(issueModel.getId());
+                if (issue != null) {
+                    if (issue.getAssignee() == null) {
+                        System.out.println("ColumnDropTarget.drop: У задачі не призначено виконавця");
+                        // Якщо задача без виконавця, дозволяємо користувачу USER редагувати її
+                        isAssignedToCurrentUser = true;
+                    } else if (issue.getAssignee().getId() != null && 
+                        currentUser.getId() != null &&
+                        issue.getAssignee().getId().equals(currentUser.getId())) {
+                        System.out.println("ColumnDropTarget.drop: Виконавець співпадає з поточним користувачем");
+                        isAssignedToCurrentUser = true;
+                    } else {
+                        System.out.println("ColumnDropTarget.drop: Виконавець не співпадає з поточним користувачем");
                     }
-                } catch (Exception e) {
-                    System.err.println("ColumnDropTarget: помилка при отриманні інформації про задачу: " + e.getMessage());
-                    e.printStackTrace();
                 }
                 
                 if (!isAssignedToCurrentUser) {
@@ -194,19 +169,6 @@ public class ColumnDropTarget extends DropTargetAdapter {
             
             System.out.println("ColumnDropTarget.drop: змінено статус з " + oldStatus + " на " + status);
             
-            // Примусово оновлюємо статус у глобальному списку задач 
-            // для синхронізації з UI
-            try {
-                // Отримуємо ID задачі
-                Long issueId = issueModel.getId();
-                if (issueId != null) {
-                    System.out.println("ColumnDropTarget.drop: оновлюємо статус задачі з ID " + issueId + " у глобальному списку");
-                    boardService.updateIssueStatus(issueId, status);
-                }
-            } catch (Exception ex) {
-                System.err.println("ColumnDropTarget.drop: помилка при оновленні статусу: " + ex.getMessage());
-            }
-            
             // Створюємо нову картку для задачі в цільовій колонці
             if (column instanceof BoardColumnPanel) {
                 BoardColumnPanel columnPanel = (BoardColumnPanel) column;
@@ -162,6 +162,11 @@ public class IssueCardMouseAdapter extends MouseAdapter implements DragGestureLi
             // Відновлюємо видимість картки
             draggedCard.setVisible(true);
             
+            // Віртуалізований список сам вирішує, які картки показувати після переміщення
+            if (draggedCard.getParent() != null) {
+                draggedCard.getParent().revalidate();
+            }
+            
             // Якщо перетягування було не успішним, повертаємо картку на місце
             if (!dsde.getDropSuccess() && originalParent != null) {
                 // Перевіряємо, що картка все ще існує
@@ -201,10 +206,12 @@ public class IssueCardMouseAdapter extends MouseAdapter implements DragGestureLi
         public static final DataFlavor CARD_FLAVOR = 
                 new DataFlavor(IssueCardModel.class, "IssueCardModel");
         
-        private final IssueCardPanel card;
+        // Модель фіксується на початку перетягування: віртуалізована колонка
+        // може перев'язати картку до іншої задачі під час прокрутки
+        private final IssueCardModel model;
         
         public CardTransferable(IssueCardPanel card) {
-            this.card = card;
+            this.model = card.getIssueModel();
         }
         
         @Override
@@ -224,7 +231,7 @@ public class IssueCardMouseAdapter extends MouseAdapter implements DragGestureLi
                 throw new UnsupportedFlavorException(flavor);
             }
             // Return the model instead of the panel
-            return card.getIssueModel();
+            return model;
         }
     }
     
@@ -5,6 +5,7 @@ import java.io.Serializable;
 import ua.oip.jiralite.domain.Issue;
 import ua.oip.jiralite.domain.enums.Priority;
 import ua.oip.jiralite.domain.enums.Status;
+import ua.oip.jiralite.repository.IssueCardRow;
 
 /**
  * Модель карточки задачі для користувальницького інтерфейсу
@@ -40,6 +41,22 @@ public class IssueCardModel implements Serializable {
         this.assigneeName = assigneeName;
     }
     
+    /**
+     * Оновлює модель за поточним станом доменної задачі
+     * 
+     * @param issue доменна сутність задачі
+     */
+    public void update(Issue issue) {
+        this.title = issue.getTitle();
+        this.description = issue.getDescription();
+        this.status = issue.getStatus();
+        this.priority = issue.getPriority();
+        if (issue.getKey() != null) {
+            this.key = issue.getKey();
+        }
+        this.assigneeName = issue.getAssignee() != null ? issue.getAssignee().getFullName() : null;
+    }
+    
     /**
      * Створює модель карточки з доменної сутності задачі
      * 
@@ -146,6 +163,26 @@ public class IssueCardModel implements Serializable {
         return model;
     }
     
+    /**
+     * Створює модель карточки з рядка проєкційного запиту репозиторію
+     * 
+     * @param row рядок карточки з обрізаним описом
+     * @return модель карточки
+     */
+    public static IssueCardModel fromCardRow(IssueCardRow row) {
+        if (row == null) {
+            return null;
+        }
+        
+        String assigneeName = row.assigneeName();
+        if (assigneeName == null) {
+            java.util.ResourceBundle messages = java.util.ResourceBundle.getBundle("i18n.labels", new java.util.Locale("uk", "UA"));
+            assigneeName = messages.getString("issue.not_assigned");
+        }
+        return new IssueCardModel(row.id(), row.key(), row.title(), row.descriptionPreview(),
+                row.status(), row.priority(), assigneeName);
+    }
+    
     // Геттери і сеттери
     
     public Long getId() {
@@ -7,8 +7,6 @@ import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.awt.dnd.DnDConstants;
 import java.awt.dnd.DropTarget;
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -21,6 +19,7 @@ import javax.swing.BoxLayout;
 import javax.swing.JButton;
 import javax.swing.JFrame;
 import javax.swing.JPanel;
+import javax.swing.JProgressBar;
 import javax.swing.JScrollPane;
 import javax.swing.SwingUtilities;
 import javax.swing.border.TitledBorder;
@@ -50,7 +49,17 @@ public class BoardColumnPanel extends JPanel {
     private final Map<Long, IssueCardPanel> cards = new LinkedHashMap<>();
     
     private JPanel cardsPanel;
+    private JScrollPane scrollPane;
+    private JProgressBar loadingBar;
     
+    // Кількість задач у заголовку, -1 - лічильник не показується
+    private int headerCount = -1;
+    
+    // Віртуалізований список карток, використовується замість cardsPanel для великих колонок
+    private VirtualCardListPanel virtualList;
+    
+    private IssueCardMouseAdapter dragHandler;
+    private ColumnDropTarget columnDropTarget;
     private BoardService boardService;
     private AuthService authService;
     private ThemeManager themeManager;
@@ -82,6 +91,7 @@ public class BoardColumnPanel extends JPanel {
         this.status = status;
         this.messages = messages;
         this.boardService = boardService;
+        this.dragHandler = dragHandler;
         this.authService = AuthService.getInstance();
         this.themeManager = ThemeManager.getInstance();
         
@@ -91,7 +101,18 @@ public class BoardColumnPanel extends JPanel {
         addThemeChangeListener();
         
         // Регистрируем обработчик перетаскивания для этой колонки
-        new ColumnDropTarget(this, status, boardService, messages);
+        columnDropTarget = new ColumnDropTarget(this, status, boardService, messages);
+    }
+    
+    /**
+     * Возвращает обработчик перетаскивания колонки. Один обработчик используется
+     * для всех карточек колонки, чтобы не перерегистрировать цели при каждой новой карточке.
+     */
+    private ColumnDropTarget dropTargetListener() {
+        if (columnDropTarget == null) {
+            columnDropTarget = new ColumnDropTarget(this, status, boardService, messages);
+        }
+        return columnDropTarget;
     }
     
     /**
@@ -101,11 +122,14 @@ public class BoardColumnPanel extends JPanel {
         themeManager.addThemeChangeListener(() -> {
             // Оновлюємо колір фону колонки
             cardsPanel.setBackground(getColumnColor());
+            if (virtualList != null) {
+                virtualList.setBackground(getColumnColor());
+            }
             
             // Оновлюємо границю з заголовком
             setBorder(BorderFactory.createTitledBorder(
                 BorderFactory.createLineBorder(themeManager.getCurrentScheme().textSecondary, 1, true),
-                getColumnTitle(status),
+                getHeaderTitle(),
                 TitledBorder.CENTER, 
                 TitledBorder.TOP,
                 UiConstants.SUBHEADER_FONT,
@@ -123,11 +147,14 @@ public class BoardColumnPanel extends JPanel {
     private void updateTheme() {
         // Обновляем цвет фона панели карточек
         cardsPanel.setBackground(getColumnColor());
+        if (virtualList != null) {
+            virtualList.setBackground(getColumnColor());
+        }
         
         // Обновляем рамку колонки
         setBorder(BorderFactory.createTitledBorder(
                 BorderFactory.createLineBorder(themeManager.getCurrentScheme().textSecondary, 1, true),
-                getColumnTitle(status),
+                getHeaderTitle(),
                 TitledBorder.CENTER, 
                 TitledBorder.TOP,
                 UiConstants.SUBHEADER_FONT,
@@ -160,7 +187,7 @@ public class BoardColumnPanel extends JPanel {
      */
     private void initializeUI() {
         // Определяем заголовок колонки в зависимости от статуса
-        String title = getColumnTitle(status);
+        String title = getHeaderTitle();
         
         // Використовуємо BorderLayout для розташування компонентів
         setLayout(new BorderLayout());
@@ -181,7 +208,7 @@ public class BoardColumnPanel extends JPanel {
         cardsPanel.setOpaque(true);
         
         // Додаємо прокрутку для панелі з картками
-        JScrollPane scrollPane = new JScrollPane(cardsPanel);
+        scrollPane = new JScrollPane(cardsPanel);
         scrollPane.setBorder(BorderFactory.createEmptyBorder());
         scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
         scrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
@@ -190,6 +217,14 @@ public class BoardColumnPanel extends JPanel {
         // Додаємо прокрутку в центр панелі колонки
         add(scrollPane, BorderLayout.CENTER);
         
+        // Індикатор фонового завантаження задач, показується над картками
+        loadingBar = new JProgressBar();
+        loadingBar.setIndeterminate(true);
+        loadingBar.setStringPainted(true);
+        loadingBar.setString(messages.containsKey("app.loading") ? messages.getString("app.loading") : "...");
+        loadingBar.setVisible(false);
+        add(loadingBar, BorderLayout.NORTH);
+        
         // Встановлюємо розміри колонки
         setPreferredSize(new Dimension(220, 500));
         setMinimumSize(new Dimension(220, 300));
@@ -305,31 +340,9 @@ public class BoardColumnPanel extends JPanel {
                         );
                         dialog.setVisible(true);
                         
-                        // Якщо користувач зберіг задачу, оновлюємо дошку
+                        // Нову картку додасть дошка за подією від BoardService
                         if (dialog.isIssueCreated()) {
-                            System.out.println("BoardColumnPanel: задачу створено, оновлюємо дошку");
-                            
-                            // Додаткова перевірка після створення задачі
-                            // Перевіряємо, чи є нова задача з потрібним статусом у глобальному списку
-                            System.out.println("BoardColumnPanel: перевіряємо оновлення статусів у глобальному списку");
-                            try {
-                                // Находим demoIssues через рефлексию
-                                Field globalIssuesField = boardService.getClass().getDeclaredField("globalIssues");
-                                globalIssuesField.setAccessible(true);
-                                
-                                System.out.println("BoardColumnPanel: перевіряємо оновлення статусів у глобальному списку");
-                                
-                                // Обновление UI
-                                if (mainFrame != null) {
-                                    Method loadIssuesMethod = mainFrame.getClass().getDeclaredMethod("loadIssues", Board.class);
-                                    loadIssuesMethod.setAccessible(true);
-                                    loadIssuesMethod.invoke(mainFrame, currentBoard);
-                                    System.out.println("BoardColumnPanel: успішно викликано метод loadIssues з MainFrame");
-                                }
-                            } catch (Exception ex) {
-                                System.out.println("BoardColumnPanel: помилка при роботі з демо-задачами: " + ex.getMessage());
-                                ex.printStackTrace();
-                            }
+                            System.out.println("BoardColumnPanel: задачу створено");
                         } else {
                             System.out.println("BoardColumnPanel: створення задачі скасовано користувачем");
                         }
@@ -360,6 +373,12 @@ public class BoardColumnPanel extends JPanel {
      * @param dragHandler обработчик перетягування карток
      */
     public void addIssue(IssueCardModel issue, Consumer<IssueCardPanel> cardConsumer) {
+        // У віртуалізованому режимі зберігаємо лише модель, картку створить список при показі
+        if (virtualList != null) {
+            virtualList.addFirst(issue);
+            return;
+        }
+        
         // Створюємо картку задачі
         IssueCardPanel card = new IssueCardPanel(issue, messages);
         card.setVisible(true);
@@ -375,8 +394,7 @@ public class BoardColumnPanel extends JPanel {
             card.addMouseMotionListener(dragHandler);
             
             // Реєструємо DropTarget для карточки
-            new DropTarget(card, DnDConstants.ACTION_MOVE, 
-                new ColumnDropTarget(this, status, boardService, messages));
+            new DropTarget(card, DnDConstants.ACTION_MOVE, dropTargetListener());
         }
         
         // Додаємо картку до колонки в начало (после первого компонента, если он есть)
@@ -389,6 +407,12 @@ public class BoardColumnPanel extends JPanel {
         
         cards.put(issue.getId(), card);
         
+        // Велика колонка переходить у віртуалізований режим
+        if (cards.size() >= UiConstants.VIRTUAL_COLUMN_THRESHOLD) {
+            enableVirtualMode();
+            return;
+        }
+        
         // Не устанавливаем жёсткие размеры, позволяем карточке самой определять свой размер
         
         // Оновлюємо відображення
@@ -407,8 +431,6 @@ public class BoardColumnPanel extends JPanel {
     public void addIssue(ua.oip.jiralite.domain.Issue issue, IssueCardMouseAdapter dragHandler) {
         if (issue == null) return;
         
-        System.out.println("BoardColumnPanel.addIssue: додаємо задачу " + issue.getTitle() + " до колонки " + status);
-        
         // Создаем UI модель из доменной модели
         IssueCardModel issueModel = new IssueCardModel();
         issueModel.setId(issue.getId());
@@ -439,12 +461,9 @@ public class BoardColumnPanel extends JPanel {
         
         // Добавляем карточку, используя лямбда-выражение для настройки MouseListener
         addIssue(issueModel, card -> {
-            System.out.println("BoardColumnPanel.addIssue: встановлюємо обробник перетягування для картки " + issueModel.getTitle());
-            
             // Активуємо перетягування для картки
             if (dragHandler != null) {
                 // Використовуємо переданий обробник
-                System.out.println("BoardColumnPanel.addIssue: використовуємо переданий обробник перетягування");
                 
                 // Додаємо картці підтримку перетягування через явний виклик
                 dragHandler.addCardDragSupport(card);
@@ -454,7 +473,6 @@ public class BoardColumnPanel extends JPanel {
                 card.addMouseMotionListener(dragHandler);
             } else {
                 // Створюємо новий обробник
-                System.out.println("BoardColumnPanel.addIssue: створюємо новий обробник перетягування");
                 IssueCardMouseAdapter newDragHandler = new IssueCardMouseAdapter();
                 
                 // Додаємо картці підтримку перетягування
@@ -469,11 +487,8 @@ public class BoardColumnPanel extends JPanel {
             card.setCursor(java.awt.Cursor.getPredefinedCursor(java.awt.Cursor.HAND_CURSOR));
             
             // Реєструємо картку як ціль перетягування
-            new DropTarget(card, DnDConstants.ACTION_MOVE, 
-                new ColumnDropTarget(this, status, boardService, messages));
+            new DropTarget(card, DnDConstants.ACTION_MOVE, dropTargetListener());
         });
-        
-        System.out.println("BoardColumnPanel.addIssue: cardsPanel містить " + cardsPanel.getComponentCount() + " компонентів після додавання задачі");
     }
     
     /**
@@ -482,39 +497,141 @@ public class BoardColumnPanel extends JPanel {
      * @param issueId ID задачи для удаления
      */
     public void removeIssue(Long issueId) {
-        IssueCardPanel cardToRemove = null;
-        
-        // Шукаємо картку для видалення
-        for (IssueCardPanel card : cards.values()) {
-            if (card.getIssueModel().getId().equals(issueId)) {
-                cardToRemove = card;
-                break;
-            }
+        if (virtualList != null) {
+            virtualList.removeModel(issueId);
+            return;
         }
         
+        IssueCardPanel cardToRemove = cards.remove(issueId);
+        
         // Видаляємо картку, якщо знайшли
         if (cardToRemove != null) {
-            int index = cardsPanel.getComponentCount() - 1; // Індекс останньої карти
-            cardsPanel.remove(cardToRemove);
-            
-            // Видаляємо також відступ перед карткою, якщо це не перша картка
-            if (index > 0 && index < cardsPanel.getComponentCount()) {
-                cardsPanel.remove(index - 1); // Видаляємо відступ
+            int index = Arrays.asList(cardsPanel.getComponents()).indexOf(cardToRemove);
+            if (index >= 0) {
+                cardsPanel.remove(index);
+                
+                // Видаляємо також відступ, доданий перед карткою
+                if (index > 0 && cardsPanel.getComponent(index - 1) instanceof Box.Filler) {
+                    cardsPanel.remove(index - 1);
+                }
             }
             
-            cards.remove(issueId);
-            
             // Оновлюємо відображення
+            cardsPanel.revalidate();
+            cardsPanel.repaint();
+        }
+    }
+    
+    /**
+     * Перевіряє, чи є в колонці картка задачі
+     * 
+     * @param issueId ID задачі
+     */
+    public boolean containsIssue(Long issueId) {
+        return virtualList != null ? virtualList.containsModel(issueId) : cards.containsKey(issueId);
+    }
+    
+    /**
+     * Повертає кількість задач у колонці
+     */
+    public int getIssueCount() {
+        return virtualList != null ? virtualList.getModelCount() : cards.size();
+    }
+    
+    /**
+     * Перевіряє, чи працює колонка у віртуалізованому режимі
+     */
+    public boolean isVirtualized() {
+        return virtualList != null;
+    }
+    
+    /**
+     * Переводить колонку у віртуалізований режим: існуючі картки замінюються
+     * списком моделей, а компоненти створюються лише для видимих рядків
+     */
+    private void enableVirtualMode() {
+        virtualList = new VirtualCardListPanel(this::createVirtualCard);
+        virtualList.setBackground(getColumnColor());
+        
+        // Переносимо моделі у порядку відображення
+        for (Component comp : cardsPanel.getComponents()) {
+            if (comp instanceof IssueCardPanel) {
+                virtualList.addLast(((IssueCardPanel) comp).getIssueModel());
+            }
+        }
+        
+        cardsPanel.removeAll();
+        cards.clear();
+        cardsPanel.add(Box.createVerticalGlue());
+        
+        new DropTarget(virtualList, DnDConstants.ACTION_MOVE, dropTargetListener());
+        scrollPane.setViewportView(virtualList);
+        
+        revalidate();
+        repaint();
+    }
+    
+    /**
+     * Створює картку для пулу віртуалізованого списку
+     */
+    private IssueCardPanel createVirtualCard(IssueCardModel model) {
+        IssueCardPanel card = new IssueCardPanel(model, messages);
+        card.setAlignmentX(Component.LEFT_ALIGNMENT);
+        
+        IssueCardMouseAdapter handler = dragHandler != null ? dragHandler : new IssueCardMouseAdapter();
+        handler.addCardDragSupport(card);
+        card.addMouseListener(handler);
+        card.addMouseMotionListener(handler);
+        
+        new DropTarget(card, DnDConstants.ACTION_MOVE, dropTargetListener());
+        return card;
+    }
+    
+    /**
+     * Показує в заголовку колонки кількість задач зі статистики дошки
+     * 
+     * @param count кількість задач або від'ємне значення, щоб сховати лічильник
+     */
+    public void setHeaderCount(int count) {
+        if (headerCount == count) {
+            return;
+        }
+        headerCount = count;
+        if (getBorder() instanceof TitledBorder titledBorder) {
+            titledBorder.setTitle(getHeaderTitle());
+            repaint();
+        }
+    }
+    
+    private String getHeaderTitle() {
+        String title = getColumnTitle(status);
+        return headerCount >= 0 ? title + " (" + headerCount + ")" : title;
+    }
+    
+    /**
+     * Показує або ховає індикатор завантаження задач колонки
+     */
+    public void setLoading(boolean loading) {
+        if (loadingBar.isVisible() != loading) {
+            loadingBar.setVisible(loading);
             revalidate();
             repaint();
         }
     }
     
+    public boolean isLoading() {
+        return loadingBar.isVisible();
+    }
+    
     /**
      * Очищает колонку от всех карточек
      */
     public void clear() {
-        System.out.println("BoardColumnPanel.clear: очищаємо колонку " + status);
+        // Повертаємося до звичайного режиму
+        if (virtualList != null) {
+            virtualList = null;
+            scrollPane.setViewportView(cardsPanel);
+        }
         
         // Видаляємо всі компоненти з панелі карток
         cardsPanel.removeAll();
@@ -528,8 +645,6 @@ public class BoardColumnPanel extends JPanel {
         cardsPanel.repaint();
         revalidate();
         repaint();
-        
-        System.out.println("BoardColumnPanel.clear: колонка " + status + " містить " + cardsPanel.getComponentCount() + " компонентів після очищення");
     }
     
     /**
@@ -559,6 +674,15 @@ public class BoardColumnPanel extends JPanel {
      * Обновляет карточку задачи по данным из доменной модели
      */
     public void refreshCard(Issue issue) {
+        if (virtualList != null) {
+            IssueCardModel model = virtualList.getModel(issue.getId());
+            if (model != null) {
+                model.update(issue);
+                IssueCardPanel card = virtualList.getBoundCard(issue.getId());
+                if (card != null) card.refresh(issue);
+            }
+            return;
+        }
         IssueCardPanel card = cards.get(issue.getId());
         if (card != null) card.refresh(issue);
     }
@@ -569,6 +693,18 @@ public class BoardColumnPanel extends JPanel {
      * @param card карточка задачи для восстановления
      */
     public void restoreCard(IssueCardPanel card) {
+        if (virtualList != null) {
+            // Картки віртуалізованого списку не виймаються з пулу, достатньо повернути модель
+            if (card != null && card.getIssueModel() != null) {
+                if (!virtualList.containsModel(card.getIssueModel().getId())) {
+                    virtualList.addFirst(card.getIssueModel());
+                }
+                card.setVisible(true);
+                virtualList.revalidate();
+            }
+            return;
+        }
+        
         if (card != null && card.getIssueModel() != null) {
             Long issueId = card.getIssueModel().getId();
             
@@ -623,8 +759,7 @@ public class BoardColumnPanel extends JPanel {
             card.setCursor(java.awt.Cursor.getPredefinedCursor(java.awt.Cursor.HAND_CURSOR));
             
             // Реєструємо картку як ціль для перетягування
-            new DropTarget(card, DnDConstants.ACTION_MOVE, 
-                    new ColumnDropTarget(this, status, boardService, messages));
+            new DropTarget(card, DnDConstants.ACTION_MOVE, dropTargetListener());
         });
     }
     
@@ -636,6 +771,11 @@ public class BoardColumnPanel extends JPanel {
     public void addIssueToTop(IssueCardModel issueModel) {
         if (issueModel == null) return;
         
+        if (virtualList != null) {
+            virtualList.addFirst(issueModel);
+            return;
+        }
+        
         // Удаляем существующую карточку с таким же ID, если есть
         Long issueId = issueModel.getId();
         if (issueId != null && cards.containsKey(issueId)) {
@@ -661,8 +801,7 @@ public class BoardColumnPanel extends JPanel {
         card.setCursor(java.awt.Cursor.getPredefinedCursor(java.awt.Cursor.HAND_CURSOR));
         
         // Реєструємо картку як ціль для перетягування
-        new DropTarget(card, DnDConstants.ACTION_MOVE, 
-                new ColumnDropTarget(this, status, boardService, messages));
+        new DropTarget(card, DnDConstants.ACTION_MOVE, dropTargetListener());
         
         // Не устанавливаем жёсткие размеры, позволяем карточке самой определять свой размер
         
@@ -692,6 +831,10 @@ public class BoardColumnPanel extends JPanel {
      * @param boardService сервіс дошки
      */
     public void setBoardService(BoardService boardService) {
+        if (this.boardService != boardService) {
+            // Обработчик перетаскивания будет создан заново с новым сервисом
+            columnDropTarget = null;
+        }
         this.boardService = boardService;
     }
 } 
\ No newline at end of file
@@ -26,6 +26,7 @@ import javax.swing.border.EmptyBorder;
 
 import ua.oip.jiralite.domain.Issue;
 import ua.oip.jiralite.domain.enums.Priority;
+import ua.oip.jiralite.domain.enums.Status;
 import ua.oip.jiralite.ui.model.IssueCardModel;
 import ua.oip.jiralite.ui.util.ThemeManager;
 import ua.oip.jiralite.ui.util.UiConstants;
@@ -38,13 +39,16 @@ public final class IssueCardPanel extends JPanel implements Serializable {
     private static final long serialVersionUID = 1L;
     private static final transient DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy");
     
-    private final IssueCardModel issueModel;
+    private IssueCardModel issueModel;
     private transient final ResourceBundle messages;
     private transient final ThemeManager themeManager;
     
+    private transient final JLabel keyLabel;
     private transient final JTextArea titleTextArea;
+    private transient final JTextArea descriptionTextArea;
     private transient final JLabel statusLabel;
     private transient final JLabel assigneeLabel;
+    private transient final JPanel centerTopPanel;
     
     // Константи дизайну
     private static final int CORNER_RADIUS = 8;
@@ -98,7 +102,7 @@ public final class IssueCardPanel extends JPanel implements Serializable {
         JPanel topPanel = new JPanel(new BorderLayout(5, 0));
         topPanel.setOpaque(false);
         
-        JLabel keyLabel = new JLabel(issueModel.getKey());
+        keyLabel = new JLabel(issueModel.getKey());
         keyLabel.setForeground(themeManager.getCurrentScheme().accentColor);
         keyLabel.setFont(keyLabel.getFont().deriveFont(Font.BOLD, 12f * scale));
         
@@ -138,7 +142,7 @@ public final class IssueCardPanel extends JPanel implements Serializable {
         }
         
         // Создаем центральную панель для размещения индикатора приоритета
-        JPanel centerTopPanel = new JPanel();
+        centerTopPanel = new JPanel();
         centerTopPanel.setLayout(new BoxLayout(centerTopPanel, BoxLayout.X_AXIS));
         centerTopPanel.setOpaque(false);
         
@@ -146,12 +150,10 @@ public final class IssueCardPanel extends JPanel implements Serializable {
         // Формируем мини-значок приоритета
         Priority priority = issueModel.getPriority();
         if (priority != null) {
-            System.out.println("IssueCardPanel: Створюємо значок пріоритету для " + issueModel.getKey() + ", пріоритет: " + issueModel.getPriority());
             JPanel priorityBadge = createPriorityBadge(priority);
             centerTopPanel.add(priorityBadge);
             centerTopPanel.add(Box.createHorizontalGlue());
         } else {
-            System.out.println("IssueCardPanel: Пріоритет для " + issueModel.getKey() + " не задано, використовуємо значення за замовчуванням");
             // Если приоритет не задан, показываем значок с приоритетом MEDIUM
             JPanel priorityBadge = createPriorityBadge(Priority.MEDIUM);
             centerTopPanel.add(priorityBadge);
@@ -168,14 +170,7 @@ public final class IssueCardPanel extends JPanel implements Serializable {
         mainContentPanel.setOpaque(false);
         
         // Замінюємо JLabel на JTextArea для заголовка, щоб підтримувати перенос тексту
-        String titleText = issueModel.getTitle();
-        // Ограничиваем длину заголовка, если он слишком длинный, используя многоточие в середине
-        if (titleText.length() > 50) {
-            int halfLength = 23; // Половина от максимальной длины (50/2 - 2 символа для многоточия)
-            titleText = titleText.substring(0, halfLength) + "..." + 
-                       titleText.substring(titleText.length() - halfLength);
-        }
-        titleTextArea = new JTextArea(titleText);
+        titleTextArea = new JTextArea(shortTitle(issueModel.getTitle()));
         titleTextArea.setFont(titleTextArea.getFont().deriveFont(Font.BOLD, 13f * scale));
         titleTextArea.setForeground(themeManager.getCurrentScheme().textPrimary);
         titleTextArea.setBackground(themeManager.getCurrentScheme().cardBackground);
@@ -217,33 +212,8 @@ public final class IssueCardPanel extends JPanel implements Serializable {
             assigneeLabel.setText(messages.getString("issue.not_assigned"));
         }
         
-        // Додаємо короткий опис задачі у вигляді JTextArea для кращого відображення
-        final JTextArea descriptionTextArea;
-        
-        // Добавляем описание (если есть)
-        if (issueModel.getDescription() != null && !issueModel.getDescription().isEmpty()) {
-            String description = issueModel.getDescription();
-            // Обрезаем описание, если оно слишком длинное
-            if (description.length() > 50) {
-                description = description.substring(0, 47) + "...";
-            }
-            System.out.println("IssueCardPanel: Опис задачі " + issueModel.getKey() + ": " +
-                description);
-        }
-        
         // Всегда создаем текстовое поле с описанием, даже если описание пустое
-        String shortDesc = messages.getString("issue.no_description");
-        if (issueModel.getDescription() != null && !issueModel.getDescription().isEmpty()) {
-            shortDesc = issueModel.getDescription();
-            // Ограничиваем длину описания более строго, используя эллипсис в середине для очень длинных описаний
-            if (shortDesc.length() > 75) {
-                int halfLength = 35; // Половина от максимальной длины (75/2 - 2 символа для многоточия)
-                shortDesc = shortDesc.substring(0, halfLength) + "..." + 
-                           shortDesc.substring(shortDesc.length() - halfLength);
-            }
-        }
-        
-        final JTextArea textArea = new JTextArea(shortDesc);
+        final JTextArea textArea = new JTextArea(shortDescription(issueModel.getDescription()));
         textArea.setForeground(themeManager.getCurrentScheme().textSecondary);
         // Сделаем шрифт немного крупнее для лучшей видимости
         textArea.setFont(textArea.getFont().deriveFont(12f * scale));
@@ -544,23 +514,8 @@ public final class IssueCardPanel extends JPanel implements Serializable {
                 userField.setAccessible(true);
                 ua.oip.jiralite.domain.User currentUser = (ua.oip.jiralite.domain.User) userField.get(mainFrame);
                 
-                // Сначала получаем полную доменную модель задачи
-                ua.oip.jiralite.domain.Issue existingIssue = null;
-                
-                // Ищем задачу в списке globalIssues через рефлексию
-                java.lang.reflect.Field globalIssuesField = boardService.getClass().getDeclaredField("globalIssues");
-                globalIssuesField.setAccessible(true);
-                @SuppressWarnings("unchecked")
-                java.util.List<ua.oip.jiralite.domain.Issue> globalIssues = 
-                    (java.util.List<ua.oip.jiralite.domain.Issue>) globalIssuesField.get(boardService);
-                
-                // Ищем задачу с нужным ID в globalIssues
-                for (ua.oip.jiralite.domain.Issue issue : globalIssues) {
-                    if (issue.getId().equals(issueModel.getId())) {
-                        existingIssue = issue;
-                        break;
-                    }
-                }
+                // Сначала получаем полную доменную модель задачи из хранилища сервиса
+                ua.oip.jiralite.domain.Issue existingIssue = boardService.getIssueById(issueModel.getId());
                 
                 if (existingIssue == null) {
                     ua.oip.jiralite.ui.util.SwingHelper.showError(
@@ -580,13 +535,7 @@ public final class IssueCardPanel extends JPanel implements Serializable {
                 );
                 dialog.setVisible(true);
                 
-                // Обработка результатов диалога
-                if (dialog.isIssueCreated()) {
-                    // Вызываем метод loadIssues через рефлексию для обновления доски
-                    java.lang.reflect.Method loadIssuesMethod = mainFrame.getClass().getDeclaredMethod("loadIssues", ua.oip.jiralite.domain.Board.class);
-                    loadIssuesMethod.setAccessible(true);
-                    loadIssuesMethod.invoke(mainFrame, currentBoard);
-                }
+                // Изменения карточки доска получает событием от BoardService
             } catch (Exception ex) {
                 System.err.println("Ошибка при редактировании задачи: " + ex.getMessage());
                 ex.printStackTrace();
@@ -613,26 +562,11 @@ public final class IssueCardPanel extends JPanel implements Serializable {
                     messages.getString("issue.delete_confirm"));
                 
                 if (confirmed) {
-                    // Находим текущую доску через рефлексию
-                    java.lang.reflect.Field boardField = mainFrame.getClass().getDeclaredField("currentBoard");
-                    boardField.setAccessible(true);
-                    ua.oip.jiralite.domain.Board currentBoard = (ua.oip.jiralite.domain.Board) boardField.get(mainFrame);
-                    
-                    // Удаляем задачу из globalIssues через рефлексию
-                    java.lang.reflect.Field globalIssuesField = boardService.getClass().getDeclaredField("globalIssues");
-                    globalIssuesField.setAccessible(true);
-                    @SuppressWarnings("unchecked")
-                    java.util.List<ua.oip.jiralite.domain.Issue> globalIssues = 
-                        (java.util.List<ua.oip.jiralite.domain.Issue>) globalIssuesField.get(boardService);
-                    
-                    // Ищем и удаляем задачу из глобального списка
-                    boolean success = globalIssues.removeIf(issue -> issue.getId().equals(issueModel.getId()));
+                    // Удаляем задачу через сервис
+                    boolean success = boardService.deleteIssue(issueModel.getId());
                     
                     if (success) {
-                        // Обновляем доску после удаления
-                        java.lang.reflect.Method loadIssuesMethod = mainFrame.getClass().getDeclaredMethod("loadIssues", ua.oip.jiralite.domain.Board.class);
-                        loadIssuesMethod.setAccessible(true);
-                        loadIssuesMethod.invoke(mainFrame, currentBoard);
+                        // Карточку убирает доска по событию удаления от BoardService
                         
                         // Показываем сообщение об успешном удалении
                         ua.oip.jiralite.ui.util.SwingHelper.showInfoDialog(
@@ -737,41 +671,36 @@ public final class IssueCardPanel extends JPanel implements Serializable {
      * Оновлює картку після зміни задачі
      */
     public void refresh(Issue issue) {
-        // Оновлюємо модель
-        issueModel.setTitle(issue.getTitle());
-        issueModel.setDescription(issue.getDescription());
-        issueModel.setStatus(issue.getStatus());
-        issueModel.setPriority(issue.getPriority());
-        
-        // Оновлюємо присвоєного користувача, якщо він є
-        if (issue.getAssignee() != null) {
-            issueModel.setAssigneeName(issue.getAssignee().getFullName());
-        } else {
-            issueModel.setAssigneeName(null);
+        issueModel.update(issue);
+        updateView();
+    }
+    
+    /**
+     * Прив'язує картку до іншої моделі задачі. Використовується віртуалізованою
+     * колонкою, яка перевикористовує одні й ті самі картки під час прокрутки.
+     * 
+     * @param model модель задачі
+     */
+    public void bind(IssueCardModel model) {
+        if (model == null || model == issueModel) {
+            return;
         }
-        
-        // Оновлюємо відображення
-        titleTextArea.setText(issueModel.getTitle());
-        statusLabel.setText("");
+        this.issueModel = model;
+        updateView();
+    }
+    
+    /**
+     * Оновлює всі елементи картки за поточною моделлю
+     */
+    private void updateView() {
+        keyLabel.setText(issueModel.getKey());
+        titleTextArea.setText(shortTitle(issueModel.getTitle()));
+        descriptionTextArea.setText(shortDescription(issueModel.getDescription()));
         
         // Убираем текстовый статус "In", оставляем только для завершенных задач
-        switch (issueModel.getStatus()) {
-            case TO_DO:
-                statusLabel.setForeground(themeManager.getCurrentScheme().textSecondary);
-                statusLabel.setText(""); // Убираем текст
-                break;
-            case IN_PROGRESS:
-                statusLabel.setForeground(themeManager.getCurrentScheme().info);
-                statusLabel.setText(""); // Убираем текст
-                break;
-            case DONE:
-                statusLabel.setForeground(themeManager.getCurrentScheme().success);
-                statusLabel.setText("✓"); // Значок галочки для завершенных задач
-                break;
-            default:
-                statusLabel.setForeground(themeManager.getCurrentScheme().textPrimary);
-                statusLabel.setText("");
-        }
+        Status status = issueModel.getStatus() != null ? issueModel.getStatus() : Status.TO_DO;
+        statusLabel.setForeground(getStatusColor(status));
+        statusLabel.setText(status == Status.DONE ? "✓" : "");
         
         // Оновлюємо текст призначеного користувача
         if (issueModel.getAssigneeName() != null && !issueModel.getAssigneeName().isEmpty() &&
@@ -781,6 +710,12 @@ public final class IssueCardPanel extends JPanel implements Serializable {
             assigneeLabel.setText(messages.getString("issue.not_assigned"));
         }
         
+        // Оновлюємо індикатор пріоритету
+        centerTopPanel.removeAll();
+        centerTopPanel.add(createPriorityBadge(issueModel.getPriority() != null ? issueModel.getPriority() : Priority.MEDIUM));
+        centerTopPanel.add(Box.createHorizontalGlue());
+        centerTopPanel.revalidate();
+        
         // Обновляем цвет карточки согласно текущей теме
         initialBackgroundColor = themeManager.getCurrentScheme().cardBackground;
         
@@ -788,6 +723,36 @@ public final class IssueCardPanel extends JPanel implements Serializable {
         repaint();
     }
     
+    /**
+     * Скорочує заголовок, використовуючи многоточие в середине
+     */
+    private static String shortTitle(String title) {
+        if (title == null) {
+            return "";
+        }
+        if (title.length() > 50) {
+            int halfLength = 23; // Половина от максимальной длины (50/2 - 2 символа для многоточия)
+            return title.substring(0, halfLength) + "..." + title.substring(title.length() - halfLength);
+        }
+        return title;
+    }
+    
+    /**
+     * Скорочує опис для відображення на картці
+     */
+    private String shortDescription(String description) {
+        if (description == null || description.isEmpty()) {
+            return messages.getString("issue.no_description");
+        }
+        // Ограничиваем длину описания более строго, используя эллипсис в середине для очень длинных описаний
+        if (description.length() > 75) {
+            int halfLength = 35; // Половина от максимальной длины (75/2 - 2 символа для многоточия)
+            return description.substring(0, halfLength) + "..." + 
+                   description.substring(description.length() - halfLength);
+        }
+        return description;
+    }
+    
     /**
      * Повертає модель задачі
      */
@@ -4,6 +4,7 @@ import java.awt.BorderLayout;
 import java.awt.Component;
 import java.util.List;
 import java.util.ResourceBundle;
+import java.util.concurrent.ExecutionException;
 
 import javax.swing.BorderFactory;
 import javax.swing.ImageIcon;
@@ -13,6 +14,7 @@ import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTree;
 import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
 import javax.swing.tree.DefaultMutableTreeNode;
 import javax.swing.tree.DefaultTreeCellRenderer;
 import javax.swing.tree.DefaultTreeModel;
@@ -45,6 +47,9 @@ public final class ProjectTreePanel extends JPanel {
     private ProjectSelectionListener selectionListener;
     private JTree tree;
     
+    // Поточне фонове завантаження дерева (null, якщо дерево вже завантажено)
+    private ProjectLoader projectLoader;
+    
     /**
      * Конструктор панелі дерева проєктів
      * 
@@ -140,83 +145,120 @@ public final class ProjectTreePanel extends JPanel {
     }
     
     /**
-     * Завантаження проєктів користувача
+     * Завантаження проєктів користувача.
+     * <p>
+     * Проєкти та дошки отримуються з сервісу у фоновому потоці, дерево
+     * оновлюється в EDT після завершення. Повторний виклик скасовує
+     * попереднє завантаження, і його результат вже не потрапляє у дерево.
      */
     public void loadProjects() {
+        if (projectLoader != null) {
+            projectLoader.cancel(true);
+        }
+        
+        // Змінюємо курсор на "очікування"
+        setCursor(java.awt.Cursor.getPredefinedCursor(java.awt.Cursor.WAIT_CURSOR));
+        
+        projectLoader = new ProjectLoader();
+        projectLoader.execute();
+    }
+    
+    /**
+     * Будує вузли дерева проєктів. Викликається у фоновому потоці,
+     * тому працює лише з вузлами, які ще не належать дереву.
+     */
+    private DefaultMutableTreeNode buildProjectNodes() {
+        DefaultMutableTreeNode rootNode = new DefaultMutableTreeNode("Проекти");
+        
         try {
-            System.out.println("ProjectTreePanel.loadProjects: початок завантаження проектів");
-            
-            // Змінюємо курсор на "очікування"
-            setCursor(java.awt.Cursor.getPredefinedCursor(java.awt.Cursor.WAIT_CURSOR));
+            // Отримання проєктів користувача та додавання їх у дерево
+            List<Project> projects = boardService.getProjectsByUser(currentUser);
+            System.out.println("ProjectTreePanel.loadProjects: отримано " + projects.size() + " проектів");
             
-            // Найпростіша тестова модель
-            DefaultMutableTreeNode rootNode = new DefaultMutableTreeNode("Проекти");
+            if (projects.isEmpty()) {
+                // Якщо проектів немає, додаємо заглушку
+                rootNode.add(new DefaultMutableTreeNode("Немає доступних проектів"));
+            }
             
-            try {
-                // Отримання проєктів користувача та додавання їх у дерево
-                List<Project> projects = boardService.getProjectsByUser(currentUser);
-                System.out.println("ProjectTreePanel.loadProjects: отримано " + projects.size() + " проектів");
+            for (Project project : projects) {
+                if (Thread.currentThread().isInterrupted()) {
+                    break;
+                }
                 
-                if (projects.isEmpty()) {
-                    // Якщо проектів немає, додаємо заглушку
-                    rootNode.add(new DefaultMutableTreeNode("Немає доступних проектів"));
-                } else {
-                    // Додаємо всі проекти
-                    for (Project project : projects) {
-                        DefaultMutableTreeNode projectNode = new DefaultMutableTreeNode(project);
-                        rootNode.add(projectNode);
-                        
-                        System.out.println("ProjectTreePanel.loadProjects: додаємо проект: " + project.getName() + " (ID: " + project.getId() + ")");
-                        
-                        try {
-                            // Додавання дошок проєкту
-                            List<Board> boards = boardService.getBoardsByProject(project);
-                            System.out.println("ProjectTreePanel.loadProjects: отримали " + boards.size() + " дошок для проекту " + project.getName());
-                            
-                            if (boards.isEmpty()) {
-                                // Якщо дошок немає, додаємо заглушку
-                                projectNode.add(new DefaultMutableTreeNode("Немає дошок"));
-                            } else {
-                                // Додаємо всі дошки
-                                for (Board board : boards) {
-                                    System.out.println("ProjectTreePanel.loadProjects: додаємо дошку: " + board.getName() + " (ID: " + board.getId() + ")");
-                                    DefaultMutableTreeNode boardNode = new DefaultMutableTreeNode(board);
-                                    projectNode.add(boardNode);
-                                }
-                            }
-                        } catch (Exception e) {
-                            System.err.println("Помилка при завантаженні дошок для проекту: " + e.getMessage());
-                            projectNode.add(new DefaultMutableTreeNode("Помилка завантаження дошок"));
+                DefaultMutableTreeNode projectNode = new DefaultMutableTreeNode(project);
+                rootNode.add(projectNode);
+                
+                try {
+                    // Додавання дошок проєкту
+                    List<Board> boards = boardService.getBoardsByProject(project);
+                    
+                    if (boards.isEmpty()) {
+                        // Якщо дошок немає, додаємо заглушку
+                        projectNode.add(new DefaultMutableTreeNode("Немає дошок"));
+                    } else {
+                        for (Board board : boards) {
+                            projectNode.add(new DefaultMutableTreeNode(board));
                         }
                     }
+                } catch (Exception e) {
+                    System.err.println("Помилка при завантаженні дошок для проекту: " + e.getMessage());
+                    projectNode.add(new DefaultMutableTreeNode("Помилка завантаження дошок"));
                 }
-            } catch (Exception e) {
-                System.err.println("Помилка при завантаженні проектів: " + e.getMessage());
-                e.printStackTrace();
-                rootNode.add(new DefaultMutableTreeNode("Помилка завантаження проектів"));
             }
-            
-            // Встановлюємо модель дерева
-            System.out.println("ProjectTreePanel.loadProjects: встановлюємо модель дерева");
-            tree.setModel(new DefaultTreeModel(rootNode));
-            
-            // Розгортаємо всі вузли
-            for (int i = 0; i < tree.getRowCount(); i++) {
-                tree.expandRow(i);
-            }
-            
-            // Повертаємо звичайний курсор
-            setCursor(java.awt.Cursor.getDefaultCursor());
-            
-            // Оновлюємо UI
-            revalidate();
-            repaint();
-            
-            System.out.println("ProjectTreePanel.loadProjects: завершено");
         } catch (Exception e) {
-            System.err.println("КРИТИЧНА ПОМИЛКА при завантаженні проектів: " + e.getMessage());
+            System.err.println("Помилка при завантаженні проектів: " + e.getMessage());
             e.printStackTrace();
+            rootNode.removeAllChildren();
+            rootNode.add(new DefaultMutableTreeNode("Помилка завантаження проектів"));
+        }
+        
+        return rootNode;
+    }
+    
+    /**
+     * Встановлює нову модель дерева та розгортає всі вузли
+     */
+    private void showProjectNodes(DefaultMutableTreeNode rootNode) {
+        tree.setModel(new DefaultTreeModel(rootNode));
+        
+        // Розгортаємо всі вузли
+        for (int i = 0; i < tree.getRowCount(); i++) {
+            tree.expandRow(i);
+        }
+        
+        // Оновлюємо UI
+        revalidate();
+        repaint();
+    }
+    
+    /**
+     * Фонове завантаження проєктів та дошок
+     */
+    private final class ProjectLoader extends SwingWorker<DefaultMutableTreeNode, Void> {
+        
+        @Override
+        protected DefaultMutableTreeNode doInBackground() {
+            return buildProjectNodes();
+        }
+        
+        @Override
+        protected void done() {
+            // Результат скасованого або застарілого завантаження ігноруємо
+            if (isCancelled() || projectLoader != this) {
+                return;
+            }
+            projectLoader = null;
             setCursor(java.awt.Cursor.getDefaultCursor());
+            
+            try {
+                showProjectNodes(get());
+                System.out.println("ProjectTreePanel.loadProjects: завершено");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                System.err.println("КРИТИЧНА ПОМИЛКА при завантаженні проектів: " + e.getCause());
+                e.printStackTrace();
+            }
         }
     }
     
@@ -11,17 +11,18 @@ import java.awt.event.ActionListener;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashSet;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.ResourceBundle;
-import java.util.Set;
-import java.util.function.Consumer;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutionException;
 
 import javax.swing.BorderFactory;
 import javax.swing.Box;
 import javax.swing.BoxLayout;
+import javax.swing.ComboBoxModel;
 import javax.swing.DefaultComboBoxModel;
 import javax.swing.JButton;
 import javax.swing.JCheckBox;
@@ -30,39 +31,89 @@ import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTextField;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
 import javax.swing.border.EmptyBorder;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.border.TitledBorder;
 import javax.swing.SwingConstants;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import ua.oip.jiralite.domain.Issue;
 import ua.oip.jiralite.domain.enums.Priority;
 import ua.oip.jiralite.domain.enums.Status;
 import ua.oip.jiralite.service.BoardService;
+import ua.oip.jiralite.service.IssueFacetIndex;
 import ua.oip.jiralite.ui.util.ThemeManager;
 import ua.oip.jiralite.ui.util.UiConstants;
 import ua.oip.jiralite.ui.util.SwingHelper;
 
 /**
- * Панель пошуку та фільтрації задач
+ * Панель пошуку та фільтрації задач.
+ * <p>
+ * Пошук запускається під час введення тексту: натискання клавіш об'єднуються
+ * таймером, а сам запит виконується у фоновому потоці. Новий запит скасовує
+ * попередній, тому застарілі результати не потрапляють у панель результатів.
+ * Результати передаються слухачу частинами і обмежуються першими
+ * {@link UiConstants#SEARCH_RESULT_LIMIT} задачами.
  */
 public class SearchPanel extends JPanel {
 
     private static final long serialVersionUID = 1L;
     
+    private static final Logger log = LoggerFactory.getLogger(SearchPanel.class);
+    
+    /**
+     * Отримувач результатів пошуку. Методи викликаються в EDT.
+     */
+    public interface SearchResultListener {
+        
+        /**
+         * Починається показ результатів нового запиту
+         * 
+         * @param totalCount загальна кількість знайдених задач
+         */
+        void searchStarted(int totalCount);
+        
+        /**
+         * Чергова частина результатів у порядку релевантності
+         */
+        void resultsAppended(List<Issue> issues);
+    }
+    
     private final ResourceBundle messages;
     private final BoardService boardService;
     private final ThemeManager themeManager;
     
     private JTextField searchField;
-    private JComboBox<String> statusComboBox;
-    private JComboBox<String> priorityComboBox;
-    private JComboBox<String> assigneeComboBox;
+    private JComboBox<FacetOption> statusComboBox;
+    private JComboBox<FacetOption> priorityComboBox;
+    private JComboBox<FacetOption> assigneeComboBox;
     private JCheckBox includeDescription;
     private JButton searchButton;
     private JButton resetButton;
     
-    private List<Issue> allIssues = new ArrayList<>();
-    private Consumer<List<Issue>> searchResultHandler;
+    // Значення варіанта "без виконавця" у фільтрі виконавця
+    private static final Object NOT_ASSIGNED = new Object();
+    
+    private Map<Long, Issue> issuesById = new HashMap<>();
+    private IssueFacetIndex facetIndex = new IssueFacetIndex();
+    
+    // Збіги тексту останнього завершеного запиту в ординалах facetIndex (null - без тексту)
+    private BitSet lastTextMatches;
+    
+    // Не запускаємо пошук, поки комбобокси оновлюються програмно
+    private boolean updatingFacets;
+    private SearchResultListener searchResultListener;
+    
+    // Об'єднує натискання клавіш у один запит
+    private final Timer searchDebounce = new Timer(UiConstants.SEARCH_DEBOUNCE_MS, e -> performSearch());
+    
+    // Поточний фоновий запит (null, якщо запит не виконується)
+    private SearchWorker searchWorker;
     
     /**
      * Конструктор панелі пошуку
@@ -110,10 +161,28 @@ public class SearchPanel extends JPanel {
                 }
             }
         });
+        searchDebounce.setRepeats(false);
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                searchDebounce.restart();
+            }
+            
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                searchDebounce.restart();
+            }
+            
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                searchDebounce.restart();
+            }
+        });
         
         includeDescription = new JCheckBox(messages.getString("search.include_description"), true);
         includeDescription.setSelected(true);
         includeDescription.setAlignmentX(Component.LEFT_ALIGNMENT);
+        includeDescription.addActionListener(e -> performSearch());
         
         searchInputPanel.add(searchLabel);
         searchInputPanel.add(Box.createVerticalStrut(2));
@@ -130,11 +199,12 @@ public class SearchPanel extends JPanel {
         statusPanel.setLayout(new BoxLayout(statusPanel, BoxLayout.Y_AXIS));
         JLabel statusLabel = new JLabel(messages.getString("search.status"));
         statusLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
-        statusComboBox = new JComboBox<String>(
-                new String[]{messages.getString("search.all"), 
-                             messages.getString("status.todo"), 
-                             messages.getString("status.in_progress"), 
-                             messages.getString("status.done")});
+        statusComboBox = new JComboBox<FacetOption>(
+                new FacetOption[]{new FacetOption(null, messages.getString("search.all")), 
+                                  new FacetOption(Status.TO_DO, messages.getString("status.todo")), 
+                                  new FacetOption(Status.IN_PROGRESS, messages.getString("status.in_progress")), 
+                                  new FacetOption(Status.DONE, messages.getString("status.done"))});
+        statusComboBox.addActionListener(e -> onFacetSelected());
         statusPanel.add(statusLabel);
         statusPanel.add(statusComboBox);
         
@@ -143,13 +213,14 @@ public class SearchPanel extends JPanel {
         priorityPanel.setLayout(new BoxLayout(priorityPanel, BoxLayout.Y_AXIS));
         JLabel priorityLabel = new JLabel(messages.getString("search.priority"));
         priorityLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
-        priorityComboBox = new JComboBox<String>(
-                new String[]{messages.getString("search.all"), 
-                             messages.getString("priority.lowest"), 
-                             messages.getString("priority.low"), 
-                             messages.getString("priority.medium"), 
-                             messages.getString("priority.high"), 
-                             messages.getString("priority.highest")});
+        priorityComboBox = new JComboBox<FacetOption>(
+                new FacetOption[]{new FacetOption(null, messages.getString("search.all")), 
+                                  new FacetOption(Priority.LOWEST, messages.getString("priority.lowest")), 
+                                  new FacetOption(Priority.LOW, messages.getString("priority.low")), 
+                                  new FacetOption(Priority.MEDIUM, messages.getString("priority.medium")), 
+                                  new FacetOption(Priority.HIGH, messages.getString("priority.high")), 
+                                  new FacetOption(Priority.HIGHEST, messages.getString("priority.highest"))});
+        priorityComboBox.addActionListener(e -> onFacetSelected());
         priorityPanel.add(priorityLabel);
         priorityPanel.add(priorityComboBox);
         
@@ -158,8 +229,10 @@ public class SearchPanel extends JPanel {
         assigneePanel.setLayout(new BoxLayout(assigneePanel, BoxLayout.Y_AXIS));
         JLabel assigneeLabel = new JLabel(messages.getString("search.assignee"));
         assigneeLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
-        assigneeComboBox = new JComboBox<String>(
-                new String[]{messages.getString("search.all"), messages.getString("search.not_assigned")});
+        assigneeComboBox = new JComboBox<FacetOption>(
+                new FacetOption[]{new FacetOption(null, messages.getString("search.all")), 
+                                  new FacetOption(NOT_ASSIGNED, messages.getString("search.not_assigned"))});
+        assigneeComboBox.addActionListener(e -> onFacetSelected());
         assigneePanel.add(assigneeLabel);
         assigneePanel.add(assigneeComboBox);
         
@@ -276,95 +349,269 @@ public class SearchPanel extends JPanel {
      * @param issues список задач
      */
     public void setIssues(List<Issue> issues) {
-        this.allIssues = issues;
+        this.issuesById = new HashMap<>();
+        for (Issue issue : issues) {
+            if (issue.getId() != null) {
+                issuesById.put(issue.getId(), issue);
+            }
+        }
+        this.facetIndex = new IssueFacetIndex(issues);
+        this.lastTextMatches = null;
         updateAssigneeFilter();
+        if (searchField.getText().trim().isEmpty() || issuesById.isEmpty()) {
+            updateFacetCounts(null);
+        } else {
+            // Ординали нового індексу інші, тому збіги тексту перераховує фоновий запит
+            performSearch();
+        }
     }
     
     /**
-     * Оновлює список виконавців на основі поточних задач
+     * Оновлює задачу у списку пошуку без перебудови індексу фасетів.
+     * Кількість для фасетів враховує збіги тексту останнього запиту; чи відповідає
+     * тексту змінена задача, стане відомо з наступним пошуком.
+     * @param issue нова або змінена задача
+     */
+    public void updateIssue(Issue issue) {
+        if (issue == null || issue.getId() == null) {
+            return;
+        }
+        issuesById.put(issue.getId(), issue);
+        facetIndex.update(issue);
+        updateAssigneeFilter();
+        updateFacetCounts(lastTextMatches);
+    }
+    
+    /**
+     * Видаляє задачу зі списку пошуку
+     * @param issueId ID задачі
+     */
+    public void removeIssue(Long issueId) {
+        if (issuesById.remove(issueId) == null) {
+            return;
+        }
+        facetIndex.remove(issueId);
+        updateAssigneeFilter();
+        updateFacetCounts(lastTextMatches);
+    }
+    
+    /**
+     * Оновлює список виконавців на основі поточних задач, зберігаючи вибраного виконавця
      */
     private void updateAssigneeFilter() {
-        // Отримуємо унікальних виконавців зі списку задач
-        Set<String> assignees = new HashSet<>();
-        assignees.add(messages.getString("search.all"));
-        
-        // Додаємо імена виконавців із задач
-        allIssues.stream()
-                .filter(issue -> issue.getAssignee() != null)
-                .map(issue -> issue.getAssignee().getFullName())
-                .distinct()
-                .forEach(assignees::add);
-        
-        // Оновлюємо модель комбобокса
-        DefaultComboBoxModel<String> model = new DefaultComboBoxModel<>();
-        for (String assignee : assignees) {
-            model.addElement(assignee);
+        Object selected = ((FacetOption) assigneeComboBox.getSelectedItem()).value;
+        
+        // Виконавці беруться з індексу фасетів, ключ null - задачі без виконавця
+        DefaultComboBoxModel<FacetOption> model = new DefaultComboBoxModel<>();
+        model.addElement(new FacetOption(null, messages.getString("search.all")));
+        model.addElement(new FacetOption(NOT_ASSIGNED, messages.getString("search.not_assigned")));
+        for (String assignee : facetIndex.countByAssignee(null, IssueFacetIndex.Filter.of(null, null, null)).keySet()) {
+            if (assignee != null) {
+                model.addElement(new FacetOption(assignee, assignee));
+            }
+        }
+        
+        // Порівнюємо з поточною моделлю, щоб не скидати вибір без потреби
+        if (sameOptions(assigneeComboBox.getModel(), model)) {
+            return;
+        }
+        
+        updatingFacets = true;
+        try {
+            assigneeComboBox.setModel(model);
+            for (int i = 0; i < model.getSize(); i++) {
+                if (Objects.equals(model.getElementAt(i).value, selected)) {
+                    assigneeComboBox.setSelectedIndex(i);
+                    break;
+                }
+            }
+        } finally {
+            updatingFacets = false;
         }
-        assigneeComboBox.setModel(model);
+    }
+    
+    private static boolean sameOptions(ComboBoxModel<FacetOption> current, DefaultComboBoxModel<FacetOption> updated) {
+        if (current.getSize() != updated.getSize()) {
+            return false;
+        }
+        for (int i = 0; i < current.getSize(); i++) {
+            if (!Objects.equals(current.getElementAt(i).value, updated.getElementAt(i).value)) {
+                return false;
+            }
+        }
+        return true;
     }
     
     /**
-     * Встановлює обробник результатів пошуку
-     * @param handler функція-обробник результатів
+     * Встановлює отримувача результатів пошуку
+     * @param listener отримувач результатів
      */
-    public void setSearchResultHandler(Consumer<List<Issue>> handler) {
-        this.searchResultHandler = handler;
+    public void setSearchResultListener(SearchResultListener listener) {
+        this.searchResultListener = listener;
     }
     
     /**
-     * Виконує пошук та фільтрацію задач
+     * Запускає пошук та фільтрацію задач у фоновому потоці.
+     * <p>
+     * Текстовий запит виконується повнотекстовим індексом сервісу, тому не
+     * переглядає текст усіх задач; результати обмежуються задачами поточної
+     * дошки. Фільтри за статусом, пріоритетом і виконавцем обчислюються
+     * перетином бітсетів {@link IssueFacetIndex}.
      */
     private void performSearch() {
-        if (allIssues == null || allIssues.isEmpty()) {
+        searchDebounce.stop();
+        if (searchWorker != null) {
+            searchWorker.cancel(true);
+            searchWorker = null;
+        }
+        if (issuesById.isEmpty()) {
             return;
         }
         
-        String searchText = searchField.getText().toLowerCase().trim();
-        String statusFilter = (String) statusComboBox.getSelectedItem();
-        String priorityFilter = (String) priorityComboBox.getSelectedItem();
-        String assigneeFilter = (String) assigneeComboBox.getSelectedItem();
-        boolean searchInDescription = includeDescription.isSelected();
-        
-        // Фільтруємо задачі
-        List<Issue> filteredIssues = allIssues.stream()
-                .filter(issue -> {
-                    // Фільтр за текстом
-                    boolean textMatch = true;
-                    if (!searchText.isEmpty()) {
-                        boolean titleMatch = issue.getTitle() != null && 
-                                          issue.getTitle().toLowerCase().contains(searchText);
-                        boolean descMatch = searchInDescription && issue.getDescription() != null && 
-                                          issue.getDescription().toLowerCase().contains(searchText);
-                        textMatch = titleMatch || descMatch;
-                    }
-                    
-                    // Фільтр за статусом
-                    boolean statusMatch = messages.getString("search.all").equals(statusFilter) || 
-                                       mapUiStatusToEnum(statusFilter) == issue.getStatus();
-                    
-                    // Фільтр за пріоритетом
-                    boolean priorityMatch = messages.getString("search.all").equals(priorityFilter) || 
-                                         mapUiPriorityToEnum(priorityFilter) == issue.getPriority();
-                    
-                    // Фільтр за виконавцем
-                    boolean assigneeMatch = true;
-                    if (messages.getString("search.all").equals(assigneeFilter)) {
-                        assigneeMatch = true;
-                    } else if (messages.getString("search.not_assigned").equals(assigneeFilter)) {
-                        assigneeMatch = issue.getAssignee() == null;
-                    } else {
-                        assigneeMatch = issue.getAssignee() != null && 
-                                      issue.getAssignee().getFullName().equals(assigneeFilter);
-                    }
-                    
-                    return textMatch && statusMatch && priorityMatch && assigneeMatch;
-                })
-                .collect(Collectors.toList());
-        
-        // Викликаємо обробник результатів
-        if (searchResultHandler != null) {
-            searchResultHandler.accept(filteredIssues);
+        searchWorker = new SearchWorker(searchField.getText().trim(), includeDescription.isSelected(),
+                currentFilter(), facetIndex);
+        searchWorker.execute();
+    }
+    
+    /**
+     * Фоновий запит пошуку. Результати публікуються частинами по
+     * {@link UiConstants#SEARCH_RESULT_CHUNK}, кількість задач для фасетів
+     * обчислюється в тому ж потоці та застосовується після завершення.
+     */
+    private final class SearchWorker extends SwingWorker<FacetCounts, List<Issue>> {
+        
+        private final String searchText;
+        private final boolean searchInDescription;
+        private final IssueFacetIndex.Filter filter;
+        private final IssueFacetIndex index;
+        
+        private volatile int totalCount;
+        private volatile BitSet textMatches;
+        private boolean started;
+        
+        SearchWorker(String searchText, boolean searchInDescription, IssueFacetIndex.Filter filter, IssueFacetIndex index) {
+            this.searchText = searchText;
+            this.searchInDescription = searchInDescription;
+            this.filter = filter;
+            this.index = index;
+        }
+        
+        @Override
+        protected FacetCounts doInBackground() {
+            List<Issue> found;
+            if (searchText.isEmpty()) {
+                found = index.filter(filter);
+            } else {
+                // Результати пошуку у порядку релевантності, лише задачі поточної дошки
+                List<Issue> ranked = boardService.searchIssues(searchText, searchInDescription);
+                if (isCancelled()) {
+                    return null;
+                }
+                textMatches = index.toBits(ranked);
+                found = index.filter(ranked, filter);
+            }
+            
+            totalCount = found.size();
+            int shown = Math.min(found.size(), UiConstants.SEARCH_RESULT_LIMIT);
+            for (int from = 0; from < shown && !isCancelled(); from += UiConstants.SEARCH_RESULT_CHUNK) {
+                publish(new ArrayList<>(found.subList(from, Math.min(shown, from + UiConstants.SEARCH_RESULT_CHUNK))));
+            }
+            
+            return isCancelled() ? null : FacetCounts.compute(index, textMatches, filter);
+        }
+        
+        @Override
+        protected void process(List<List<Issue>> chunks) {
+            if (!isCurrent() || searchResultListener == null) {
+                return;
+            }
+            for (List<Issue> chunk : chunks) {
+                startResults();
+                searchResultListener.resultsAppended(chunk);
+            }
+        }
+        
+        @Override
+        protected void done() {
+            if (!isCurrent()) {
+                return;
+            }
+            searchWorker = null;
+            
+            try {
+                FacetCounts counts = get();
+                if (searchResultListener != null) {
+                    // Порожній результат нічого не публікує, але панель треба очистити
+                    startResults();
+                }
+                if (counts != null) {
+                    lastTextMatches = textMatches;
+                    applyFacetCounts(counts);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                log.error("Помилка під час пошуку задач", e.getCause());
+            }
+        }
+        
+        private void startResults() {
+            if (!started) {
+                started = true;
+                searchResultListener.searchStarted(totalCount);
+            }
+        }
+        
+        private boolean isCurrent() {
+            return !isCancelled() && searchWorker == this;
+        }
+    }
+    
+    /**
+     * Запускає пошук при зміні фільтра користувачем
+     */
+    private void onFacetSelected() {
+        if (!updatingFacets) {
+            performSearch();
+        }
+    }
+    
+    /**
+     * Складає умову фільтрації з вибраних варіантів комбобоксів
+     */
+    private IssueFacetIndex.Filter currentFilter() {
+        Status status = (Status) ((FacetOption) statusComboBox.getSelectedItem()).value;
+        Priority priority = (Priority) ((FacetOption) priorityComboBox.getSelectedItem()).value;
+        Object assignee = ((FacetOption) assigneeComboBox.getSelectedItem()).value;
+        if (assignee == NOT_ASSIGNED) {
+            return IssueFacetIndex.Filter.unassigned(status, priority);
         }
+        return IssueFacetIndex.Filter.of(status, priority, (String) assignee);
+    }
+    
+    /**
+     * Оновлює кількість задач біля кожного варіанта фільтра.
+     * Кількість для варіанта враховує текстовий запит та інші вибрані фільтри.
+     * 
+     * @param textMatches задачі, знайдені текстовим пошуком, або null, якщо запиту немає
+     */
+    private void updateFacetCounts(BitSet textMatches) {
+        applyFacetCounts(FacetCounts.compute(facetIndex, textMatches, currentFilter()));
+    }
+    
+    private void applyFacetCounts(FacetCounts counts) {
+        setCounts(statusComboBox, counts.byStatus, counts.statusTotal);
+        setCounts(priorityComboBox, counts.byPriority, counts.priorityTotal);
+        setCounts(assigneeComboBox, counts.byAssignee, counts.assigneeTotal);
+    }
+    
+    private static void setCounts(JComboBox<FacetOption> comboBox, Map<?, Integer> counts, int total) {
+        for (int i = 0; i < comboBox.getItemCount(); i++) {
+            FacetOption option = comboBox.getItemAt(i);
+            Integer count = option.value == null ? Integer.valueOf(total) : counts.get(option.value);
+            option.count = count != null ? count : 0;
+        }
+        comboBox.repaint();
     }
     
     /**
@@ -372,9 +619,14 @@ public class SearchPanel extends JPanel {
      */
     private void resetFilters() {
         searchField.setText("");
-        statusComboBox.setSelectedItem(messages.getString("search.all"));
-        priorityComboBox.setSelectedItem(messages.getString("search.all"));
-        assigneeComboBox.setSelectedItem(messages.getString("search.all"));
+        updatingFacets = true;
+        try {
+            statusComboBox.setSelectedIndex(0);
+            priorityComboBox.setSelectedIndex(0);
+            assigneeComboBox.setSelectedIndex(0);
+        } finally {
+            updatingFacets = false;
+        }
         includeDescription.setSelected(true);
         
         // Виконуємо пошук з порожніми фільтрами (покаже всі задачі)
@@ -382,36 +634,51 @@ public class SearchPanel extends JPanel {
     }
     
     /**
-     * Перетворює текстове представлення статусу в enum
+     * Кількість задач для варіантів усіх фільтрів. Обчислюється без звернення
+     * до компонентів, тому може рахуватися у фоновому потоці.
      */
-    private Status mapUiStatusToEnum(String uiStatus) {
-        if (uiStatus.equals(messages.getString("status.todo"))) {
-            return Status.TO_DO;
-        } else if (uiStatus.equals(messages.getString("status.in_progress"))) {
-            return Status.IN_PROGRESS;
-        } else if (uiStatus.equals(messages.getString("status.done"))) {
-            return Status.DONE;
-        } else {
-            return null;
+    private static final class FacetCounts {
+        
+        private Map<Status, Integer> byStatus;
+        private Map<Priority, Integer> byPriority;
+        private Map<Object, Integer> byAssignee;
+        private int statusTotal;
+        private int priorityTotal;
+        private int assigneeTotal;
+        
+        static FacetCounts compute(IssueFacetIndex index, BitSet textMatches, IssueFacetIndex.Filter filter) {
+            FacetCounts counts = new FacetCounts();
+            counts.byStatus = index.countByStatus(textMatches, filter);
+            counts.statusTotal = index.count(textMatches, filter.withStatus(null));
+            counts.byPriority = index.countByPriority(textMatches, filter);
+            counts.priorityTotal = index.count(textMatches, filter.withPriority(null));
+            
+            Map<String, Integer> byAssignee = index.countByAssignee(textMatches, filter);
+            counts.byAssignee = new HashMap<>(byAssignee);
+            counts.byAssignee.put(NOT_ASSIGNED, byAssignee.get(null));
+            counts.byAssignee.remove(null);
+            counts.assigneeTotal = index.count(textMatches, filter.withAssignee(null));
+            return counts;
         }
     }
     
     /**
-     * Перетворює текстове представлення пріоритету в enum
+     * Варіант фільтра у комбобоксі: значення фасета, підпис та кількість задач
      */
-    private Priority mapUiPriorityToEnum(String uiPriority) {
-        if (uiPriority.equals(messages.getString("priority.lowest"))) {
-            return Priority.LOWEST;
-        } else if (uiPriority.equals(messages.getString("priority.low"))) {
-            return Priority.LOW;
-        } else if (uiPriority.equals(messages.getString("priority.medium"))) {
-            return Priority.MEDIUM;
-        } else if (uiPriority.equals(messages.getString("priority.high"))) {
-            return Priority.HIGH;
-        } else if (uiPriority.equals(messages.getString("priority.highest"))) {
-            return Priority.HIGHEST;
-        } else {
-            return null;
+    private static final class FacetOption {
+        
+        private final Object value;
+        private final String label;
+        private int count = -1;
+        
+        FacetOption(Object value, String label) {
+            this.value = value;
+            this.label = label;
+        }
+        
+        @Override
+        public String toString() {
+            return count >= 0 ? label + " (" + count + ")" : label;
         }
     }
 } 
\ No newline at end of file
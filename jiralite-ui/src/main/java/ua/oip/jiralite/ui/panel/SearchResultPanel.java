@@ -30,9 +30,10 @@ import ua.oip.jiralite.ui.util.ThemeManager;
 import ua.oip.jiralite.ui.util.UiConstants;
 
 /**
- * Панель отображения результатов поиска
+ * Панель отображения результатов поиска.
+ * Результаты добавляются частями, число карточек ограничено {@link UiConstants#SEARCH_RESULT_LIMIT}.
  */
-public class SearchResultPanel extends JPanel {
+public class SearchResultPanel extends JPanel implements SearchPanel.SearchResultListener {
 
     private static final long serialVersionUID = 1L;
     
@@ -43,6 +44,10 @@ public class SearchResultPanel extends JPanel {
     private JLabel statusLabel;
     private Consumer<Issue> onIssueSelected;
     
+    // Общее число найденных задач и число показанных карточек для текущего запроса
+    private int totalCount;
+    private int displayedCount;
+    
     /**
      * Конструктор панели результатов поиска
      * 
@@ -163,34 +168,65 @@ public class SearchResultPanel extends JPanel {
      * @param issues список найденных задач
      */
     public void displayResults(List<Issue> issues) {
-        // Очищаем контейнер результатов
-        resultsContainer.removeAll();
-        
-        if (issues == null || issues.isEmpty()) {
-            statusLabel.setText(messages.getString("search.no_results"));
-            resultsContainer.revalidate();
-            resultsContainer.repaint();
-            return;
+        int size = issues == null ? 0 : issues.size();
+        searchStarted(size);
+        if (size > 0) {
+            resultsAppended(issues.subList(0, Math.min(size, UiConstants.SEARCH_RESULT_LIMIT)));
         }
+    }
+    
+    @Override
+    public void searchStarted(int totalCount) {
+        this.totalCount = totalCount;
+        this.displayedCount = 0;
         
-        // Обновляем статусную метку
-        statusLabel.setText(java.text.MessageFormat.format(messages.getString("search.found_issues"), issues.size()));
-        
+        // Очищаем контейнер результатов
+        resultsContainer.removeAll();
+        updateStatusLabel();
+        resultsContainer.revalidate();
+        resultsContainer.repaint();
+    }
+    
+    @Override
+    public void resultsAppended(List<Issue> issues) {
         // Масштаб UI
         float scale = themeManager.getCurrentScale().getFactor();
         
-        // Добавляем карточки для каждой задачи
+        // Добавляем карточки, пока не достигнут лимит
         for (Issue issue : issues) {
+            if (displayedCount >= UiConstants.SEARCH_RESULT_LIMIT) {
+                break;
+            }
             JPanel resultCard = createResultCard(issue, scale);
             resultsContainer.add(resultCard);
             resultsContainer.add(Box.createVerticalStrut(5));
+            displayedCount++;
         }
+        updateStatusLabel();
         
         // Обновляем отрисовку
         resultsContainer.revalidate();
         resultsContainer.repaint();
     }
     
+    /**
+     * Количество показанных карточек результатов
+     */
+    int getDisplayedCount() {
+        return displayedCount;
+    }
+    
+    private void updateStatusLabel() {
+        if (totalCount == 0) {
+            statusLabel.setText(messages.getString("search.no_results"));
+        } else if (totalCount > UiConstants.SEARCH_RESULT_LIMIT) {
+            statusLabel.setText(java.text.MessageFormat.format(messages.getString("search.showing_first"),
+                    totalCount, UiConstants.SEARCH_RESULT_LIMIT));
+        } else {
+            statusLabel.setText(java.text.MessageFormat.format(messages.getString("search.found_issues"), totalCount));
+        }
+    }
+    
     /**
      * Создает карточку для отображения задачи в результатах поиска
      * 
@@ -0,0 +1,275 @@
+package ua.oip.jiralite.ui.panel;
+
+import java.awt.Container;
+import java.awt.Dimension;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import javax.swing.JPanel;
+import javax.swing.JViewport;
+import javax.swing.Scrollable;
+import javax.swing.SwingConstants;
+import javax.swing.event.ChangeListener;
+
+import ua.oip.jiralite.ui.model.IssueCardModel;
+import ua.oip.jiralite.ui.util.UiConstants;
+
+/**
+ * Віртуалізований список карток колонки.
+ * <p>
+ * Зберігає лише моделі задач, а компоненти {@link IssueCardPanel} створює
+ * тільки для рядків, що потрапляють у видиму область прокрутки. Під час
+ * прокрутки картки, що вийшли за межі видимої області, прив'язуються до
+ * нових моделей через {@link IssueCardPanel#bind(IssueCardModel)}, тому
+ * кількість компонентів не залежить від кількості задач у колонці.
+ * Усі картки мають однакову висоту, тому позиція рядка обчислюється за індексом.
+ */
+class VirtualCardListPanel extends JPanel implements Scrollable {
+
+    private static final long serialVersionUID = 1L;
+
+    // Кількість додаткових рядків над і під видимою областю
+    private static final int OVERSCAN = 2;
+
+    private final transient Function<IssueCardModel, IssueCardPanel> cardFactory;
+
+    // Моделі у порядку відображення та індекс за ID
+    private final List<IssueCardModel> models = new ArrayList<>();
+    private final Map<Long, IssueCardModel> modelsById = new HashMap<>();
+
+    // Усі створені картки (видимі та вільні)
+    private final List<IssueCardPanel> pool = new ArrayList<>();
+
+    private final transient ChangeListener viewportListener = e -> layoutVisibleCards();
+    private JViewport viewport;
+
+    /**
+     * @param cardFactory створює нову картку для моделі разом з обробниками перетягування
+     */
+    VirtualCardListPanel(Function<IssueCardModel, IssueCardPanel> cardFactory) {
+        this.cardFactory = cardFactory;
+        setLayout(null);
+        setOpaque(true);
+    }
+
+    /**
+     * Додає модель на початок списку
+     */
+    void addFirst(IssueCardModel model) {
+        insertModel(0, model);
+    }
+
+    /**
+     * Додає модель у кінець списку
+     */
+    void addLast(IssueCardModel model) {
+        insertModel(models.size(), model);
+    }
+
+    private void insertModel(int index, IssueCardModel model) {
+        if (model == null) {
+            return;
+        }
+        if (model.getId() != null) {
+            removeModel(model.getId());
+            modelsById.put(model.getId(), model);
+        }
+        models.add(index, model);
+        revalidate();
+        repaint();
+    }
+
+    /**
+     * Видаляє модель задачі зі списку
+     *
+     * @return true, якщо модель була у списку
+     */
+    boolean removeModel(Long issueId) {
+        IssueCardModel model = modelsById.remove(issueId);
+        if (model == null) {
+            return false;
+        }
+        models.remove(model);
+        revalidate();
+        repaint();
+        return true;
+    }
+
+    boolean containsModel(Long issueId) {
+        return modelsById.containsKey(issueId);
+    }
+
+    IssueCardModel getModel(Long issueId) {
+        return modelsById.get(issueId);
+    }
+
+    /**
+     * Повертає моделі у порядку відображення
+     */
+    List<IssueCardModel> getModels() {
+        return new ArrayList<>(models);
+    }
+
+    int getModelCount() {
+        return models.size();
+    }
+
+    /**
+     * Повертає картку, яка зараз відображає задачу, або null, якщо задача поза видимою областю
+     */
+    IssueCardPanel getBoundCard(Long issueId) {
+        for (IssueCardPanel card : pool) {
+            IssueCardModel model = card.getIssueModel();
+            if (model != null && model.getId() != null && model.getId().equals(issueId)
+                    && modelsById.get(issueId) == model) {
+                return card;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Кількість створених компонентів карток
+     */
+    int getPoolSize() {
+        return pool.size();
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        if (getParent() instanceof JViewport) {
+            viewport = (JViewport) getParent();
+            viewport.addChangeListener(viewportListener);
+        }
+    }
+
+    @Override
+    public void removeNotify() {
+        if (viewport != null) {
+            viewport.removeChangeListener(viewportListener);
+            viewport = null;
+        }
+        super.removeNotify();
+    }
+
+    @Override
+    public void doLayout() {
+        layoutVisibleCards();
+    }
+
+    /**
+     * Прив'язує картки з пулу до моделей видимих рядків та розміщує їх
+     */
+    void layoutVisibleCards() {
+        if (models.isEmpty()) {
+            for (IssueCardPanel card : pool) {
+                card.setVisible(false);
+            }
+            return;
+        }
+
+        Dimension cardSize = getCardSize();
+        int rowHeight = cardSize.height + UiConstants.COMPONENT_SPACING;
+        Rectangle visible = getVisibleRect();
+
+        int first = Math.max(0, visible.y / rowHeight - OVERSCAN);
+        int last = Math.min(models.size() - 1, (visible.y + visible.height) / rowHeight + OVERSCAN);
+
+        Set<Long> visibleIds = new HashSet<>();
+        for (int i = first; i <= last; i++) {
+            visibleIds.add(models.get(i).getId());
+        }
+
+        // Картки, що вже показують видимі задачі, залишаються на місці, решта звільняються
+        Map<Long, IssueCardPanel> reusable = new HashMap<>();
+        List<IssueCardPanel> free = new ArrayList<>();
+        for (IssueCardPanel card : pool) {
+            IssueCardModel model = card.getIssueModel();
+            Long id = model != null ? model.getId() : null;
+            if (id != null && visibleIds.contains(id) && modelsById.get(id) == model && !reusable.containsKey(id)) {
+                reusable.put(id, card);
+            } else {
+                free.add(card);
+            }
+        }
+
+        for (int i = first; i <= last; i++) {
+            IssueCardModel model = models.get(i);
+            IssueCardPanel card = reusable.get(model.getId());
+            if (card == null) {
+                if (free.isEmpty()) {
+                    card = createCard(model);
+                } else {
+                    card = free.remove(free.size() - 1);
+                    card.bind(model);
+                }
+                card.setVisible(true);
+            }
+            card.setBounds(0, UiConstants.COMPONENT_SPACING + i * rowHeight, cardSize.width, cardSize.height);
+        }
+
+        for (IssueCardPanel card : free) {
+            card.setVisible(false);
+        }
+    }
+
+    private IssueCardPanel createCard(IssueCardModel model) {
+        IssueCardPanel card = cardFactory.apply(model);
+        pool.add(card);
+        add(card);
+        return card;
+    }
+
+    /**
+     * Розмір картки береться з першої створеної картки, бо всі картки однакові
+     */
+    private Dimension getCardSize() {
+        if (pool.isEmpty()) {
+            createCard(models.get(0));
+        }
+        return pool.get(0).getPreferredSize();
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        if (models.isEmpty()) {
+            return new Dimension(0, 0);
+        }
+        Dimension cardSize = getCardSize();
+        int rowHeight = cardSize.height + UiConstants.COMPONENT_SPACING;
+        return new Dimension(cardSize.width, UiConstants.COMPONENT_SPACING + models.size() * rowHeight);
+    }
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        return getPreferredSize();
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return 16;
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL ? visibleRect.height : visibleRect.width;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return true;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        Container parent = getParent();
+        return parent instanceof JViewport && parent.getHeight() > getPreferredSize().height;
+    }
+}
@@ -44,6 +44,17 @@ public final class UiConstants {
     public static final int PANEL_PADDING = 10;
     public static final int COMPONENT_SPACING = 5;
     
+    // Кількість карток у колонці, після якої колонка переходить у віртуалізований режим
+    public static final int VIRTUAL_COLUMN_THRESHOLD = 100;
+    
+    // Кількість задач в одному пакеті фонового завантаження дошки
+    public static final int ISSUE_LOAD_BATCH_SIZE = 50;
+    
+    // Пошук під час введення: затримка після останньої клавіші, максимум показаних результатів та розмір частини
+    public static final int SEARCH_DEBOUNCE_MS = 250;
+    public static final int SEARCH_RESULT_LIMIT = 50;
+    public static final int SEARCH_RESULT_CHUNK = 10;
+    
     // Размеры компонентов
     public static final int ISSUE_DIALOG_WIDTH = 600;
     public static final int ISSUE_DIALOG_HEIGHT = 500;
@@ -0,0 +1,76 @@
+package ua.oip.jiralite.ui.panel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.ResourceBundle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ua.oip.jiralite.domain.Issue;
+import ua.oip.jiralite.domain.enums.Priority;
+import ua.oip.jiralite.domain.enums.Status;
+import ua.oip.jiralite.ui.util.UiConstants;
+
+/**
+ * Тести для панелі результатів пошуку
+ */
+public class SearchResultPanelTest {
+
+    private SearchResultPanel panel;
+
+    @BeforeEach
+    public void setUp() {
+        ResourceBundle messages = ResourceBundle.getBundle("i18n.labels", new Locale("uk", "UA"));
+        panel = new SearchResultPanel(messages);
+    }
+
+    private static List<Issue> issues(int count) {
+        List<Issue> issues = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            Issue issue = new Issue();
+            issue.setId(id);
+            issue.setKey("DEMO-" + id);
+            issue.setTitle("Задача " + id);
+            issue.setStatus(Status.TO_DO);
+            issue.setPriority(Priority.MEDIUM);
+            issues.add(issue);
+        }
+        return issues;
+    }
+
+    @Test
+    @DisplayName("Має обмежувати кількість карток результатів")
+    public void testCapsDisplayedResults() {
+        // Коли
+        panel.displayResults(issues(1000));
+
+        // Тоді
+        assertEquals(UiConstants.SEARCH_RESULT_LIMIT, panel.getDisplayedCount(),
+                "Кількість карток не має перевищувати ліміт");
+    }
+
+    @Test
+    @DisplayName("Має додавати результати частинами та очищати їх для нового запиту")
+    public void testStreamsResults() {
+        // Дано
+        List<Issue> found = issues(25);
+
+        // Коли
+        panel.searchStarted(found.size());
+        panel.resultsAppended(found.subList(0, 10));
+        panel.resultsAppended(found.subList(10, 25));
+
+        // Тоді
+        assertEquals(25, panel.getDisplayedCount(), "Мають бути показані всі частини результатів");
+
+        // Коли
+        panel.searchStarted(0);
+
+        // Тоді
+        assertEquals(0, panel.getDisplayedCount(), "Новий запит має очистити попередні результати");
+    }
+}
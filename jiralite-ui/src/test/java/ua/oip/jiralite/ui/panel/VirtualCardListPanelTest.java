@@ -0,0 +1,98 @@
+package ua.oip.jiralite.ui.panel;
+
+import java.awt.Point;
+import java.util.Locale;
+import java.util.ResourceBundle;
+
+import javax.swing.JViewport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ua.oip.jiralite.domain.enums.Priority;
+import ua.oip.jiralite.domain.enums.Status;
+import ua.oip.jiralite.ui.model.IssueCardModel;
+
+/**
+ * Тести для віртуалізованого списку карток колонки
+ */
+public class VirtualCardListPanelTest {
+
+    private static final int ISSUE_COUNT = 5000;
+
+    private VirtualCardListPanel list;
+    private JViewport viewport;
+
+    @BeforeEach
+    public void setUp() {
+        ResourceBundle messages = ResourceBundle.getBundle("i18n.labels", new Locale("uk", "UA"));
+        list = new VirtualCardListPanel(model -> new IssueCardPanel(model, messages));
+        for (long id = 1; id <= ISSUE_COUNT; id++) {
+            list.addLast(new IssueCardModel(id, "DEMO-" + id, "Задача " + id, null,
+                    Status.TO_DO, Priority.MEDIUM, null));
+        }
+
+        viewport = new JViewport();
+        viewport.setSize(300, 600);
+        viewport.setView(list);
+        list.setSize(list.getPreferredSize());
+    }
+
+    @Test
+    @DisplayName("Має створювати картки лише для видимих рядків")
+    public void testCreatesOnlyVisibleCards() {
+        // Коли
+        list.layoutVisibleCards();
+
+        // Тоді
+        assertTrue(list.getPoolSize() < 20, "Кількість карток не має залежати від кількості задач: " + list.getPoolSize());
+        assertNotNull(list.getBoundCard(1L), "Перша задача має бути показана");
+        assertNull(list.getBoundCard((long) ISSUE_COUNT), "Остання задача не має мати картки");
+    }
+
+    @Test
+    @DisplayName("Має перевикористовувати картки під час прокрутки")
+    public void testRecyclesCardsOnScroll() {
+        // Дано
+        list.layoutVisibleCards();
+        int poolSize = list.getPoolSize();
+
+        // Коли
+        viewport.setViewPosition(new Point(0, list.getHeight() - viewport.getHeight()));
+        list.layoutVisibleCards();
+
+        // Тоді
+        assertEquals(poolSize, list.getPoolSize(), "Пул карток не має зростати під час прокрутки");
+        assertNotNull(list.getBoundCard((long) ISSUE_COUNT), "Остання задача має бути показана");
+        assertNull(list.getBoundCard(1L), "Перша задача вже не має мати картки");
+        assertEquals("DEMO-" + ISSUE_COUNT, list.getBoundCard((long) ISSUE_COUNT).getIssueModel().getKey(),
+                "Картка має відображати модель своєї задачі");
+    }
+
+    @Test
+    @DisplayName("Має додавати та видаляти задачі без перебудови карток")
+    public void testAddAndRemove() {
+        // Дано
+        list.layoutVisibleCards();
+        IssueCardModel added = new IssueCardModel(ISSUE_COUNT + 1L, "DEMO-NEW", "Нова задача", null,
+                Status.TO_DO, Priority.HIGH, null);
+
+        // Коли
+        list.addFirst(added);
+        list.removeModel(2L);
+        list.layoutVisibleCards();
+
+        // Тоді
+        assertEquals(ISSUE_COUNT, list.getModelCount(), "Кількість задач має врахувати додавання та видалення");
+        assertEquals(added, list.getModels().get(0), "Нова задача має бути першою");
+        assertFalse(list.containsModel(2L), "Видалена задача не має залишатися у списку");
+        assertNotNull(list.getBoundCard(added.getId()), "Нова задача має бути показана");
+        assertNull(list.getBoundCard(2L), "Видалена задача не має мати картки");
+    }
+}
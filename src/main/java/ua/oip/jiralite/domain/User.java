@@ -100,14 +100,21 @@ public class User extends BaseEntity {
      * Використовує RoleManager для перевірки прав.
      */
     public boolean hasPermission(Permission permission) { 
-        return role != null && RoleManager.hasPermission(role.name(), permission);
+        return RoleManager.hasPermission(role, permission);
     }
     
     /**
      * Перевіряє, чи доступна певна дія для користувача
      */
     public boolean isActionAllowed(String action) {
-        return role != null && RoleManager.isActionAllowed(role.name(), action);
+        return RoleManager.isActionAllowed(role, action);
+    }
+    
+    /**
+     * Перевіряє, чи доступна дія, зареєстрована через {@link RoleManager#registerAction(String)}
+     */
+    public boolean isActionAllowed(int actionId) {
+        return RoleManager.isActionAllowed(role, actionId);
     }
     
     /**
@@ -1,25 +1,50 @@
 package ua.oip.jiralite.domain.user;
 
+import java.util.Arrays;
 import java.util.EnumSet;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import ua.oip.jiralite.domain.enums.Role;
 
 /**
  * Менеджер ролей и прав пользователей.
- * Связывает класс Role с набором разрешений Permission.
+ * Связывает роли с набором разрешений Permission.
+ * <p>
+ * Права скомпилированы в таблицу решений: для каждой роли хранится битовая маска
+ * разрешений (бит - ordinal {@link Permission}), для каждого действия - маска
+ * разрешений, которые его допускают. Строка действия разбирается один раз при
+ * регистрации ({@link #registerAction(String)}), после чего проверка
+ * {@link #isActionAllowed(Role, int)} сводится к двум чтениям массивов и
+ * побитовому И без аллокаций.
  */
 public class RoleManager {
-    
-    private static final Map<String, Set<Permission>> ROLE_PERMISSIONS = new HashMap<>();
-    
+
+    /** Идентификатор действия, которое не разрешено ни одной роли */
+    public static final int UNKNOWN_ACTION = -1;
+
+    private static final Role[] ROLES = Role.values();
+    private static final Permission[] PERMISSIONS = Permission.values();
+
+    // Маска разрешений роли, индекс - ordinal роли
+    private static final long[] ROLE_MASKS = new long[ROLES.length];
+
+    // Маска разрешений, допускающих действие, индекс - идентификатор действия.
+    // Массив только заменяется целиком, поэтому читается без блокировок
+    private static volatile long[] actionMasks = new long[0];
+    private static final Map<String, Integer> ACTION_IDS = new ConcurrentHashMap<>();
+
     static {
-        // Инициализация прав для роли ADMIN
-        Set<Permission> adminPermissions = EnumSet.allOf(Permission.class);
-        ROLE_PERMISSIONS.put("ADMIN", adminPermissions);
-        
-        // Инициализация прав для роли USER
-        Set<Permission> userPermissions = EnumSet.of(
+        if (PERMISSIONS.length > Long.SIZE) {
+            throw new IllegalStateException("Маска разрешений вмещает не более 64 разрешений");
+        }
+
+        // Права роли ADMIN
+        grant(Role.ADMIN, EnumSet.allOf(Permission.class));
+
+        // Права роли USER
+        grant(Role.USER, EnumSet.of(
             Permission.VIEW_PROJECT,
             Permission.CREATE_ISSUE,
             Permission.EDIT_ISSUE,
@@ -27,72 +52,185 @@ public class RoleManager {
             Permission.CREATE_COMMENT,
             Permission.EDIT_COMMENT,
             Permission.DELETE_COMMENT
-        );
-        ROLE_PERMISSIONS.put("USER", userPermissions);
-        
-        // Инициализация прав для роли GUEST
-        Set<Permission> guestPermissions = EnumSet.of(
+        ));
+
+        // Права роли GUEST
+        grant(Role.GUEST, EnumSet.of(
             Permission.VIEW_PROJECT,
             Permission.VIEW_ISSUE
-        );
-        ROLE_PERMISSIONS.put("GUEST", guestPermissions);
+        ));
+    }
+
+    /** Просмотр задачи (отрисовка карточки) */
+    public static final int ISSUE_VIEW = registerAction("issue_view");
+
+    /** Создание задачи */
+    public static final int ISSUE_CREATE = registerAction("issue_create");
+
+    /** Редактирование задачи, в том числе перетаскивание между колонками */
+    public static final int ISSUE_EDIT = registerAction("issue_edit");
+
+    /** Удаление задачи */
+    public static final int ISSUE_DELETE = registerAction("issue_delete");
+
+    private static void grant(Role role, Set<Permission> permissions) {
+        long mask = 0;
+        for (Permission permission : permissions) {
+            mask |= bit(permission);
+        }
+        ROLE_MASKS[role.ordinal()] = mask;
+    }
+
+    private static long bit(Permission permission) {
+        return 1L << permission.ordinal();
+    }
+
+    /**
+     * Регистрирует действие и возвращает его идентификатор для быстрых проверок.
+     * Повторная регистрация того же действия возвращает тот же идентификатор.
+     *
+     * @param action действие вида {@code issue_create}
+     * @return идентификатор действия или {@link #UNKNOWN_ACTION}, если действие
+     *         не допускает ни одно разрешение
+     */
+    public static int registerAction(String action) {
+        if (action == null || action.isEmpty()) {
+            return UNKNOWN_ACTION;
+        }
+        Integer id = ACTION_IDS.get(action);
+        if (id != null) {
+            return id;
+        }
+
+        // Разбор строки выполняется один раз для каждого действия
+        long mask = 0;
+        for (Permission permission : PERMISSIONS) {
+            if (permission.allowed(action)) {
+                mask |= bit(permission);
+            }
+        }
+        if (mask == 0) {
+            // Не запоминаем, чтобы произвольные строки не раздували таблицу
+            return UNKNOWN_ACTION;
+        }
+
+        synchronized (ACTION_IDS) {
+            id = ACTION_IDS.get(action);
+            if (id == null) {
+                long[] masks = actionMasks;
+                long[] grown = Arrays.copyOf(masks, masks.length + 1);
+                grown[masks.length] = mask;
+                actionMasks = grown;
+                id = masks.length;
+                ACTION_IDS.put(action, id);
+            }
+            return id;
+        }
+    }
+
+    /**
+     * Проверяет, есть ли у роли указанное разрешение
+     *
+     * @param role роль пользователя
+     * @param permission разрешение для проверки
+     * @return true, если роль имеет указанное разрешение
+     */
+    public static boolean hasPermission(Role role, Permission permission) {
+        return role != null && permission != null && (ROLE_MASKS[role.ordinal()] & bit(permission)) != 0;
     }
-    
+
     /**
      * Проверяет, есть ли у роли указанное разрешение
-     * 
+     *
      * @param roleName название роли пользователя
      * @param permission разрешение для проверки
      * @return true, если роль имеет указанное разрешение
      */
     public static boolean hasPermission(String roleName, Permission permission) {
-        if (roleName == null || permission == null) {
-            return false;
+        return hasPermission(roleByName(roleName), permission);
+    }
+
+    /**
+     * Получает все разрешения для указанной роли
+     *
+     * @param role роль пользователя
+     * @return набор разрешений для роли
+     */
+    public static Set<Permission> getPermissions(Role role) {
+        Set<Permission> permissions = EnumSet.noneOf(Permission.class);
+        if (role == null) {
+            return permissions;
+        }
+        long mask = ROLE_MASKS[role.ordinal()];
+        for (Permission permission : PERMISSIONS) {
+            if ((mask & bit(permission)) != 0) {
+                permissions.add(permission);
+            }
         }
-        
-        Set<Permission> permissions = ROLE_PERMISSIONS.get(roleName);
-        return permissions != null && permissions.contains(permission);
+        return permissions;
     }
-    
+
     /**
      * Получает все разрешения для указанной роли
-     * 
+     *
      * @param roleName название роли пользователя
      * @return набор разрешений для роли
      */
     public static Set<Permission> getPermissions(String roleName) {
-        if (roleName == null) {
-            return EnumSet.noneOf(Permission.class);
+        return getPermissions(roleByName(roleName));
+    }
+
+    /**
+     * Проверяет, доступно ли зарегистрированное действие для роли
+     *
+     * @param role роль пользователя
+     * @param actionId идентификатор из {@link #registerAction(String)}
+     * @return true, если действие доступно для роли
+     */
+    public static boolean isActionAllowed(Role role, int actionId) {
+        if (role == null || actionId < 0) {
+            return false;
         }
-        
-        Set<Permission> permissions = ROLE_PERMISSIONS.get(roleName);
-        return permissions != null ? EnumSet.copyOf(permissions) : EnumSet.noneOf(Permission.class);
+        long[] masks = actionMasks;
+        return actionId < masks.length && (ROLE_MASKS[role.ordinal()] & masks[actionId]) != 0;
+    }
+
+    /**
+     * Проверяет, доступно ли указанное действие для роли.
+     * Для частых проверок лучше один раз получить идентификатор действия
+     * через {@link #registerAction(String)}.
+     *
+     * @param role роль пользователя
+     * @param action действие для проверки
+     * @return true, если действие доступно для роли
+     */
+    public static boolean isActionAllowed(Role role, String action) {
+        return role != null && isActionAllowed(role, registerAction(action));
     }
-    
+
     /**
      * Проверяет, доступно ли указанное действие для роли
-     * 
+     *
      * @param roleName название роли пользователя
      * @param action действие для проверки
      * @return true, если действие доступно для роли
      */
     public static boolean isActionAllowed(String roleName, String action) {
-        if (roleName == null || action == null || action.isEmpty()) {
-            return false;
-        }
-        
-        Set<Permission> permissions = ROLE_PERMISSIONS.get(roleName);
-        if (permissions == null) {
-            return false;
+        return isActionAllowed(roleByName(roleName), action);
+    }
+
+    /**
+     * Роль по имени без исключений для неизвестных имен
+     */
+    private static Role roleByName(String roleName) {
+        if (roleName == null) {
+            return null;
         }
-        
-        // Проверяем все разрешения роли
-        for (Permission permission : permissions) {
-            if (permission.allowed(action)) {
-                return true;
+        for (Role role : ROLES) {
+            if (role.name().equals(roleName)) {
+                return role;
             }
         }
-        
-        return false;
+        return null;
     }
-} 
\ No newline at end of file
+}
@@ -89,4 +89,55 @@ public class RolePermissionTest {
         assertTrue(guest.isActionAllowed("project_view"));
         assertFalse(guest.isActionAllowed("issue_create"));
     }
-} 
\ No newline at end of file
+    
+    @Test
+    public void testCompiledTableMatchesPermissionRules() {
+        // Таблица решений должна совпадать с разбором строк через Permission.allowed
+        String[] actions = {
+            "project_create", "project_edit", "project_delete", "project_view",
+            "issue_create", "issue_edit", "issue_delete", "issue_view",
+            "comment_create", "comment_edit", "comment_delete",
+            "user_create", "user_delete", "unknown", "issue_", ""
+        };
+        for (Role role : Role.values()) {
+            for (String action : actions) {
+                boolean expected = false;
+                for (Permission permission : RoleManager.getPermissions(role)) {
+                    expected |= permission.allowed(action);
+                }
+                assertEquals(expected, RoleManager.isActionAllowed(role, action), role + " / " + action);
+                assertEquals(expected, RoleManager.isActionAllowed(role, RoleManager.registerAction(action)),
+                    role + " / " + action);
+            }
+        }
+        
+        // Повторная регистрация возвращает тот же идентификатор
+        assertEquals(RoleManager.ISSUE_EDIT, RoleManager.registerAction("issue_edit"));
+        assertEquals(RoleManager.UNKNOWN_ACTION, RoleManager.registerAction("unknown"));
+        assertFalse(RoleManager.hasPermission("UNKNOWN", Permission.VIEW_ISSUE));
+    }
+    
+    @Test
+    public void testRegisteredActionsForUser() {
+        // Дано
+        User[] users = {
+            new User("admin", "admin@test.com", Role.ADMIN),
+            new User("user", "user@test.com", Role.USER),
+            new User("guest", "guest@test.com", Role.GUEST)
+        };
+        String[] actions = {"issue_view", "issue_create", "issue_edit", "issue_delete"};
+        int[] actionIds = {RoleManager.ISSUE_VIEW, RoleManager.ISSUE_CREATE, RoleManager.ISSUE_EDIT,
+            RoleManager.ISSUE_DELETE};
+        
+        // Когда / Тогда: проверка по идентификатору совпадает с проверкой по строке
+        for (User user : users) {
+            for (int i = 0; i < actions.length; i++) {
+                assertEquals(user.isActionAllowed(actions[i]), user.isActionAllowed(actionIds[i]),
+                    user.getRole() + " / " + actions[i]);
+            }
+        }
+        assertTrue(users[0].isActionAllowed(RoleManager.ISSUE_DELETE));
+        assertFalse(users[2].isActionAllowed(RoleManager.ISSUE_EDIT));
+        assertFalse(users[1].isActionAllowed(RoleManager.UNKNOWN_ACTION));
+    }
+}